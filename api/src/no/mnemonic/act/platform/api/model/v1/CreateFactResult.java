@@ -0,0 +1,115 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+@ApiModel(description = "Result of creating one Fact as part of a bulk request.")
+public class CreateFactResult {
+
+  @ApiModelProperty(value = "Position of the Fact in the bulk request", example = "0", required = true)
+  private final int index;
+  @ApiModelProperty(value = "Created Fact (not set if the Fact could not be created)")
+  private final Fact fact;
+  @ApiModelProperty(value = "Contains messages explaining why the Fact could not be created")
+  private final List<Message> messages;
+
+  private CreateFactResult(int index, Fact fact, List<Message> messages) {
+    this.index = index;
+    this.fact = fact;
+    this.messages = ObjectUtils.ifNotNull(messages, Collections::unmodifiableList);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public Fact getFact() {
+    return fact;
+  }
+
+  public List<Message> getMessages() {
+    return messages;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private int index;
+    private Fact fact;
+    private List<Message> messages;
+
+    private Builder() {
+    }
+
+    public CreateFactResult build() {
+      return new CreateFactResult(index, fact, messages);
+    }
+
+    public Builder setIndex(int index) {
+      this.index = index;
+      return this;
+    }
+
+    public Builder setFact(Fact fact) {
+      this.fact = fact;
+      return this;
+    }
+
+    public Builder setMessages(List<Message> messages) {
+      this.messages = ObjectUtils.ifNotNull(messages, ListUtils::list);
+      return this;
+    }
+
+    public Builder addMessage(Message message) {
+      this.messages = ListUtils.addToList(this.messages, message);
+      return this;
+    }
+  }
+
+  @ApiModel(value = "CreateFactResultMessage", description = "Message explaining why a Fact could not be created.")
+  public static class Message {
+    @ApiModelProperty(value = "Non-translated message", example = "Fact did not pass validation against FactType.", required = true)
+    private final String message;
+    @ApiModelProperty(value = "Message template usable for translating messages", example = "fact.not.valid", required = true)
+    private final String messageTemplate;
+    @ApiModelProperty(value = "Contains the field which caused an error (can usually be mapped to a field in the request)", example = "value")
+    private final String field;
+    @ApiModelProperty(value = "Contains the parameter which caused an error (usually the field's value in the request)", example = "APT28")
+    private final String parameter;
+
+    public Message(String message, String messageTemplate, String field, String parameter) {
+      this.message = message;
+      this.messageTemplate = messageTemplate;
+      this.field = field;
+      this.parameter = parameter;
+    }
+
+    public Message(String message, String messageTemplate) {
+      this(message, messageTemplate, null, null);
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public String getMessageTemplate() {
+      return messageTemplate;
+    }
+
+    public String getField() {
+      return field;
+    }
+
+    public String getParameter() {
+      return parameter;
+    }
+  }
+
+}
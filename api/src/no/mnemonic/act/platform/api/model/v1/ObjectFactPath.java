@@ -0,0 +1,69 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+@ApiModel(description = "A path through the Object/Fact graph. The path alternates between Objects and Facts, i.e. " +
+        "the Fact at position i connects the Objects at positions i and i+1.")
+public class ObjectFactPath {
+
+  @ApiModelProperty(value = "Objects along the path, starting at a source Object and ending at a destination Object", required = true)
+  private final List<Object> objects;
+  @ApiModelProperty(value = "Facts connecting the Objects along the path", required = true)
+  private final List<Fact> facts;
+
+  private ObjectFactPath(List<Object> objects, List<Fact> facts) {
+    this.objects = ObjectUtils.ifNotNull(objects, Collections::unmodifiableList);
+    this.facts = ObjectUtils.ifNotNull(facts, Collections::unmodifiableList);
+  }
+
+  public List<Object> getObjects() {
+    return objects;
+  }
+
+  public List<Fact> getFacts() {
+    return facts;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private List<Object> objects;
+    private List<Fact> facts;
+
+    private Builder() {
+    }
+
+    public ObjectFactPath build() {
+      return new ObjectFactPath(objects, facts);
+    }
+
+    public Builder setObjects(List<Object> objects) {
+      this.objects = ObjectUtils.ifNotNull(objects, ListUtils::list);
+      return this;
+    }
+
+    public Builder addObject(Object object) {
+      this.objects = ListUtils.addToList(this.objects, object);
+      return this;
+    }
+
+    public Builder setFacts(List<Fact> facts) {
+      this.facts = ObjectUtils.ifNotNull(facts, ListUtils::list);
+      return this;
+    }
+
+    public Builder addFact(Fact fact) {
+      this.facts = ListUtils.addToList(this.facts, fact);
+      return this;
+    }
+  }
+
+}
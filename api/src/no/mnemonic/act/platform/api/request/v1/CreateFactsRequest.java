@@ -0,0 +1,36 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@ApiModel(description = "Create multiple new Facts at once.")
+public class CreateFactsRequest implements ValidatingRequest {
+
+  @ApiModelProperty(value = "Facts to create (maximum 10000 Facts per request)", required = true)
+  @NotEmpty
+  @Size(max = 10_000)
+  private List<@Valid CreateFactRequest> facts;
+
+  public List<CreateFactRequest> getFacts() {
+    return facts;
+  }
+
+  public CreateFactsRequest setFacts(List<CreateFactRequest> facts) {
+    this.facts = ObjectUtils.ifNotNull(facts, ListUtils::list);
+    return this;
+  }
+
+  public CreateFactsRequest addFact(CreateFactRequest fact) {
+    this.facts = ListUtils.addToList(this.facts, fact);
+    return this;
+  }
+
+}
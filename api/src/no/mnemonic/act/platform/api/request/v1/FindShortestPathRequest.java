@@ -0,0 +1,122 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.act.platform.utilities.json.TimestampDeserializer;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import java.util.Set;
+
+@ApiModel(description = "Find the shortest paths through the Object/Fact graph connecting a set of source Objects with " +
+        "a set of destination Objects. Objects are identified by either their id or type/value tuple.")
+public class FindShortestPathRequest implements ValidatingRequest {
+
+  @ApiModelProperty(
+          value = "Set of source Objects. Takes Object UUID or Object identified by 'type/value'",
+          example = "['123e4567-e89b-12d3-a456-426655440000', 'ThreatActor/Sofacy']",
+          required = true)
+  @NotEmpty
+  private Set<String> source;
+  @ApiModelProperty(
+          value = "Set of destination Objects. Takes Object UUID or Object identified by 'type/value'",
+          example = "['123e4567-e89b-12d3-a456-426655440000', 'ThreatActor/Sofacy']",
+          required = true)
+  @NotEmpty
+  private Set<String> destination;
+  @ApiModelProperty(value = "Maximum number of Facts along a path (default 5, max 10)", example = "5")
+  @Min(1)
+  @Max(10)
+  private Integer maxDepth;
+  @ApiModelProperty(value = "Traverse retracted Facts (default false)", example = "false")
+  private Boolean includeRetracted;
+  @ApiModelProperty(value = "Only traverse Facts added before a specific timestamp",
+          example = "2016-09-28T21:26:22Z", dataType = "string")
+  @JsonDeserialize(using = TimestampDeserializer.class)
+  private Long before;
+  @ApiModelProperty(value = "Only traverse Facts added after a specific timestamp",
+          example = "2016-09-28T21:26:22Z", dataType = "string")
+  @JsonDeserialize(using = TimestampDeserializer.class)
+  private Long after;
+  @ApiModelProperty(value = "Limit the number of returned paths (default 25, 0 means all)", example = "25")
+  @Min(0)
+  private Integer limit;
+
+  public Set<String> getSource() {
+    return source;
+  }
+
+  public FindShortestPathRequest setSource(Set<String> source) {
+    this.source = ObjectUtils.ifNotNull(source, SetUtils::set);
+    return this;
+  }
+
+  public FindShortestPathRequest addSource(String source) {
+    this.source = SetUtils.addToSet(this.source, source);
+    return this;
+  }
+
+  public Set<String> getDestination() {
+    return destination;
+  }
+
+  public FindShortestPathRequest setDestination(Set<String> destination) {
+    this.destination = ObjectUtils.ifNotNull(destination, SetUtils::set);
+    return this;
+  }
+
+  public FindShortestPathRequest addDestination(String destination) {
+    this.destination = SetUtils.addToSet(this.destination, destination);
+    return this;
+  }
+
+  public Integer getMaxDepth() {
+    return maxDepth;
+  }
+
+  public FindShortestPathRequest setMaxDepth(Integer maxDepth) {
+    this.maxDepth = maxDepth;
+    return this;
+  }
+
+  public Boolean getIncludeRetracted() {
+    return includeRetracted;
+  }
+
+  public FindShortestPathRequest setIncludeRetracted(Boolean includeRetracted) {
+    this.includeRetracted = includeRetracted;
+    return this;
+  }
+
+  public Long getBefore() {
+    return before;
+  }
+
+  public FindShortestPathRequest setBefore(Long before) {
+    this.before = before;
+    return this;
+  }
+
+  public Long getAfter() {
+    return after;
+  }
+
+  public FindShortestPathRequest setAfter(Long after) {
+    this.after = after;
+    return this;
+  }
+
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public FindShortestPathRequest setLimit(Integer limit) {
+    this.limit = limit;
+    return this;
+  }
+}
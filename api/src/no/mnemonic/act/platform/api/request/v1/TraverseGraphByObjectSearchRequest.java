@@ -20,6 +20,10 @@ public class TraverseGraphByObjectSearchRequest implements ValidatingRequest {
   @NotNull
   private TraverseGraphRequest traverse;
 
+  @ApiModelProperty(value = "Split the traversal across multiple threads if it starts at many Objects (default false). " +
+          "In this case the result doesn't contain duplicates and is returned in no particular order.", example = "false")
+  private Boolean parallel;
+
   public SearchObjectRequest getSearch() {
     return search;
   }
@@ -37,4 +41,13 @@ public class TraverseGraphByObjectSearchRequest implements ValidatingRequest {
     this.traverse = traverse;
     return this;
   }
+
+  public Boolean getParallel() {
+    return parallel;
+  }
+
+  public TraverseGraphByObjectSearchRequest setParallel(Boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
 }
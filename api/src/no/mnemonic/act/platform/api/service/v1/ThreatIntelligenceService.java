@@ -242,6 +242,23 @@ public interface ThreatIntelligenceService extends Service {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Create multiple new Facts at once. A failure to create one Fact does not abort the whole request. Instead, the
+   * returned result contains either the created Fact or the reason why the Fact could not be created for every
+   * requested Fact.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing new Facts.
+   * @return One result per requested Fact.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   */
+  default ResultSet<CreateFactResult> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch meta Facts bound to another Fact.
    *
@@ -443,6 +460,23 @@ public interface ThreatIntelligenceService extends Service {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Find the shortest paths through the graph of Objects and Facts connecting a set of source Objects with a set of
+   * destination Objects.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing source and destination Objects.
+   * @return Shortest paths between the source and destination Objects.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   * @throws OperationTimeoutException     If the path finding timed out.
+   */
+  default ResultSet<ObjectFactPath> findShortestPath(RequestHeader rh, FindShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch an Origin by its id.
    *
@@ -0,0 +1,47 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class CreateFactResultTest {
+
+  private static final ObjectMapper mapper = JsonMapper.builder().build();
+
+  @Test
+  public void testEncodeCreateFactResultWithFact() {
+    CreateFactResult result = CreateFactResult.builder()
+            .setIndex(1)
+            .setFact(Fact.builder().setId(UUID.randomUUID()).build())
+            .build();
+
+    JsonNode root = mapper.valueToTree(result);
+    assertEquals(1, root.get("index").intValue());
+    assertTrue(root.get("fact").isObject());
+    assertTrue(root.get("messages").isNull());
+  }
+
+  @Test
+  public void testEncodeCreateFactResultWithMessages() {
+    CreateFactResult result = CreateFactResult.builder()
+            .setIndex(2)
+            .addMessage(new CreateFactResult.Message("message", "template", "field", "parameter"))
+            .build();
+
+    JsonNode root = mapper.valueToTree(result);
+    assertEquals(2, root.get("index").intValue());
+    assertTrue(root.get("fact").isNull());
+    assertTrue(root.get("messages").isArray());
+    assertEquals(1, root.get("messages").size());
+    assertEquals("message", root.get("messages").get(0).get("message").textValue());
+    assertEquals("template", root.get("messages").get(0).get("messageTemplate").textValue());
+    assertEquals("field", root.get("messages").get(0).get("field").textValue());
+    assertEquals("parameter", root.get("messages").get(0).get("parameter").textValue());
+  }
+
+}
@@ -0,0 +1,43 @@
+package no.mnemonic.act.platform.api.model.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectFactPathTest {
+
+  private static final ObjectMapper mapper = JsonMapper.builder().build();
+
+  @Test
+  public void testEncodeObjectFactPath() {
+    ObjectFactPath path = ObjectFactPath.builder()
+            .addObject(createObject("source"))
+            .addFact(Fact.builder().setId(UUID.randomUUID()).setValue("value").build())
+            .addObject(createObject("destination"))
+            .build();
+
+    JsonNode root = mapper.valueToTree(path);
+    assertTrue(root.get("objects").isArray());
+    assertEquals(2, root.get("objects").size());
+    assertEquals("source", root.get("objects").get(0).get("value").textValue());
+    assertEquals("destination", root.get("objects").get(1).get("value").textValue());
+    assertTrue(root.get("facts").isArray());
+    assertEquals(1, root.get("facts").size());
+    assertEquals(path.getFacts().get(0).getId().toString(), root.get("facts").get(0).get("id").textValue());
+  }
+
+  private Object createObject(String value) {
+    return Object.builder()
+            .setId(UUID.randomUUID())
+            .setType(ObjectType.builder().setId(UUID.randomUUID()).setName("objectType").build().toInfo())
+            .setValue(value)
+            .build();
+  }
+
+}
@@ -0,0 +1,73 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CreateFactsRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    String json = "{" +
+            "facts : [" +
+            "{type : 'factType1', value : 'factValue1', sourceObject : 'type/value1'}," +
+            "{type : 'factType2', value : 'factValue2', destinationObject : 'type/value2'}" +
+            "]}";
+
+    CreateFactsRequest request = getMapper().readValue(json, CreateFactsRequest.class);
+    assertEquals(2, request.getFacts().size());
+    assertEquals("factType1", request.getFacts().get(0).getType());
+    assertEquals("factValue1", request.getFacts().get(0).getValue());
+    assertEquals("type/value1", request.getFacts().get(0).getSourceObject());
+    assertEquals("factType2", request.getFacts().get(1).getType());
+    assertEquals("factValue2", request.getFacts().get(1).getValue());
+    assertEquals("type/value2", request.getFacts().get(1).getDestinationObject());
+  }
+
+  @Test
+  public void testAddingFacts() {
+    CreateFactsRequest request = new CreateFactsRequest()
+            .setFacts(ListUtils.list(new CreateFactRequest()))
+            .addFact(new CreateFactRequest());
+
+    assertEquals(2, request.getFacts().size());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest());
+
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest().setFacts(ListUtils.list()));
+
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnInvalidFact() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest()));
+
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "type");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest().setType("type"))
+    ).isEmpty());
+  }
+
+}
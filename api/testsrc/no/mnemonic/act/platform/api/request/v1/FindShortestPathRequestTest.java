@@ -0,0 +1,103 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FindShortestPathRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    UUID id = UUID.randomUUID();
+    String json = "{" +
+            "source : ['" + id + "']," +
+            "destination : ['ThreatActor/Sofacy']," +
+            "maxDepth : 3," +
+            "before : '2016-11-30T15:47:00Z'," +
+            "after : '2016-11-30T15:47:01Z'," +
+            "includeRetracted : true," +
+            "limit : 10" +
+            "}";
+    FindShortestPathRequest request = getMapper().readValue(json, FindShortestPathRequest.class);
+
+    assertEquals(set(id.toString()), request.getSource());
+    assertEquals(set("ThreatActor/Sofacy"), request.getDestination());
+    assertEquals(Integer.valueOf(3), request.getMaxDepth());
+    assertEquals(1480520820000L, request.getBefore().longValue());
+    assertEquals(1480520821000L, request.getAfter().longValue());
+    assertTrue(request.getIncludeRetracted());
+    assertEquals(Integer.valueOf(10), request.getLimit());
+  }
+
+  @Test
+  public void testAddingObjects() {
+    FindShortestPathRequest request = new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .addSource("ThreatActor/Panda")
+            .setDestination(set("ip/1.1.1.1"))
+            .addDestination("ip/2.2.2.2");
+
+    assertEquals(set("ThreatActor/Sofacy", "ThreatActor/Panda"), request.getSource());
+    assertEquals(set("ip/1.1.1.1", "ip/2.2.2.2"), request.getDestination());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<FindShortestPathRequest>> violations = getValidator().validate(new FindShortestPathRequest());
+
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "source");
+    assertPropertyInvalid(violations, "destination");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<FindShortestPathRequest>> violations = getValidator()
+            .validate(new FindShortestPathRequest().setSource(set()).setDestination(set()));
+
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "source");
+    assertPropertyInvalid(violations, "destination");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMin() {
+    Set<ConstraintViolation<FindShortestPathRequest>> violations = getValidator().validate(new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .setDestination(set("ThreatActor/Panda"))
+            .setMaxDepth(0)
+            .setLimit(-1)
+    );
+
+    assertEquals(2, violations.size());
+    assertPropertyInvalid(violations, "maxDepth");
+    assertPropertyInvalid(violations, "limit");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnMax() {
+    Set<ConstraintViolation<FindShortestPathRequest>> violations = getValidator().validate(new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .setDestination(set("ThreatActor/Panda"))
+            .setMaxDepth(11)
+    );
+
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "maxDepth");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new FindShortestPathRequest()
+            .setSource(set(UUID.randomUUID().toString()))
+            .setDestination(set("ThreatActor/Panda"))
+            .setMaxDepth(10)
+    ).isEmpty());
+  }
+}
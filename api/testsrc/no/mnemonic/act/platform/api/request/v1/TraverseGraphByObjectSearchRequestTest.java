@@ -20,7 +20,8 @@ public class TraverseGraphByObjectSearchRequestTest extends AbstractRequestTest
             "}," +
             "traverse : {" +
             "  query : 'g.out()'" +
-            "}" +
+            "}," +
+            "parallel : true" +
             "}";
 
     TraverseGraphByObjectSearchRequest request = getMapper().readValue(json, TraverseGraphByObjectSearchRequest.class);
@@ -31,6 +32,7 @@ public class TraverseGraphByObjectSearchRequestTest extends AbstractRequestTest
 
     TraverseGraphRequest traverse = request.getTraverse();
     assertEquals("g.out()", traverse.getQuery());
+    assertTrue(request.getParallel());
   }
 
   @Test
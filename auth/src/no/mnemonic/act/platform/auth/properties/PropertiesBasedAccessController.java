@@ -187,6 +187,8 @@ public class PropertiesBasedAccessController implements AccessController, Organi
     PropertiesFileParser parser = new PropertiesFileParser();
     parser.parse(propertiesFile);
 
+    // Building the state also precomputes the flattened permission index. Only swap in the new state afterwards,
+    // thus, permission checks never observe a partially built index.
     AccessControllerState newState = AccessControllerState.builder()
             .setFunctions(parser.getFunctions())
             .setOrganizations(parser.getOrganizations())
@@ -229,102 +231,17 @@ public class PropertiesBasedAccessController implements AccessController, Organi
   }
 
   private boolean hasPermission(PropertiesSubject subject, String requestedFunction) {
-    boolean found = false;
-
-    // Check permissions directly granted to requesting subject regardless of organization.
-    Set<String> grantedFunctions = subject.getPermissions()
-            .values()
-            .stream()
-            .flatMap(Collection::stream)
-            .collect(Collectors.toSet());
-    if (checkFunctionTree(grantedFunctions, requestedFunction)) {
-      found = true;
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent subject group of the requesting subject.
-      for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-        if (hasPermission(parent, requestedFunction)) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    return found;
+    // Permissions granted via subject groups and function groups are already resolved in the state's permission index.
+    return state.get().hasPermission(subject.getInternalID(), requestedFunction);
   }
 
   private boolean hasPermission(PropertiesSubject subject, String requestedFunction, long requestedOrganizationID) {
-    boolean found = false;
-
-    // Check permissions directly granted to requesting subject for the requested organization.
-    if (checkFunctionTree(subject.getPermissions().get(requestedOrganizationID), requestedFunction)) {
-      found = true;
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent organization group of the requested organization.
-      for (PropertiesOrganization parent : state.get().getParentOrganizations(requestedOrganizationID)) {
-        if (hasPermission(subject, requestedFunction, parent.getInternalID())) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    if (!found) {
-      // Check if permission was granted to any parent subject group of the requesting subject.
-      for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-        if (hasPermission(parent, requestedFunction, requestedOrganizationID)) {
-          found = true;
-          break;
-        }
-      }
-    }
-
-    return found;
-  }
-
-  private boolean checkFunctionTree(Set<String> grantedFunctions, String requestedFunction) {
-    boolean found = false;
-
-    for (String grantedFunction : SetUtils.set(grantedFunctions)) {
-      if (grantedFunction.equals(requestedFunction)) {
-        // Found a function or function group granted to subject directly.
-        found = true;
-        break;
-      }
-
-      // If 'grantedFunction' is a group check child functions recursively.
-      // If 'group' isn't defined it will just be skipped (i.e. it's not a group but a single function).
-      PropertiesFunction group = state.get().getFunction(grantedFunction);
-      if (group != null && group.isGroup() && checkFunctionTree(PropertiesFunctionGroup.class.cast(group).getMembers(), requestedFunction)) {
-        // Found a function or function group granted to subject indirectly via resolved function tree.
-        found = true;
-        break;
-      }
-    }
-
-    return found;
+    // Permissions granted for organization groups are additionally resolved for all their members.
+    return state.get().hasPermission(subject.getInternalID(), requestedFunction, requestedOrganizationID);
   }
 
   private Set<Long> resolveAvailableOrganizations(PropertiesSubject subject) {
-    // All organizations the subject has direct access to.
-    Set<Long> directAccessibleOrganizations = SetUtils.set(subject.getPermissions().keySet());
-
-    // All child organizations for the directly accessible organizations.
-    Set<Long> childOrganizations = SetUtils.set();
-    for (Long id : directAccessibleOrganizations) {
-      childOrganizations = SetUtils.union(childOrganizations, SetUtils.set(state.get().getChildOrganizations(id), PropertiesOrganization::getInternalID));
-    }
-
-    // Also resolve all organizations for all parent subject groups.
-    Set<Long> parentSubjectsOrganizations = SetUtils.set();
-    for (PropertiesSubject parent : state.get().getParentSubjects(subject.getInternalID())) {
-      parentSubjectsOrganizations = SetUtils.union(parentSubjectsOrganizations, resolveAvailableOrganizations(parent));
-    }
-
-    return SetUtils.union(directAccessibleOrganizations, childOrganizations, parentSubjectsOrganizations);
+    return state.get().getAvailableOrganizations(subject.getInternalID());
   }
 
   private Organization createOrganization(UUID id, String name) {
@@ -4,9 +4,8 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -20,12 +19,22 @@ public class AccessControllerState {
   private final Map<Long, PropertiesSubject> subjectMap;
   private final Map<String, PropertiesSubject> subjectByNameMap;
 
+  // Flattened permission index computed once per state. Every function or function group name is assigned a bit.
+  private final Map<String, Integer> functionIndex = new HashMap<>();
+  // Key is internalID of subject and value holds the functions granted for any organization.
+  private final Map<Long, BitSet> grantedFunctionsMap = new HashMap<>();
+  // Key is internalID of subject and value holds the functions granted per internalID of organization.
+  private final Map<Long, Map<Long, BitSet>> grantedFunctionsByOrganizationMap = new HashMap<>();
+  // Key is internalID of subject and value holds the internalIDs of all organizations available to the subject.
+  private final Map<Long, Set<Long>> availableOrganizationsMap = new HashMap<>();
+
   private AccessControllerState(Map<String, PropertiesFunction> functionMap, Map<Long, PropertiesOrganization> organizationMap, Map<Long, PropertiesSubject> subjectMap) {
     this.functionMap = ObjectUtils.ifNotNull(functionMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.organizationMap = ObjectUtils.ifNotNull(organizationMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.organizationByNameMap = Collections.unmodifiableMap(MapUtils.map(this.organizationMap.values(), o -> MapUtils.Pair.T(o.getName(), o)));
     this.subjectMap = ObjectUtils.ifNotNull(subjectMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.subjectByNameMap = Collections.unmodifiableMap(MapUtils.map(this.subjectMap.values(), s -> MapUtils.Pair.T(s.getName(), s)));
+    buildPermissionIndex();
   }
 
   /**
@@ -166,10 +175,146 @@ public class AccessControllerState {
     return parents;
   }
 
+  /**
+   * Returns whether a Subject has been granted a Function regardless of Organization. The Function can either be granted
+   * directly, via a FunctionGroup, or to a parent SubjectGroup of the Subject.
+   *
+   * @param internalID Internal ID of Subject or SubjectGroup
+   * @param function   Name of Function or FunctionGroup
+   * @return True if the Function has been granted
+   */
+  public boolean hasPermission(long internalID, String function) {
+    return isGranted(grantedFunctionsMap.get(internalID), function);
+  }
+
+  /**
+   * Returns whether a Subject has been granted a Function for an Organization. The Function can either be granted
+   * directly, via a FunctionGroup, to a parent SubjectGroup of the Subject, or for a parent OrganizationGroup of the
+   * Organization.
+   *
+   * @param internalID     Internal ID of Subject or SubjectGroup
+   * @param function       Name of Function or FunctionGroup
+   * @param organizationID Internal ID of Organization or OrganizationGroup
+   * @return True if the Function has been granted
+   */
+  public boolean hasPermission(long internalID, String function, long organizationID) {
+    Map<Long, BitSet> grantedFunctions = grantedFunctionsByOrganizationMap.get(internalID);
+    return grantedFunctions != null && isGranted(grantedFunctions.get(organizationID), function);
+  }
+
+  /**
+   * Returns the Organizations available to a Subject, i.e. all Organizations the Subject or any parent SubjectGroup
+   * has been granted permissions for including their children.
+   * <p>
+   * It will return an empty set if no Organization is available to the Subject.
+   *
+   * @param internalID Internal ID of Subject or SubjectGroup
+   * @return Internal IDs of available Organizations
+   */
+  public Set<Long> getAvailableOrganizations(long internalID) {
+    return availableOrganizationsMap.getOrDefault(internalID, Collections.emptySet());
+  }
+
   public static Builder builder() {
     return new Builder();
   }
 
+  private boolean isGranted(BitSet grantedFunctions, String function) {
+    Integer index = functionIndex.get(function);
+    return grantedFunctions != null && index != null && grantedFunctions.get(index);
+  }
+
+  private void buildPermissionIndex() {
+    // Cache resolved function trees and organization trees as they are shared between many subjects.
+    Map<String, BitSet> functionTrees = new HashMap<>();
+    Map<Long, Set<Long>> organizationTrees = new HashMap<>();
+    Map<Long, Set<Long>> subjectParents = resolveDirectSubjectParents();
+
+    for (PropertiesSubject subject : subjectMap.values()) {
+      BitSet grantedFunctions = new BitSet();
+      Map<Long, BitSet> grantedFunctionsByOrganization = new HashMap<>();
+      Set<Long> availableOrganizations = new HashSet<>();
+
+      // Permissions granted to any parent subject group apply to the subject as well.
+      for (Long subjectID : resolveTree(subject.getInternalID(), id -> subjectParents.get(id))) {
+        PropertiesSubject current = subjectMap.get(subjectID);
+        if (current == null) continue;
+
+        for (Map.Entry<Long, Set<String>> permission : current.getPermissions().entrySet()) {
+          BitSet granted = new BitSet();
+          for (String function : SetUtils.set(permission.getValue())) {
+            granted.or(functionTrees.computeIfAbsent(function, this::resolveFunctionTree));
+          }
+          grantedFunctions.or(granted);
+
+          // Permissions granted for an organization group apply to all its members as well.
+          Long organizationID = permission.getKey();
+          for (Long memberID : organizationTrees.computeIfAbsent(organizationID, this::resolveOrganizationTree)) {
+            grantedFunctionsByOrganization.computeIfAbsent(memberID, id -> new BitSet()).or(granted);
+            // Only defined organizations are available as children of an organization group.
+            if (Objects.equals(memberID, organizationID) || organizationMap.containsKey(memberID)) {
+              availableOrganizations.add(memberID);
+            }
+          }
+        }
+      }
+
+      grantedFunctionsMap.put(subject.getInternalID(), grantedFunctions);
+      grantedFunctionsByOrganizationMap.put(subject.getInternalID(), grantedFunctionsByOrganization);
+      availableOrganizationsMap.put(subject.getInternalID(), Collections.unmodifiableSet(availableOrganizations));
+    }
+  }
+
+  private BitSet resolveFunctionTree(String function) {
+    // Resolve the function itself and all members of function groups recursively.
+    BitSet tree = new BitSet();
+    for (String name : resolveTree(function, name -> {
+      PropertiesFunction current = functionMap.get(name);
+      // If 'current' isn't defined it's not a group but a single function.
+      return current != null && current.isGroup() ? PropertiesFunctionGroup.class.cast(current).getMembers() : Collections.emptySet();
+    })) {
+      tree.set(functionIndex.computeIfAbsent(name, ignored -> functionIndex.size()));
+    }
+
+    return tree;
+  }
+
+  private Set<Long> resolveOrganizationTree(Long organizationID) {
+    // Resolve the organization itself and all members of organization groups recursively.
+    return resolveTree(organizationID, id -> {
+      PropertiesOrganization current = organizationMap.get(id);
+      return current != null && current.isGroup() ? PropertiesOrganizationGroup.class.cast(current).getMembers() : Collections.emptySet();
+    });
+  }
+
+  private Map<Long, Set<Long>> resolveDirectSubjectParents() {
+    Map<Long, Set<Long>> parents = new HashMap<>();
+    for (PropertiesSubject subject : subjectMap.values()) {
+      if (!subject.isGroup()) continue;
+
+      for (Long memberID : PropertiesSubjectGroup.class.cast(subject).getMembers()) {
+        parents.computeIfAbsent(memberID, id -> new HashSet<>()).add(subject.getInternalID());
+      }
+    }
+
+    return parents;
+  }
+
+  private <T> Set<T> resolveTree(T root, Function<T, Set<T>> edges) {
+    // Iterative traversal which also terminates if the configuration contains cycles.
+    Set<T> visited = new HashSet<>();
+    Deque<T> pending = new ArrayDeque<>();
+    pending.push(root);
+    while (!pending.isEmpty()) {
+      T current = pending.pop();
+      if (visited.add(current)) {
+        SetUtils.set(edges.apply(current)).forEach(pending::push);
+      }
+    }
+
+    return visited;
+  }
+
   public static class Builder {
     private Map<String, PropertiesFunction> functionMap;
     private Map<Long, PropertiesOrganization> organizationMap;
@@ -389,6 +389,156 @@ public class AccessControllerStateTest {
     assertEquals(SetUtils.set(parent), state.getParentSubjects(subject.getInternalID()));
   }
 
+  @Test
+  public void testHasPermissionUnknownSubject() {
+    AccessControllerState state = AccessControllerState.builder().build();
+    assertFalse(state.hasPermission(1, "function"));
+    assertFalse(state.hasPermission(1, "function", 2));
+  }
+
+  @Test
+  public void testHasPermissionGrantedDirectly() {
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(2, SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder().addSubject(subject).build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 2));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", 3));
+    assertFalse(state.hasPermission(subject.getInternalID(), "unknown"));
+    assertFalse(state.hasPermission(subject.getInternalID(), "unknown", 2));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaFunctionGroup() {
+    PropertiesFunction function = PropertiesFunction.builder().setName("function").build();
+    PropertiesFunctionGroup directGroup = PropertiesFunctionGroup.builder()
+            .setName("directGroup")
+            .addMember(function.getName())
+            .build();
+    PropertiesFunctionGroup indirectGroup = PropertiesFunctionGroup.builder()
+            .setName("indirectGroup")
+            .addMember(directGroup.getName())
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(2, SetUtils.set(indirectGroup.getName()))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setFunctions(SetUtils.set(function, directGroup, indirectGroup))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), function.getName(), 2));
+    assertTrue(state.hasPermission(subject.getInternalID(), directGroup.getName(), 2));
+    assertTrue(state.hasPermission(subject.getInternalID(), indirectGroup.getName(), 2));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaParentSubject() {
+    PropertiesSubject subject = PropertiesSubject.builder().setInternalID(1).build();
+    PropertiesSubjectGroup directParent = PropertiesSubjectGroup.builder()
+            .setInternalID(10)
+            .addMember(subject.getInternalID())
+            .build();
+    PropertiesSubjectGroup indirectParent = PropertiesSubjectGroup.builder()
+            .setInternalID(11)
+            .addMember(directParent.getInternalID())
+            .addPermission(2, SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setSubjects(SetUtils.set(subject, directParent, indirectParent))
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 2));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaParentOrganization() {
+    PropertiesOrganizationGroup directParent = PropertiesOrganizationGroup.builder()
+            .setInternalID(10)
+            .addMember(2)
+            .build();
+    PropertiesOrganizationGroup indirectParent = PropertiesOrganizationGroup.builder()
+            .setInternalID(11)
+            .addMember(directParent.getInternalID())
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(indirectParent.getInternalID(), SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setOrganizations(SetUtils.set(directParent, indirectParent))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 2));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", directParent.getInternalID()));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", indirectParent.getInternalID()));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", 3));
+  }
+
+  @Test
+  public void testHasPermissionWithCyclicGroups() {
+    PropertiesFunctionGroup functionGroup1 = PropertiesFunctionGroup.builder()
+            .setName("group1")
+            .addMember("group2")
+            .build();
+    PropertiesFunctionGroup functionGroup2 = PropertiesFunctionGroup.builder()
+            .setName("group2")
+            .setMembers(SetUtils.set("group1", "function"))
+            .build();
+    PropertiesSubjectGroup subjectGroup1 = PropertiesSubjectGroup.builder()
+            .setInternalID(10)
+            .addMember(11)
+            .addPermission(2, SetUtils.set(functionGroup1.getName()))
+            .build();
+    PropertiesSubjectGroup subjectGroup2 = PropertiesSubjectGroup.builder()
+            .setInternalID(11)
+            .addMember(subjectGroup1.getInternalID())
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setFunctions(SetUtils.set(functionGroup1, functionGroup2))
+            .setSubjects(SetUtils.set(subjectGroup1, subjectGroup2))
+            .build();
+
+    assertTrue(state.hasPermission(subjectGroup2.getInternalID(), "function", 2));
+  }
+
+  @Test
+  public void testGetAvailableOrganizationsUnknownSubject() {
+    AccessControllerState state = AccessControllerState.builder().build();
+    assertEmpty(state.getAvailableOrganizations(1));
+  }
+
+  @Test
+  public void testGetAvailableOrganizations() {
+    PropertiesOrganization child = PropertiesOrganization.builder().setInternalID(2).build();
+    PropertiesOrganizationGroup group = PropertiesOrganizationGroup.builder()
+            .setInternalID(10)
+            // Organization 3 is not defined, thus, it's not available.
+            .setMembers(SetUtils.set(child.getInternalID(), 3L))
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(4, SetUtils.set("function"))
+            .build();
+    PropertiesSubjectGroup parent = PropertiesSubjectGroup.builder()
+            .setInternalID(20)
+            .addMember(subject.getInternalID())
+            .addPermission(group.getInternalID(), SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setOrganizations(SetUtils.set(child, group))
+            .setSubjects(SetUtils.set(subject, parent))
+            .build();
+
+    assertEquals(SetUtils.set(4L, group.getInternalID(), child.getInternalID()), state.getAvailableOrganizations(subject.getInternalID()));
+  }
+
   private void assertEmpty(Set<?> collection) {
     assertNotNull(collection);
     assertTrue(collection.isEmpty());
@@ -7,7 +7,10 @@ import no.mnemonic.act.platform.dao.cassandra.*;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.ClientFactoryProvider;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManagerProvider;
 import no.mnemonic.act.platform.dao.facade.ObjectFactDaoFacade;
+import no.mnemonic.act.platform.dao.facade.index.ObjectAdjacencyIndex;
+import no.mnemonic.act.platform.dao.facade.index.ObjectAdjacencyIndexProvider;
 
 public class DaoModule extends AbstractModule {
 
@@ -15,15 +18,16 @@ public class DaoModule extends AbstractModule {
   protected void configure() {
     // Cassandra
     bind(ClusterManager.class).toProvider(ClusterManagerProvider.class).in(Scopes.SINGLETON);
-    bind(FactManager.class);
-    bind(ObjectManager.class);
+    bind(FactManager.class).toProvider(FactManagerProvider.class).in(Scopes.SINGLETON);
+    bind(ObjectManager.class).toProvider(ObjectManagerProvider.class).in(Scopes.SINGLETON);
     bind(OriginManager.class);
 
     // ElasticSearch
     bind(ClientFactory.class).toProvider(ClientFactoryProvider.class).in(Scopes.SINGLETON);
-    bind(FactSearchManager.class);
+    bind(FactSearchManager.class).toProvider(FactSearchManagerProvider.class).in(Scopes.SINGLETON);
 
     // Facade wrapping Cassandra + ElasticSearch
+    bind(ObjectAdjacencyIndex.class).toProvider(ObjectAdjacencyIndexProvider.class).in(Scopes.SINGLETON);
     bind(ObjectFactDao.class).to(ObjectFactDaoFacade.class);
   }
 
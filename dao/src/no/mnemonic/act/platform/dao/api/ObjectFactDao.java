@@ -8,7 +8,10 @@ import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.dao.api.result.StoreFactsContainer;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -93,6 +96,20 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Store multiple new Facts at once. The same preconditions as for {@link #storeFact(FactRecord)} apply for every Fact.
+   * <p>
+   * In contrast to {@link #storeFact(FactRecord)} a failure to store one Fact does not abort the whole operation.
+   * Instead, failures are collected per Fact and returned to the caller. Facts which were stored but could not be
+   * indexed are reported separately from Facts which could not be stored at all.
+   *
+   * @param facts Facts to store
+   * @return Container holding the failure reasons for all Facts which could not be stored or indexed
+   */
+  default StoreFactsContainer storeFacts(List<FactRecord> facts) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Refresh an existing Fact, i.e. update its lastSeenTimestamp. The caller must ensure that the Fact exists.
    * <p>
@@ -129,6 +146,17 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Retrieve any existing Facts which are logically the same as the supplied {@link FactRecord}s. Same as
+   * {@link #retrieveExistingFacts(FactRecord)} but checks a whole batch of Facts at once.
+   *
+   * @param facts Facts to check for existence
+   * @return One container per supplied Fact (in the same order) holding existing Facts, or an empty container if non exist
+   */
+  default List<ResultContainer<FactRecord>> retrieveExistingFacts(List<FactRecord> facts) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Search for Facts based on a search criteria.
    *
@@ -139,6 +167,28 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Determine whether at least one Fact satisfies a search criteria. This is cheaper than {@link #searchFacts(FactSearchCriteria)}
+   * because no Facts are fetched.
+   *
+   * @param criteria Criteria to filter Facts
+   * @return True if at least one Fact satisfies the search criteria
+   */
+  default boolean existsFact(FactSearchCriteria criteria) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Determine which of the Objects specified in a search criteria are bound to at least one Fact satisfying the criteria.
+   * All Objects are checked at once without fetching any Facts.
+   *
+   * @param criteria Criteria to filter Facts, including the Objects to check
+   * @return IDs of the Objects bound to at least one Fact satisfying the search criteria
+   */
+  default Set<UUID> retrieveObjectsWithFacts(FactSearchCriteria criteria) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Store a new ACL entry for an existing Fact. The caller must ensure that the Fact exists.
    *
@@ -124,6 +124,9 @@ public class FactSearchCriteria {
 
   // Additional search options.
   private final int limit;
+  private final int pageSizeHint;
+  private final boolean indexServed;
+  private final boolean adjacencyCached;
 
   // Fields required for access control.
   private final UUID currentUserID;
@@ -150,6 +153,9 @@ public class FactSearchCriteria {
                              Set<NumberFieldStrategy> numberFieldStrategy,
                              MatchStrategy numberMatchStrategy,
                              int limit,
+                             int pageSizeHint,
+                             boolean indexServed,
+                             boolean adjacencyCached,
                              UUID currentUserID,
                              Set<UUID> availableOrganizationID,
                              FactBinding factBinding) {
@@ -172,6 +178,9 @@ public class FactSearchCriteria {
     this.minNumber = minNumber;
     this.maxNumber = maxNumber;
     this.limit = limit;
+    this.pageSizeHint = pageSizeHint;
+    this.indexServed = indexServed;
+    this.adjacencyCached = adjacencyCached;
     this.currentUserID = currentUserID;
     this.availableOrganizationID = availableOrganizationID;
     this.factBinding = factBinding;
@@ -395,6 +404,42 @@ public class FactSearchCriteria {
     return limit;
   }
 
+  /**
+   * Hint about how many Facts the caller expects to consume from the search result. It's used to size the first batch
+   * of Facts fetched from ElasticSearch, but doesn't restrict the number of returned Facts. Defaults to the limit.
+   *
+   * @return Expected number of consumed Facts
+   */
+  public int getPageSizeHint() {
+    return pageSizeHint;
+  }
+
+  /**
+   * Serve the returned Facts directly from the documents stored in ElasticSearch instead of fetching them from Cassandra.
+   * Only the Fact rows are read from Cassandra in order to detect outdated documents. Returned Facts won't include comments.
+   *
+   * @return True if Facts should be served from ElasticSearch
+   */
+  public boolean isIndexServed() {
+    return indexServed;
+  }
+
+  /**
+   * Serve the search from the node-local cache of Object adjacency if possible. The cached result of a search is re-used
+   * per Object and user as long as no Fact bound to the Object is indexed. If the node-local adjacency index is enabled
+   * searches which filter on Objects and otherwise only restrict FactTypes and the 'timestamp' field without a limit
+   * are served from the index instead.
+   * <p>
+   * NB! The adjacency index doesn't apply access control, thus, the returned Facts might include Facts the calling user
+   * has no access to (which are also included in the count). Only set this if the caller checks access to every
+   * returned Fact itself.
+   *
+   * @return True if the search result can be served from the adjacency cache
+   */
+  public boolean isAdjacencyCached() {
+    return adjacencyCached;
+  }
+
   /**
    * Specify the UUID of the calling user. This field is required.
    *
@@ -417,6 +462,42 @@ public class FactSearchCriteria {
     return new Builder();
   }
 
+  /**
+   * Create a builder which is initialized with all fields of this criteria.
+   *
+   * @return New builder
+   */
+  public Builder toBuilder() {
+    return new Builder()
+            .setFactID(factID)
+            .setFactTypeID(factTypeID)
+            .setFactValue(factValue)
+            .setInReferenceTo(inReferenceTo)
+            .setOrganizationID(organizationID)
+            .setOriginID(originID)
+            .setObjectID(objectID)
+            .setObjectTypeID(objectTypeID)
+            .setObjectValue(objectValue)
+            .setKeywords(keywords)
+            .setKeywordFieldStrategy(keywordFieldStrategy)
+            .setKeywordMatchStrategy(keywordMatchStrategy)
+            .setStartTimestamp(startTimestamp)
+            .setEndTimestamp(endTimestamp)
+            .setTimeFieldStrategy(timeFieldStrategy)
+            .setTimeMatchStrategy(timeMatchStrategy)
+            .setMinNumber(minNumber)
+            .setMaxNumber(maxNumber)
+            .setNumberFieldStrategy(numberFieldStrategy)
+            .setNumberMatchStrategy(numberMatchStrategy)
+            .setFactBinding(factBinding)
+            .setLimit(limit)
+            .setPageSizeHint(pageSizeHint)
+            .setIndexServed(indexServed)
+            .setAdjacencyCached(adjacencyCached)
+            .setCurrentUserID(currentUserID)
+            .setAvailableOrganizationID(availableOrganizationID);
+  }
+
   public static class Builder {
     // Filter returned Facts based on those fields.
     private Set<UUID> factID;
@@ -450,6 +531,9 @@ public class FactSearchCriteria {
 
     // Additional search options.
     private int limit;
+    private int pageSizeHint;
+    private boolean indexServed;
+    private boolean adjacencyCached;
 
     // Fields required for access control.
     private UUID currentUserID;
@@ -461,8 +545,8 @@ public class FactSearchCriteria {
     public FactSearchCriteria build() {
       return new FactSearchCriteria(factID, factTypeID, factValue, inReferenceTo, organizationID, originID, objectID, objectTypeID,
               objectValue, keywords, keywordFieldStrategy, keywordMatchStrategy, startTimestamp, endTimestamp, timeFieldStrategy,
-              timeMatchStrategy, minNumber, maxNumber, numberFieldStrategy, numberMatchStrategy, limit, currentUserID,
-              availableOrganizationID, factBinding);
+              timeMatchStrategy, minNumber, maxNumber, numberFieldStrategy, numberMatchStrategy, limit, pageSizeHint, indexServed, adjacencyCached,
+              currentUserID, availableOrganizationID, factBinding);
     }
 
     public Builder setFactID(Set<UUID> factID) {
@@ -635,6 +719,21 @@ public class FactSearchCriteria {
       return this;
     }
 
+    public Builder setPageSizeHint(int pageSizeHint) {
+      this.pageSizeHint = pageSizeHint;
+      return this;
+    }
+
+    public Builder setIndexServed(boolean indexServed) {
+      this.indexServed = indexServed;
+      return this;
+    }
+
+    public Builder setAdjacencyCached(boolean adjacencyCached) {
+      this.adjacencyCached = adjacencyCached;
+      return this;
+    }
+
     public Builder setCurrentUserID(UUID currentUserID) {
       this.currentUserID = currentUserID;
       return this;
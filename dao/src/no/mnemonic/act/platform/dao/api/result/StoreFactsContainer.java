@@ -0,0 +1,78 @@
+package no.mnemonic.act.platform.dao.api.result;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.*;
+
+/**
+ * Result container holding the outcome of storing multiple Facts at once.
+ * <p>
+ * Failures are separated into Facts which could not be stored at all and Facts which were stored in Cassandra
+ * but could not be indexed into ElasticSearch.
+ */
+public class StoreFactsContainer {
+
+  private final Map<UUID, String> storeFailures;
+  private final Map<UUID, String> indexFailures;
+
+  private StoreFactsContainer(Map<UUID, String> storeFailures, Map<UUID, String> indexFailures) {
+    this.storeFailures = ObjectUtils.ifNotNull(storeFailures, Collections::unmodifiableMap, Collections.emptyMap());
+    this.indexFailures = ObjectUtils.ifNotNull(indexFailures, Collections::unmodifiableMap, Collections.emptyMap());
+  }
+
+  /**
+   * Fetch the reason why a Fact (identified by its UUID) could not be stored. Returns NULL if the Fact was stored.
+   *
+   * @param factID UUID of Fact
+   * @return Failure reason or NULL
+   */
+  public String getStoreFailure(UUID factID) {
+    return storeFailures.get(factID);
+  }
+
+  /**
+   * Fetch the reason why a stored Fact (identified by its UUID) could not be indexed. Returns NULL if the Fact was indexed
+   * or if it could not be stored in the first place, see {@link #getStoreFailure(UUID)}.
+   *
+   * @param factID UUID of Fact
+   * @return Failure reason or NULL
+   */
+  public String getIndexFailure(UUID factID) {
+    return indexFailures.get(factID);
+  }
+
+  /**
+   * Returns true if all Facts were stored and indexed successfully.
+   *
+   * @return True if no failures occurred
+   */
+  public boolean isSuccessful() {
+    return storeFailures.isEmpty() && indexFailures.isEmpty();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final Map<UUID, String> storeFailures = new HashMap<>();
+    private final Map<UUID, String> indexFailures = new HashMap<>();
+
+    private Builder() {
+    }
+
+    public StoreFactsContainer build() {
+      return new StoreFactsContainer(storeFailures, indexFailures);
+    }
+
+    public Builder addStoreFailure(UUID factID, String reason) {
+      this.storeFailures.put(factID, reason);
+      return this;
+    }
+
+    public Builder addIndexFailure(UUID factID, String reason) {
+      this.indexFailures.put(factID, reason);
+      return this;
+    }
+  }
+}
@@ -7,7 +7,9 @@ import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.cassandra.mapper.FactDao;
 import no.mnemonic.act.platform.dao.cassandra.mapper.FactTypeDao;
-import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchIterator;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncFetchUtils;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncMultiFetchIterator;
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -20,6 +22,8 @@ import javax.inject.Singleton;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +40,8 @@ public class FactManager implements LifecycleAspect {
   private FactDao factDao;
 
   private Clock clock = Clock.systemUTC();
+  private int multiFetchPrefetch = 2;
+  private MultiFetchMode multiFetchMode = MultiFetchMode.InClause;
 
   @Inject
   public FactManager(ClusterManager clusterManager) {
@@ -55,6 +61,31 @@ public class FactManager implements LifecycleAspect {
     // NOOP
   }
 
+  /**
+   * Specify how many batches are fetched in advance from Cassandra when fetching multiple entities by id. Defaults to 2.
+   *
+   * @param multiFetchPrefetch Number of batches kept in flight
+   * @return Class instance, i.e. 'this'
+   */
+  public FactManager setMultiFetchPrefetch(int multiFetchPrefetch) {
+    this.multiFetchPrefetch = multiFetchPrefetch;
+    return this;
+  }
+
+  /**
+   * Specify how multiple entities are fetched by id from Cassandra. Defaults to {@link MultiFetchMode#InClause}.
+   * <p>
+   * With {@link MultiFetchMode#ParallelGet} the number of concurrent queries is limited to the partition size of
+   * the multi-fetch (100) times the number of batches kept in flight (see {@link #setMultiFetchPrefetch(int)}).
+   *
+   * @param multiFetchMode Multi-fetch mode
+   * @return Class instance, i.e. 'this'
+   */
+  public FactManager setMultiFetchMode(MultiFetchMode multiFetchMode) {
+    this.multiFetchMode = ObjectUtils.ifNull(multiFetchMode, MultiFetchMode.InClause);
+    return this;
+  }
+
   /* FactTypeEntity-related methods */
 
   public FactTypeEntity getFactType(UUID id) {
@@ -106,9 +137,19 @@ public class FactManager implements LifecycleAspect {
     return factDao.get(id);
   }
 
+  public CompletionStage<FactEntity> getFactAsync(UUID id) {
+    if (id == null) return CompletableFuture.completedFuture(null);
+    return factDao.getAsync(id);
+  }
+
   public Iterator<FactEntity> getFacts(List<UUID> id) {
     if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
-    return new MultiFetchIterator<>(partition -> factDao.fetchByID(partition).iterator(), id);
+    if (multiFetchMode == MultiFetchMode.ParallelGet) {
+      // Fetch each id separately, every query is routed directly to a replica owning the partition.
+      return new AsyncMultiFetchIterator<>(partition -> AsyncFetchUtils.getAll(partition, factDao::getAsync), id, multiFetchPrefetch);
+    }
+
+    return new AsyncMultiFetchIterator<>(partition -> AsyncFetchUtils.all(factDao.fetchByIDAsync(partition)), id, multiFetchPrefetch);
   }
 
   public FactEntity saveFact(FactEntity fact) {
@@ -122,6 +163,21 @@ public class FactManager implements LifecycleAspect {
     return fact;
   }
 
+  /**
+   * Asynchronously save a Fact which is known to be new, i.e. in contrast to {@link #saveFact(FactEntity)} it's not
+   * verified that the Fact doesn't exist yet. The caller is responsible for verifying that beforehand.
+   *
+   * @param fact New Fact
+   * @return Future completing when the Fact has been saved
+   */
+  public CompletionStage<FactEntity> saveNewFactAsync(FactEntity fact) {
+    if (fact == null) return CompletableFuture.completedFuture(null);
+    if (getFactType(fact.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("FactType with id = %s does not exist.", fact.getTypeID()));
+
+    return factDao.saveAsync(fact).thenApply(ignored -> fact);
+  }
+
   public FactEntity refreshFact(UUID id) {
     FactEntity fact = getFact(id);
     if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
@@ -145,6 +201,11 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchAcl(id).all();
   }
 
+  public CompletionStage<List<FactAclEntity>> fetchFactAclAsync(UUID id) {
+    if (id == null) return CompletableFuture.completedFuture(ListUtils.list());
+    return AsyncFetchUtils.all(factDao.fetchAclAsync(id));
+  }
+
   public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
     if (entry == null) return null;
     if (getFact(entry.getFactID()) == null)
@@ -157,6 +218,17 @@ public class FactManager implements LifecycleAspect {
     return entry;
   }
 
+  /**
+   * Asynchronously save an ACL entry of a new Fact. No existence checks are performed, see {@link #saveNewFactAsync(FactEntity)}.
+   *
+   * @param entry New ACL entry
+   * @return Future completing when the ACL entry has been saved
+   */
+  public CompletionStage<FactAclEntity> saveNewFactAclEntryAsync(FactAclEntity entry) {
+    if (entry == null) return CompletableFuture.completedFuture(null);
+    return factDao.saveAsync(entry).thenApply(ignored -> entry);
+  }
+
   /* FactCommentEntity-related methods */
 
   public List<FactCommentEntity> fetchFactComments(UUID id) {
@@ -164,6 +236,11 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchComments(id).all();
   }
 
+  public CompletionStage<List<FactCommentEntity>> fetchFactCommentsAsync(UUID id) {
+    if (id == null) return CompletableFuture.completedFuture(ListUtils.list());
+    return AsyncFetchUtils.all(factDao.fetchCommentsAsync(id));
+  }
+
   public FactCommentEntity saveFactComment(FactCommentEntity comment) {
     if (comment == null) return null;
     if (getFact(comment.getFactID()) == null)
@@ -176,6 +253,17 @@ public class FactManager implements LifecycleAspect {
     return comment;
   }
 
+  /**
+   * Asynchronously save a comment of a new Fact. No existence checks are performed, see {@link #saveNewFactAsync(FactEntity)}.
+   *
+   * @param comment New comment
+   * @return Future completing when the comment has been saved
+   */
+  public CompletionStage<FactCommentEntity> saveNewFactCommentAsync(FactCommentEntity comment) {
+    if (comment == null) return CompletableFuture.completedFuture(null);
+    return factDao.saveAsync(comment).thenApply(ignored -> comment);
+  }
+
   /* MetaFactBindingEntity-related methods */
 
   public List<MetaFactBindingEntity> fetchMetaFactBindings(UUID id) {
@@ -195,6 +283,18 @@ public class FactManager implements LifecycleAspect {
     return binding;
   }
 
+  /**
+   * Asynchronously save the MetaFactBinding of a new meta Fact. No existence checks are performed, thus, the caller
+   * is responsible for verifying that the referenced Fact exists. See also {@link #saveNewFactAsync(FactEntity)}.
+   *
+   * @param binding New MetaFactBinding
+   * @return Future completing when the MetaFactBinding has been saved
+   */
+  public CompletionStage<MetaFactBindingEntity> saveNewMetaFactBindingAsync(MetaFactBindingEntity binding) {
+    if (binding == null) return CompletableFuture.completedFuture(null);
+    return factDao.saveAsync(binding).thenApply(ignored -> binding);
+  }
+
   /* Setters used for unit testing */
 
   FactManager withClock(Clock clock) {
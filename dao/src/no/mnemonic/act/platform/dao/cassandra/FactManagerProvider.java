@@ -0,0 +1,30 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link FactManager}.
+ */
+public class FactManagerProvider implements Provider<FactManager> {
+
+  @Inject
+  private ClusterManager clusterManager;
+  @Inject
+  @Named("act.cassandra.multi.fetch.prefetch")
+  private String multiFetchPrefetch;
+  @Inject
+  @Named("act.cassandra.multi.fetch.mode")
+  private String multiFetchMode;
+
+  @Override
+  public FactManager get() {
+    return new FactManager(clusterManager)
+            .setMultiFetchPrefetch(Integer.parseInt(multiFetchPrefetch))
+            .setMultiFetchMode(MultiFetchMode.valueOf(multiFetchMode));
+  }
+
+}
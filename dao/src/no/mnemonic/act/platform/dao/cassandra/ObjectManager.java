@@ -10,7 +10,9 @@ import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.cassandra.mapper.ObjectDao;
 import no.mnemonic.act.platform.dao.cassandra.mapper.ObjectTypeDao;
-import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchIterator;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncFetchUtils;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncMultiFetchIterator;
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -20,6 +22,8 @@ import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +39,9 @@ public class ObjectManager implements LifecycleAspect {
   private ObjectTypeDao objectTypeDao;
   private ObjectDao objectDao;
 
+  private int multiFetchPrefetch = 2;
+  private MultiFetchMode multiFetchMode = MultiFetchMode.InClause;
+
   @Inject
   public ObjectManager(ClusterManager clusterManager) {
     this.clusterManager = clusterManager;
@@ -53,6 +60,31 @@ public class ObjectManager implements LifecycleAspect {
     // NOOP
   }
 
+  /**
+   * Specify how many batches are fetched in advance from Cassandra when fetching multiple entities by id. Defaults to 2.
+   *
+   * @param multiFetchPrefetch Number of batches kept in flight
+   * @return Class instance, i.e. 'this'
+   */
+  public ObjectManager setMultiFetchPrefetch(int multiFetchPrefetch) {
+    this.multiFetchPrefetch = multiFetchPrefetch;
+    return this;
+  }
+
+  /**
+   * Specify how multiple entities are fetched by id from Cassandra. Defaults to {@link MultiFetchMode#InClause}.
+   * <p>
+   * With {@link MultiFetchMode#ParallelGet} the number of concurrent queries is limited to the partition size of
+   * the multi-fetch (100) times the number of batches kept in flight (see {@link #setMultiFetchPrefetch(int)}).
+   *
+   * @param multiFetchMode Multi-fetch mode
+   * @return Class instance, i.e. 'this'
+   */
+  public ObjectManager setMultiFetchMode(MultiFetchMode multiFetchMode) {
+    this.multiFetchMode = ObjectUtils.ifNull(multiFetchMode, MultiFetchMode.InClause);
+    return this;
+  }
+
   /* ObjectTypeEntity-related methods */
 
   public ObjectTypeEntity getObjectType(UUID id) {
@@ -104,6 +136,11 @@ public class ObjectManager implements LifecycleAspect {
     return objectDao.get(id);
   }
 
+  public CompletionStage<ObjectEntity> getObjectAsync(UUID id) {
+    if (id == null) return CompletableFuture.completedFuture(null);
+    return objectDao.getAsync(id);
+  }
+
   public ObjectEntity getObject(String type, String value) {
     if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
 
@@ -116,7 +153,12 @@ public class ObjectManager implements LifecycleAspect {
 
   public Iterator<ObjectEntity> getObjects(List<UUID> id) {
     if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
-    return new MultiFetchIterator<>(partition -> objectDao.fetchByID(partition).iterator(), id);
+    if (multiFetchMode == MultiFetchMode.ParallelGet) {
+      // Fetch each id separately, every query is routed directly to a replica owning the partition.
+      return new AsyncMultiFetchIterator<>(partition -> AsyncFetchUtils.getAll(partition, objectDao::getAsync), id, multiFetchPrefetch);
+    }
+
+    return new AsyncMultiFetchIterator<>(partition -> AsyncFetchUtils.all(objectDao.fetchByIDAsync(partition)), id, multiFetchPrefetch);
   }
 
   public ObjectEntity saveObject(ObjectEntity object) {
@@ -161,6 +203,19 @@ public class ObjectManager implements LifecycleAspect {
     return binding;
   }
 
+  /**
+   * Asynchronously save an ObjectFactBinding of a new Fact. In contrast to {@link #saveObjectFactBinding(ObjectFactBindingEntity)}
+   * no existence checks are performed, thus, the caller is responsible for verifying that the Object exists and
+   * for guaranteeing that the Fact is new.
+   *
+   * @param binding New ObjectFactBinding
+   * @return Future completing when the ObjectFactBinding has been saved
+   */
+  public CompletionStage<ObjectFactBindingEntity> saveNewObjectFactBindingAsync(ObjectFactBindingEntity binding) {
+    if (binding == null) return CompletableFuture.completedFuture(null);
+    return objectDao.saveAsync(binding).thenApply(ignored -> binding);
+  }
+
   /* Private helper methods */
 
   private LoadingCache<UUID, ObjectTypeEntity> createObjectTypeByIdCache() {
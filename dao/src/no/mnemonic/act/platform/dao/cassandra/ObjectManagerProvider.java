@@ -0,0 +1,30 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link ObjectManager}.
+ */
+public class ObjectManagerProvider implements Provider<ObjectManager> {
+
+  @Inject
+  private ClusterManager clusterManager;
+  @Inject
+  @Named("act.cassandra.multi.fetch.prefetch")
+  private String multiFetchPrefetch;
+  @Inject
+  @Named("act.cassandra.multi.fetch.mode")
+  private String multiFetchMode;
+
+  @Override
+  public ObjectManager get() {
+    return new ObjectManager(clusterManager)
+            .setMultiFetchPrefetch(Integer.parseInt(multiFetchPrefetch))
+            .setMultiFetchMode(MultiFetchMode.valueOf(multiFetchMode));
+  }
+
+}
@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra.mapper;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
@@ -9,6 +10,7 @@ import no.mnemonic.act.platform.dao.cassandra.entity.MetaFactBindingEntity;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -22,17 +24,26 @@ public interface FactDao {
   @Insert
   void save(FactEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactEntity entity);
+
   @Select
   FactEntity get(UUID id);
 
+  @Select
+  CompletionStage<FactEntity> getAsync(UUID id);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactEntity.TABLE + " WHERE id IN :id")
-  PagingIterable<FactEntity> fetchByID(List<UUID> id);
+  CompletionStage<MappedAsyncPagingIterable<FactEntity>> fetchByIDAsync(List<UUID> id);
 
   /* MetaFactBindingEntity-related methods */
 
   @Insert
   void save(MetaFactBindingEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(MetaFactBindingEntity entity);
+
   @Select
   MetaFactBindingEntity getMetaFactBinding(UUID factID, UUID metaFactID);
 
@@ -44,21 +55,33 @@ public interface FactDao {
   @Insert
   void save(FactAclEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactAclEntity entity);
+
   @Select
   FactAclEntity getAclEntry(UUID factID, UUID id);
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactAclEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactAclEntity> fetchAcl(UUID id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + FactAclEntity.TABLE + " WHERE fact_id = :id")
+  CompletionStage<MappedAsyncPagingIterable<FactAclEntity>> fetchAclAsync(UUID id);
+
   /* FactCommentEntity-related methods */
 
   @Insert
   void save(FactCommentEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactCommentEntity entity);
+
   @Select
   FactCommentEntity getComment(UUID factID, UUID id);
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactCommentEntity> fetchComments(UUID id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
+  CompletionStage<MappedAsyncPagingIterable<FactCommentEntity>> fetchCommentsAsync(UUID id);
+
 }
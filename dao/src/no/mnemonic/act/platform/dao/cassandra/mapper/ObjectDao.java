@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra.mapper;
 
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
@@ -8,6 +9,7 @@ import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -24,8 +26,11 @@ public interface ObjectDao {
   @Select
   ObjectEntity get(UUID id);
 
+  @Select
+  CompletionStage<ObjectEntity> getAsync(UUID id);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectEntity.TABLE + " WHERE id IN :id")
-  PagingIterable<ObjectEntity> fetchByID(List<UUID> id);
+  CompletionStage<MappedAsyncPagingIterable<ObjectEntity>> fetchByIDAsync(List<UUID> id);
 
   /* ObjectByTypeValueEntity-related methods */
 
@@ -40,6 +45,9 @@ public interface ObjectDao {
   @Insert
   void save(ObjectFactBindingEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(ObjectFactBindingEntity entity);
+
   @Select
   ObjectFactBindingEntity getObjectFactBinding(UUID objectID, UUID factID);
 
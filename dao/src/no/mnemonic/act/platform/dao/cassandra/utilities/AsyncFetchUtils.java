@@ -0,0 +1,86 @@
+package no.mnemonic.act.platform.dao.cassandra.utilities;
+
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helper methods for working with asynchronous queries against Cassandra.
+ */
+public class AsyncFetchUtils {
+
+  private AsyncFetchUtils() {
+  }
+
+  /**
+   * Collect all elements of an asynchronous result into a list. If the result spans multiple pages the remaining
+   * pages will be fetched asynchronously one-by-one.
+   *
+   * @param result First page of the asynchronous result
+   * @param <T>    Type of returned elements
+   * @return Future completing with all elements of the result
+   */
+  public static <T> CompletionStage<List<T>> all(CompletionStage<MappedAsyncPagingIterable<T>> result) {
+    return result.thenCompose(page -> fetchRemaining(page, new ArrayList<>()));
+  }
+
+  /**
+   * Fetch multiple elements by id using one asynchronous query per id. All queries are sent off concurrently and the
+   * results are reassembled in the order of the requested ids. Ids which don't match any element are omitted.
+   *
+   * @param id  List of ids to fetch
+   * @param get Function for asynchronously fetching one element by id
+   * @param <T> Type of returned elements
+   * @return Future completing with all fetched elements
+   */
+  public static <T> CompletionStage<List<T>> getAll(List<UUID> id, Function<UUID, CompletionStage<T>> get) {
+    List<CompletableFuture<T>> futures = new ArrayList<>(id.size());
+    for (UUID next : id) {
+      futures.add(get.apply(next).toCompletableFuture());
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> futures.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+  }
+
+  /**
+   * Wait for an asynchronous result to complete. In contrast to {@link CompletableFuture#join()} a failure is not
+   * wrapped inside a {@link CompletionException}, but the original exception is thrown (if it's unchecked) in order
+   * to behave the same as the synchronous API of the Cassandra driver.
+   *
+   * @param stage Asynchronous result
+   * @param <T>   Type of result
+   * @return Result after completion
+   */
+  public static <T> T await(CompletionStage<T> stage) {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+  }
+
+  private static <T> CompletionStage<List<T>> fetchRemaining(MappedAsyncPagingIterable<T> page, List<T> accumulator) {
+    for (T element : page.currentPage()) {
+      accumulator.add(element);
+    }
+
+    if (!page.hasMorePages()) {
+      return CompletableFuture.completedFuture(accumulator);
+    }
+
+    return page.fetchNextPage().thenCompose(next -> fetchRemaining(next, accumulator));
+  }
+}
@@ -0,0 +1,103 @@
+package no.mnemonic.act.platform.dao.cassandra.utilities;
+
+import com.google.common.collect.Lists;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Iterator which breaks down a list of UUID into multiple batches in order to fetch multiple entities from Cassandra.
+ * Instead of fetching the next batch only after the current batch has been consumed completely, it keeps a configurable number of batches in flight while the current batch is consumed. This way the consumer
+ * doesn't need to wait for one request-response cycle per batch.
+ * <p>
+ * The iterator preserves the order of the batches and is still lazy, i.e. fetching the first batches is only
+ * started when the iterator is consumed.
+ *
+ * @param <T> Type of returned elements
+ */
+public class AsyncMultiFetchIterator<T> implements Iterator<T> {
+
+  private static final Logger LOGGER = Logging.getLogger(AsyncMultiFetchIterator.class);
+  // Cassandra's performance is poor with a lot of elements inside an IN-clause, thus, use a small batch size.
+  private static final int BATCH_SIZE = 100;
+  private static final int DEFAULT_PREFETCH = 2;
+
+  private final Function<List<UUID>, CompletionStage<List<T>>> nextBatch;
+  private final List<List<UUID>> partitions;
+  private final int prefetch;
+  private final Deque<CompletionStage<List<T>>> pendingBatches = new ArrayDeque<>();
+  private Iterator<T> currentBatch;
+  private int nextPartition;
+
+  /**
+   * Create a new instance which keeps the default number of batches in flight.
+   *
+   * @param nextBatch Function for asynchronously fetching the next batch of elements
+   * @param id        List of all elements to fetch (by id)
+   */
+  public AsyncMultiFetchIterator(Function<List<UUID>, CompletionStage<List<T>>> nextBatch, List<UUID> id) {
+    this(nextBatch, id, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param nextBatch Function for asynchronously fetching the next batch of elements
+   * @param id        List of all elements to fetch (by id)
+   * @param prefetch  Number of batches to fetch in advance while the current batch is consumed (must be positive)
+   */
+  public AsyncMultiFetchIterator(Function<List<UUID>, CompletionStage<List<T>>> nextBatch, List<UUID> id, int prefetch) {
+    if (prefetch < 1) throw new IllegalArgumentException("'prefetch' must be positive!");
+    this.nextBatch = ObjectUtils.notNull(nextBatch, "'nextBatch' cannot be null!");
+    // The input for multi-fetch is a list of ids. This list can be large, so split it up into smaller partitions
+    // which will be fetched asynchronously.
+    this.partitions = Lists.partition(ObjectUtils.notNull(id, "'id' cannot be null!"), BATCH_SIZE);
+    this.prefetch = prefetch;
+  }
+
+  @Override
+  public boolean hasNext() {
+    // If this is the initial batch or the current batch has be consumed completely, wait for the next batch.
+    // Skip over batches which don't contain any elements.
+    while (currentBatch == null || !currentBatch.hasNext()) {
+      if (!requestNextBatch() && pendingBatches.isEmpty()) {
+        // All partitions have been fetched and consumed.
+        currentBatch = Collections.emptyIterator();
+        return false;
+      }
+
+      currentBatch = ObjectUtils.notNull(AsyncFetchUtils.await(pendingBatches.poll()), "Next batch cannot be null!").iterator();
+      LOGGER.debug("Successfully fetched next batch from Cassandra.");
+      // Keep the pipeline filled while the current batch is consumed.
+      fillPipeline();
+    }
+
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    return currentBatch.next();
+  }
+
+  private void fillPipeline() {
+    while (requestNextBatch()) {
+      // Just loop until enough batches are in flight or all partitions have been requested.
+    }
+  }
+
+  private boolean requestNextBatch() {
+    // Never have more batches in flight than configured, and stop when all partitions have been requested.
+    if (pendingBatches.size() >= prefetch || partitions.size() <= nextPartition) return false;
+
+    // Send off a request for the next partition of ids without waiting for the result.
+    pendingBatches.add(nextBatch.apply(partitions.get(nextPartition)));
+    nextPartition++;
+    return true;
+  }
+}
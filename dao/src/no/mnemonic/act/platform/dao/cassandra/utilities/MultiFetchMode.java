@@ -0,0 +1,21 @@
+package no.mnemonic.act.platform.dao.cassandra.utilities;
+
+/**
+ * Defines how multiple entities are fetched by id from Cassandra.
+ */
+public enum MultiFetchMode {
+
+  /**
+   * Fetch each partition of ids with one query using an IN-clause. The coordinator node receiving the query needs to
+   * fan out the request to all replicas holding the requested entities.
+   */
+  InClause,
+
+  /**
+   * Fetch each id with a separate single-partition query. All queries of a partition of ids are executed concurrently
+   * and routed directly to a replica by the token-aware load balancing policy of the driver. The results are
+   * reassembled in the order of the requested ids.
+   */
+  ParallelGet
+
+}
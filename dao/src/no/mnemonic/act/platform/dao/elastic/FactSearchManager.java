@@ -4,10 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.collect.Lists;
 import com.google.common.io.CharStreams;
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
 import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
@@ -25,7 +27,12 @@ import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
@@ -36,6 +43,8 @@ import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -52,15 +61,19 @@ import org.elasticsearch.search.aggregations.metrics.cardinality.Cardinality;
 import org.elasticsearch.search.aggregations.metrics.max.Max;
 import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -78,6 +91,10 @@ public class FactSearchManager implements LifecycleAspect {
   private static final String TYPE_NAME = "_doc";
   private static final String MAPPINGS_JSON = "mappings.json";
   private static final int MAX_RESULT_WINDOW = 10_000; // Must be the same value as specified in mappings.json.
+  // Bound the number of searches sent in one multi search request in order to limit the size of the response.
+  private static final int EXISTENCE_SEARCH_BATCH_SIZE = 100;
+  // Usually a Fact exists at most once, thus, searches in a batch only return a few documents.
+  private static final int EXISTENCE_SEARCH_BATCH_RESULT_SIZE = 10;
 
   private static final String FILTER_FACTS_AGGREGATION_NAME = "FilterFactsAggregation";
   private static final String NESTED_OBJECTS_AGGREGATION_NAME = "NestedObjectsAggregation";
@@ -92,6 +109,8 @@ public class FactSearchManager implements LifecycleAspect {
 
   private static final float CONFIDENCE_EQUALITY_INTERVAL = 0.01f;
 
+  private static final long BULK_AWAIT_TIMEOUT_SECONDS = 60;
+
   private static final Logger LOGGER = Logging.getLogger(FactSearchManager.class);
 
   private static final ObjectMapper MAPPER = JsonMapper.builder().build();
@@ -101,14 +120,24 @@ public class FactSearchManager implements LifecycleAspect {
 
   @Dependency
   private final ClientFactory clientFactory;
+  private final FactAdjacencyCache factAdjacencyCache;
+  // Outstanding bulk items (compared by identity) mapped to the response handed back to the caller of indexFacts().
+  private final Map<DocWriteRequest<?>, CompletableFuture<String>> pendingBulkItems = Collections.synchronizedMap(new IdentityHashMap<>());
 
   private String searchScrollExpiration = "1m";
   private int searchScrollSize = 1000;
+  private boolean searchAfterEnabled = false;
+  private int bulkFlushActions = 1000;
+  private String bulkFlushSize = "5mb";
+  private String bulkFlushInterval = "1s";
+  private int bulkConcurrentRequests = 1;
+  private BulkProcessor bulkProcessor;
   private boolean isTestEnvironment = false;
 
   @Inject
-  public FactSearchManager(ClientFactory clientFactory) {
+  public FactSearchManager(ClientFactory clientFactory, FactAdjacencyCache factAdjacencyCache) {
     this.clientFactory = clientFactory;
+    this.factAdjacencyCache = factAdjacencyCache;
   }
 
   @Override
@@ -120,8 +149,18 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   @Override
-  public void stopComponent() {
-    // NOOP
+  public synchronized void stopComponent() {
+    if (bulkProcessor == null) return;
+
+    try {
+      // Flush all outstanding Facts before shutting down.
+      bulkProcessor.awaitClose(BULK_AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOGGER.warning(ex, "Interrupted while closing bulk processor.");
+    } finally {
+      bulkProcessor = null;
+    }
   }
 
   /**
@@ -152,7 +191,7 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   /**
-   * Index a Fact into ElasticSearch.
+   * Index a Fact into ElasticSearch. The cached adjacency of all Objects bound to the Fact is invalidated.
    *
    * @param fact Fact to index
    * @return Indexed Fact
@@ -168,6 +207,8 @@ public class FactSearchManager implements LifecycleAspect {
       response = clientFactory.getClient().index(request, RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
       throw logAndExit(ex, String.format("Could not perform request to index Fact with id = %s.", fact.getId()));
+    } finally {
+      invalidateAdjacency(fact);
     }
 
     if (response.status() != RestStatus.OK && response.status() != RestStatus.CREATED) {
@@ -181,6 +222,55 @@ public class FactSearchManager implements LifecycleAspect {
     return fact;
   }
 
+  /**
+   * Index multiple Facts into ElasticSearch using the bulk API. The Facts are handed to a shared bulk processor which
+   * flushes a bulk request when the configured number of Facts or request size is reached, or when the flush interval
+   * has passed. Facts indexed concurrently by multiple callers can end up in the same bulk request. This method blocks
+   * until all given Facts have been processed by ElasticSearch.
+   * <p>
+   * In contrast to {@link #indexFact(FactDocument)} a failure to index one Fact does not abort the whole operation.
+   * Instead, failures are collected per Fact and returned to the caller.
+   *
+   * @param facts Facts to index
+   * @return Failure reasons for all Facts which could not be indexed (keyed by Fact UUID), empty if all Facts were indexed
+   */
+  public Map<UUID, String> indexFacts(Collection<FactDocument> facts) {
+    Map<UUID, String> failures = new HashMap<>();
+    if (CollectionUtils.isEmpty(facts)) return failures;
+
+    BulkProcessor processor = getBulkProcessor();
+    Map<UUID, CompletableFuture<String>> responses = new HashMap<>();
+    List<FactDocument> submitted = new ArrayList<>();
+    try {
+      for (FactDocument fact : facts) {
+        if (fact == null || fact.getId() == null) continue;
+
+        IndexRequest request;
+        try {
+          request = new IndexRequest(INDEX_NAME, TYPE_NAME, fact.getId().toString())
+                  .source(FACT_DOCUMENT_WRITER.writeValueAsBytes(fact), XContentType.JSON);
+        } catch (IOException ex) {
+          LOGGER.warning(ex, "Could not serialize Fact with id = %s.", fact.getId());
+          failures.put(fact.getId(), String.format("Could not serialize Fact with id = %s.", fact.getId()));
+          continue;
+        }
+
+        CompletableFuture<String> response = new CompletableFuture<>();
+        pendingBulkItems.put(request, response);
+        responses.put(fact.getId(), response);
+        submitted.add(fact);
+        processor.add(request);
+      }
+
+      awaitBulkResponses(responses, failures);
+    } finally {
+      submitted.forEach(this::invalidateAdjacency);
+    }
+
+    LOGGER.debug("Indexed %d Facts in bulk, %d failures.", submitted.size() - failures.size(), failures.size());
+    return failures;
+  }
+
   /**
    * Retrieve all Facts which are considered logically the same when matched against a given search criteria, i.e. the
    * following condition holds: an indexed Fact matches the search criteria and will be included in the returned result
@@ -199,7 +289,8 @@ public class FactSearchManager implements LifecycleAspect {
 
     SearchResponse response;
     try {
-      response = clientFactory.getClient().search(buildFactExistenceSearchRequest(criteria), RequestOptions.DEFAULT);
+      // Always return all matching documents, but usually this should be zero or one.
+      response = clientFactory.getClient().search(buildFactExistenceSearchRequest(criteria, MAX_RESULT_WINDOW), RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for existing Facts.");
     }
@@ -211,13 +302,38 @@ public class FactSearchManager implements LifecycleAspect {
 
     List<FactDocument> result = retrieveFactDocuments(response);
 
-    LOGGER.info("Successfully retrieved %d existing Facts.", result.size());
+    LOGGER.debug("Successfully retrieved %d existing Facts.", result.size());
     return SearchResult.<FactDocument>builder()
             .setCount((int) response.getHits().getTotalHits())
             .setValues(result)
             .build();
   }
 
+  /**
+   * Same as {@link #retrieveExistingFacts(FactExistenceSearchCriteria)} but resolves existing Facts for multiple search
+   * criteria at once. The searches are sent to ElasticSearch using the multi search API, i.e. one round trip is needed
+   * per batch of criteria instead of one round trip per criteria. Each search in a batch only returns a few documents.
+   * If more Facts satisfy one criteria the search is repeated with {@link #retrieveExistingFacts(FactExistenceSearchCriteria)}.
+   * <p>
+   * The returned list contains one result container per criteria in the same order as the given criteria. If a single
+   * search fails the whole operation fails because it cannot be decided whether the Fact already exists.
+   *
+   * @param criteria Criteria to retrieve existing Facts
+   * @return All Facts satisfying each search criteria wrapped inside result containers
+   * @throws IllegalStateException If any search for existing Facts fails
+   */
+  public List<SearchResult<FactDocument>> retrieveExistingFacts(List<FactExistenceSearchCriteria> criteria) {
+    if (CollectionUtils.isEmpty(criteria)) return new ArrayList<>();
+
+    List<SearchResult<FactDocument>> results = new ArrayList<>(criteria.size());
+    for (List<FactExistenceSearchCriteria> partition : Lists.partition(criteria, EXISTENCE_SEARCH_BATCH_SIZE)) {
+      results.addAll(retrieveExistingFactsBatch(partition));
+    }
+
+    LOGGER.debug("Successfully retrieved existing Facts for %d search criteria.", criteria.size());
+    return results;
+  }
+
   /**
    * Search for Facts indexed in ElasticSearch by a given search criteria. Only Facts satisfying the search criteria
    * will be returned. Returns a result container which will stream out the results from ElasticSearch. It will not
@@ -232,28 +348,122 @@ public class FactSearchManager implements LifecycleAspect {
    * @return Facts satisfying search criteria wrapped inside a result container
    */
   public ScrollingSearchResult<FactDocument> searchFacts(FactSearchCriteria criteria) {
-    if (criteria == null) return ScrollingSearchResult.<FactDocument>builder().build();
+    return searchFacts(criteria, true, this::retrieveFactDocuments);
+  }
+
+  /**
+   * Same as {@link #searchFacts(FactSearchCriteria)} but only returns the UUIDs of the matching Facts. The source
+   * documents are not fetched from ElasticSearch which reduces the response size and avoids deserializing documents.
+   * Use this method when the Facts are fetched from another source anyway.
+   *
+   * @param criteria Search criteria to match against Facts
+   * @return UUIDs of Facts satisfying search criteria wrapped inside a result container
+   */
+  public ScrollingSearchResult<UUID> searchFactIds(FactSearchCriteria criteria) {
+    return searchFacts(criteria, false, this::retrieveFactIds);
+  }
+
+  /**
+   * Retrieve all Retraction Facts referencing one of the given Facts, i.e. all Facts of the given FactType whose
+   * inReferenceTo field points to one of the given Facts.
+   * <p>
+   * This method can be used to cache the retractions of Facts independent of the calling user. No access control will
+   * be performed. This must be done by the caller based on the access information of the returned Facts.
+   *
+   * @param factIDs              UUIDs of the retracted Facts
+   * @param retractionFactTypeID UUID of the Retraction FactType
+   * @return All Retraction Facts referencing the given Facts wrapped inside a result container
+   */
+  public ScrollingSearchResult<FactDocument> searchRetractions(Set<UUID> factIDs, UUID retractionFactTypeID) {
+    if (CollectionUtils.isEmpty(factIDs) || retractionFactTypeID == null) return ScrollingSearchResult.<FactDocument>builder().build();
 
     SearchResponse response;
     try {
-      response = clientFactory.getClient().search(buildFactsSearchRequest(criteria), RequestOptions.DEFAULT);
+      SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+              .size(searchScrollSize)
+              .query(boolQuery()
+                      .filter(termsQuery("inReferenceTo", toString(factIDs)))
+                      .filter(termQuery("typeID", toString(retractionFactTypeID))));
+      SearchRequest request = new SearchRequest()
+              .indices(INDEX_NAME)
+              .types(TYPE_NAME)
+              .scroll(searchScrollExpiration)
+              .source(sourceBuilder);
+      response = clientFactory.getClient().search(request, RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
-      throw logAndExit(ex, "Could not perform request to search for Facts.");
+      throw logAndExit(ex, "Could not perform request to search for Retraction Facts.");
     }
 
     if (response.status() != RestStatus.OK) {
-      LOGGER.warning("Could not search for Facts (response code %s).", response.status());
-      return ScrollingSearchResult.<FactDocument>builder().build();
+      LOGGER.warning("Could not search for Retraction Facts (response code %s).", response.status());
+      return ScrollingSearchResult.<FactDocument>builder().setInitialBatch(ScrollingSearchResult.failedBatch()).build();
     }
 
-    LOGGER.info("Successfully initiated streaming of search results. Start fetching data.");
+    LOGGER.debug("Successfully initiated streaming of Retraction Facts. Start fetching data.");
     return ScrollingSearchResult.<FactDocument>builder()
-            .setInitialBatch(createFactsBatch(response))
-            .setFetchNextBatch(this::fetchNextFactsBatch)
+            .setInitialBatch(createFactsBatch(response, this::retrieveFactDocuments))
+            .setFetchNextBatch(scrollId -> fetchNextFactsBatch(scrollId, this::retrieveFactDocuments))
             .setCount((int) response.getHits().getTotalHits())
             .build();
   }
 
+  /**
+   * Determine whether at least one Fact satisfies a given search criteria. In contrast to {@link #searchFacts(FactSearchCriteria)}
+   * no search context is opened and no documents are returned, the search terminates as soon as the first matching Fact
+   * has been found.
+   * <p>
+   * Both 'currentUserID' (identifying the calling user) and 'availableOrganizationID' (identifying the Organizations
+   * the calling user has access to) must be set in the search criteria in order to apply access control to Facts. Only
+   * Facts accessible to the calling user will be considered.
+   *
+   * @param criteria Search criteria to match against Facts
+   * @return True if at least one Fact satisfies the search criteria
+   */
+  public boolean existsFact(FactSearchCriteria criteria) {
+    if (criteria == null) return false;
+
+    SearchResponse response;
+    try {
+      response = clientFactory.getClient().search(buildFactExistsSearchRequest(criteria), RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, "Could not perform request to check existence of Facts.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not check existence of Facts (response code %s).", response.status());
+      return false;
+    }
+
+    return response.getHits().getTotalHits() > 0;
+  }
+
+  /**
+   * Determine for multiple Objects at once which of them are bound to at least one Fact satisfying a given search
+   * criteria. The Objects to check are specified by the 'objectID' field of the search criteria. The Objects are checked
+   * without returning any documents, using one request per 10.000 Objects.
+   * <p>
+   * Both 'currentUserID' (identifying the calling user) and 'availableOrganizationID' (identifying the Organizations
+   * the calling user has access to) must be set in the search criteria in order to apply access control to Facts. Only
+   * Facts accessible to the calling user will be considered.
+   *
+   * @param criteria Search criteria to match against Facts, including the Objects to check
+   * @return IDs of all Objects bound to at least one Fact satisfying the search criteria
+   */
+  public Set<UUID> retrieveObjectsWithFacts(FactSearchCriteria criteria) {
+    if (criteria == null || CollectionUtils.isEmpty(criteria.getObjectID())) return new HashSet<>();
+
+    // The terms aggregation returns at most MAX_RESULT_WINDOW buckets, thus, check larger sets of Objects in partitions.
+    Set<UUID> result = new HashSet<>();
+    List<UUID> objectID = ListUtils.list(criteria.getObjectID());
+    for (int from = 0; from < objectID.size(); from += MAX_RESULT_WINDOW) {
+      Set<UUID> partition = SetUtils.set(objectID.subList(from, Math.min(from + MAX_RESULT_WINDOW, objectID.size())));
+      result.addAll(retrieveObjectsWithFactsPartition(criteria.toBuilder().setObjectID(partition).build()));
+    }
+
+    LOGGER.debug("Successfully found Facts for %d of %d Objects.", result.size(), objectID.size());
+    return result;
+  }
+
   /**
    * Search for Objects indexed in ElasticSearch by a given search criteria. Only Objects satisfying the search criteria
    * will be returned. Returns an empty result container if no Object satisfies the search criteria.
@@ -355,6 +565,9 @@ public class FactSearchManager implements LifecycleAspect {
 
   /**
    * Specify the batch size when fetching data from ElasticSearch using a scrolling search. Defaults to 1000.
+   * <p>
+   * When 'search_after' is used this is the maximum batch size. The first batch is sized by the limit or page size
+   * hint of the search criteria and subsequent batches grow until they reach this size.
    *
    * @param searchScrollSize Batch size
    * @return Class instance, i.e. 'this'
@@ -364,6 +577,80 @@ public class FactSearchManager implements LifecycleAspect {
     return this;
   }
 
+  /**
+   * Specify whether search results are streamed out using 'search_after' instead of a scrolling search. Defaults to false.
+   * <p>
+   * With 'search_after' no search context is kept open in ElasticSearch, which avoids many open scroll contexts when
+   * performing a lot of small searches. The drawback is that the search result isn't a consistent snapshot of the
+   * index, i.e. changes to the index while results are streamed out might become visible in later batches.
+   * <p>
+   * Results are sorted by relevance and the indexed 'id' field. Only enable 'search_after' after all Facts indexed
+   * before the 'id' field was introduced have been reindexed, otherwise Facts with the same relevance can be skipped
+   * or returned multiple times.
+   *
+   * @param searchAfterEnabled Whether 'search_after' is used
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setSearchAfterEnabled(boolean searchAfterEnabled) {
+    this.searchAfterEnabled = searchAfterEnabled;
+    return this;
+  }
+
+  /**
+   * Specify the maximum number of Facts sent to ElasticSearch in one bulk request. Defaults to 1000.
+   * <p>
+   * The bulk settings must be specified before Facts are indexed for the first time.
+   *
+   * @param bulkFlushActions Maximum number of Facts per bulk request
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkFlushActions(int bulkFlushActions) {
+    this.bulkFlushActions = bulkFlushActions;
+    return this;
+  }
+
+  /**
+   * Specify the maximum size of one bulk request, e.g. '5mb'. Defaults to 5mb.
+   * <p>
+   * The value must be specified using ElasticSearch's byte size units.
+   *
+   * @param bulkFlushSize Maximum size per bulk request
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkFlushSize(String bulkFlushSize) {
+    this.bulkFlushSize = bulkFlushSize;
+    return this;
+  }
+
+  /**
+   * Specify the interval after which outstanding Facts are sent to ElasticSearch, e.g. '1s'. Defaults to 1s.
+   * <p>
+   * The value must be specified using ElasticSearch's time units.
+   *
+   * @param bulkFlushInterval Flush interval
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkFlushInterval(String bulkFlushInterval) {
+    this.bulkFlushInterval = bulkFlushInterval;
+    return this;
+  }
+
+  /**
+   * Specify the number of bulk requests which are allowed to be executed concurrently. Defaults to 1.
+   *
+   * @param bulkConcurrentRequests Number of concurrent bulk requests
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkConcurrentRequests(int bulkConcurrentRequests) {
+    this.bulkConcurrentRequests = bulkConcurrentRequests;
+    return this;
+  }
+
+  private void invalidateAdjacency(FactDocument fact) {
+    if (CollectionUtils.isEmpty(fact.getObjects())) return;
+    factAdjacencyCache.invalidate(SetUtils.set(fact.getObjects(), ObjectDocument::getId));
+  }
+
   private boolean indexExists() {
     try {
       GetIndexRequest request = new GetIndexRequest(INDEX_NAME);
@@ -394,7 +681,115 @@ public class FactSearchManager implements LifecycleAspect {
     LOGGER.info("Successfully created index '%s'.", INDEX_NAME);
   }
 
-  private ScrollingSearchResult.ScrollingBatch<FactDocument> fetchNextFactsBatch(String scrollId) {
+  private synchronized BulkProcessor getBulkProcessor() {
+    if (bulkProcessor == null) {
+      // Create the processor lazily such that the bulk settings can be specified after the component has been started.
+      bulkProcessor = BulkProcessor.builder((request, listener) -> clientFactory.getClient().bulkAsync(request, RequestOptions.DEFAULT, listener), new BulkIndexListener())
+              .setBulkActions(bulkFlushActions)
+              .setBulkSize(ByteSizeValue.parseBytesSizeValue(bulkFlushSize, "bulkFlushSize"))
+              .setFlushInterval(TimeValue.parseTimeValue(bulkFlushInterval, "bulkFlushInterval"))
+              .setConcurrentRequests(bulkConcurrentRequests)
+              .build();
+    }
+
+    return bulkProcessor;
+  }
+
+  private void awaitBulkResponses(Map<UUID, CompletableFuture<String>> responses, Map<UUID, String> failures) {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(BULK_AWAIT_TIMEOUT_SECONDS);
+    for (Map.Entry<UUID, CompletableFuture<String>> entry : responses.entrySet()) {
+      try {
+        String failure = entry.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if (failure != null) failures.put(entry.getKey(), failure);
+      } catch (TimeoutException ex) {
+        LOGGER.warning("Timed out waiting for Fact with id = %s to be indexed.", entry.getKey());
+        synchronized (pendingBulkItems) {
+          // Don't keep track of the Fact any longer, its response won't be consumed.
+          pendingBulkItems.values().remove(entry.getValue());
+        }
+        failures.put(entry.getKey(), String.format("Timed out waiting for Fact with id = %s to be indexed.", entry.getKey()));
+      } catch (ExecutionException ex) {
+        // Responses are only completed normally, but handle it anyway.
+        failures.put(entry.getKey(), String.format("Could not index Fact with id = %s.", entry.getKey()));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw logAndExit(ex, "Interrupted while waiting for Facts to be indexed.");
+      }
+    }
+  }
+
+  private void completeBulkItem(DocWriteRequest<?> request, String failure) {
+    CompletableFuture<String> response = pendingBulkItems.remove(request);
+    if (response != null) response.complete(failure);
+  }
+
+  private class BulkIndexListener implements BulkProcessor.Listener {
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      request.setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      for (BulkItemResponse item : response) {
+        String failure = null;
+        if (item.isFailed()) {
+          LOGGER.warning("Could not index Fact with id = %s: %s", item.getId(), item.getFailureMessage());
+          failure = item.getFailureMessage();
+        }
+        completeBulkItem(request.requests().get(item.getItemId()), failure);
+      }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      LOGGER.error(failure, "Could not perform bulk request to index %d Facts.", request.numberOfActions());
+      for (DocWriteRequest<?> item : request.requests()) {
+        completeBulkItem(item, String.format("Could not perform request to index Fact with id = %s.", item.id()));
+      }
+    }
+  }
+
+  private <T> ScrollingSearchResult<T> searchFacts(FactSearchCriteria criteria, boolean fetchSource,
+                                                   Function<SearchResponse, List<T>> decoder) {
+    if (criteria == null) return ScrollingSearchResult.<T>builder().build();
+
+    SearchResponse response;
+    try {
+      SearchRequest request = searchAfterEnabled ?
+              buildFactsSearchAfterRequest(criteria, null, calculateInitialPageSize(criteria), fetchSource) :
+              buildFactsSearchRequest(criteria, fetchSource);
+      response = clientFactory.getClient().search(request, RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, "Could not perform request to search for Facts.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not search for Facts (response code %s).", response.status());
+      return ScrollingSearchResult.<T>builder().setInitialBatch(ScrollingSearchResult.failedBatch()).build();
+    }
+
+    if (searchAfterEnabled) {
+      // No search context is kept open in ElasticSearch. If all results fit into the first batch no further request
+      // is required, otherwise the next batches are fetched by repeating the search after the last returned hit.
+      LOGGER.debug("Successfully initiated streaming of search results using search_after. Start fetching data.");
+      int initialPageSize = calculateInitialPageSize(criteria);
+      return ScrollingSearchResult.<T>builder()
+              .setInitialBatch(createFactsBatchAfter(response, decoder, initialPageSize, true))
+              .setFetchNextBatchAfter(new SearchAfterFetcher<>(criteria, fetchSource, decoder, initialPageSize))
+              .setCount((int) response.getHits().getTotalHits())
+              .build();
+    }
+
+    LOGGER.info("Successfully initiated streaming of search results. Start fetching data.");
+    return ScrollingSearchResult.<T>builder()
+            .setInitialBatch(createFactsBatch(response, decoder))
+            .setFetchNextBatch(scrollId -> fetchNextFactsBatch(scrollId, decoder))
+            .setCount((int) response.getHits().getTotalHits())
+            .build();
+  }
+
+  private <T> ScrollingSearchResult.ScrollingBatch<T> fetchNextFactsBatch(String scrollId, Function<SearchResponse, List<T>> decoder) {
     SearchResponse response;
     try {
       SearchScrollRequest request = new SearchScrollRequest()
@@ -403,19 +798,19 @@ public class FactSearchManager implements LifecycleAspect {
       response = clientFactory.getClient().scroll(request, RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
       LOGGER.warning(ex, "Could not perform request to retrieve next batch of search results. Stop scrolling.");
-      return ScrollingSearchResult.emptyBatch();
+      return ScrollingSearchResult.failedBatch();
     }
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not retrieve next batch of search results (response code %s). Stop scrolling.", response.status());
-      return ScrollingSearchResult.emptyBatch();
+      return ScrollingSearchResult.failedBatch();
     }
 
-    return createFactsBatch(response);
+    return createFactsBatch(response, decoder);
   }
 
-  private ScrollingSearchResult.ScrollingBatch<FactDocument> createFactsBatch(SearchResponse response) {
-    List<FactDocument> values = retrieveFactDocuments(response);
+  private <T> ScrollingSearchResult.ScrollingBatch<T> createFactsBatch(SearchResponse response, Function<SearchResponse, List<T>> decoder) {
+    List<T> values = decoder.apply(response);
     LOGGER.debug("Successfully retrieved next batch of search results (batch: %d, total: %d).", values.size(), response.getHits().getTotalHits());
 
     boolean finished = values.size() < searchScrollSize;
@@ -429,6 +824,43 @@ public class FactSearchManager implements LifecycleAspect {
     return new ScrollingSearchResult.ScrollingBatch<>(response.getScrollId(), values.iterator(), finished);
   }
 
+  private <T> ScrollingSearchResult.ScrollingBatch<T> fetchNextFactsBatchAfter(FactSearchCriteria criteria, Object[] searchAfter,
+                                                                               int pageSize, boolean fetchSource,
+                                                                               Function<SearchResponse, List<T>> decoder) {
+    SearchResponse response;
+    try {
+      SearchRequest request = buildFactsSearchAfterRequest(criteria, searchAfter, pageSize, fetchSource);
+      response = clientFactory.getClient().search(request, RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      LOGGER.warning(ex, "Could not perform request to retrieve next batch of search results. Stop fetching.");
+      return ScrollingSearchResult.failedBatch();
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not retrieve next batch of search results (response code %s). Stop fetching.", response.status());
+      return ScrollingSearchResult.failedBatch();
+    }
+
+    return createFactsBatchAfter(response, decoder, pageSize, false);
+  }
+
+  private <T> ScrollingSearchResult.ScrollingBatch<T> createFactsBatchAfter(SearchResponse response, Function<SearchResponse, List<T>> decoder,
+                                                                            int pageSize, boolean initialBatch) {
+    SearchHit[] hits = response.getHits().getHits();
+    List<T> values = decoder.apply(response);
+    LOGGER.debug("Successfully retrieved next batch of search results (batch: %d, total: %d).", values.size(), response.getHits().getTotalHits());
+
+    // Finished if the batch isn't full. Additionally, if the first batch already contains all matching documents no
+    // further request is required, e.g. when the whole result fits exactly into the first batch.
+    boolean finished = hits.length < pageSize || (initialBatch && hits.length >= response.getHits().getTotalHits());
+    if (finished) {
+      LOGGER.debug("Successfully retrieved all search results. No more data available.");
+    }
+
+    Object[] searchAfter = hits.length > 0 ? hits[hits.length - 1].getSortValues() : null;
+    return new ScrollingSearchResult.ScrollingBatch<>(searchAfter, values.iterator(), finished);
+  }
+
   private void closeSearchContext(String scrollId) {
     ClearScrollRequest request = new ClearScrollRequest();
     request.addScrollId(scrollId);
@@ -451,9 +883,57 @@ public class FactSearchManager implements LifecycleAspect {
     });
   }
 
-  private SearchRequest buildFactExistenceSearchRequest(FactExistenceSearchCriteria criteria) {
+  private List<SearchResult<FactDocument>> retrieveExistingFactsBatch(List<FactExistenceSearchCriteria> criteria) {
+    List<SearchResult<FactDocument>> results = new ArrayList<>(criteria.size());
+    MultiSearchRequest request = new MultiSearchRequest();
+    for (FactExistenceSearchCriteria next : criteria) {
+      // Fill in empty results for missing criteria, the others are replaced below with the responses in the same order.
+      results.add(SearchResult.<FactDocument>builder().build());
+      if (next != null) request.add(buildFactExistenceSearchRequest(next, EXISTENCE_SEARCH_BATCH_RESULT_SIZE));
+    }
+
+    if (CollectionUtils.isEmpty(request.requests())) return results;
+
+    MultiSearchResponse response;
+    try {
+      response = clientFactory.getClient().msearch(request, RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, "Could not perform request to search for existing Facts.");
+    }
+
+    Iterator<MultiSearchResponse.Item> items = response.iterator();
+    for (int i = 0; i < criteria.size(); i++) {
+      if (criteria.get(i) == null) continue;
+
+      // Treating a failed search as 'no existing Fact' would lead to storing duplicates, thus, fail the whole batch.
+      MultiSearchResponse.Item item = items.next();
+      if (item.isFailure()) {
+        throw logAndExit(item.getFailure(), "Could not search for existing Facts.");
+      }
+      if (item.getResponse().status() != RestStatus.OK) {
+        String msg = String.format("Could not search for existing Facts (response code %s).", item.getResponse().status());
+        LOGGER.error(msg);
+        throw new IllegalStateException(msg);
+      }
+
+      if (item.getResponse().getHits().getTotalHits() > EXISTENCE_SEARCH_BATCH_RESULT_SIZE) {
+        // Not all matching documents have been returned, fall back to a single search returning all of them.
+        results.set(i, retrieveExistingFacts(criteria.get(i)));
+        continue;
+      }
+
+      results.set(i, SearchResult.<FactDocument>builder()
+              .setCount((int) item.getResponse().getHits().getTotalHits())
+              .setValues(retrieveFactDocuments(item.getResponse()))
+              .build());
+    }
+
+    return results;
+  }
+
+  private SearchRequest buildFactExistenceSearchRequest(FactExistenceSearchCriteria criteria, int size) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
-            .size(MAX_RESULT_WINDOW) // Always return all matching documents, but usually this should be zero or one.
+            .size(size)
             .query(buildFactExistenceQuery(criteria));
     return new SearchRequest()
             .indices(INDEX_NAME)
@@ -461,9 +941,10 @@ public class FactSearchManager implements LifecycleAspect {
             .source(sourceBuilder);
   }
 
-  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria) {
+  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria, boolean fetchSource) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(searchScrollSize)
+            .fetchSource(fetchSource)
             .query(buildFactsQuery(criteria));
     return new SearchRequest()
             .indices(INDEX_NAME)
@@ -472,6 +953,80 @@ public class FactSearchManager implements LifecycleAspect {
             .source(sourceBuilder);
   }
 
+  private SearchRequest buildFactsSearchAfterRequest(FactSearchCriteria criteria, Object[] searchAfter, int pageSize, boolean fetchSource) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(pageSize)
+            .fetchSource(fetchSource)
+            .query(buildFactsQuery(criteria))
+            // Keep the relevance order and use the unique 'id' field as tiebreaker such that 'search_after' doesn't
+            // skip or repeat documents between batches. In contrast to '_id' the 'id' field is sorted using doc values.
+            .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+            .sort(SortBuilders.fieldSort("id").order(SortOrder.ASC));
+    if (searchAfter != null) {
+      sourceBuilder.searchAfter(searchAfter);
+    }
+
+    return new SearchRequest()
+            .indices(INDEX_NAME)
+            .types(TYPE_NAME)
+            .source(sourceBuilder);
+  }
+
+  private SearchRequest buildFactExistsSearchRequest(FactSearchCriteria criteria) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(0) // Not interested in the search hits, only whether there is any.
+            .terminateAfter(1) // Stop searching each shard after the first match.
+            .query(buildFactsQuery(criteria));
+    return new SearchRequest()
+            .indices(INDEX_NAME)
+            .types(TYPE_NAME)
+            .source(sourceBuilder);
+  }
+
+  private Set<UUID> retrieveObjectsWithFactsPartition(FactSearchCriteria criteria) {
+    SearchResponse response;
+    try {
+      response = clientFactory.getClient().search(buildObjectsWithFactsSearchRequest(criteria), RequestOptions.DEFAULT);
+    } catch (ElasticsearchException | IOException ex) {
+      throw logAndExit(ex, "Could not perform request to check existence of Facts for Objects.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not check existence of Facts for Objects (response code %s).", response.status());
+      return new HashSet<>();
+    }
+
+    return retrieveObjectIds(response);
+  }
+
+  private SearchRequest buildObjectsWithFactsSearchRequest(FactSearchCriteria criteria) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
+            .query(buildFactsQuery(criteria))
+            // 1. Map matching Facts to nested Object documents.
+            .aggregation(nested(NESTED_OBJECTS_AGGREGATION_NAME, "objects")
+                    // 2. Reduce to the requested Objects, a matching Fact might be bound to other Objects as well.
+                    .subAggregation(filter(FILTER_OBJECTS_AGGREGATION_NAME, termsQuery("objects.id", toString(criteria.getObjectID())))
+                            // 3. Reduce to buckets of unique Objects by id.
+                            .subAggregation(terms(UNIQUE_OBJECTS_AGGREGATION_NAME)
+                                    .field("objects.id")
+                                    .size(criteria.getObjectID().size()) // At most MAX_RESULT_WINDOW, see retrieveObjectsWithFacts().
+                            )
+                    )
+            );
+    return new SearchRequest()
+            .indices(INDEX_NAME)
+            .types(TYPE_NAME)
+            .source(sourceBuilder);
+  }
+
+  private int calculateInitialPageSize(FactSearchCriteria criteria) {
+    // Start with a batch matching the number of Facts the caller is going to consume. Use the whole batch size if
+    // the caller doesn't know. Callers filtering the results might need more Facts, these are fetched in later batches.
+    int expected = criteria.getPageSizeHint() > 0 ? criteria.getPageSizeHint() : criteria.getLimit();
+    return expected > 0 && expected < searchScrollSize ? expected : searchScrollSize;
+  }
+
   private SearchRequest buildObjectsSearchRequest(FactSearchCriteria criteria) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
@@ -793,6 +1348,15 @@ public class FactSearchManager implements LifecycleAspect {
     return result;
   }
 
+  private List<UUID> retrieveFactIds(SearchResponse response) {
+    List<UUID> result = ListUtils.list();
+    for (SearchHit hit : response.getHits()) {
+      // The UUID of a Fact is the document ID, thus, it's available without fetching the source document.
+      result.add(UUID.fromString(hit.getId()));
+    }
+    return result;
+  }
+
   private int retrieveSearchObjectsResultCount(SearchResponse response) {
     Aggregation objectsCountAggregation = resolveChildAggregation(response.getAggregations(), OBJECTS_COUNT_AGGREGATION_NAME);
     if (!(objectsCountAggregation instanceof Cardinality)) {
@@ -838,6 +1402,23 @@ public class FactSearchManager implements LifecycleAspect {
     return result;
   }
 
+  private Set<UUID> retrieveObjectIds(SearchResponse response) {
+    Set<UUID> result = new HashSet<>();
+
+    Aggregation uniqueObjectsAggregation = resolveChildAggregation(response.getAggregations(), UNIQUE_OBJECTS_AGGREGATION_NAME);
+    if (!(uniqueObjectsAggregation instanceof Terms)) {
+      LOGGER.warning("Could not retrieve results when checking existence of Facts for Objects.");
+      return result;
+    }
+
+    // Each bucket contains one unique Object bound to at least one matching Fact.
+    for (Terms.Bucket bucket : Terms.class.cast(uniqueObjectsAggregation).getBuckets()) {
+      result.add(UUID.fromString(bucket.getKeyAsString()));
+    }
+
+    return result;
+  }
+
   private ObjectStatisticsContainer retrieveObjectStatisticsResult(SearchResponse response) {
     Aggregation uniqueObjectsAggregation = resolveChildAggregation(response.getAggregations(), UNIQUE_OBJECTS_AGGREGATION_NAME);
     if (!(uniqueObjectsAggregation instanceof Terms)) {
@@ -911,7 +1492,7 @@ public class FactSearchManager implements LifecycleAspect {
   private FactDocument decodeFactDocument(UUID factID, byte[] source) {
     try {
       FactDocument fact = FACT_DOCUMENT_READER.readValue(source);
-      // Need to set ID manually because it's not indexed as an own field.
+      // Need to set ID manually because documents indexed before 'id' became an own field don't contain it.
       return fact.setId(factID);
     } catch (IOException ex) {
       LOGGER.warning(ex, "Could not deserialize Fact with id = %s. Source document not stored?", factID);
@@ -941,4 +1522,28 @@ public class FactSearchManager implements LifecycleAspect {
     return new IllegalStateException(msg, ex);
   }
 
+  /**
+   * Fetches the next batch of a 'search_after' search. The batch size doubles with every batch until the configured
+   * maximum batch size is reached, thus, small results are fetched cheaply while large results need few requests.
+   */
+  private class SearchAfterFetcher<T> implements Function<Object[], ScrollingSearchResult.ScrollingBatch<T>> {
+    private final FactSearchCriteria criteria;
+    private final boolean fetchSource;
+    private final Function<SearchResponse, List<T>> decoder;
+    private int pageSize;
+
+    private SearchAfterFetcher(FactSearchCriteria criteria, boolean fetchSource, Function<SearchResponse, List<T>> decoder, int initialPageSize) {
+      this.criteria = criteria;
+      this.fetchSource = fetchSource;
+      this.decoder = decoder;
+      this.pageSize = initialPageSize;
+    }
+
+    @Override
+    public ScrollingSearchResult.ScrollingBatch<T> apply(Object[] searchAfter) {
+      pageSize = (int) Math.min((long) pageSize * 2, searchScrollSize);
+      return fetchNextFactsBatchAfter(criteria, searchAfter, pageSize, fetchSource, decoder);
+    }
+  }
+
 }
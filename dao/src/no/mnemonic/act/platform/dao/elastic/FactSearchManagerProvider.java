@@ -0,0 +1,28 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link FactSearchManager}.
+ */
+public class FactSearchManagerProvider implements Provider<FactSearchManager> {
+
+  @Inject
+  private ClientFactory clientFactory;
+  @Inject
+  private FactAdjacencyCache factAdjacencyCache;
+  @Inject
+  @Named("act.elasticsearch.search.after.enabled")
+  private String searchAfterEnabled;
+
+  @Override
+  public FactSearchManager get() {
+    return new FactSearchManager(clientFactory, factAdjacencyCache)
+            .setSearchAfterEnabled(Boolean.parseBoolean(searchAfterEnabled));
+  }
+
+}
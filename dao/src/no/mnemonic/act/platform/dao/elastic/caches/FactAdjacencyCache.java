@@ -0,0 +1,170 @@
+package no.mnemonic.act.platform.dao.elastic.caches;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global cache on one local node which remembers the adjacency of Objects, i.e. the UUIDs of the Facts bound to an
+ * Object as returned by ElasticSearch. Because ElasticSearch already applies access control the cached adjacency is
+ * specific to a user. Entries are keyed by the Object and a fingerprint of the search which consists of the calling
+ * user, the user's available Organizations, and the FactType and timestamp filters of the search.
+ * <p>
+ * Whenever a Fact is indexed all entries of the Objects bound to the Fact are invalidated. Because a newly indexed Fact
+ * only becomes searchable after the next refresh of the index, an Object's adjacency is additionally not cached again
+ * if the search was started before or shortly after the last invalidation of the Object.
+ */
+@Singleton
+public class FactAdjacencyCache implements MetricAspect {
+
+  // Don't cache search results of Objects which have been written to shortly before the search.
+  private static final long INVALIDATION_GRACE_PERIOD = TimeUnit.SECONDS.toMillis(10);
+  // Objects with a larger adjacency are not cached.
+  private static final int MAXIMUM_ADJACENCY_SIZE = 1000;
+
+  private final Cache<UUID, ConcurrentMap<Fingerprint, Set<UUID>>> adjacency = CacheBuilder.newBuilder()
+          .maximumSize(10_000)
+          .expireAfterWrite(5, TimeUnit.MINUTES)
+          .recordStats()
+          .build();
+  private final Cache<UUID, Long> invalidations = CacheBuilder.newBuilder()
+          .maximumSize(100_000)
+          .expireAfterWrite(5, TimeUnit.MINUTES)
+          .build();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder invalidationCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    long hits = hitCount.sum();
+    long requests = hits + missCount.sum();
+    return new MetricsData()
+            .addData("hits", hits)
+            .addData("misses", missCount.sum())
+            .addData("hitRate", requests > 0 ? (double) hits / requests : 0.0)
+            .addData("invalidations", invalidationCount.sum())
+            .addData("rejected", rejectedCount.sum())
+            .addData("evictions", adjacency.stats().evictionCount())
+            .addData("size", adjacency.size());
+  }
+
+  /**
+   * Return the cached adjacency of an Object for a search, or NULL if the adjacency is not cached.
+   *
+   * @param objectID UUID of Object
+   * @param criteria Search which yielded the adjacency
+   * @return UUIDs of Facts bound to the Object or NULL
+   */
+  public Set<UUID> get(UUID objectID, FactSearchCriteria criteria) {
+    if (objectID == null || criteria == null) return null;
+
+    Map<Fingerprint, Set<UUID>> entries = adjacency.getIfPresent(objectID);
+    Set<UUID> factID = entries != null ? entries.get(new Fingerprint(criteria)) : null;
+    if (factID != null) {
+      hitCount.increment();
+    } else {
+      missCount.increment();
+    }
+
+    return factID;
+  }
+
+  /**
+   * Remember the adjacency of an Object for a search. The adjacency is not cached if it's too large or if a Fact bound
+   * to the Object has been indexed after (or shortly before) the search was started.
+   *
+   * @param objectID        UUID of Object
+   * @param criteria        Search which yielded the adjacency
+   * @param factID          UUIDs of Facts bound to the Object
+   * @param searchTimestamp When the search was started
+   */
+  public void put(UUID objectID, FactSearchCriteria criteria, Set<UUID> factID, long searchTimestamp) {
+    if (objectID == null || criteria == null || factID == null) return;
+
+    Long lastInvalidation = invalidations.getIfPresent(objectID);
+    if (factID.size() > MAXIMUM_ADJACENCY_SIZE ||
+            (lastInvalidation != null && lastInvalidation + INVALIDATION_GRACE_PERIOD > searchTimestamp)) {
+      rejectedCount.increment();
+      return;
+    }
+
+    adjacency.asMap()
+            .computeIfAbsent(objectID, id -> new ConcurrentHashMap<>())
+            .put(new Fingerprint(criteria), Collections.unmodifiableSet(new HashSet<>(factID)));
+  }
+
+  /**
+   * Forget the adjacency of Objects, e.g. because a Fact bound to the Objects has been indexed.
+   *
+   * @param objectID UUIDs of Objects
+   */
+  public void invalidate(Collection<UUID> objectID) {
+    if (CollectionUtils.isEmpty(objectID)) return;
+
+    long now = System.currentTimeMillis();
+    for (UUID id : objectID) {
+      if (id == null) continue;
+      invalidations.put(id, now);
+      adjacency.invalidate(id);
+      invalidationCount.increment();
+    }
+  }
+
+  private static class Fingerprint {
+    private final UUID currentUserID;
+    private final Set<UUID> availableOrganizationID;
+    private final Set<UUID> factTypeID;
+    private final Long startTimestamp;
+    private final Long endTimestamp;
+    private final Set<FactSearchCriteria.TimeFieldStrategy> timeFieldStrategy;
+    private final FactSearchCriteria.MatchStrategy timeMatchStrategy;
+    private final int limit;
+
+    private Fingerprint(FactSearchCriteria criteria) {
+      this.currentUserID = criteria.getCurrentUserID();
+      this.availableOrganizationID = criteria.getAvailableOrganizationID();
+      this.factTypeID = criteria.getFactTypeID();
+      this.startTimestamp = criteria.getStartTimestamp();
+      this.endTimestamp = criteria.getEndTimestamp();
+      this.timeFieldStrategy = criteria.getTimeFieldStrategy();
+      this.timeMatchStrategy = criteria.getTimeMatchStrategy();
+      this.limit = criteria.getLimit();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Fingerprint that = (Fingerprint) o;
+      return limit == that.limit &&
+              Objects.equals(currentUserID, that.currentUserID) &&
+              Objects.equals(availableOrganizationID, that.availableOrganizationID) &&
+              Objects.equals(factTypeID, that.factTypeID) &&
+              Objects.equals(startTimestamp, that.startTimestamp) &&
+              Objects.equals(endTimestamp, that.endTimestamp) &&
+              Objects.equals(timeFieldStrategy, that.timeFieldStrategy) &&
+              timeMatchStrategy == that.timeMatchStrategy;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(currentUserID, availableOrganizationID, factTypeID, startTimestamp, endTimestamp,
+              timeFieldStrategy, timeMatchStrategy, limit);
+    }
+  }
+}
@@ -4,6 +4,7 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -126,6 +127,26 @@ public class FactExistenceSearchCriteria {
     return objects;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    FactExistenceSearchCriteria that = (FactExistenceSearchCriteria) o;
+    return Objects.equals(factValue, that.factValue) &&
+            Objects.equals(factTypeID, that.factTypeID) &&
+            Objects.equals(originID, that.originID) &&
+            Objects.equals(organizationID, that.organizationID) &&
+            accessMode == that.accessMode &&
+            Objects.equals(confidence, that.confidence) &&
+            Objects.equals(inReferenceTo, that.inReferenceTo) &&
+            Objects.equals(objects, that.objects);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(factValue, factTypeID, originID, organizationID, accessMode, confidence, inReferenceTo, objects);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -217,5 +238,18 @@ public class FactExistenceSearchCriteria {
     public Direction getDirection() {
       return direction;
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ObjectExistence that = (ObjectExistence) o;
+      return Objects.equals(objectID, that.objectID) && direction == that.direction;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(objectID, direction);
+    }
   }
 }
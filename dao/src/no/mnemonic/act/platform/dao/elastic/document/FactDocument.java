@@ -1,6 +1,5 @@
 package no.mnemonic.act.platform.dao.elastic.document;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -19,10 +18,14 @@ public class FactDocument implements ElasticDocument {
     Public, RoleBased, Explicit
   }
 
+  public enum Flag {
+    RetractedHint
+  }
+
   public static final float DEFAULT_CONFIDENCE = 1.0f;
   public static final float DEFAULT_TRUST = 0.8f;
 
-  @JsonIgnore // 'id' won't be indexed separately, '_id' is used instead.
+  // 'id' is indexed in addition to '_id' in order to sort on it using doc values.
   private UUID id;
   private UUID typeID;
   private String value;
@@ -36,6 +39,7 @@ public class FactDocument implements ElasticDocument {
   private Float trust;
   private long timestamp;
   private long lastSeenTimestamp;
+  private Set<Flag> flags;
   private Set<UUID> acl;
   private Set<ObjectDocument> objects;
 
@@ -160,6 +164,20 @@ public class FactDocument implements ElasticDocument {
     return this;
   }
 
+  public Set<Flag> getFlags() {
+    return flags;
+  }
+
+  public FactDocument setFlags(Set<Flag> flags) {
+    this.flags = flags;
+    return this;
+  }
+
+  public FactDocument addFlag(Flag flag) {
+    this.flags = SetUtils.addToSet(this.flags, flag);
+    return this;
+  }
+
   public Set<UUID> getAcl() {
     return acl;
   }
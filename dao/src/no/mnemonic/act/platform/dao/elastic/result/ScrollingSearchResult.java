@@ -1,6 +1,5 @@
 package no.mnemonic.act.platform.dao.elastic.result;
 
-import no.mnemonic.act.platform.dao.elastic.document.ElasticDocument;
 import no.mnemonic.commons.utilities.ObjectUtils;
 
 import java.util.Collections;
@@ -8,21 +7,30 @@ import java.util.Iterator;
 import java.util.function.Function;
 
 /**
- * Container streaming out the results of a search from ElasticSearch, i.e. the matching documents. The container
- * implements {@link Iterator} and fetches search results batch-wise until no more results are available.
+ * Container streaming out the results of a search from ElasticSearch, i.e. the matching documents or only their IDs.
+ * The container implements {@link Iterator} and fetches search results batch-wise until no more results are available.
+ * <p>
+ * Batches can either be fetched using the scroll API (continued with a scroll ID) or using 'search_after'
+ * (continued with the sort values of the last hit of the previous batch). Which mode is used is determined by the
+ * batches returned from ElasticSearch.
  *
  * @param <T> Type of result values
  */
-public class ScrollingSearchResult<T extends ElasticDocument> implements Iterator<T> {
+public class ScrollingSearchResult<T> implements Iterator<T> {
 
   private final Function<String, ScrollingBatch<T>> fetchNextBatch;
+  private final Function<Object[], ScrollingBatch<T>> fetchNextBatchAfter;
   private final int count;
 
   private ScrollingBatch<T> currentBatch;
 
-  private ScrollingSearchResult(ScrollingBatch<T> initialBatch, Function<String, ScrollingBatch<T>> fetchNextBatch, int count) {
+  private ScrollingSearchResult(ScrollingBatch<T> initialBatch,
+                                Function<String, ScrollingBatch<T>> fetchNextBatch,
+                                Function<Object[], ScrollingBatch<T>> fetchNextBatchAfter,
+                                int count) {
     this.currentBatch = ObjectUtils.notNull(initialBatch, "'initialBatch' cannot be null!");
     this.fetchNextBatch = ObjectUtils.notNull(fetchNextBatch, "'fetchNextBatch' cannot be null!");
+    this.fetchNextBatchAfter = ObjectUtils.notNull(fetchNextBatchAfter, "'fetchNextBatchAfter' cannot be null!");
     this.count = count;
   }
 
@@ -30,7 +38,10 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
   public boolean hasNext() {
     if (!currentBatch.hasNext() && !currentBatch.isFinished()) {
       // If the current batch has been consumed completely and there's more data available, fetch the next batch.
-      currentBatch = ObjectUtils.notNull(fetchNextBatch.apply(currentBatch.getScrollId()), "'currentBatch' cannot be null!");
+      ScrollingBatch<T> nextBatch = currentBatch.getScrollId() != null ?
+              fetchNextBatch.apply(currentBatch.getScrollId()) :
+              fetchNextBatchAfter.apply(currentBatch.getSearchAfter());
+      currentBatch = ObjectUtils.notNull(nextBatch, "'currentBatch' cannot be null!");
     }
 
     return currentBatch.hasNext();
@@ -41,6 +52,16 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
     return currentBatch.next();
   }
 
+  /**
+   * Returns true if all search results have been fetched from ElasticSearch and consumed. Returns false while more
+   * results are available or if fetching a batch failed, i.e. the stream of results ended prematurely.
+   *
+   * @return True if the search result has been consumed completely
+   */
+  public boolean isCompleted() {
+    return !currentBatch.hasNext() && currentBatch.isFinished() && !currentBatch.isFailed();
+  }
+
   /**
    * Returns the total number of indexed documents matching a given search criteria, i.e. the amount of available search results.
    *
@@ -56,17 +77,28 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
    * @param <T> Type of result values
    * @return Empty result batch
    */
-  public static <T extends ElasticDocument> ScrollingBatch<T> emptyBatch() {
+  public static <T> ScrollingBatch<T> emptyBatch() {
     return new ScrollingBatch<>("EMPTY_SCROLLING_BATCH", Collections.emptyIterator(), true);
   }
 
+  /**
+   * Returns an empty batch of results which is marked as finished because fetching the batch failed. In contrast to
+   * {@link #emptyBatch()} the search result will not be considered completed, see {@link #isCompleted()}.
+   *
+   * @param <T> Type of result values
+   * @return Empty result batch
+   */
+  public static <T> ScrollingBatch<T> failedBatch() {
+    return new ScrollingBatch<>();
+  }
+
   /**
    * Creates a builder for ScrollingSearchResult.
    *
    * @param <T> Type of result values
    * @return New builder
    */
-  public static <T extends ElasticDocument> Builder<T> builder() {
+  public static <T> Builder<T> builder() {
     return new Builder<>();
   }
 
@@ -75,9 +107,10 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
    *
    * @param <T> Type of result values
    */
-  public static class Builder<T extends ElasticDocument> {
+  public static class Builder<T> {
     private ScrollingBatch<T> initialBatch = emptyBatch();
     private Function<String, ScrollingBatch<T>> fetchNextBatch = scrollId -> emptyBatch();
+    private Function<Object[], ScrollingBatch<T>> fetchNextBatchAfter = searchAfter -> emptyBatch();
     private int count;
 
     private Builder() {
@@ -89,7 +122,7 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
      * @return New ScrollingSearchResult
      */
     public ScrollingSearchResult<T> build() {
-      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, count);
+      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, fetchNextBatchAfter, count);
     }
 
     /**
@@ -116,6 +149,19 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
       return this;
     }
 
+    /**
+     * Sets function to fetch next batch of search results when using 'search_after'.
+     * <p>
+     * It takes the sort values of the last hit of the previous batch as input and should return the next batch of search results.
+     *
+     * @param fetchNextBatchAfter Function to fetch next batch of search results
+     * @return This builder
+     */
+    public Builder<T> setFetchNextBatchAfter(Function<Object[], ScrollingBatch<T>> fetchNextBatchAfter) {
+      this.fetchNextBatchAfter = fetchNextBatchAfter;
+      return this;
+    }
+
     /**
      * Sets the total number of indexed documents matching a given search criteria, i.e. the amount of available search results.
      *
@@ -133,13 +179,15 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
    *
    * @param <T> Type of result values
    */
-  public static class ScrollingBatch<T extends ElasticDocument> implements Iterator<T> {
+  public static class ScrollingBatch<T> implements Iterator<T> {
     private final String scrollId;
+    private final Object[] searchAfter;
     private final Iterator<T> values;
     private final boolean finished;
+    private final boolean failed;
 
     /**
-     * Creates a new batch of search results.
+     * Creates a new batch of search results fetched using the scroll API.
      *
      * @param scrollId Scroll ID returned from ElasticSearch
      * @param values   Search results from current batch
@@ -147,12 +195,38 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
      */
     public ScrollingBatch(String scrollId, Iterator<T> values, boolean finished) {
       this.scrollId = ObjectUtils.notNull(scrollId, "'scrollId' cannot be null!");
+      this.searchAfter = null;
       this.values = ObjectUtils.notNull(values, "'values' cannot be null!");
       this.finished = finished;
+      this.failed = false;
     }
 
     /**
-     * Returns the scroll ID from ElasticSearch required for fetching more batches.
+     * Creates a new batch of search results fetched using 'search_after'.
+     *
+     * @param searchAfter Sort values of the last hit in the current batch (can be omitted if finished)
+     * @param values      Search results from current batch
+     * @param finished    Whether more data is available in ElasticSearch
+     */
+    public ScrollingBatch(Object[] searchAfter, Iterator<T> values, boolean finished) {
+      if (!finished && searchAfter == null) throw new IllegalArgumentException("'searchAfter' cannot be null!");
+      this.scrollId = null;
+      this.searchAfter = searchAfter;
+      this.values = ObjectUtils.notNull(values, "'values' cannot be null!");
+      this.finished = finished;
+      this.failed = false;
+    }
+
+    private ScrollingBatch() {
+      this.scrollId = null;
+      this.searchAfter = null;
+      this.values = Collections.emptyIterator();
+      this.finished = true;
+      this.failed = true;
+    }
+
+    /**
+     * Returns the scroll ID from ElasticSearch required for fetching more batches, or NULL if 'search_after' is used.
      *
      * @return Scroll ID
      */
@@ -160,6 +234,15 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
       return scrollId;
     }
 
+    /**
+     * Returns the sort values of the last hit required for fetching more batches, or NULL if the scroll API is used.
+     *
+     * @return Sort values of last hit
+     */
+    Object[] getSearchAfter() {
+      return searchAfter;
+    }
+
     /**
      * Returns true if no more data is available from ElasticSearch, i.e. all search results have been fetched.
      *
@@ -169,6 +252,15 @@ public class ScrollingSearchResult<T extends ElasticDocument> implements Iterato
       return finished;
     }
 
+    /**
+     * Returns true if fetching this batch from ElasticSearch failed.
+     *
+     * @return True if fetching the batch failed
+     */
+    boolean isFailed() {
+      return failed;
+    }
+
     @Override
     public boolean hasNext() {
       return values.hasNext();
@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.dao.facade;
 
+import com.google.common.collect.Lists;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.api.criteria.ObjectStatisticsCriteria;
@@ -9,30 +10,44 @@ import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.dao.api.result.StoreFactsContainer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncFetchUtils;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
+import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.act.platform.dao.elastic.result.SearchResult;
+import no.mnemonic.act.platform.dao.facade.caches.LocalFactSignatureCache;
 import no.mnemonic.act.platform.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.facade.index.ObjectAdjacencyIndex;
 import no.mnemonic.act.platform.dao.facade.utilities.BatchingIterator;
 import no.mnemonic.act.platform.dao.facade.utilities.MappingIterator;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 public class ObjectFactDaoFacade implements ObjectFactDao {
 
+  // Number of new Facts which are written to Cassandra concurrently when storing multiple Facts at once.
+  private static final int STORE_BATCH_SIZE = 100;
+  // Search results with more Facts are not collected for the adjacency cache.
+  private static final int ADJACENCY_CACHE_LIMIT = 10_000;
+
   private final ObjectManager objectManager;
   private final FactManager factManager;
   private final FactSearchManager factSearchManager;
@@ -40,6 +55,9 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   private final FactRecordConverter factRecordConverter;
   private final FactAclEntryRecordConverter factAclEntryRecordConverter;
   private final FactCommentRecordConverter factCommentRecordConverter;
+  private final LocalFactSignatureCache factSignatureCache;
+  private final FactAdjacencyCache factAdjacencyCache;
+  private final ObjectAdjacencyIndex objectAdjacencyIndex;
 
   @Inject
   public ObjectFactDaoFacade(ObjectManager objectManager,
@@ -48,7 +66,10 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
                              ObjectRecordConverter objectRecordConverter,
                              FactRecordConverter factRecordConverter,
                              FactAclEntryRecordConverter factAclEntryRecordConverter,
-                             FactCommentRecordConverter factCommentRecordConverter) {
+                             FactCommentRecordConverter factCommentRecordConverter,
+                             LocalFactSignatureCache factSignatureCache,
+                             FactAdjacencyCache factAdjacencyCache,
+                             ObjectAdjacencyIndex objectAdjacencyIndex) {
     this.objectManager = objectManager;
     this.factManager = factManager;
     this.factSearchManager = factSearchManager;
@@ -56,6 +77,9 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     this.factRecordConverter = factRecordConverter;
     this.factAclEntryRecordConverter = factAclEntryRecordConverter;
     this.factCommentRecordConverter = factCommentRecordConverter;
+    this.factSignatureCache = factSignatureCache;
+    this.factAdjacencyCache = factAdjacencyCache;
+    this.objectAdjacencyIndex = objectAdjacencyIndex;
   }
 
   @Override
@@ -126,22 +150,97 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       record.setId(UUID.randomUUID());
     }
 
-    // Save new Fact and lookup tables in Cassandra.
+    // Verify that the Fact doesn't exist yet and that all referenced Objects and Facts exist.
     FactEntity entity = factRecordConverter.toEntity(record);
-    factManager.saveFact(entity);
-    saveFactObjectBindings(entity);
-    saveMetaFactBindings(entity);
+    AsyncFetchUtils.await(verifyNewFactAsync(entity));
 
-    // Save all ACL entries and comments in Cassandra.
-    saveAclEntries(record);
-    saveComments(record);
+    // Save new Fact in Cassandra. Because the Fact is new all writes are independent of each other. Send them off concurrently.
+    List<CompletionStage<?>> writes = saveNewFact(record, entity);
+
+    // Wait until everything has been written to Cassandra.
+    for (CompletionStage<?> write : writes) {
+      AsyncFetchUtils.await(write);
+    }
 
-    // Index new Fact in ElasticSearch.
+    // Only index new Fact in ElasticSearch after it has been stored in Cassandra.
     factSearchManager.indexFact(factRecordConverter.toDocument(record));
 
+    // Remember the new Fact such that re-submitting the same Fact can be detected without asking ElasticSearch.
+    factSignatureCache.put(factRecordConverter.toCriteria(record), record.getId());
+    indexAdjacency(record);
+
     return record;
   }
 
+  @Override
+  public StoreFactsContainer storeFacts(List<FactRecord> records) {
+    StoreFactsContainer.Builder result = StoreFactsContainer.builder();
+    if (CollectionUtils.isEmpty(records)) return result.build();
+
+    List<FactRecord> nonNullRecords = records.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    List<FactDocument> documents = new ArrayList<>();
+
+    // Avoid flooding Cassandra with requests by only writing one partition of Facts concurrently.
+    for (List<FactRecord> partition : Lists.partition(nonNullRecords, STORE_BATCH_SIZE)) {
+      // Verify all Facts of the partition concurrently before writing anything.
+      Map<FactRecord, FactEntity> entities = new LinkedHashMap<>();
+      Map<FactRecord, CompletionStage<?>> verifications = new HashMap<>();
+      for (FactRecord record : partition) {
+        // Ensure that id is set.
+        if (record.getId() == null) {
+          record.setId(UUID.randomUUID());
+        }
+
+        try {
+          FactEntity entity = factRecordConverter.toEntity(record);
+          verifications.put(record, verifyNewFactAsync(entity));
+          entities.put(record, entity);
+        } catch (RuntimeException ex) {
+          result.addStoreFailure(record.getId(), ex.getMessage());
+        }
+      }
+
+      Map<FactRecord, List<CompletionStage<?>>> writes = new LinkedHashMap<>();
+      for (Map.Entry<FactRecord, FactEntity> entry : entities.entrySet()) {
+        try {
+          AsyncFetchUtils.await(verifications.get(entry.getKey()));
+          writes.put(entry.getKey(), saveNewFact(entry.getKey(), entry.getValue()));
+        } catch (RuntimeException ex) {
+          result.addStoreFailure(entry.getKey().getId(), ex.getMessage());
+        }
+      }
+
+      for (Map.Entry<FactRecord, List<CompletionStage<?>>> entry : writes.entrySet()) {
+        try {
+          for (CompletionStage<?> write : entry.getValue()) {
+            AsyncFetchUtils.await(write);
+          }
+          // Only index Facts which were written to Cassandra successfully.
+          documents.add(factRecordConverter.toDocument(entry.getKey()));
+          factSignatureCache.put(factRecordConverter.toCriteria(entry.getKey()), entry.getKey().getId());
+          indexAdjacency(entry.getKey());
+        } catch (RuntimeException ex) {
+          result.addStoreFailure(entry.getKey().getId(), ex.getMessage());
+        }
+      }
+    }
+
+    // Index all stored Facts in ElasticSearch using bulk requests.
+    Map<UUID, String> indexFailures = factSearchManager.indexFacts(documents);
+    for (FactDocument document : documents) {
+      if (!indexFailures.containsKey(document.getId())) continue;
+
+      // The Fact is already stored in Cassandra, thus, try once more to index it on its own before giving up.
+      try {
+        factSearchManager.indexFact(document);
+      } catch (RuntimeException ex) {
+        result.addIndexFailure(document.getId(), ex.getMessage());
+      }
+    }
+
+    return result.build();
+  }
+
   @Override
   public FactRecord refreshFact(FactRecord record) {
     if (record == null) return null;
@@ -172,20 +271,60 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
 
   @Override
   public ResultContainer<FactRecord> retrieveExistingFacts(FactRecord record) {
+    FactExistenceSearchCriteria criteria = factRecordConverter.toCriteria(record);
+
+    // Skip ElasticSearch if the same Fact has been created recently.
+    ResultContainer<FactRecord> cachedResult = retrieveCachedFact(criteria);
+    if (cachedResult != null) return cachedResult;
+
     // Search for existing Facts in ElasticSearch.
-    SearchResult<FactDocument> searchResult = factSearchManager.retrieveExistingFacts(factRecordConverter.toCriteria(record));
-    if (searchResult.getCount() <= 0) {
-      // Return immediately if the search didn't yield any results.
-      return ResultContainer.<FactRecord>builder().build();
+    return createExistingFactsContainer(factSearchManager.retrieveExistingFacts(criteria));
+  }
+
+  @Override
+  public List<ResultContainer<FactRecord>> retrieveExistingFacts(List<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return new ArrayList<>();
+
+    List<FactExistenceSearchCriteria> criteria = records.stream()
+            .map(factRecordConverter::toCriteria)
+            .collect(Collectors.toList());
+
+    // Resolve recently created Facts from the cache and collect the remaining criteria for ElasticSearch.
+    List<ResultContainer<FactRecord>> results = new ArrayList<>(criteria.size());
+    List<Integer> uncachedPositions = new ArrayList<>();
+    List<FactExistenceSearchCriteria> uncachedCriteria = new ArrayList<>();
+    for (FactExistenceSearchCriteria next : criteria) {
+      ResultContainer<FactRecord> cachedResult = retrieveCachedFact(next);
+      if (cachedResult == null) {
+        uncachedPositions.add(results.size());
+        uncachedCriteria.add(next);
+      }
+      results.add(cachedResult);
+    }
+
+    // Search for all remaining existing Facts in ElasticSearch in one go.
+    List<SearchResult<FactDocument>> searchResults = factSearchManager.retrieveExistingFacts(uncachedCriteria);
+    for (int i = 0; i < uncachedPositions.size(); i++) {
+      results.set(uncachedPositions.get(i), createExistingFactsContainer(searchResults.get(i)));
     }
 
-    return createResultContainer(searchResult.getValues().iterator(), searchResult.getCount());
+    return results;
   }
 
   @Override
   public ResultContainer<FactRecord> searchFacts(FactSearchCriteria criteria) {
-    // Search for Facts in ElasticSearch.
-    ScrollingSearchResult<FactDocument> searchResult = factSearchManager.searchFacts(criteria);
+    if (criteria != null && criteria.isIndexServed()) {
+      return searchFactsFromIndex(criteria);
+    }
+
+    if (criteria != null && criteria.isAdjacencyCached() && !CollectionUtils.isEmpty(criteria.getObjectID())) {
+      // Prefer the adjacency index for indexed Objects and fall back to the adjacency cache for all other Objects.
+      ResultContainer<FactRecord> indexedResult = searchFactsFromAdjacencyIndex(criteria);
+      return indexedResult != null ? indexedResult : searchFactsFromAdjacencyCache(criteria);
+    }
+
+    // Search for Facts in ElasticSearch. Only the UUIDs are required because the Facts are fetched from Cassandra.
+    ScrollingSearchResult<UUID> searchResult = factSearchManager.searchFactIds(criteria);
     if (searchResult.getCount() <= 0) {
       // Return immediately if the search didn't yield any results.
       return ResultContainer.<FactRecord>builder().build();
@@ -194,6 +333,18 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return createResultContainer(searchResult, searchResult.getCount());
   }
 
+  @Override
+  public boolean existsFact(FactSearchCriteria criteria) {
+    // Just delegate it to FactSearchManager, nothing else needs to be done.
+    return factSearchManager.existsFact(criteria);
+  }
+
+  @Override
+  public Set<UUID> retrieveObjectsWithFacts(FactSearchCriteria criteria) {
+    // Just delegate it to FactSearchManager, nothing else needs to be done.
+    return factSearchManager.retrieveObjectsWithFacts(criteria);
+  }
+
   @Override
   public FactAclEntryRecord storeFactAclEntry(FactRecord fact, FactAclEntryRecord aclEntry) {
     if (fact == null || aclEntry == null) return null;
@@ -215,27 +366,106 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return comment;
   }
 
-  private void saveFactObjectBindings(FactEntity fact) {
-    if (CollectionUtils.isEmpty(fact.getBindings())) return;
+  private CompletionStage<?> verifyNewFactAsync(FactEntity fact) {
+    // Send off all existence checks concurrently instead of performing them one-by-one before each write.
+    List<CompletableFuture<?>> checks = new ArrayList<>();
+    checks.add(factManager.getFactAsync(fact.getId()).toCompletableFuture().thenAccept(existing -> {
+      if (existing != null) throw new ImmutableViolationException("It is not allowed to update a Fact");
+    }));
+
+    for (FactEntity.FactObjectBinding binding : ListUtils.list(fact.getBindings())) {
+      checks.add(objectManager.getObjectAsync(binding.getObjectID()).toCompletableFuture().thenAccept(object -> {
+        if (object == null)
+          throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+      }));
+    }
+
+    if (fact.getInReferenceToID() != null) {
+      checks.add(factManager.getFactAsync(fact.getInReferenceToID()).toCompletableFuture().thenAccept(referenced -> {
+        if (referenced == null)
+          throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", fact.getInReferenceToID()));
+      }));
+    }
+
+    return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]));
+  }
+
+  private List<CompletionStage<?>> saveNewFact(FactRecord record, FactEntity entity) {
+    // Save new Fact, lookup tables, ACL entries and comments in Cassandra. The Fact has been verified to be new before,
+    // thus, no further read-before-write checks are required.
+    List<CompletionStage<?>> writes = new ArrayList<>();
+    writes.add(factManager.saveNewFactAsync(entity));
+    writes.addAll(saveFactObjectBindings(entity));
+    writes.addAll(saveMetaFactBindings(entity));
+    writes.addAll(saveNewAclEntries(record));
+    writes.addAll(saveNewComments(record));
+    return writes;
+  }
+
+  private void indexAdjacency(FactRecord record) {
+    if (!objectAdjacencyIndex.isEnabled()) return;
+    // The bindings of the new Fact have been written to Cassandra, thus, the Fact can be added to indexed Objects.
+    objectAdjacencyIndex.add(factRecordConverter.toEntity(record));
+  }
+
+  private List<CompletionStage<?>> saveFactObjectBindings(FactEntity fact) {
+    if (CollectionUtils.isEmpty(fact.getBindings())) return ListUtils.list();
 
     // Save all bindings between Objects and the new Fact.
+    List<CompletionStage<?>> writes = new ArrayList<>();
     for (FactEntity.FactObjectBinding binding : fact.getBindings()) {
-      objectManager.saveObjectFactBinding(new ObjectFactBindingEntity()
+      writes.add(objectManager.saveNewObjectFactBindingAsync(new ObjectFactBindingEntity()
               .setObjectID(binding.getObjectID())
               .setFactID(fact.getId())
               .setDirection(binding.getDirection())
-      );
+      ));
     }
+
+    return writes;
   }
 
-  private void saveMetaFactBindings(FactEntity fact) {
-    if (fact.getInReferenceToID() == null) return;
+  private List<CompletionStage<?>> saveMetaFactBindings(FactEntity fact) {
+    if (fact.getInReferenceToID() == null) return ListUtils.list();
 
     // Save binding between referenced Fact and new meta Fact.
-    factManager.saveMetaFactBinding(new MetaFactBindingEntity()
+    return ListUtils.list(factManager.saveNewMetaFactBindingAsync(new MetaFactBindingEntity()
             .setFactID(fact.getInReferenceToID())
             .setMetaFactID(fact.getId())
-    );
+    ));
+  }
+
+  private List<CompletionStage<?>> saveNewAclEntries(FactRecord fact) {
+    if (CollectionUtils.isEmpty(fact.getAcl())) return ListUtils.list();
+
+    // The Fact is new, thus, it's not required to check for existing ACL entries.
+    List<CompletionStage<?>> writes = new ArrayList<>();
+    for (FactAclEntryRecord entry : fact.getAcl()) {
+      // Ensure that id is set before converting and saving entity.
+      if (entry.getId() == null) {
+        entry.setId(UUID.randomUUID());
+      }
+
+      writes.add(factManager.saveNewFactAclEntryAsync(factAclEntryRecordConverter.toEntity(entry, fact.getId())));
+    }
+
+    return writes;
+  }
+
+  private List<CompletionStage<?>> saveNewComments(FactRecord fact) {
+    if (CollectionUtils.isEmpty(fact.getComments())) return ListUtils.list();
+
+    // The Fact is new, thus, it's not required to check for existing comments.
+    List<CompletionStage<?>> writes = new ArrayList<>();
+    for (FactCommentRecord comment : fact.getComments()) {
+      // Ensure that id is set before converting and saving entity.
+      if (comment.getId() == null) {
+        comment.setId(UUID.randomUUID());
+      }
+
+      writes.add(factManager.saveNewFactCommentAsync(factCommentRecordConverter.toEntity(comment, fact.getId())));
+    }
+
+    return writes;
   }
 
   private void saveAclEntries(FactRecord fact) {
@@ -296,17 +526,259 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return record;
   }
 
-  private ResultContainer<FactRecord> createResultContainer(Iterator<FactDocument> results, int count) {
+  private ResultContainer<FactRecord> retrieveCachedFact(FactExistenceSearchCriteria criteria) {
+    UUID cachedID = factSignatureCache.get(criteria);
+    if (cachedID == null) return null;
+
+    FactRecord cachedFact = getFact(cachedID);
+    if (cachedFact == null) {
+      // Shouldn't happen, but fall back to ElasticSearch if the cached Fact cannot be fetched.
+      factSignatureCache.invalidate(criteria);
+      return null;
+    }
+
+    return ResultContainer.<FactRecord>builder()
+            .setCount(1)
+            .setValues(ListUtils.list(cachedFact).iterator())
+            .build();
+  }
+
+  private ResultContainer<FactRecord> createExistingFactsContainer(SearchResult<FactDocument> searchResult) {
+    if (searchResult.getCount() <= 0) {
+      // Return immediately if the search didn't yield any results.
+      return ResultContainer.<FactRecord>builder().build();
+    }
+
     // Iterator which maps FactDocument to UUID.
-    Iterator<UUID> idIterator = new MappingIterator<>(results, FactDocument::getId);
-    // Iterator which fetches FactEntity from Cassandra in batches.
-    Iterator<FactEntity> batchingIterator = new BatchingIterator<>(idIterator, factManager::getFacts);
-    // Iterator which maps FactEntity to FactRecord.
-    Iterator<FactRecord> recordIterator = new MappingIterator<>(batchingIterator, factRecordConverter::fromEntity);
+    Iterator<UUID> idIterator = new MappingIterator<>(searchResult.getValues().iterator(), FactDocument::getId);
+    return createResultContainer(idIterator, searchResult.getCount());
+  }
+
+  private ResultContainer<FactRecord> createResultContainer(Iterator<UUID> idIterator, int count) {
+    // Iterator which fetches FactEntity from Cassandra in batches and converts each batch to FactRecord. The conversion
+    // fetches all related entities of a batch at once instead of performing multiple queries for every single Fact.
+    Iterator<FactRecord> recordIterator = new BatchingIterator<>(idIterator, this::fetchFactRecords);
 
     return ResultContainer.<FactRecord>builder()
             .setCount(count)
             .setValues(recordIterator)
             .build();
   }
+
+  private Iterator<FactRecord> fetchFactRecords(List<UUID> id) {
+    return factRecordConverter.fromEntities(ListUtils.list(factManager.getFacts(id))).iterator();
+  }
+
+  private ResultContainer<FactRecord> searchFactsFromAdjacencyCache(FactSearchCriteria criteria) {
+    // Serve the search from the cache if the adjacency of all requested Objects is known.
+    Set<UUID> cachedID = new LinkedHashSet<>();
+    for (UUID objectID : criteria.getObjectID()) {
+      Set<UUID> adjacency = factAdjacencyCache.get(objectID, criteria);
+      if (adjacency == null) {
+        cachedID = null;
+        break;
+      }
+      cachedID.addAll(adjacency);
+    }
+
+    if (cachedID != null) {
+      return createResultContainer(cachedID.iterator(), cachedID.size());
+    }
+
+    // Otherwise search ElasticSearch for all requested Objects and populate the cache once the result has been consumed.
+    // A limited search only returns a part of the Facts bound to each Object which must not be cached.
+    boolean cacheable = criteria.getLimit() <= 0;
+    long searchTimestamp = System.currentTimeMillis();
+    ScrollingSearchResult<UUID> searchResult = factSearchManager.searchFactIds(criteria);
+    if (searchResult.getCount() <= 0) {
+      // Don't remember an empty adjacency if the search failed.
+      if (cacheable && searchResult.isCompleted()) {
+        criteria.getObjectID().forEach(objectID -> factAdjacencyCache.put(objectID, criteria, Collections.emptySet(), searchTimestamp));
+      }
+      return ResultContainer.<FactRecord>builder().build();
+    }
+
+    ResultContainer<FactRecord> result = createResultContainer(searchResult, searchResult.getCount());
+    if (!cacheable || result.getCount() > ADJACENCY_CACHE_LIMIT) return result;
+
+    return ResultContainer.<FactRecord>builder()
+            .setCount(result.getCount())
+            .setValues(new AdjacencyCollectingIterator(result, searchResult, criteria, searchTimestamp))
+            .build();
+  }
+
+  private ResultContainer<FactRecord> searchFactsFromAdjacencyIndex(FactSearchCriteria criteria) {
+    if (!objectAdjacencyIndex.isEnabled() || !isServableFromAdjacencyIndex(criteria)) return null;
+
+    Set<UUID> factID = new LinkedHashSet<>();
+    Set<UUID> unindexedObjectID = new HashSet<>();
+    for (UUID objectID : criteria.getObjectID()) {
+      List<UUID> adjacency = objectAdjacencyIndex.get(objectID, criteria.getFactTypeID(), criteria.getStartTimestamp(), criteria.getEndTimestamp());
+      if (adjacency == null) {
+        // Don't delay the search by reading the adjacency from Cassandra, but load it in the background for later searches.
+        objectAdjacencyIndex.loadAsync(objectID, this::loadAdjacency);
+        unindexedObjectID.add(objectID);
+        continue;
+      }
+      factID.addAll(adjacency);
+    }
+
+    // Fall back to ElasticSearch if none of the Objects are indexed.
+    if (unindexedObjectID.size() == criteria.getObjectID().size()) return null;
+
+    // Resolve the Facts bound to all Objects which aren't indexed from the adjacency cache or with one search. Only the
+    // UUIDs are collected, thus, a Fact bound to both an indexed and an unindexed Object is only returned once and the
+    // returned count is exact.
+    Set<UUID> searchedObjectID = new HashSet<>();
+    for (UUID objectID : unindexedObjectID) {
+      Set<UUID> adjacency = factAdjacencyCache.get(objectID, criteria);
+      if (adjacency == null) {
+        searchedObjectID.add(objectID);
+        continue;
+      }
+      factID.addAll(adjacency);
+    }
+    if (!searchedObjectID.isEmpty()) {
+      factSearchManager.searchFactIds(criteria.toBuilder()
+              .setObjectID(searchedObjectID)
+              .build()
+      ).forEachRemaining(factID::add);
+    }
+
+    // The adjacency index doesn't apply access control. The caller is responsible for checking access to the returned
+    // Facts, see FactSearchCriteria.isAdjacencyCached().
+    return createResultContainer(factID.iterator(), factID.size());
+  }
+
+  private boolean isServableFromAdjacencyIndex(FactSearchCriteria criteria) {
+    // The index only knows the FactType and the 'timestamp' field of Facts, thus, it can't serve searches filtering on
+    // anything else. Limited searches aren't served either because the whole adjacency is returned from the index.
+    boolean timestampOnly = (criteria.getStartTimestamp() == null && criteria.getEndTimestamp() == null) ||
+            Objects.equals(criteria.getTimeFieldStrategy(), SetUtils.set(FactSearchCriteria.TimeFieldStrategy.timestamp));
+    return timestampOnly &&
+            criteria.getLimit() <= 0 &&
+            CollectionUtils.isEmpty(criteria.getFactID()) &&
+            CollectionUtils.isEmpty(criteria.getFactValue()) &&
+            CollectionUtils.isEmpty(criteria.getInReferenceTo()) &&
+            CollectionUtils.isEmpty(criteria.getOrganizationID()) &&
+            CollectionUtils.isEmpty(criteria.getOriginID()) &&
+            CollectionUtils.isEmpty(criteria.getObjectTypeID()) &&
+            CollectionUtils.isEmpty(criteria.getObjectValue()) &&
+            criteria.getKeywords() == null &&
+            criteria.getMinNumber() == null &&
+            criteria.getMaxNumber() == null &&
+            criteria.getFactBinding() == null;
+  }
+
+  private boolean loadAdjacency(UUID objectID) {
+    if (!objectAdjacencyIndex.isLoadable(objectID)) return false;
+
+    // Obtain the sequence number before reading from Cassandra in order to detect Facts written concurrently.
+    long sequence = objectAdjacencyIndex.getSequence();
+    List<UUID> factID = new ArrayList<>();
+    Iterator<ObjectFactBindingEntity> bindings = objectManager.fetchObjectFactBindings(objectID);
+    while (bindings.hasNext()) {
+      if (factID.size() >= objectAdjacencyIndex.getMaximumAdjacencySize()) {
+        objectAdjacencyIndex.markOversized(objectID);
+        return false;
+      }
+      factID.add(bindings.next().getFactID());
+    }
+
+    // Only the FactType and timestamp of the bound Facts are indexed which are contained in the Fact rows.
+    return objectAdjacencyIndex.load(objectID, ListUtils.list(factManager.getFacts(factID)), sequence);
+  }
+
+  private ResultContainer<FactRecord> searchFactsFromIndex(FactSearchCriteria criteria) {
+    // Search for Facts in ElasticSearch. The whole documents are required because the Facts are served from them.
+    ScrollingSearchResult<FactDocument> searchResult = factSearchManager.searchFacts(criteria);
+    if (searchResult.getCount() <= 0) {
+      // Return immediately if the search didn't yield any results.
+      return ResultContainer.<FactRecord>builder().build();
+    }
+
+    return ResultContainer.<FactRecord>builder()
+            .setCount(searchResult.getCount())
+            .setValues(new BatchingIterator<>(searchResult, this::convertFactDocuments))
+            .build();
+  }
+
+  private Iterator<FactRecord> convertFactDocuments(List<FactDocument> documents) {
+    // Only fetch the Fact rows from Cassandra (one query per batch) in order to verify that the documents are up-to-date.
+    Map<UUID, FactEntity> entities = new HashMap<>();
+    factManager.getFacts(ListUtils.list(documents, FactDocument::getId)).forEachRemaining(entity -> entities.put(entity.getId(), entity));
+
+    List<FactEntity> outdated = new ArrayList<>();
+    Map<UUID, FactRecord> records = new HashMap<>();
+    for (FactDocument document : documents) {
+      FactEntity entity = entities.get(document.getId());
+      if (entity == null) continue;
+
+      if (isOutdated(document, entity)) {
+        // The document hasn't been reindexed yet, thus, fall back to fetch the whole Fact from Cassandra.
+        outdated.add(entity);
+      } else {
+        records.put(entity.getId(), factRecordConverter.fromDocument(document));
+      }
+    }
+
+    for (FactRecord record : factRecordConverter.fromEntities(outdated)) {
+      records.put(record.getId(), record);
+    }
+
+    // Return the records in the same order as the documents. Facts which don't exist in Cassandra are omitted.
+    return documents.stream()
+            .map(document -> records.get(document.getId()))
+            .filter(Objects::nonNull)
+            .iterator();
+  }
+
+  private boolean isOutdated(FactDocument document, FactEntity entity) {
+    // Every update of a Fact touches 'lastSeenTimestamp' except retraction which only sets a flag.
+    Set<String> documentFlags = SetUtils.set(document.getFlags(), Enum::name);
+    Set<String> entityFlags = SetUtils.set(entity.getFlags(), Enum::name);
+    return entity.getLastSeenTimestamp() != document.getLastSeenTimestamp() || !documentFlags.equals(entityFlags);
+  }
+
+  private class AdjacencyCollectingIterator implements Iterator<FactRecord> {
+    private final Iterator<FactRecord> records;
+    private final ScrollingSearchResult<UUID> searchResult;
+    private final FactSearchCriteria criteria;
+    private final long searchTimestamp;
+    private final Map<UUID, Set<UUID>> adjacency = new HashMap<>();
+    private boolean cached;
+
+    private AdjacencyCollectingIterator(Iterator<FactRecord> records, ScrollingSearchResult<UUID> searchResult,
+                                        FactSearchCriteria criteria, long searchTimestamp) {
+      this.records = records;
+      this.searchResult = searchResult;
+      this.criteria = criteria;
+      this.searchTimestamp = searchTimestamp;
+      criteria.getObjectID().forEach(objectID -> adjacency.put(objectID, new HashSet<>()));
+    }
+
+    @Override
+    public boolean hasNext() {
+      boolean hasNext = records.hasNext();
+      if (!hasNext && !cached && searchResult.isCompleted()) {
+        // Only cache the adjacency after the whole result has been consumed. A result which ended prematurely because
+        // fetching a batch from ElasticSearch failed is incomplete and must not be cached.
+        adjacency.forEach((objectID, factID) -> factAdjacencyCache.put(objectID, criteria, factID, searchTimestamp));
+        cached = true;
+      }
+
+      return hasNext;
+    }
+
+    @Override
+    public FactRecord next() {
+      FactRecord record = records.next();
+      for (ObjectRecord object : Arrays.asList(record.getSourceObject(), record.getDestinationObject())) {
+        Set<UUID> factID = object != null ? adjacency.get(object.getId()) : null;
+        if (factID != null) factID.add(record.getId());
+      }
+
+      return record;
+    }
+  }
 }
@@ -0,0 +1,60 @@
+package no.mnemonic.act.platform.dao.facade.caches;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
+
+import javax.inject.Singleton;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global cache on one local node which remembers the signatures of recently created Facts. The signature of a Fact
+ * is the {@link FactExistenceSearchCriteria} which identifies logically the same Fact. Keeping track of the signatures
+ * allows to detect re-submitted Facts without asking ElasticSearch, which also covers Facts which aren't searchable yet
+ * because the index hasn't been refreshed.
+ * <p>
+ * Facts with access mode 'Explicit' are not cached. For those Facts read access depends on the ACL of each individual
+ * Fact, thus, it's necessary to inspect all logically existing Facts and not only the one remembered in this cache.
+ */
+@Singleton
+public class LocalFactSignatureCache {
+
+  private final Cache<FactExistenceSearchCriteria, UUID> cache = CacheBuilder.newBuilder()
+          .maximumSize(100_000)
+          .expireAfterWrite(5, TimeUnit.MINUTES)
+          .build();
+
+  /**
+   * Return the UUID of a recently created Fact matching a signature, or NULL if no such Fact is known.
+   *
+   * @param signature Signature of Fact
+   * @return UUID of existing Fact or NULL
+   */
+  public UUID get(FactExistenceSearchCriteria signature) {
+    if (signature == null) return null;
+    return cache.getIfPresent(signature);
+  }
+
+  /**
+   * Remember the signature of a newly created Fact. Signatures of Facts with access mode 'Explicit' are ignored.
+   *
+   * @param signature Signature of Fact
+   * @param factID    UUID of Fact
+   */
+  public void put(FactExistenceSearchCriteria signature, UUID factID) {
+    if (signature == null || factID == null) return;
+    if (signature.getAccessMode() == FactExistenceSearchCriteria.AccessMode.Explicit) return;
+    cache.put(signature, factID);
+  }
+
+  /**
+   * Forget the signature of a Fact, e.g. because the cached Fact could not be fetched.
+   *
+   * @param signature Signature of Fact
+   */
+  public void invalidate(FactExistenceSearchCriteria signature) {
+    if (signature == null) return;
+    cache.invalidate(signature);
+  }
+}
@@ -1,11 +1,13 @@
 package no.mnemonic.act.platform.dao.facade.converters;
 
+import com.google.common.collect.Lists;
 import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.utilities.AsyncFetchUtils;
 import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
@@ -13,10 +15,13 @@ import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.FactIsDestination;
 import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.FactIsSource;
@@ -27,6 +32,8 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.Direction.FactIsSour
 public class FactRecordConverter {
 
   private static final Logger LOGGER = Logging.getLogger(FactRecordConverter.class);
+  // Limit the number of Facts for which related entities are fetched concurrently.
+  private static final int BATCH_SIZE = 100;
 
   private final FactManager factManager;
   private final ObjectManager objectManager;
@@ -57,25 +64,76 @@ public class FactRecordConverter {
     if (entity == null) return null;
 
     // Set all fields directly available on entity.
-    FactRecord record = new FactRecord()
-            .setId(entity.getId())
-            .setTypeID(entity.getTypeID())
-            .setValue(entity.getValue())
-            .setInReferenceToID(entity.getInReferenceToID())
-            .setOrganizationID(entity.getOrganizationID())
-            .setOriginID(entity.getOriginID())
-            .setAddedByID(entity.getAddedByID())
-            .setAccessMode(ObjectUtils.ifNotNull(entity.getAccessMode(), m -> FactRecord.AccessMode.valueOf(m.name())))
-            .setConfidence(entity.getConfidence())
-            .setTrust(entity.getTrust())
-            .setTimestamp(entity.getTimestamp())
-            .setLastSeenTimestamp(entity.getLastSeenTimestamp())
-            .setFlags(SetUtils.set(entity.getFlags(), flag -> FactRecord.Flag.valueOf(flag.name())));
+    FactRecord record = convertDirectFields(entity);
 
     // Populate with records from related entities.
-    populateObjects(record, entity);
-    populateFactAcl(record);
-    populateFactComments(record);
+    populateObjects(record, entity.getBindings(), this::convertObject);
+    populateFactAcl(record, factManager.fetchFactAcl(record.getId()));
+    populateFactComments(record, factManager.fetchFactComments(record.getId()));
+
+    return record;
+  }
+
+  /**
+   * Convert multiple {@link FactEntity}s to {@link FactRecord}s. In contrast to {@link #fromEntity(FactEntity)} the
+   * related entities (ACL, comments and bound Objects) are not fetched one-by-one for each Fact. Instead, they are
+   * fetched for a whole batch of Facts at once using concurrent asynchronous queries against Cassandra.
+   *
+   * @param entities Facts to convert
+   * @return Converted Facts (in the same order as the input)
+   */
+  public List<FactRecord> fromEntities(List<FactEntity> entities) {
+    if (CollectionUtils.isEmpty(entities)) return ListUtils.list();
+
+    List<FactRecord> records = new ArrayList<>(entities.size());
+    // Limit the number of concurrent queries by converting the entities in smaller partitions.
+    for (List<FactEntity> partition : Lists.partition(entities, BATCH_SIZE)) {
+      records.addAll(fromEntitiesPartition(partition));
+    }
+
+    return records;
+  }
+
+  /**
+   * Convert {@link FactDocument} to {@link FactRecord} without fetching any related entities from Cassandra. All fields
+   * including flags, bound Objects and ACL are taken from the document. The ACL entries only contain the subject and
+   * comments are not populated because they are not indexed.
+   *
+   * @param document Fact to convert
+   * @return Converted Fact
+   */
+  public FactRecord fromDocument(FactDocument document) {
+    if (document == null) return null;
+
+    FactRecord record = new FactRecord()
+            .setId(document.getId())
+            .setTypeID(document.getTypeID())
+            .setValue(document.getValue())
+            .setInReferenceToID(document.getInReferenceTo())
+            .setOrganizationID(document.getOrganizationID())
+            .setOriginID(document.getOriginID())
+            .setAddedByID(document.getAddedByID())
+            .setAccessMode(ObjectUtils.ifNotNull(document.getAccessMode(), m -> FactRecord.AccessMode.valueOf(m.name())))
+            .setConfidence(document.getConfidence())
+            .setTrust(document.getTrust())
+            .setTimestamp(document.getTimestamp())
+            .setLastSeenTimestamp(document.getLastSeenTimestamp())
+            .setFlags(SetUtils.set(document.getFlags(), flag -> FactRecord.Flag.valueOf(flag.name())));
+
+    // Resolve the bound Objects the same way as for entities, but from the Objects stored inside the document.
+    Map<UUID, ObjectDocument> objects = new HashMap<>();
+    List<FactEntity.FactObjectBinding> bindings = new ArrayList<>();
+    for (ObjectDocument object : SetUtils.set(document.getObjects())) {
+      objects.put(object.getId(), object);
+      bindings.add(new FactEntity.FactObjectBinding()
+              .setObjectID(object.getId())
+              .setDirection(ObjectUtils.ifNotNull(object.getDirection(), d -> Direction.valueOf(d.name()))));
+    }
+    populateObjects(record, bindings, objectID -> fromDocument(objects.get(objectID)));
+
+    for (UUID subjectID : SetUtils.set(document.getAcl())) {
+      record.addAclEntry(new FactAclEntryRecord().setSubjectID(subjectID));
+    }
 
     return record;
   }
@@ -141,6 +199,7 @@ public class FactRecordConverter {
             .setTrust(record.getTrust())
             .setTimestamp(record.getTimestamp())
             .setLastSeenTimestamp(record.getLastSeenTimestamp())
+            .setFlags(SetUtils.set(record.getFlags(), flag -> FactDocument.Flag.valueOf(flag.name())))
             .setAcl(SetUtils.set(record.getAcl(), FactAclEntryRecord::getSubjectID));
 
     if (record.getSourceObject() != null) {
@@ -189,34 +248,36 @@ public class FactRecordConverter {
     return criteriaBuilder.build();
   }
 
-  private void populateObjects(FactRecord record, FactEntity entity) {
-    if (CollectionUtils.isEmpty(entity.getBindings())) return;
+  private void populateObjects(FactRecord record, List<FactEntity.FactObjectBinding> bindings, Function<UUID, ObjectRecord> objectResolver) {
+    if (CollectionUtils.isEmpty(bindings)) return;
 
-    if (CollectionUtils.size(entity.getBindings()) == 1) {
-      populateObjectsWithCardinalityOne(record, entity.getBindings().get(0));
-    } else if (CollectionUtils.size(entity.getBindings()) == 2) {
-      populateObjectsWithCardinalityTwo(record, entity.getBindings().get(0), entity.getBindings().get(1));
+    if (CollectionUtils.size(bindings) == 1) {
+      populateObjectsWithCardinalityOne(record, bindings.get(0), objectResolver);
+    } else if (CollectionUtils.size(bindings) == 2) {
+      populateObjectsWithCardinalityTwo(record, bindings.get(0), bindings.get(1), objectResolver);
     } else {
       // This should never happen as long as create Fact API only allows bindings with cardinality 1 or 2. Log it, just in case.
       LOGGER.warning("Fact is bound to more than two Objects (id = %s). Ignoring Objects in result.", record.getId());
     }
   }
 
-  private void populateObjectsWithCardinalityOne(FactRecord record, FactEntity.FactObjectBinding binding) {
+  private void populateObjectsWithCardinalityOne(FactRecord record, FactEntity.FactObjectBinding binding,
+                                                 Function<UUID, ObjectRecord> objectResolver) {
     if (binding.getDirection() == FactIsDestination) {
-      record.setSourceObject(convertObject(binding.getObjectID()));
+      record.setSourceObject(objectResolver.apply(binding.getObjectID()));
     } else if (binding.getDirection() == FactIsSource) {
-      record.setDestinationObject(convertObject(binding.getObjectID()));
+      record.setDestinationObject(objectResolver.apply(binding.getObjectID()));
     } else {
       // In case of bidirectional binding with cardinality 1 populate source and destination with same Object.
-      ObjectRecord object = convertObject(binding.getObjectID());
+      ObjectRecord object = objectResolver.apply(binding.getObjectID());
       record.setSourceObject(object)
               .setDestinationObject(object)
               .setBidirectionalBinding(true);
     }
   }
 
-  private void populateObjectsWithCardinalityTwo(FactRecord record, FactEntity.FactObjectBinding first, FactEntity.FactObjectBinding second) {
+  private void populateObjectsWithCardinalityTwo(FactRecord record, FactEntity.FactObjectBinding first, FactEntity.FactObjectBinding second,
+                                                 Function<UUID, ObjectRecord> objectResolver) {
     if ((first.getDirection() == FactIsDestination && second.getDirection() == FactIsDestination) ||
             (first.getDirection() == FactIsSource && second.getDirection() == FactIsSource)) {
       // This should never happen as long as create Fact API only allows bindings with cardinality 1 or 2. Log it, just in case.
@@ -226,37 +287,95 @@ public class FactRecordConverter {
 
     if (first.getDirection() == FactIsDestination) {
       // If 'first' has direction 'FactIsDestination' it's the source Object and 'second' the destination Object ...
-      record.setSourceObject(convertObject(first.getObjectID()))
-              .setDestinationObject(convertObject(second.getObjectID()));
+      record.setSourceObject(objectResolver.apply(first.getObjectID()))
+              .setDestinationObject(objectResolver.apply(second.getObjectID()));
     } else if (second.getDirection() == FactIsDestination) {
       // ... and vice versa. They can't have the same direction!
-      record.setSourceObject(convertObject(second.getObjectID()))
-              .setDestinationObject(convertObject(first.getObjectID()));
+      record.setSourceObject(objectResolver.apply(second.getObjectID()))
+              .setDestinationObject(objectResolver.apply(first.getObjectID()));
     } else {
       // With bidirectional binding it doesn't matter which Object is source/destination.
       // In order to be consistent always set first as source and second as destination.
-      record.setSourceObject(convertObject(first.getObjectID()))
-              .setDestinationObject(convertObject(second.getObjectID()))
+      record.setSourceObject(objectResolver.apply(first.getObjectID()))
+              .setDestinationObject(objectResolver.apply(second.getObjectID()))
               .setBidirectionalBinding(true);
     }
   }
 
-  private void populateFactAcl(FactRecord record) {
-    for (FactAclEntity entity : factManager.fetchFactAcl(record.getId())) {
+  private void populateFactAcl(FactRecord record, List<FactAclEntity> acl) {
+    for (FactAclEntity entity : acl) {
       record.addAclEntry(factAclEntryRecordConverter.fromEntity(entity));
     }
   }
 
-  private void populateFactComments(FactRecord record) {
-    for (FactCommentEntity entity : factManager.fetchFactComments(record.getId())) {
+  private void populateFactComments(FactRecord record, List<FactCommentEntity> comments) {
+    for (FactCommentEntity entity : comments) {
       record.addComment(factCommentRecordConverter.fromEntity(entity));
     }
   }
 
+  private List<FactRecord> fromEntitiesPartition(List<FactEntity> entities) {
+    Map<UUID, CompletionStage<List<FactAclEntity>>> acl = new HashMap<>();
+    Map<UUID, CompletionStage<List<FactCommentEntity>>> comments = new HashMap<>();
+    Map<UUID, CompletionStage<ObjectEntity>> objects = new HashMap<>();
+
+    // First send off all queries for related entities. They will be executed concurrently by the Cassandra driver.
+    for (FactEntity entity : entities) {
+      if (entity == null) continue;
+      acl.computeIfAbsent(entity.getId(), factManager::fetchFactAclAsync);
+      comments.computeIfAbsent(entity.getId(), factManager::fetchFactCommentsAsync);
+      for (FactEntity.FactObjectBinding binding : ListUtils.list(entity.getBindings())) {
+        objects.computeIfAbsent(binding.getObjectID(), objectManager::getObjectAsync);
+      }
+    }
+
+    // Afterwards wait for the results and populate the records. Every Object is only converted once per partition.
+    Map<UUID, ObjectRecord> objectRecords = new HashMap<>();
+    Function<UUID, ObjectRecord> objectResolver = objectID -> objectRecords.computeIfAbsent(objectID,
+            id -> objectRecordConverter.fromEntity(AsyncFetchUtils.await(objects.get(id))));
+
+    List<FactRecord> records = new ArrayList<>(entities.size());
+    for (FactEntity entity : entities) {
+      if (entity == null) continue;
+
+      FactRecord record = convertDirectFields(entity);
+      populateObjects(record, entity.getBindings(), objectResolver);
+      populateFactAcl(record, AsyncFetchUtils.await(acl.get(entity.getId())));
+      populateFactComments(record, AsyncFetchUtils.await(comments.get(entity.getId())));
+      records.add(record);
+    }
+
+    return records;
+  }
+
+  private FactRecord convertDirectFields(FactEntity entity) {
+    return new FactRecord()
+            .setId(entity.getId())
+            .setTypeID(entity.getTypeID())
+            .setValue(entity.getValue())
+            .setInReferenceToID(entity.getInReferenceToID())
+            .setOrganizationID(entity.getOrganizationID())
+            .setOriginID(entity.getOriginID())
+            .setAddedByID(entity.getAddedByID())
+            .setAccessMode(ObjectUtils.ifNotNull(entity.getAccessMode(), m -> FactRecord.AccessMode.valueOf(m.name())))
+            .setConfidence(entity.getConfidence())
+            .setTrust(entity.getTrust())
+            .setTimestamp(entity.getTimestamp())
+            .setLastSeenTimestamp(entity.getLastSeenTimestamp())
+            .setFlags(SetUtils.set(entity.getFlags(), flag -> FactRecord.Flag.valueOf(flag.name())));
+  }
+
   private ObjectRecord convertObject(UUID objectID) {
     return objectRecordConverter.fromEntity(objectManager.getObject(objectID));
   }
 
+  private ObjectRecord fromDocument(ObjectDocument document) {
+    return new ObjectRecord()
+            .setId(document.getId())
+            .setTypeID(document.getTypeID())
+            .setValue(document.getValue());
+  }
+
   private ObjectDocument toDocument(ObjectRecord record, ObjectDocument.Direction direction) {
     return new ObjectDocument()
             .setId(record.getId())
@@ -0,0 +1,528 @@
+package no.mnemonic.act.platform.dao.facade.index;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Global index on one local node which holds the adjacency of frequently traversed Objects, i.e. the Facts bound to an
+ * Object together with the FactType and timestamp of each Fact. The adjacency of an Object is loaded asynchronously from
+ * the 'object_fact_binding' table on first use and afterwards updated from newly written Facts. The bindings, FactTypes
+ * and timestamps of Facts never change, but the index only sees Facts written on the local node. Therefore, the
+ * adjacency of an Object expires after a configurable time-to-live and is reloaded afterwards in order to pick up Facts
+ * written on other nodes. It doesn't apply any access control, the candidate Facts returned from the index must be
+ * checked by the caller.
+ * <p>
+ * Objects and FactTypes are mapped to compact int identifiers. The edges of all indexed Objects are stored off-heap in
+ * one fixed-size buffer where the edges of one Object occupy a contiguous row (similar to compressed sparse rows).
+ * When a new edge is added to an Object its row is moved to the end of the buffer. If the buffer is full the rows are
+ * compacted and, if necessary, the least recently used Objects are evicted.
+ */
+public class ObjectAdjacencyIndex implements MetricAspect, LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(ObjectAdjacencyIndex.class);
+
+  // Layout of one edge: UUID of Fact (16 bytes), timestamp (8 bytes), FactType (4 bytes).
+  private static final int TIMESTAMP_OFFSET = 16;
+  private static final int FACT_TYPE_OFFSET = 24;
+  private static final int EDGE_SIZE = 28;
+  // Objects with a larger adjacency are not indexed.
+  private static final int MAXIMUM_ADJACENCY_SIZE = 10_000;
+  private static final int INITIAL_ROWS = 1024;
+
+  private final int capacity;
+  private final int maximumAdjacencySize;
+  private final long timeToLive;
+  private final Executor loadExecutor;
+  // Objects for which loading the adjacency has been scheduled but not finished yet.
+  private final Set<UUID> pendingLoads = ConcurrentHashMap.newKeySet();
+  private final ByteBuffer edges;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicLong sequence = new AtomicLong();
+  private Clock clock = Clock.systemUTC();
+
+  // Dictionaries mapping UUIDs to int identifiers. The identifier of an Object is the row holding its edges.
+  private final Map<UUID, Integer> objectDictionary = new HashMap<>();
+  private final Map<UUID, Integer> factTypeDictionary = new HashMap<>();
+  private final Deque<Integer> freeRows = new ArrayDeque<>();
+  private UUID[] rowObject = new UUID[INITIAL_ROWS];
+  private int[] rowOffset = new int[INITIAL_ROWS];
+  private int[] rowLength = new int[INITIAL_ROWS];
+  // Updated by concurrent readers holding only the read lock, thus, an atomic array is required.
+  private AtomicLongArray rowAccess = new AtomicLongArray(INITIAL_ROWS);
+  private long[] rowLoaded = new long[INITIAL_ROWS];
+  private int rowCount;
+  // Number of used edge slots in the buffer, including slots of moved rows which haven't been compacted yet.
+  private int usedEdges;
+  private int liveEdges;
+
+  // Remembers writes to Objects which aren't indexed in order to detect concurrent loads which missed a new Fact.
+  private final Cache<UUID, Long> writes = CacheBuilder.newBuilder()
+          .maximumSize(100_000)
+          .expireAfterWrite(1, TimeUnit.MINUTES)
+          .build();
+  // Remembers Objects which have too many Facts bound in order to avoid re-reading their bindings over and over again.
+  private final Cache<UUID, Boolean> oversized = CacheBuilder.newBuilder()
+          .maximumSize(10_000)
+          .expireAfterWrite(5, TimeUnit.MINUTES)
+          .build();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder loadCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder expirationCount = new LongAdder();
+
+  /**
+   * Construct a new index.
+   *
+   * @param capacity     Maximum number of edges held by the index (the index is disabled if not positive)
+   * @param timeToLive   Time (in ms) after which the adjacency of an Object expires (never expires if not positive)
+   * @param loadExecutor Executor used to load the adjacency of Objects asynchronously
+   */
+  public ObjectAdjacencyIndex(int capacity, long timeToLive, Executor loadExecutor) {
+    if (capacity > Integer.MAX_VALUE / EDGE_SIZE) throw new IllegalArgumentException("Capacity of adjacency index is too large.");
+
+    this.capacity = Math.max(capacity, 0);
+    this.maximumAdjacencySize = Math.min(this.capacity, MAXIMUM_ADJACENCY_SIZE);
+    this.timeToLive = timeToLive;
+    this.loadExecutor = ObjectUtils.notNull(loadExecutor, "'loadExecutor' cannot be null!");
+    this.edges = this.capacity > 0 ? ByteBuffer.allocateDirect(this.capacity * EDGE_SIZE) : null;
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public void stopComponent() {
+    if (loadExecutor instanceof ExecutorService) {
+      ((ExecutorService) loadExecutor).shutdownNow();
+    }
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    lock.readLock().lock();
+    try {
+      return new MetricsData()
+              .addData("hits", hitCount.sum())
+              .addData("misses", missCount.sum())
+              .addData("loads", loadCount.sum())
+              .addData("rejected", rejectedCount.sum())
+              .addData("evictions", evictionCount.sum())
+              .addData("expirations", expirationCount.sum())
+              .addData("objects", objectDictionary.size())
+              .addData("edges", liveEdges)
+              .addData("capacity", capacity);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns true if the index is enabled.
+   *
+   * @return True if enabled
+   */
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  /**
+   * Returns the maximum number of Facts bound to an Object for which the adjacency of the Object is indexed.
+   *
+   * @return Maximum adjacency size
+   */
+  public int getMaximumAdjacencySize() {
+    return maximumAdjacencySize;
+  }
+
+  /**
+   * Returns true if the adjacency of an Object can be loaded into the index, i.e. the index is enabled and the Object
+   * hasn't been rejected recently because of too many bound Facts.
+   *
+   * @param objectID UUID of Object
+   * @return True if the Object can be loaded
+   */
+  public boolean isLoadable(UUID objectID) {
+    return isEnabled() && objectID != null && oversized.getIfPresent(objectID) == null;
+  }
+
+  /**
+   * Returns true if the adjacency of an Object is currently indexed and hasn't expired.
+   *
+   * @param objectID UUID of Object
+   * @return True if the Object is indexed
+   */
+  public boolean isIndexed(UUID objectID) {
+    if (!isEnabled() || objectID == null) return false;
+
+    lock.readLock().lock();
+    try {
+      Integer row = objectDictionary.get(objectID);
+      return row != null && !isExpired(row);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Schedule loading the adjacency of an Object in the background. The loader is responsible for reading the adjacency
+   * and calling {@link #load(UUID, Collection, long)}. Does nothing if the Object is already indexed, cannot be loaded,
+   * or a load of the Object is already pending. Loads are dropped if the executor doesn't accept more work.
+   *
+   * @param objectID UUID of Object
+   * @param loader   Function loading the adjacency of the Object
+   */
+  public void loadAsync(UUID objectID, Predicate<UUID> loader) {
+    if (!isLoadable(objectID) || isIndexed(objectID) || !pendingLoads.add(objectID)) return;
+
+    try {
+      loadExecutor.execute(() -> {
+        try {
+          loader.test(objectID);
+        } catch (RuntimeException ex) {
+          LOGGER.warning(ex, "Failed to load adjacency of Object with id = %s.", objectID);
+        } finally {
+          pendingLoads.remove(objectID);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      // Too many pending loads, the Object will be loaded on a later request.
+      pendingLoads.remove(objectID);
+    }
+  }
+
+  /**
+   * Mark an Object as having too many bound Facts to be indexed.
+   *
+   * @param objectID UUID of Object
+   */
+  public void markOversized(UUID objectID) {
+    if (!isEnabled() || objectID == null) return;
+    oversized.put(objectID, Boolean.TRUE);
+    rejectedCount.increment();
+  }
+
+  /**
+   * Returns the current sequence number of writes to the index. It must be obtained before reading the adjacency of an
+   * Object from Cassandra and passed to {@link #load(UUID, Collection, long)} afterwards.
+   *
+   * @return Current sequence number
+   */
+  public long getSequence() {
+    return sequence.get();
+  }
+
+  /**
+   * Return the UUIDs of the Facts bound to an Object, or NULL if the adjacency of the Object isn't indexed or has
+   * expired. The Facts can be restricted by FactType and timestamp. Negative or zero timestamps are ignored.
+   *
+   * @param objectID       UUID of Object
+   * @param factTypeID     Only include Facts of these FactTypes (all FactTypes if empty)
+   * @param startTimestamp Only include Facts with a timestamp after or equal to this timestamp (optional)
+   * @param endTimestamp   Only include Facts with a timestamp before or equal to this timestamp (optional)
+   * @return UUIDs of Facts bound to the Object or NULL
+   */
+  public List<UUID> get(UUID objectID, Set<UUID> factTypeID, Long startTimestamp, Long endTimestamp) {
+    if (!isEnabled() || objectID == null) return null;
+
+    lock.readLock().lock();
+    try {
+      Integer row = objectDictionary.get(objectID);
+      if (row == null || isExpired(row)) {
+        missCount.increment();
+        return null;
+      }
+
+      hitCount.increment();
+      rowAccess.set(row, clock.millis());
+
+      Set<Integer> factTypes = null;
+      if (!CollectionUtils.isEmpty(factTypeID)) {
+        factTypes = new HashSet<>();
+        for (UUID typeID : factTypeID) {
+          Integer factType = factTypeDictionary.get(typeID);
+          if (factType != null) factTypes.add(factType);
+        }
+      }
+
+      long start = startTimestamp != null && startTimestamp > 0 ? startTimestamp : Long.MIN_VALUE;
+      long end = endTimestamp != null && endTimestamp > 0 ? endTimestamp : Long.MAX_VALUE;
+
+      List<UUID> result = new ArrayList<>();
+      for (int edge = rowOffset[row]; edge < rowOffset[row] + rowLength[row]; edge++) {
+        int position = edge * EDGE_SIZE;
+        long timestamp = edges.getLong(position + TIMESTAMP_OFFSET);
+        if (timestamp < start || timestamp > end) continue;
+        if (factTypes != null && !factTypes.contains(edges.getInt(position + FACT_TYPE_OFFSET))) continue;
+        result.add(new UUID(edges.getLong(position), edges.getLong(position + 8)));
+      }
+
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Load the adjacency of an Object into the index. The load is rejected if the Object has too many bound Facts or if
+   * a new Fact was bound to the Object after the given sequence number was obtained, because the adjacency read from
+   * Cassandra might miss that Fact. An expired adjacency of the Object is replaced.
+   *
+   * @param objectID UUID of Object
+   * @param facts    All Facts bound to the Object
+   * @param sequence Sequence number obtained before reading the bound Facts
+   * @return True if the adjacency of the Object is indexed afterwards
+   */
+  public boolean load(UUID objectID, Collection<FactEntity> facts, long sequence) {
+    if (!isEnabled() || objectID == null || facts == null) return false;
+
+    lock.writeLock().lock();
+    try {
+      Integer existingRow = objectDictionary.get(objectID);
+      if (existingRow != null) {
+        // Loaded concurrently by another thread.
+        if (!isExpired(existingRow)) return true;
+        removeRow(existingRow);
+        expirationCount.increment();
+      }
+
+      Long lastWrite = writes.getIfPresent(objectID);
+      if (facts.size() > maximumAdjacencySize || (lastWrite != null && lastWrite > sequence)) {
+        rejectedCount.increment();
+        return false;
+      }
+
+      ensureCapacity(facts.size(), -1);
+      int row = allocateRow(objectID);
+      for (FactEntity fact : facts) {
+        writeEdge(usedEdges++, fact);
+        rowLength[row]++;
+      }
+
+      liveEdges += rowLength[row];
+      loadCount.increment();
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Add a newly written Fact to the adjacency of all indexed Objects bound to the Fact. Must be called after the
+   * bindings of the Fact have been written to Cassandra.
+   *
+   * @param fact Newly written Fact
+   */
+  public void add(FactEntity fact) {
+    if (!isEnabled() || fact == null || CollectionUtils.isEmpty(fact.getBindings())) return;
+
+    long writeSequence = sequence.incrementAndGet();
+    lock.writeLock().lock();
+    try {
+      for (FactEntity.FactObjectBinding binding : fact.getBindings()) {
+        Integer row = objectDictionary.get(binding.getObjectID());
+        if (row == null || isExpired(row)) {
+          // An expired adjacency will be replaced by a reload which might miss this Fact.
+          if (binding.getObjectID() != null) writes.put(binding.getObjectID(), writeSequence);
+          if (row == null) continue;
+        }
+
+        if (containsEdge(row, fact.getId())) continue;
+        if (rowLength[row] >= maximumAdjacencySize) {
+          removeRow(row);
+          markOversized(binding.getObjectID());
+          continue;
+        }
+
+        appendEdge(row, fact);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /* Setters used for unit testing */
+
+  ObjectAdjacencyIndex withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  private boolean isExpired(int row) {
+    return timeToLive > 0 && clock.millis() - rowLoaded[row] > timeToLive;
+  }
+
+  private void appendEdge(int row, FactEntity fact) {
+    ensureCapacity(1, row);
+
+    if (rowOffset[row] + rowLength[row] != usedEdges) {
+      // Move the row to the end of the buffer such that the new edge can be appended.
+      byte[] data = readEdges(rowOffset[row], rowLength[row]);
+      rowOffset[row] = usedEdges;
+      writeEdges(usedEdges, data);
+      usedEdges += rowLength[row];
+    }
+
+    writeEdge(usedEdges++, fact);
+    rowLength[row]++;
+    liveEdges++;
+  }
+
+  private void ensureCapacity(int required, int tailRow) {
+    // Moving a row which isn't at the end of the buffer requires additional space for its existing edges.
+    int moved = tailRow >= 0 && rowOffset[tailRow] + rowLength[tailRow] != usedEdges ? rowLength[tailRow] : 0;
+    if (usedEdges + moved + required <= capacity) return;
+
+    // After compacting the row to which edges are added is located at the end of the buffer.
+    compact(tailRow);
+    while (usedEdges + required > capacity && evict(tailRow)) {
+      compact(tailRow);
+    }
+  }
+
+  private void compact(int tailRow) {
+    List<Integer> rows = new ArrayList<>();
+    for (int row = 0; row < rowCount; row++) {
+      if (rowObject[row] != null && row != tailRow) rows.add(row);
+    }
+    rows.sort(Comparator.comparingInt(row -> rowOffset[row]));
+
+    byte[] tail = tailRow >= 0 ? readEdges(rowOffset[tailRow], rowLength[tailRow]) : null;
+    int position = 0;
+    for (int row : rows) {
+      // Rows are moved towards the start of the buffer in order, thus, a row never overwrites a row not moved yet.
+      if (rowOffset[row] != position) {
+        writeEdges(position, readEdges(rowOffset[row], rowLength[row]));
+        rowOffset[row] = position;
+      }
+      position += rowLength[row];
+    }
+
+    if (tail != null) {
+      writeEdges(position, tail);
+      rowOffset[tailRow] = position;
+      position += rowLength[tailRow];
+    }
+
+    usedEdges = position;
+  }
+
+  private boolean evict(int protectedRow) {
+    List<Integer> rows = new ArrayList<>();
+    for (int row = 0; row < rowCount; row++) {
+      if (rowObject[row] != null && row != protectedRow) rows.add(row);
+    }
+    if (rows.isEmpty()) return false;
+
+    // Evict the least recently used half of the indexed Objects.
+    rows.sort(Comparator.comparingLong(rowAccess::get));
+    for (int row : rows.subList(0, Math.max(rows.size() / 2, 1))) {
+      removeRow(row);
+      evictionCount.increment();
+    }
+
+    return true;
+  }
+
+  private int allocateRow(UUID objectID) {
+    Integer row = freeRows.poll();
+    if (row == null) {
+      if (rowCount == rowObject.length) {
+        int size = rowCount * 2;
+        rowObject = Arrays.copyOf(rowObject, size);
+        rowOffset = Arrays.copyOf(rowOffset, size);
+        rowLength = Arrays.copyOf(rowLength, size);
+        rowAccess = copyOf(rowAccess, size);
+        rowLoaded = Arrays.copyOf(rowLoaded, size);
+      }
+      row = rowCount++;
+    }
+
+    rowObject[row] = objectID;
+    rowOffset[row] = usedEdges;
+    rowLength[row] = 0;
+    rowAccess.set(row, clock.millis());
+    rowLoaded[row] = rowAccess.get(row);
+    objectDictionary.put(objectID, row);
+    return row;
+  }
+
+  private static AtomicLongArray copyOf(AtomicLongArray array, int size) {
+    AtomicLongArray copy = new AtomicLongArray(size);
+    for (int i = 0; i < array.length(); i++) {
+      copy.set(i, array.get(i));
+    }
+    return copy;
+  }
+
+  private void removeRow(int row) {
+    objectDictionary.remove(rowObject[row]);
+    liveEdges -= rowLength[row];
+    rowObject[row] = null;
+    rowLength[row] = 0;
+    freeRows.push(row);
+  }
+
+  private boolean containsEdge(int row, UUID factID) {
+    for (int edge = rowOffset[row]; edge < rowOffset[row] + rowLength[row]; edge++) {
+      int position = edge * EDGE_SIZE;
+      if (edges.getLong(position) == factID.getMostSignificantBits() && edges.getLong(position + 8) == factID.getLeastSignificantBits()) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private void writeEdge(int edge, FactEntity fact) {
+    int position = edge * EDGE_SIZE;
+    int factType = fact.getTypeID() != null ? factTypeDictionary.computeIfAbsent(fact.getTypeID(), id -> factTypeDictionary.size()) : -1;
+    edges.putLong(position, fact.getId().getMostSignificantBits());
+    edges.putLong(position + 8, fact.getId().getLeastSignificantBits());
+    edges.putLong(position + TIMESTAMP_OFFSET, fact.getTimestamp());
+    edges.putInt(position + FACT_TYPE_OFFSET, factType);
+  }
+
+  private byte[] readEdges(int edge, int length) {
+    byte[] data = new byte[length * EDGE_SIZE];
+    ByteBuffer source = edges.duplicate();
+    source.position(edge * EDGE_SIZE);
+    source.get(data);
+    return data;
+  }
+
+  private void writeEdges(int edge, byte[] data) {
+    ByteBuffer destination = edges.duplicate();
+    destination.position(edge * EDGE_SIZE);
+    destination.put(data);
+  }
+}
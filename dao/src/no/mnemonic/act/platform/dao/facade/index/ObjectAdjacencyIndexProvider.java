@@ -0,0 +1,38 @@
+package no.mnemonic.act.platform.dao.facade.index;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider class for instantiating a configured {@link ObjectAdjacencyIndex}.
+ */
+public class ObjectAdjacencyIndexProvider implements Provider<ObjectAdjacencyIndex> {
+
+  // Maximum number of Objects waiting to be loaded into the index. Further loads are dropped.
+  private static final int MAXIMUM_PENDING_LOADS = 1000;
+
+  @Inject
+  @Named("act.adjacency.index.capacity")
+  private String capacity;
+
+  @Inject
+  @Named("act.adjacency.index.ttl")
+  private String timeToLive;
+
+  @Override
+  public ObjectAdjacencyIndex get() {
+    // Load the adjacency of Objects on one background thread in order to not delay searches.
+    ThreadPoolExecutor loadExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAXIMUM_PENDING_LOADS), runnable -> {
+      Thread thread = new Thread(runnable, "ObjectAdjacencyIndexLoader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    return new ObjectAdjacencyIndex(Integer.parseInt(capacity), Long.parseLong(timeToLive), loadExecutor);
+  }
+
+}
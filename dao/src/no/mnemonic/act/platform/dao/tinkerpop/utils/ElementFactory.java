@@ -32,7 +32,8 @@ public class ElementFactory {
   // Needed in order to identify entry in 'edgeCache'.
   private final Map<EdgeID, UUID> edgeIdMap;
   // Cache for created edges. This cache is manually populated by createEdges().
-  private final Cache<UUID, Edge> edgeCache;
+  // Every entry keeps its EdgeID such that 'edgeIdMap' can be cleaned up in constant time on eviction.
+  private final Cache<UUID, CachedEdge> edgeCache;
   // Cache for created vertices. This cache is automatically populated.
   private final LoadingCache<UUID, Vertex> vertexCache;
 
@@ -100,7 +101,7 @@ public class ElementFactory {
    */
   public Edge getEdge(UUID id) {
     if (id == null) return null;
-    return edgeCache.getIfPresent(id);
+    return ObjectUtils.ifNotNull(edgeCache.getIfPresent(id), CachedEdge::getEdge);
   }
 
   /**
@@ -128,19 +129,19 @@ public class ElementFactory {
   private Edge createAndCache(UUID factID, UUID inVertex, UUID outVertex) {
     // Try to fetch edge from cache first (but only if 'edgeID' is mapped, otherwise edge is not cached).
     EdgeID edgeID = new EdgeID(factID, inVertex, outVertex);
-    Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), edgeCache::getIfPresent);
+    Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), this::getEdge);
 
     if (edge == null) {
       // Edge is not present in cache, create new instance and cache it for later access.
       edge = new FactEdge(owner, factID, inVertex, outVertex);
       edgeIdMap.put(edgeID, (UUID) edge.id());
-      edgeCache.put((UUID) edge.id(), edge);
+      edgeCache.put((UUID) edge.id(), new CachedEdge(edgeID, edge));
     }
 
     return edge;
   }
 
-  private Cache<UUID, Edge> createEdgeCache() {
+  private Cache<UUID, CachedEdge> createEdgeCache() {
     return CacheBuilder.newBuilder()
             .maximumSize(CACHE_MAXIMUM_SIZE)
             .removalListener(this::cleanUpEdgeCache)
@@ -158,13 +159,11 @@ public class ElementFactory {
             });
   }
 
-  private void cleanUpEdgeCache(RemovalNotification notification) {
-    // Need to clean up 'edgeIdMap' when an entry gets evicted.
-    if (notification.wasEvicted()) {
-      SetUtils.set(edgeIdMap.entrySet())
-              .stream()
-              .filter(entry -> Objects.equals(entry.getValue(), notification.getKey()))
-              .forEach(entry -> edgeIdMap.remove(entry.getKey()));
+  private void cleanUpEdgeCache(RemovalNotification<UUID, CachedEdge> notification) {
+    // Need to clean up 'edgeIdMap' when an entry gets evicted. Only remove the mapping if it still points to the
+    // evicted edge, otherwise the mapping has already been replaced by a newly created edge.
+    if (notification.wasEvicted() && notification.getValue() != null) {
+      edgeIdMap.remove(notification.getValue().getEdgeID(), notification.getKey());
     }
   }
 
@@ -184,6 +183,24 @@ public class ElementFactory {
     }
   }
 
+  private static class CachedEdge {
+    private final EdgeID edgeID;
+    private final Edge edge;
+
+    private CachedEdge(EdgeID edgeID, Edge edge) {
+      this.edgeID = edgeID;
+      this.edge = edge;
+    }
+
+    private EdgeID getEdgeID() {
+      return edgeID;
+    }
+
+    private Edge getEdge() {
+      return edge;
+    }
+  }
+
   private static class EdgeID {
     private final UUID factID;
     private final UUID inVertex;
@@ -2,6 +2,7 @@ package no.mnemonic.act.platform.dao.cassandra;
 
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Test;
@@ -9,6 +10,7 @@ import org.junit.Test;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -161,6 +163,28 @@ public class FactManagerTest extends AbstractManagerTest {
     getFactManager().saveFact(createFact());
   }
 
+  @Test
+  public void testSaveNewFactAsyncWithAclAndComment() {
+    FactEntity entity = createFact(createAndSaveFactType().getId());
+    FactAclEntity entry = createFactAclEntry(entity.getId());
+    FactCommentEntity comment = createFactComment(entity.getId());
+
+    CompletableFuture.allOf(
+            getFactManager().saveNewFactAsync(entity).toCompletableFuture(),
+            getFactManager().saveNewFactAclEntryAsync(entry).toCompletableFuture(),
+            getFactManager().saveNewFactCommentAsync(comment).toCompletableFuture()
+    ).join();
+
+    assertFact(entity, getFactManager().getFact(entity.getId()));
+    assertEquals(1, getFactManager().fetchFactAcl(entity.getId()).size());
+    assertEquals(1, getFactManager().fetchFactComments(entity.getId()).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveNewFactAsyncWithNonExistingFactType() {
+    getFactManager().saveNewFactAsync(createFact());
+  }
+
   @Test(expected = ImmutableViolationException.class)
   public void testSaveFactTwiceThrowsException() {
     FactEntity entity = createFact(createAndSaveFactType().getId());
@@ -204,6 +228,20 @@ public class FactManagerTest extends AbstractManagerTest {
     assertFact(expected, actual.get(0));
   }
 
+  @Test
+  public void testFetchFactsByIdWithParallelGet() {
+    FactTypeEntity type = createAndSaveFactType();
+    FactEntity first = createAndSaveFact(type.getId(), "first");
+    FactEntity second = createAndSaveFact(type.getId(), "second");
+    createAndSaveFact(type.getId(), "ignored");
+
+    getFactManager().setMultiFetchMode(MultiFetchMode.ParallelGet);
+    List<FactEntity> actual = ListUtils.list(getFactManager().getFacts(ListUtils.list(second.getId(), UUID.randomUUID(), first.getId())));
+    assertEquals(2, actual.size());
+    assertFact(second, actual.get(0));
+    assertFact(first, actual.get(1));
+  }
+
   @Test
   public void testFetchFactsByIdWithUnknownId() {
     assertEquals(0, ListUtils.list(getFactManager().getFacts(null)).size());
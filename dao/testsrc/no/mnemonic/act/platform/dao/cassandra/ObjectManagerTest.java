@@ -5,6 +5,7 @@ import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.act.platform.dao.cassandra.utilities.MultiFetchMode;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
 
@@ -153,6 +154,17 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertObject(expected, actual.get(0));
   }
 
+  @Test
+  public void testFetchObjectsByIdWithParallelGet() {
+    List<ObjectEntity> expected = createAndSaveObjects();
+
+    getObjectManager().setMultiFetchMode(MultiFetchMode.ParallelGet);
+    List<ObjectEntity> actual = ListUtils.list(getObjectManager().getObjects(ListUtils.list(expected.get(1).getId(), UUID.randomUUID(), expected.get(0).getId())));
+    assertEquals(2, actual.size());
+    assertObject(expected.get(1), actual.get(0));
+    assertObject(expected.get(0), actual.get(1));
+  }
+
   @Test
   public void testFetchObjectsByIdWithUnknownId() {
     assertEquals(0, ListUtils.list(getObjectManager().getObjects(null)).size());
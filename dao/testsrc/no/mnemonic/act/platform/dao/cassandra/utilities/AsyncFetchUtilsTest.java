@@ -0,0 +1,67 @@
+package no.mnemonic.act.platform.dao.cassandra.utilities;
+
+import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncFetchUtilsTest {
+
+  @Test
+  public void testAllWithSinglePage() {
+    MappedAsyncPagingIterable<String> page = mockPage(ListUtils.list("a", "b"), null);
+    assertEquals(ListUtils.list("a", "b"), AsyncFetchUtils.await(AsyncFetchUtils.all(CompletableFuture.completedFuture(page))));
+  }
+
+  @Test
+  public void testAllWithMultiplePages() {
+    MappedAsyncPagingIterable<String> second = mockPage(ListUtils.list("c"), null);
+    MappedAsyncPagingIterable<String> first = mockPage(ListUtils.list("a", "b"), second);
+    assertEquals(ListUtils.list("a", "b", "c"), AsyncFetchUtils.await(AsyncFetchUtils.all(CompletableFuture.completedFuture(first))));
+  }
+
+  @Test
+  public void testGetAllPreservesOrderAndOmitsMissingElements() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID missing = UUID.randomUUID();
+    CompletableFuture<String> delayed = new CompletableFuture<>();
+    Map<UUID, CompletionStage<String>> results = map(
+            T(first, delayed),
+            T(second, CompletableFuture.completedFuture("second")),
+            T(missing, CompletableFuture.completedFuture(null))
+    );
+
+    CompletionStage<List<String>> all = AsyncFetchUtils.getAll(ListUtils.list(first, missing, second), results::get);
+    delayed.complete("first");
+    assertEquals(ListUtils.list("first", "second"), AsyncFetchUtils.await(all));
+  }
+
+  @Test
+  public void testAwaitThrowsOriginalException() {
+    CompletableFuture<String> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("test"));
+    assertThrows(IllegalStateException.class, () -> AsyncFetchUtils.await(failure));
+  }
+
+  @SuppressWarnings("unchecked")
+  private MappedAsyncPagingIterable<String> mockPage(List<String> elements, MappedAsyncPagingIterable<String> next) {
+    MappedAsyncPagingIterable<String> page = mock(MappedAsyncPagingIterable.class);
+    when(page.currentPage()).thenReturn(elements);
+    when(page.hasMorePages()).thenReturn(next != null);
+    when(page.fetchNextPage()).thenReturn(CompletableFuture.completedFuture(next));
+    return page;
+  }
+}
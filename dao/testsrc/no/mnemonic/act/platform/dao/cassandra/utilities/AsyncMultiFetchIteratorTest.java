@@ -0,0 +1,130 @@
+package no.mnemonic.act.platform.dao.cassandra.utilities;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AsyncMultiFetchIteratorTest {
+
+  @Mock
+  private Function<List<UUID>, CompletionStage<List<Object>>> nextBatch;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInitializeWithoutNextBatchFunction() {
+    new AsyncMultiFetchIterator<>(null, ListUtils.list());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInitializeWithoutIdList() {
+    new AsyncMultiFetchIterator<>(nextBatch, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInitializeWithInvalidPrefetch() {
+    new AsyncMultiFetchIterator<>(nextBatch, ListUtils.list(), 0);
+  }
+
+  @Test
+  public void testIteratorNoBatch() {
+    AsyncMultiFetchIterator<Object> iterator = new AsyncMultiFetchIterator<>(nextBatch, ListUtils.list());
+    assertTrue(ListUtils.list(iterator).isEmpty());
+    verifyNoInteractions(nextBatch);
+  }
+
+  @Test
+  public void testIteratorIsLazy() {
+    new AsyncMultiFetchIterator<>(nextBatch, Collections.singletonList(UUID.randomUUID()));
+    verifyNoInteractions(nextBatch);
+  }
+
+  @Test
+  public void testIteratorSingleElement() {
+    when(nextBatch.apply(notNull())).thenReturn(completed(Collections.singletonList(new Object())));
+    AsyncMultiFetchIterator<Object> iterator = new AsyncMultiFetchIterator<>(nextBatch, Collections.singletonList(UUID.randomUUID()));
+
+    assertEquals(1, ListUtils.list(iterator).size());
+    verify(nextBatch).apply(argThat(list -> list.size() == 1));
+  }
+
+  @Test
+  public void testIteratorMultipleBatches() {
+    int size = 201;
+
+    when(nextBatch.apply(notNull()))
+            .thenReturn(completed(generateList(Object::new, 100)), completed(generateList(Object::new, 100)), completed(generateList(Object::new, 1)));
+    AsyncMultiFetchIterator<Object> iterator = new AsyncMultiFetchIterator<>(nextBatch, generateList(UUID::randomUUID, size));
+
+    assertEquals(size, ListUtils.list(iterator).size());
+    verify(nextBatch, times(3)).apply(notNull());
+  }
+
+  @Test
+  public void testIteratorSkipsEmptyBatches() {
+    Object element = new Object();
+
+    when(nextBatch.apply(notNull())).thenReturn(completed(ListUtils.list()), completed(ListUtils.list(element)));
+    AsyncMultiFetchIterator<Object> iterator = new AsyncMultiFetchIterator<>(nextBatch, generateList(UUID::randomUUID, 101));
+
+    assertEquals(ListUtils.list(element), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testIteratorPrefetchesBatchesInOrder() {
+    CompletableFuture<List<Object>> first = new CompletableFuture<>();
+    CompletableFuture<List<Object>> second = new CompletableFuture<>();
+    CompletableFuture<List<Object>> third = new CompletableFuture<>();
+    Object firstElement = new Object();
+    Object secondElement = new Object();
+    Object thirdElement = new Object();
+
+    when(nextBatch.apply(notNull())).thenReturn(first, second, third);
+    AsyncMultiFetchIterator<Object> iterator = new AsyncMultiFetchIterator<>(nextBatch, generateList(UUID::randomUUID, 300), 2);
+
+    // Complete batches out of order, result must still be returned in order.
+    third.complete(ListUtils.list(thirdElement));
+    second.complete(ListUtils.list(secondElement));
+    first.complete(ListUtils.list(firstElement));
+
+    assertSame(firstElement, iterator.next());
+    // While the first batch is consumed the next two batches are already requested.
+    verify(nextBatch, times(3)).apply(notNull());
+    assertSame(secondElement, iterator.next());
+    assertSame(thirdElement, iterator.next());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testIteratorNextWithoutMoreElements() {
+    new AsyncMultiFetchIterator<>(nextBatch, ListUtils.list()).next();
+  }
+
+  private CompletionStage<List<Object>> completed(List<Object> batch) {
+    return CompletableFuture.completedFuture(batch);
+  }
+
+  private <T> List<T> generateList(Supplier<T> generator, int size) {
+    List<T> id = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      id.add(generator.get());
+    }
+
+    return id;
+  }
+}
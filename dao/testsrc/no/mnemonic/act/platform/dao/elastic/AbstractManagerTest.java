@@ -1,6 +1,7 @@
 package no.mnemonic.act.platform.dao.elastic;
 
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.commons.junit.docker.DockerTestUtils;
 import no.mnemonic.commons.junit.docker.ElasticSearchDockerResource;
@@ -40,7 +41,7 @@ public abstract class AbstractManagerTest {
 
   @Before
   public void initialize() {
-    factSearchManager = new FactSearchManager(clientFactory)
+    factSearchManager = new FactSearchManager(clientFactory, new FactAdjacencyCache())
             .setTestEnvironment(true)
             .setSearchScrollExpiration("5s")
             .setSearchScrollSize(1);
@@ -0,0 +1,115 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.elastic.DocumentTestUtils.createObjectDocument;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class FactSearchManagerExistsFactTest extends AbstractManagerTest {
+
+  @Test
+  public void testExistsFactWithNoCriteria() {
+    assertFalse(getFactSearchManager().existsFact(null));
+  }
+
+  @Test
+  public void testExistsFactWithoutMatchingFact() {
+    indexFact(null);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(UUID.randomUUID()));
+    assertFalse(getFactSearchManager().existsFact(criteria));
+  }
+
+  @Test
+  public void testExistsFactWithMatchingFact() {
+    ObjectDocument object = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object)));
+    indexFact(d -> d.setObjects(set(object)));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(object.getId()));
+    assertTrue(getFactSearchManager().existsFact(criteria));
+  }
+
+  @Test
+  public void testExistsFactWithoutAccessToMatchingFact() {
+    ObjectDocument object = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object)).setAccessMode(FactDocument.AccessMode.Explicit));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(object.getId()));
+    assertFalse(getFactSearchManager().existsFact(criteria));
+  }
+
+  @Test
+  public void testExistsFactWithAccessToRoleBasedFactViaOrganization() {
+    ObjectDocument object = createObjectDocument();
+    FactDocument fact = indexFact(d -> d.setObjects(set(object)).setAccessMode(FactDocument.AccessMode.RoleBased));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(object.getId())
+            .addAvailableOrganizationID(fact.getOrganizationID()));
+    assertTrue(getFactSearchManager().existsFact(criteria));
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFactsWithNoCriteria() {
+    assertTrue(getFactSearchManager().retrieveObjectsWithFacts(null).isEmpty());
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFactsReturnsOnlyRequestedObjects() {
+    ObjectDocument object1 = createObjectDocument();
+    ObjectDocument object2 = createObjectDocument();
+    ObjectDocument object3 = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object1, object3)));
+    indexFact(d -> d.setObjects(set(object2)));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(object1.getId()).addObjectID(UUID.randomUUID()));
+    assertEquals(set(object1.getId()), getFactSearchManager().retrieveObjectsWithFacts(criteria));
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFactsForMultipleObjects() {
+    ObjectDocument object1 = createObjectDocument();
+    ObjectDocument object2 = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object1)));
+    indexFact(d -> d.setObjects(set(object2)));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(object1.getId()).addObjectID(object2.getId()));
+    assertEquals(set(object1.getId(), object2.getId()), getFactSearchManager().retrieveObjectsWithFacts(criteria));
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFactsForManyObjects() {
+    ObjectDocument object1 = createObjectDocument();
+    ObjectDocument object2 = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object1)));
+    indexFact(d -> d.setObjects(set(object2)));
+
+    // More Objects than fit into one aggregation, thus, the Objects are checked in multiple partitions.
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> {
+      b.addObjectID(object1.getId()).addObjectID(object2.getId());
+      for (int i = 0; i < 10_000; i++) {
+        b.addObjectID(UUID.randomUUID());
+      }
+      return b;
+    });
+    assertEquals(set(object1.getId(), object2.getId()), getFactSearchManager().retrieveObjectsWithFacts(criteria));
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFactsWithoutAccessToFact() {
+    ObjectDocument accessibleObject = createObjectDocument();
+    ObjectDocument inaccessibleObject = createObjectDocument();
+    indexFact(d -> d.setObjects(set(accessibleObject)).setAccessMode(FactDocument.AccessMode.Public));
+    indexFact(d -> d.setObjects(set(inaccessibleObject)).setAccessMode(FactDocument.AccessMode.Explicit));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addObjectID(accessibleObject.getId()).addObjectID(inaccessibleObject.getId()));
+    assertEquals(set(accessibleObject.getId()), getFactSearchManager().retrieveObjectsWithFacts(criteria));
+  }
+
+}
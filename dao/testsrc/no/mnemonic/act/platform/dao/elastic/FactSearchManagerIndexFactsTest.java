@@ -1,6 +1,7 @@
 package no.mnemonic.act.platform.dao.elastic;
 
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
 
 import java.util.UUID;
@@ -72,4 +73,35 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     assertEquals(FactDocument.DEFAULT_TRUST, indexedFact.getTrust(), 0);
   }
 
+  @Test
+  public void testIndexFactsEmptyList() {
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list()).isEmpty());
+  }
+
+  @Test
+  public void testIndexFactsSkipsEmptyFact() {
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(new FactDocument())).isEmpty());
+  }
+
+  @Test
+  public void testIndexFactsAndGetFacts() {
+    FactDocument fact1 = createFactDocument();
+    FactDocument fact2 = createFactDocument();
+
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2)).isEmpty());
+    assertFactDocument(fact1, getFactSearchManager().getFact(fact1.getId()));
+    assertFactDocument(fact2, getFactSearchManager().getFact(fact2.getId()));
+  }
+
+  @Test
+  public void testIndexFactsInMultipleBulkRequests() {
+    getFactSearchManager().setBulkFlushActions(1);
+    FactDocument fact1 = createFactDocument();
+    FactDocument fact2 = createFactDocument();
+
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2)).isEmpty());
+    assertNotNull(getFactSearchManager().getFact(fact1.getId()));
+    assertNotNull(getFactSearchManager().getFact(fact2.getId()));
+  }
+
 }
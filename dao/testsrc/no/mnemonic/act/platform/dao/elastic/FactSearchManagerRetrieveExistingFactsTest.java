@@ -4,21 +4,25 @@ import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.result.SearchResult;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static no.mnemonic.act.platform.dao.elastic.DocumentTestUtils.assertFactDocument;
 import static no.mnemonic.act.platform.dao.elastic.DocumentTestUtils.createObjectDocument;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class FactSearchManagerRetrieveExistingFactsTest extends AbstractManagerTest {
 
   @Test
   public void testRetrieveExistingFactsWithNoCriteria() {
-    assertNotNull(getFactSearchManager().retrieveExistingFacts(null));
+    assertNotNull(getFactSearchManager().retrieveExistingFacts((FactExistenceSearchCriteria) null));
   }
 
   @Test
@@ -121,6 +125,48 @@ public class FactSearchManagerRetrieveExistingFactsTest extends AbstractManagerT
     testRetrieveExistingFactsNoMatch(createCriteriaWithoutObjects(fact, b -> b.setInReferenceTo(UUID.randomUUID())));
   }
 
+  @Test
+  public void testRetrieveExistingFactsBatchWithNoCriteria() {
+    assertTrue(getFactSearchManager().retrieveExistingFacts(ListUtils.list()).isEmpty());
+  }
+
+  @Test
+  public void testRetrieveExistingFactsBatchReturnsResultsInOrder() {
+    FactDocument first = indexFact(d -> d);
+    FactDocument second = indexFact(d -> d);
+    List<SearchResult<FactDocument>> result = getFactSearchManager().retrieveExistingFacts(Arrays.asList(
+            createCriteriaWithObjects(second, b -> b),
+            null,
+            createCriteriaWithObjects(first, b -> b.setFactValue("something")),
+            createCriteriaWithObjects(first, b -> b)
+    ));
+    assertEquals(4, result.size());
+    assertFactDocument(second, result.get(0).getValues().get(0));
+    assertEquals(0, result.get(1).getCount());
+    assertEquals(0, result.get(2).getCount());
+    assertFactDocument(first, result.get(3).getValues().get(0));
+  }
+
+  @Test
+  public void testRetrieveExistingFactsBatchReturnsAllMatchingFacts() {
+    FactDocument fact = indexFact(d -> d);
+    for (int i = 0; i < 11; i++) {
+      indexFact(d -> d.setId(UUID.randomUUID())
+              .setTypeID(fact.getTypeID())
+              .setValue(fact.getValue())
+              .setOriginID(fact.getOriginID())
+              .setOrganizationID(fact.getOrganizationID())
+              .setAccessMode(fact.getAccessMode())
+              .setConfidence(fact.getConfidence())
+              .setObjects(fact.getObjects()));
+    }
+
+    List<SearchResult<FactDocument>> result = getFactSearchManager().retrieveExistingFacts(ListUtils.list(createCriteriaWithObjects(fact, b -> b)));
+    assertEquals(1, result.size());
+    assertEquals(12, result.get(0).getCount());
+    assertEquals(12, result.get(0).getValues().size());
+  }
+
   private void testRetrieveExistingFactsNoMatch(ObjectPreparation<FactExistenceSearchCriteria.Builder> criteriaPreparation) {
     FactDocument fact = indexFact(d -> d);
     FactExistenceSearchCriteria criteria = createCriteriaWithObjects(fact, criteriaPreparation);
@@ -495,6 +495,118 @@ public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
     assertEquals(3, ListUtils.list(result).size());
   }
 
+  @Test
+  public void testSearchFactsPopulateSearchResultWithoutDuplicates() {
+    FactDocument first = indexFact(d -> d);
+    FactDocument second = indexFact(d -> d);
+    FactDocument third = indexFact(d -> d);
+
+    getFactSearchManager().setSearchAfterEnabled(true);
+    List<FactDocument> result = ListUtils.list(getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b)));
+    assertEquals(set(first.getId(), second.getId(), third.getId()), set(result, FactDocument::getId));
+    assertEquals(3, result.size());
+  }
+
+  @Test
+  public void testSearchFactsPopulateSearchResultWithSingleBatch() {
+    indexFact(d -> d);
+    indexFact(d -> d);
+
+    getFactSearchManager().setSearchAfterEnabled(true);
+    getFactSearchManager().setSearchScrollSize(2);
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b));
+    assertEquals(2, result.getCount());
+    assertEquals(2, ListUtils.list(result).size());
+  }
+
+  @Test
+  public void testSearchFactsPopulateSearchResultWithGrowingBatches() {
+    for (int i = 0; i < 10; i++) {
+      indexFact(d -> d);
+    }
+
+    getFactSearchManager().setSearchAfterEnabled(true);
+    getFactSearchManager().setSearchScrollSize(4);
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b.setPageSizeHint(1)));
+    assertEquals(10, result.getCount());
+    assertEquals(10, set(ListUtils.list(result), FactDocument::getId).size());
+  }
+
+  @Test
+  public void testSearchFactsPopulateSearchResultWithSmallLimit() {
+    indexFact(d -> d);
+    indexFact(d -> d);
+    indexFact(d -> d);
+
+    getFactSearchManager().setSearchAfterEnabled(true);
+    getFactSearchManager().setSearchScrollSize(100);
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b.setLimit(2)));
+    assertEquals(3, result.getCount());
+    // The limit only sizes the first batch, all matching Facts are still returned.
+    assertEquals(3, ListUtils.list(result).size());
+  }
+
+  @Test
+  public void testSearchFactsPopulateSearchResultUsingScroll() {
+    indexFact(d -> d);
+    indexFact(d -> d);
+    indexFact(d -> d);
+
+    getFactSearchManager().setSearchAfterEnabled(false);
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b));
+    assertEquals(3, result.getCount());
+    assertEquals(3, ListUtils.list(result).size());
+  }
+
+  @Test
+  public void testSearchFactIdsWithNoCriteria() {
+    assertNotNull(getFactSearchManager().searchFactIds(null));
+  }
+
+  @Test
+  public void testSearchFactIdsPopulateSearchResult() {
+    FactDocument first = indexFact(d -> d);
+    FactDocument second = indexFact(d -> d);
+    FactDocument third = indexFact(d -> d);
+
+    ScrollingSearchResult<UUID> result = getFactSearchManager().searchFactIds(createFactSearchCriteria(b -> b));
+    assertEquals(3, result.getCount());
+    assertEquals(set(first.getId(), second.getId(), third.getId()), set(result));
+  }
+
+  @Test
+  public void testSearchFactIdsPopulateSearchResultUsingScroll() {
+    FactDocument first = indexFact(d -> d);
+    FactDocument second = indexFact(d -> d);
+
+    getFactSearchManager().setSearchAfterEnabled(false);
+    ScrollingSearchResult<UUID> result = getFactSearchManager().searchFactIds(createFactSearchCriteria(b -> b));
+    assertEquals(2, result.getCount());
+    assertEquals(set(first.getId(), second.getId()), set(result));
+  }
+
+  @Test
+  public void testSearchRetractionsWithNoFacts() {
+    assertNotNull(getFactSearchManager().searchRetractions(null, UUID.randomUUID()));
+  }
+
+  @Test
+  public void testSearchRetractionsWithoutAccessControl() {
+    UUID retractionTypeID = UUID.randomUUID();
+    UUID retractedFactID = UUID.randomUUID();
+    FactDocument publicRetraction = indexFact(d -> d.setTypeID(retractionTypeID)
+            .setInReferenceTo(retractedFactID)
+            .setAccessMode(FactDocument.AccessMode.Public));
+    FactDocument explicitRetraction = indexFact(d -> d.setTypeID(retractionTypeID)
+            .setInReferenceTo(retractedFactID)
+            .setAccessMode(FactDocument.AccessMode.Explicit));
+    indexFact(d -> d.setInReferenceTo(retractedFactID));
+    indexFact(d -> d.setTypeID(retractionTypeID).setInReferenceTo(UUID.randomUUID()));
+
+    List<FactDocument> result = ListUtils.list(getFactSearchManager().searchRetractions(set(retractedFactID), retractionTypeID));
+    assertEquals(set(publicRetraction.getId(), explicitRetraction.getId()), set(result, FactDocument::getId));
+  }
+
   private void testSearchFacts(FactSearchCriteria criteria, FactDocument accessibleFact) {
     List<FactDocument> result = ListUtils.list(getFactSearchManager().searchFacts(criteria));
     assertEquals(1, result.size());
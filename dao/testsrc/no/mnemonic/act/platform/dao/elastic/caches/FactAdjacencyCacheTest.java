@@ -0,0 +1,109 @@
+package no.mnemonic.act.platform.dao.elastic.caches;
+
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.commons.metrics.MetricsData;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class FactAdjacencyCacheTest {
+
+  private static final long FUTURE = System.currentTimeMillis() + 60_000;
+
+  private final FactAdjacencyCache cache = new FactAdjacencyCache();
+
+  @Test
+  public void testGetWithNull() {
+    assertNull(cache.get(null, createCriteria(UUID.randomUUID())));
+    assertNull(cache.get(UUID.randomUUID(), null));
+  }
+
+  @Test
+  public void testPutAndGetWithSameFingerprint() {
+    UUID objectID = UUID.randomUUID();
+    UUID userID = UUID.randomUUID();
+    Set<UUID> factID = set(UUID.randomUUID(), UUID.randomUUID());
+
+    cache.put(objectID, createCriteria(userID), factID, System.currentTimeMillis());
+    assertEquals(factID, cache.get(objectID, createCriteria(userID)));
+    assertNull(cache.get(UUID.randomUUID(), createCriteria(userID)));
+  }
+
+  @Test
+  public void testGetWithDifferentFingerprint() {
+    UUID objectID = UUID.randomUUID();
+    UUID userID = UUID.randomUUID();
+
+    cache.put(objectID, createCriteria(userID), set(UUID.randomUUID()), System.currentTimeMillis());
+    assertNull(cache.get(objectID, createCriteria(UUID.randomUUID())));
+    assertNull(cache.get(objectID, FactSearchCriteria.builder()
+            .setCurrentUserID(userID)
+            .addAvailableOrganizationID(new UUID(0, 1))
+            .addFactTypeID(UUID.randomUUID())
+            .build()));
+  }
+
+  @Test
+  public void testInvalidate() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(UUID.randomUUID());
+
+    cache.put(objectID, criteria, set(UUID.randomUUID()), System.currentTimeMillis());
+    cache.invalidate(list(objectID));
+    assertNull(cache.get(objectID, criteria));
+  }
+
+  @Test
+  public void testPutRejectedForSearchStartedBeforeInvalidation() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(UUID.randomUUID());
+    long searchTimestamp = System.currentTimeMillis();
+
+    cache.invalidate(list(objectID));
+    cache.put(objectID, criteria, set(UUID.randomUUID()), searchTimestamp);
+    assertNull(cache.get(objectID, criteria));
+
+    cache.put(objectID, criteria, set(UUID.randomUUID()), FUTURE);
+    assertNotNull(cache.get(objectID, criteria));
+  }
+
+  @Test
+  public void testPutRejectedForLargeAdjacency() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(UUID.randomUUID());
+    Set<UUID> factID = IntStream.range(0, 1001).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toSet());
+
+    cache.put(objectID, criteria, factID, System.currentTimeMillis());
+    assertNull(cache.get(objectID, criteria));
+  }
+
+  @Test
+  public void testGetMetrics() throws Exception {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createCriteria(UUID.randomUUID());
+
+    cache.get(objectID, criteria);
+    cache.put(objectID, criteria, set(UUID.randomUUID()), System.currentTimeMillis());
+    cache.get(objectID, criteria);
+
+    MetricsData metrics = (MetricsData) cache.getMetrics();
+    assertEquals(1L, metrics.getData().get("hits"));
+    assertEquals(1L, metrics.getData().get("misses"));
+    assertEquals(0.5, metrics.getData().get("hitRate"));
+    assertEquals(1L, metrics.getData().get("size"));
+  }
+
+  private FactSearchCriteria createCriteria(UUID userID) {
+    return FactSearchCriteria.builder()
+            .setCurrentUserID(userID)
+            .addAvailableOrganizationID(new UUID(0, 1))
+            .build();
+  }
+}
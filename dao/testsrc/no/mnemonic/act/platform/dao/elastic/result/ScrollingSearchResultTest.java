@@ -0,0 +1,106 @@
+package no.mnemonic.act.platform.dao.elastic.result;
+
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ScrollingSearchResultTest {
+
+  @Test
+  public void testIterateEmptyResult() {
+    assertFalse(ScrollingSearchResult.<FactDocument>builder().build().hasNext());
+  }
+
+  @Test
+  public void testIterateUsingScroll() {
+    FactDocument first = new FactDocument().setId(UUID.randomUUID());
+    FactDocument second = new FactDocument().setId(UUID.randomUUID());
+
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("scrollId", ListUtils.list(first).iterator(), false))
+            .setFetchNextBatch(scrollId -> {
+              assertEquals("scrollId", scrollId);
+              return new ScrollingSearchResult.ScrollingBatch<>("scrollId", ListUtils.list(second).iterator(), true);
+            })
+            .setCount(2)
+            .build();
+
+    assertEquals(ListUtils.list(first, second), ListUtils.list(result));
+  }
+
+  @Test
+  public void testIterateUsingSearchAfter() {
+    FactDocument first = new FactDocument().setId(UUID.randomUUID());
+    FactDocument second = new FactDocument().setId(UUID.randomUUID());
+    Object[] sortValues = {first.getId().toString()};
+
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>(sortValues, ListUtils.list(first).iterator(), false))
+            .setFetchNextBatch(scrollId -> {
+              throw new AssertionError("Scroll API must not be used.");
+            })
+            .setFetchNextBatchAfter(searchAfter -> {
+              assertSame(sortValues, searchAfter);
+              return new ScrollingSearchResult.ScrollingBatch<>((Object[]) null, ListUtils.list(second).iterator(), true);
+            })
+            .setCount(2)
+            .build();
+
+    assertEquals(ListUtils.list(first, second), ListUtils.list(result));
+  }
+
+  @Test
+  public void testFinishedBatchIsNotContinued() {
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>(new Object[]{"a"}, ListUtils.<FactDocument>list().iterator(), true))
+            .setFetchNextBatchAfter(searchAfter -> {
+              throw new AssertionError("Finished batch must not be continued.");
+            })
+            .build();
+
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testIsCompletedAfterConsumingResult() {
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("scrollId", ListUtils.list(new FactDocument()).iterator(), false))
+            .setFetchNextBatch(scrollId -> new ScrollingSearchResult.ScrollingBatch<>("scrollId", ListUtils.list(new FactDocument()).iterator(), true))
+            .build();
+
+    assertFalse(result.isCompleted());
+    assertEquals(2, ListUtils.list(result).size());
+    assertTrue(result.isCompleted());
+  }
+
+  @Test
+  public void testIsNotCompletedAfterFailedBatch() {
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("scrollId", ListUtils.list(new FactDocument()).iterator(), false))
+            .setFetchNextBatch(scrollId -> ScrollingSearchResult.failedBatch())
+            .build();
+
+    assertEquals(1, ListUtils.list(result).size());
+    assertFalse(result.hasNext());
+    assertFalse(result.isCompleted());
+  }
+
+  @Test
+  public void testIsNotCompletedWithFailedInitialBatch() {
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(ScrollingSearchResult.failedBatch())
+            .build();
+
+    assertFalse(result.hasNext());
+    assertFalse(result.isCompleted());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnfinishedSearchAfterBatchRequiresSortValues() {
+    new ScrollingSearchResult.ScrollingBatch<>((Object[]) null, ListUtils.<FactDocument>list().iterator(), false);
+  }
+}
@@ -9,26 +9,41 @@ import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.dao.api.result.StoreFactsContainer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
 import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.act.platform.dao.elastic.result.SearchResult;
+import no.mnemonic.act.platform.dao.facade.caches.LocalFactSignatureCache;
 import no.mnemonic.act.platform.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.facade.index.ObjectAdjacencyIndex;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -50,12 +65,25 @@ public class ObjectFactDaoFacadeTest {
   private FactAclEntryRecordConverter factAclEntryRecordConverter;
   @Mock
   private FactCommentRecordConverter factCommentRecordConverter;
+  @Mock
+  private LocalFactSignatureCache factSignatureCache;
+  @Mock
+  private ObjectAdjacencyIndex objectAdjacencyIndex;
 
+  private final FactAdjacencyCache factAdjacencyCache = new FactAdjacencyCache();
   private ObjectFactDao dao;
 
   @Before
   public void setUp() {
     initMocks(this);
+
+    when(factManager.getFactAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(objectManager.getObjectAsync(any())).thenReturn(CompletableFuture.completedFuture(new ObjectEntity()));
+    when(factManager.saveNewFactAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(factManager.saveNewMetaFactBindingAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(factManager.saveNewFactAclEntryAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(factManager.saveNewFactCommentAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(objectManager.saveNewObjectFactBindingAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
     dao = new ObjectFactDaoFacade(
             objectManager,
             factManager,
@@ -63,7 +91,10 @@ public class ObjectFactDaoFacadeTest {
             objectRecordConverter,
             factRecordConverter,
             factAclEntryRecordConverter,
-            factCommentRecordConverter
+            factCommentRecordConverter,
+            factSignatureCache,
+            factAdjacencyCache,
+            objectAdjacencyIndex
     );
   }
 
@@ -135,6 +166,27 @@ public class ObjectFactDaoFacadeTest {
     verify(factSearchManager).calculateObjectStatistics(criteria);
   }
 
+  @Test
+  public void testExistsFact() {
+    FactSearchCriteria criteria = createFactSearchCriteria();
+    when(factSearchManager.existsFact(criteria)).thenReturn(true);
+
+    assertTrue(dao.existsFact(criteria));
+    verify(factSearchManager).existsFact(criteria);
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testRetrieveObjectsWithFacts() {
+    FactSearchCriteria criteria = createFactSearchCriteria();
+    Set<UUID> objectID = set(UUID.randomUUID());
+    when(factSearchManager.retrieveObjectsWithFacts(criteria)).thenReturn(objectID);
+
+    assertEquals(objectID, dao.retrieveObjectsWithFacts(criteria));
+    verify(factSearchManager).retrieveObjectsWithFacts(criteria);
+    verifyNoInteractions(factManager);
+  }
+
   @Test
   public void testSearchObjectsWithoutSearchResult() {
     FactSearchCriteria criteria = createFactSearchCriteria();
@@ -195,7 +247,7 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toDocument(record)).thenReturn(document);
 
     assertSame(record, dao.storeFact(record));
-    verify(factManager).saveFact(entity);
+    verify(factManager).saveNewFactAsync(entity);
     verify(factSearchManager).indexFact(document);
     verify(factRecordConverter).toEntity(argThat(r -> r.getId() == record.getId()));
     verify(factRecordConverter).toDocument(argThat(r -> r.getId() == record.getId()));
@@ -210,7 +262,7 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toDocument(record)).thenReturn(document);
 
     assertSame(record, dao.storeFact(record));
-    verify(factManager).saveFact(entity);
+    verify(factManager).saveNewFactAsync(entity);
     verify(factSearchManager).indexFact(document);
     verify(factRecordConverter).toEntity(argThat(r -> r.getId() != null));
     verify(factRecordConverter).toDocument(argThat(r -> r.getId() != null));
@@ -227,7 +279,7 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
 
     dao.storeFact(new FactRecord());
-    verify(objectManager).saveObjectFactBinding(argThat(b -> {
+    verify(objectManager).saveNewObjectFactBindingAsync(argThat(b -> {
       assertEquals(binding.getObjectID(), b.getObjectID());
       assertEquals(binding.getDirection(), b.getDirection());
       assertEquals(entity.getId(), b.getFactID());
@@ -241,9 +293,10 @@ public class ObjectFactDaoFacadeTest {
             .setId(UUID.randomUUID())
             .setInReferenceToID(UUID.randomUUID());
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
+    when(factManager.getFactAsync(entity.getInReferenceToID())).thenReturn(CompletableFuture.completedFuture(new FactEntity()));
 
     dao.storeFact(new FactRecord());
-    verify(factManager).saveMetaFactBinding(argThat(b -> {
+    verify(factManager).saveNewMetaFactBindingAsync(argThat(b -> {
       assertEquals(entity.getInReferenceToID(), b.getFactID());
       assertEquals(entity.getId(), b.getMetaFactID());
       return true;
@@ -260,7 +313,8 @@ public class ObjectFactDaoFacadeTest {
     when(factAclEntryRecordConverter.toEntity(entry, fact.getId())).thenReturn(new FactAclEntity());
 
     dao.storeFact(fact);
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveNewFactAclEntryAsync(notNull());
+    verify(factManager, never()).fetchFactAcl(any());
     verify(factAclEntryRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
@@ -274,10 +328,162 @@ public class ObjectFactDaoFacadeTest {
     when(factCommentRecordConverter.toEntity(comment, fact.getId())).thenReturn(new FactCommentEntity());
 
     dao.storeFact(fact);
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveNewFactCommentAsync(notNull());
+    verify(factManager, never()).fetchFactComments(any());
     verify(factCommentRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
+  @Test
+  public void testStoreFactPropagatesFailedWrite() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    CompletableFuture<FactEntity> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("test"));
+    when(factRecordConverter.toEntity(record)).thenReturn(new FactEntity().setId(record.getId()));
+    when(factManager.saveNewFactAsync(notNull())).thenReturn(failure);
+
+    assertThrows(IllegalStateException.class, () -> dao.storeFact(record));
+    verify(factSearchManager, never()).indexFact(any());
+  }
+
+  @Test
+  public void testStoreFactFailsOnExistingFact() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    when(factRecordConverter.toEntity(record)).thenReturn(new FactEntity().setId(record.getId()));
+    when(factManager.getFactAsync(record.getId())).thenReturn(CompletableFuture.completedFuture(new FactEntity()));
+
+    assertThrows(ImmutableViolationException.class, () -> dao.storeFact(record));
+    verify(factManager, never()).saveNewFactAsync(any());
+    verify(factSearchManager, never()).indexFact(any());
+  }
+
+  @Test
+  public void testStoreFactFailsOnMissingObject() {
+    FactEntity entity = new FactEntity()
+            .setId(UUID.randomUUID())
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID()).setDirection(Direction.BiDirectional));
+    when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
+    when(objectManager.getObjectAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+    assertThrows(IllegalArgumentException.class, () -> dao.storeFact(new FactRecord()));
+    verify(factManager, never()).saveNewFactAsync(any());
+    verify(objectManager, never()).saveNewObjectFactBindingAsync(any());
+  }
+
+  @Test
+  public void testStoreFactFailsOnMissingReferencedFact() {
+    FactEntity entity = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setInReferenceToID(UUID.randomUUID());
+    when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
+
+    assertThrows(IllegalArgumentException.class, () -> dao.storeFact(new FactRecord()));
+    verify(factManager, never()).saveNewFactAsync(any());
+    verify(factManager, never()).saveNewMetaFactBindingAsync(any());
+  }
+
+  @Test
+  public void testStoreFactsWithEmptyList() {
+    assertTrue(dao.storeFacts(ListUtils.list()).isSuccessful());
+    verifyNoInteractions(factManager, factSearchManager);
+  }
+
+  @Test
+  public void testStoreFactsSavesAndIndexesAllFacts() {
+    FactRecord first = new FactRecord().setId(UUID.randomUUID());
+    FactRecord second = new FactRecord();
+    FactDocument firstDocument = new FactDocument();
+    FactDocument secondDocument = new FactDocument();
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
+    when(factRecordConverter.toDocument(first)).thenReturn(firstDocument);
+    when(factRecordConverter.toDocument(second)).thenReturn(secondDocument);
+    when(factSearchManager.indexFacts(any())).thenReturn(new HashMap<>());
+
+    assertTrue(dao.storeFacts(ListUtils.list(first, second)).isSuccessful());
+    assertNotNull(second.getId());
+    verify(factManager, times(2)).saveNewFactAsync(notNull());
+    verify(factSearchManager).indexFacts(ListUtils.list(firstDocument, secondDocument));
+    verify(factSearchManager, never()).indexFact(any());
+  }
+
+  @Test
+  public void testStoreFactsRemembersSignatureOfStoredFacts() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactExistenceSearchCriteria criteria = createFactExistenceSearchCriteria();
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
+    when(factRecordConverter.toCriteria(record)).thenReturn(criteria);
+    when(factRecordConverter.toDocument(record)).thenReturn(new FactDocument().setId(record.getId()));
+    when(factSearchManager.indexFacts(any())).thenReturn(new HashMap<>());
+
+    dao.storeFacts(ListUtils.list(record));
+    verify(factSignatureCache).put(criteria, record.getId());
+  }
+
+  @Test
+  public void testStoreFactsReportsFailedWriteAndSkipsIndexing() {
+    FactRecord failed = new FactRecord().setId(UUID.randomUUID());
+    FactRecord stored = new FactRecord().setId(UUID.randomUUID());
+    FactDocument storedDocument = new FactDocument();
+    CompletableFuture<FactEntity> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("test"));
+    FactEntity failedEntity = new FactEntity().setId(failed.getId());
+    when(factRecordConverter.toEntity(failed)).thenReturn(failedEntity);
+    when(factRecordConverter.toEntity(stored)).thenReturn(new FactEntity().setId(stored.getId()));
+    when(factRecordConverter.toDocument(stored)).thenReturn(storedDocument);
+    when(factManager.saveNewFactAsync(failedEntity)).thenReturn(failure);
+    when(factSearchManager.indexFacts(any())).thenReturn(new HashMap<>());
+
+    StoreFactsContainer container = dao.storeFacts(ListUtils.list(failed, stored));
+    assertEquals("test", container.getStoreFailure(failed.getId()));
+    assertNull(container.getStoreFailure(stored.getId()));
+    assertNull(container.getIndexFailure(stored.getId()));
+    verify(factSearchManager).indexFacts(ListUtils.list(storedDocument));
+  }
+
+  @Test
+  public void testStoreFactsReportsExistingFactAndSkipsWriting() {
+    FactRecord existing = new FactRecord().setId(UUID.randomUUID());
+    FactRecord stored = new FactRecord().setId(UUID.randomUUID());
+    FactEntity existingEntity = new FactEntity().setId(existing.getId());
+    FactDocument storedDocument = new FactDocument();
+    when(factRecordConverter.toEntity(existing)).thenReturn(existingEntity);
+    when(factRecordConverter.toEntity(stored)).thenReturn(new FactEntity().setId(stored.getId()));
+    when(factRecordConverter.toDocument(stored)).thenReturn(storedDocument);
+    when(factManager.getFactAsync(existing.getId())).thenReturn(CompletableFuture.completedFuture(existingEntity));
+    when(factSearchManager.indexFacts(any())).thenReturn(new HashMap<>());
+
+    StoreFactsContainer container = dao.storeFacts(ListUtils.list(existing, stored));
+    assertNotNull(container.getStoreFailure(existing.getId()));
+    assertNull(container.getStoreFailure(stored.getId()));
+    verify(factManager, never()).saveNewFactAsync(existingEntity);
+    verify(factSearchManager).indexFacts(ListUtils.list(storedDocument));
+  }
+
+  @Test
+  public void testStoreFactsRetriesFailedIndexing() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactDocument document = new FactDocument().setId(record.getId());
+    when(factRecordConverter.toEntity(record)).thenReturn(new FactEntity().setId(record.getId()));
+    when(factRecordConverter.toDocument(record)).thenReturn(document);
+    when(factSearchManager.indexFacts(any())).thenReturn(MapUtils.map(T(record.getId(), "test")));
+
+    assertTrue(dao.storeFacts(ListUtils.list(record)).isSuccessful());
+    verify(factSearchManager).indexFact(document);
+  }
+
+  @Test
+  public void testStoreFactsReportsFailedIndexing() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactDocument document = new FactDocument().setId(record.getId());
+    when(factRecordConverter.toEntity(record)).thenReturn(new FactEntity().setId(record.getId()));
+    when(factRecordConverter.toDocument(record)).thenReturn(document);
+    when(factSearchManager.indexFacts(any())).thenReturn(MapUtils.map(T(record.getId(), "test")));
+    when(factSearchManager.indexFact(document)).thenThrow(new IllegalStateException("test"));
+
+    StoreFactsContainer container = dao.storeFacts(ListUtils.list(record));
+    assertNull(container.getStoreFailure(record.getId()));
+    assertEquals("test", container.getIndexFailure(record.getId()));
+  }
+
   @Test
   public void testRefreshFactWithNull() {
     assertNull(dao.refreshFact(null));
@@ -447,7 +653,7 @@ public class ObjectFactDaoFacadeTest {
     when(factSearchManager.retrieveExistingFacts(criteria))
             .thenReturn(SearchResult.<FactDocument>builder().setCount(1).addValue(document).build());
     when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(entity).iterator());
-    when(factRecordConverter.fromEntity(entity)).thenReturn(record);
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
 
     ResultContainer<FactRecord> container = dao.retrieveExistingFacts(record);
     assertEquals(1, container.getCount());
@@ -455,43 +661,394 @@ public class ObjectFactDaoFacadeTest {
     verify(factRecordConverter).toCriteria(record);
     verify(factSearchManager).retrieveExistingFacts(criteria);
     verify(factManager).getFacts(argThat(list -> list.contains(id)));
-    verify(factRecordConverter).fromEntity(entity);
+    verify(factRecordConverter).fromEntities(ListUtils.list(entity));
+  }
+
+  @Test
+  public void testRetrieveExistingFactsFromSignatureCache() {
+    UUID id = UUID.randomUUID();
+    FactEntity entity = new FactEntity().setId(id);
+    FactRecord record = new FactRecord().setId(id);
+    FactExistenceSearchCriteria criteria = createFactExistenceSearchCriteria();
+
+    when(factRecordConverter.toCriteria(record)).thenReturn(criteria);
+    when(factSignatureCache.get(criteria)).thenReturn(id);
+    when(factManager.getFact(id)).thenReturn(entity);
+    when(factRecordConverter.fromEntity(entity)).thenReturn(record);
+
+    ResultContainer<FactRecord> container = dao.retrieveExistingFacts(record);
+    assertEquals(1, container.getCount());
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+    verifyNoInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testRetrieveExistingFactsFallsBackToSearchIfCachedFactIsMissing() {
+    UUID id = UUID.randomUUID();
+    FactRecord record = new FactRecord();
+    FactExistenceSearchCriteria criteria = createFactExistenceSearchCriteria();
+
+    when(factRecordConverter.toCriteria(record)).thenReturn(criteria);
+    when(factSignatureCache.get(criteria)).thenReturn(id);
+    when(factSearchManager.retrieveExistingFacts(criteria)).thenReturn(SearchResult.<FactDocument>builder().build());
+
+    assertEquals(0, dao.retrieveExistingFacts(record).getCount());
+    verify(factSignatureCache).invalidate(criteria);
+    verify(factSearchManager).retrieveExistingFacts(criteria);
+  }
+
+  @Test
+  public void testRetrieveExistingFactsBatchWithEmptyList() {
+    assertTrue(dao.retrieveExistingFacts(ListUtils.list()).isEmpty());
+    verifyNoInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testRetrieveExistingFactsBatchCombinesCacheAndSearch() {
+    UUID cachedID = UUID.randomUUID();
+    UUID searchedID = UUID.randomUUID();
+    FactEntity cachedEntity = new FactEntity().setId(cachedID);
+    FactEntity searchedEntity = new FactEntity().setId(searchedID);
+    FactRecord cachedRecord = new FactRecord().setId(cachedID);
+    FactRecord searchedRecord = new FactRecord().setId(searchedID);
+    FactRecord newRecord = new FactRecord();
+    FactExistenceSearchCriteria cachedCriteria = createFactExistenceSearchCriteria();
+    FactExistenceSearchCriteria searchedCriteria = createFactExistenceSearchCriteria();
+    FactExistenceSearchCriteria newCriteria = createFactExistenceSearchCriteria();
+
+    when(factRecordConverter.toCriteria(cachedRecord)).thenReturn(cachedCriteria);
+    when(factRecordConverter.toCriteria(searchedRecord)).thenReturn(searchedCriteria);
+    when(factRecordConverter.toCriteria(newRecord)).thenReturn(newCriteria);
+    when(factSignatureCache.get(cachedCriteria)).thenReturn(cachedID);
+    when(factManager.getFact(cachedID)).thenReturn(cachedEntity);
+    when(factRecordConverter.fromEntity(cachedEntity)).thenReturn(cachedRecord);
+    when(factSearchManager.retrieveExistingFacts(ListUtils.list(searchedCriteria, newCriteria))).thenReturn(ListUtils.list(
+            SearchResult.<FactDocument>builder().setCount(1).addValue(new FactDocument().setId(searchedID)).build(),
+            SearchResult.<FactDocument>builder().build()
+    ));
+    when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(searchedEntity).iterator());
+    when(factRecordConverter.fromEntities(ListUtils.list(searchedEntity))).thenReturn(ListUtils.list(searchedRecord));
+
+    List<ResultContainer<FactRecord>> containers = dao.retrieveExistingFacts(ListUtils.list(searchedRecord, cachedRecord, newRecord));
+    assertEquals(3, containers.size());
+    assertEquals(ListUtils.list(searchedRecord), ListUtils.list(containers.get(0)));
+    assertEquals(ListUtils.list(cachedRecord), ListUtils.list(containers.get(1)));
+    assertEquals(0, containers.get(2).getCount());
+    verify(factSearchManager).retrieveExistingFacts(ListUtils.list(searchedCriteria, newCriteria));
   }
 
   @Test
   public void testSearchFactsWithoutSearchResult() {
     FactSearchCriteria criteria = createFactSearchCriteria();
-    when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<FactDocument>builder().build());
+    when(factSearchManager.searchFactIds(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder().build());
 
     ResultContainer<FactRecord> container = dao.searchFacts(criteria);
     assertEquals(0, container.getCount());
     assertFalse(container.hasNext());
-    verify(factSearchManager).searchFacts(criteria);
+    verify(factSearchManager).searchFactIds(criteria);
     verifyNoInteractions(factManager);
   }
 
   @Test
   public void testSearchFactsWithSearchResult() {
     UUID id = UUID.randomUUID();
-    FactDocument document = new FactDocument().setId(id);
     FactEntity entity = new FactEntity().setId(id);
     FactRecord record = new FactRecord().setId(id);
     FactSearchCriteria criteria = createFactSearchCriteria();
 
-    when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<FactDocument>builder()
+    when(factSearchManager.searchFactIds(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder()
             .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
-                    ListUtils.list(document).iterator(), true))
+                    ListUtils.list(id).iterator(), true))
             .setCount(1)
             .build());
     when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(entity).iterator());
-    when(factRecordConverter.fromEntity(entity)).thenReturn(record);
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
 
     ResultContainer<FactRecord> container = dao.searchFacts(criteria);
     assertEquals(1, container.getCount());
     assertEquals(ListUtils.list(record), ListUtils.list(container));
-    verify(factSearchManager).searchFacts(criteria);
+    verify(factSearchManager).searchFactIds(criteria);
+    verify(factSearchManager, never()).searchFacts(any());
     verify(factManager).getFacts(argThat(list -> list.contains(id)));
-    verify(factRecordConverter).fromEntity(entity);
+    verify(factRecordConverter).fromEntities(ListUtils.list(entity));
+  }
+
+  @Test
+  public void testSearchFactsIndexServedWithUpToDateDocument() {
+    UUID id = UUID.randomUUID();
+    FactDocument document = new FactDocument().setId(id).setLastSeenTimestamp(123456789);
+    FactEntity entity = new FactEntity().setId(id).setLastSeenTimestamp(123456789);
+    FactRecord record = new FactRecord().setId(id);
+    FactSearchCriteria criteria = createIndexServedFactSearchCriteria();
+
+    mockSearchFactsIndexServed(criteria, document);
+    when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromDocument(document)).thenReturn(record);
+
+    ResultContainer<FactRecord> container = dao.searchFacts(criteria);
+    assertEquals(1, container.getCount());
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+    verify(factSearchManager, never()).searchFactIds(any());
+    verify(factManager).getFacts(ListUtils.list(id));
+    verify(factRecordConverter).fromDocument(document);
+    verify(factRecordConverter, never()).fromEntities(argThat(list -> !list.isEmpty()));
+  }
+
+  @Test
+  public void testSearchFactsIndexServedWithOutdatedDocument() {
+    UUID id = UUID.randomUUID();
+    FactDocument document = new FactDocument().setId(id).setLastSeenTimestamp(123456789);
+    FactEntity entity = new FactEntity().setId(id).setLastSeenTimestamp(987654321);
+    FactRecord record = new FactRecord().setId(id);
+    FactSearchCriteria criteria = createIndexServedFactSearchCriteria();
+
+    mockSearchFactsIndexServed(criteria, document);
+    when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
+
+    ResultContainer<FactRecord> container = dao.searchFacts(criteria);
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+    verify(factRecordConverter, never()).fromDocument(any());
+    verify(factRecordConverter).fromEntities(ListUtils.list(entity));
+  }
+
+  @Test
+  public void testSearchFactsIndexServedWithOutdatedFlags() {
+    UUID id = UUID.randomUUID();
+    FactDocument document = new FactDocument().setId(id).setLastSeenTimestamp(123456789);
+    FactEntity entity = new FactEntity().setId(id).setLastSeenTimestamp(123456789).addFlag(FactEntity.Flag.RetractedHint);
+    FactRecord record = new FactRecord().setId(id);
+    FactSearchCriteria criteria = createIndexServedFactSearchCriteria();
+
+    mockSearchFactsIndexServed(criteria, document);
+    when(factManager.getFacts(anyList())).thenReturn(ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
+
+    ResultContainer<FactRecord> container = dao.searchFacts(criteria);
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+    verify(factRecordConverter, never()).fromDocument(any());
+    verify(factRecordConverter).fromEntities(ListUtils.list(entity));
+  }
+
+  @Test
+  public void testSearchFactsIndexServedOmitsFactMissingInCassandra() {
+    FactSearchCriteria criteria = createIndexServedFactSearchCriteria();
+
+    mockSearchFactsIndexServed(criteria, new FactDocument().setId(UUID.randomUUID()));
+    when(factManager.getFacts(anyList())).thenReturn(Collections.emptyIterator());
+
+    ResultContainer<FactRecord> container = dao.searchFacts(criteria);
+    assertEquals(1, container.getCount());
+    assertFalse(container.hasNext());
+    verify(factRecordConverter, never()).fromDocument(any());
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedServesRepeatedSearchFromCache() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    FactRecord record = mockSearchFactsAdjacencyCached(criteria, objectID);
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    verify(factSearchManager).searchFactIds(criteria);
+    verify(factManager, times(2)).getFacts(ListUtils.list(record.getId()));
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedSearchesAgainAfterInvalidation() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    FactRecord record = mockSearchFactsAdjacencyCached(criteria, objectID);
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    factAdjacencyCache.invalidate(ListUtils.list(objectID));
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedDoesNotCachePartiallyConsumedResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    mockSearchFactsAdjacencyCached(criteria, objectID);
+
+    assertEquals(1, dao.searchFacts(criteria).getCount());
+    dao.searchFacts(criteria);
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedDoesNotCacheLimitedResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID).toBuilder()
+            .setLimit(1)
+            .build();
+    FactRecord record = mockSearchFactsAdjacencyCached(criteria, objectID);
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedDoesNotCacheLimitedEmptyResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID).toBuilder()
+            .setLimit(1)
+            .build();
+    when(factSearchManager.searchFactIds(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder().build());
+
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedWithoutSearchResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    when(factSearchManager.searchFactIds(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder().build());
+
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    verify(factSearchManager).searchFactIds(criteria);
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedDoesNotCacheFailedResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    FactRecord record = mockSearchFactsAdjacencyCached(criteria, objectID);
+    when(factSearchManager.searchFactIds(criteria)).then(i -> ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
+                    ListUtils.list(record.getId()).iterator(), false))
+            .setFetchNextBatch(scrollId -> ScrollingSearchResult.failedBatch())
+            .setCount(2)
+            .build());
+
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    assertEquals(ListUtils.list(record), ListUtils.list(dao.searchFacts(criteria)));
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyCachedDoesNotCacheFailedEmptyResult() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    when(factSearchManager.searchFactIds(criteria)).then(i -> ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(ScrollingSearchResult.failedBatch())
+            .build());
+
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    assertEquals(0, dao.searchFacts(criteria).getCount());
+    verify(factSearchManager, times(2)).searchFactIds(criteria);
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyIndexedLoadsAdjacencyInBackground() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    FactRecord record = mockSearchFactsAdjacencyIndexed(objectID, new FactRecord().setAccessMode(FactRecord.AccessMode.Public));
+    mockSearchFactIds(record.getId());
+    ObjectFactDao indexedDao = createDaoWithAdjacencyIndex();
+
+    // The first search is served from ElasticSearch while the adjacency is loaded, the second search from the index.
+    assertEquals(ListUtils.list(record), ListUtils.list(indexedDao.searchFacts(criteria)));
+    assertEquals(ListUtils.list(record), ListUtils.list(indexedDao.searchFacts(criteria)));
+    verify(objectManager).fetchObjectFactBindings(objectID);
+    verify(factSearchManager).searchFactIds(any());
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyIndexedLeavesAccessControlToCaller() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(objectID);
+    FactRecord record = mockSearchFactsAdjacencyIndexed(objectID, new FactRecord().setAccessMode(FactRecord.AccessMode.Explicit));
+    mockSearchFactIds();
+    ObjectFactDao indexedDao = createDaoWithAdjacencyIndex();
+    indexedDao.searchFacts(criteria);
+
+    // The index doesn't check access, the caller must check access to every returned Fact.
+    ResultContainer<FactRecord> container = indexedDao.searchFacts(criteria);
+    assertEquals(1, container.getCount());
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyIndexedSearchesUnindexedObjectsOnce() {
+    UUID indexedObjectID = UUID.randomUUID();
+    UUID unindexedObjectID1 = UUID.randomUUID();
+    UUID unindexedObjectID2 = UUID.randomUUID();
+    FactRecord record = mockSearchFactsAdjacencyIndexed(indexedObjectID, new FactRecord().setAccessMode(FactRecord.AccessMode.Public));
+    mockSearchFactIds(record.getId());
+    ObjectFactDao indexedDao = createDaoWithAdjacencyIndex();
+    indexedDao.searchFacts(createAdjacencyCachedFactSearchCriteria(indexedObjectID));
+    reset(factSearchManager);
+    mockSearchFactIds(record.getId());
+
+    FactSearchCriteria criteria = createAdjacencyCachedFactSearchCriteria(indexedObjectID).toBuilder()
+            .addObjectID(unindexedObjectID1)
+            .addObjectID(unindexedObjectID2)
+            .build();
+    ResultContainer<FactRecord> container = indexedDao.searchFacts(criteria);
+    // The Fact is returned from both the index and ElasticSearch, but must only be returned (and counted) once.
+    assertEquals(1, container.getCount());
+    assertEquals(ListUtils.list(record), ListUtils.list(container));
+    verify(factSearchManager).searchFactIds(argThat(c -> Objects.equals(c.getObjectID(), set(unindexedObjectID1, unindexedObjectID2))));
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyIndexedFallsBackForLastSeenTimestamp() {
+    UUID objectID = UUID.randomUUID();
+    FactSearchCriteria criteria = FactSearchCriteria.builder()
+            .addObjectID(objectID)
+            .setStartTimestamp(1L)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.lastSeenTimestamp)
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .setCurrentUserID(UUID.randomUUID())
+            .setAdjacencyCached(true)
+            .build();
+    when(factSearchManager.searchFactIds(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder().build());
+
+    assertEquals(0, createDaoWithAdjacencyIndex().searchFacts(criteria).getCount());
+    verify(factSearchManager).searchFactIds(criteria);
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testSearchFactsAdjacencyIndexedFallsBackForOtherFilters() {
+    UUID objectID = UUID.randomUUID();
+    mockSearchFactsAdjacencyIndexed(objectID, new FactRecord().setAccessMode(FactRecord.AccessMode.Public));
+    mockSearchFactIds();
+    ObjectFactDao indexedDao = createDaoWithAdjacencyIndex();
+
+    FactSearchCriteria valueCriteria = createAdjacencyCachedFactSearchCriteria(objectID).toBuilder()
+            .addFactValue("value")
+            .build();
+    FactSearchCriteria limitedCriteria = createAdjacencyCachedFactSearchCriteria(objectID).toBuilder()
+            .setLimit(10)
+            .build();
+
+    // The index can't serve searches filtering on other fields than FactType and timestamp, nor limited searches.
+    indexedDao.searchFacts(valueCriteria);
+    indexedDao.searchFacts(limitedCriteria);
+    verify(factSearchManager).searchFactIds(valueCriteria);
+    verify(factSearchManager).searchFactIds(limitedCriteria);
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testStoreFactAddsFactToAdjacencyIndex() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    FactEntity entity = new FactEntity().setId(record.getId());
+    when(factRecordConverter.toEntity(record)).thenReturn(entity);
+    when(objectAdjacencyIndex.isEnabled()).thenReturn(true);
+
+    dao.storeFact(record);
+    verify(objectAdjacencyIndex).add(entity);
   }
 
   @Test
@@ -581,6 +1138,91 @@ public class ObjectFactDaoFacadeTest {
             .build();
   }
 
+  private FactSearchCriteria createIndexServedFactSearchCriteria() {
+    return FactSearchCriteria.builder()
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .setCurrentUserID(UUID.randomUUID())
+            .setIndexServed(true)
+            .build();
+  }
+
+  private FactSearchCriteria createAdjacencyCachedFactSearchCriteria(UUID objectID) {
+    return FactSearchCriteria.builder()
+            .addObjectID(objectID)
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .setCurrentUserID(UUID.randomUUID())
+            .setAdjacencyCached(true)
+            .build();
+  }
+
+  private FactRecord mockSearchFactsAdjacencyCached(FactSearchCriteria criteria, UUID objectID) {
+    UUID id = UUID.randomUUID();
+    FactEntity entity = new FactEntity().setId(id);
+    FactRecord record = new FactRecord()
+            .setId(id)
+            .setSourceObject(new ObjectRecord().setId(objectID))
+            .setDestinationObject(new ObjectRecord().setId(UUID.randomUUID()));
+
+    when(factSearchManager.searchFactIds(criteria)).then(i -> ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
+                    ListUtils.list(id).iterator(), true))
+            .setCount(1)
+            .build());
+    when(factManager.getFacts(anyList())).then(i -> ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
+
+    return record;
+  }
+
+  private void mockSearchFactIds(UUID... factID) {
+    when(factSearchManager.searchFactIds(any())).then(i -> ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
+                    ListUtils.list(factID).iterator(), true))
+            .setCount(factID.length)
+            .build());
+  }
+
+  private ObjectFactDao createDaoWithAdjacencyIndex() {
+    return new ObjectFactDaoFacade(
+            objectManager,
+            factManager,
+            factSearchManager,
+            objectRecordConverter,
+            factRecordConverter,
+            factAclEntryRecordConverter,
+            factCommentRecordConverter,
+            factSignatureCache,
+            factAdjacencyCache,
+            new ObjectAdjacencyIndex(100, 0, Runnable::run)
+    );
+  }
+
+  private FactRecord mockSearchFactsAdjacencyIndexed(UUID objectID, FactRecord record) {
+    FactEntity entity = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setTimestamp(123456789);
+    record.setId(entity.getId())
+            .setSourceObject(new ObjectRecord().setId(objectID))
+            .setDestinationObject(new ObjectRecord().setId(UUID.randomUUID()));
+
+    when(objectManager.fetchObjectFactBindings(objectID)).then(i -> ListUtils.list(new ObjectFactBindingEntity()
+            .setObjectID(objectID)
+            .setFactID(entity.getId())).iterator());
+    when(factManager.getFacts(anyList())).then(i -> ListUtils.list(entity).iterator());
+    when(factRecordConverter.fromEntities(ListUtils.list(entity))).thenReturn(ListUtils.list(record));
+
+    return record;
+  }
+
+  private void mockSearchFactsIndexServed(FactSearchCriteria criteria, FactDocument document) {
+    when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<FactDocument>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
+                    ListUtils.list(document).iterator(), true))
+            .setCount(1)
+            .build());
+  }
+
   private FactExistenceSearchCriteria createFactExistenceSearchCriteria() {
     return FactExistenceSearchCriteria.builder()
             .setFactTypeID(UUID.randomUUID())
@@ -0,0 +1,57 @@
+package no.mnemonic.act.platform.dao.facade.caches;
+
+import no.mnemonic.act.platform.dao.elastic.criteria.FactExistenceSearchCriteria;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LocalFactSignatureCacheTest {
+
+  private final LocalFactSignatureCache cache = new LocalFactSignatureCache();
+
+  @Test
+  public void testGetWithNullSignature() {
+    assertNull(cache.get(null));
+  }
+
+  @Test
+  public void testPutAndGetWithEqualSignature() {
+    UUID factID = UUID.randomUUID();
+    UUID typeID = UUID.randomUUID();
+    UUID objectID = UUID.randomUUID();
+
+    cache.put(createSignature(typeID, objectID, "Public"), factID);
+    assertEquals(factID, cache.get(createSignature(typeID, objectID, "Public")));
+    assertNull(cache.get(createSignature(typeID, UUID.randomUUID(), "Public")));
+  }
+
+  @Test
+  public void testPutIgnoresExplicitFacts() {
+    FactExistenceSearchCriteria signature = createSignature(UUID.randomUUID(), UUID.randomUUID(), "Explicit");
+    cache.put(signature, UUID.randomUUID());
+    assertNull(cache.get(signature));
+  }
+
+  @Test
+  public void testInvalidate() {
+    FactExistenceSearchCriteria signature = createSignature(UUID.randomUUID(), UUID.randomUUID(), "RoleBased");
+    cache.put(signature, UUID.randomUUID());
+    cache.invalidate(signature);
+    assertNull(cache.get(signature));
+  }
+
+  private FactExistenceSearchCriteria createSignature(UUID typeID, UUID objectID, String accessMode) {
+    return FactExistenceSearchCriteria.builder()
+            .setFactValue("value")
+            .setFactTypeID(typeID)
+            .setOriginID(new UUID(0, 1))
+            .setOrganizationID(new UUID(0, 2))
+            .setAccessMode(accessMode)
+            .setConfidence(0.5f)
+            .addObject(objectID, "FactIsSource")
+            .build();
+  }
+}
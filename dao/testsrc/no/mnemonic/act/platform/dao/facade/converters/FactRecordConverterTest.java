@@ -16,9 +16,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -256,6 +259,153 @@ public class FactRecordConverterTest {
     verify(factCommentRecordConverter, times(3)).fromEntity(notNull());
   }
 
+  @Test
+  public void testFromEntitiesWithEmptyInput() {
+    assertEquals(0, converter.fromEntities(null).size());
+    assertEquals(0, converter.fromEntities(ListUtils.list()).size());
+  }
+
+  @Test
+  public void testFromEntitiesWithDirectFields() {
+    FactEntity entity1 = new FactEntity().setId(UUID.randomUUID()).setValue("value1");
+    FactEntity entity2 = new FactEntity().setId(UUID.randomUUID()).setValue("value2");
+    mockFetchRelatedEntitiesAsync();
+
+    List<FactRecord> records = converter.fromEntities(ListUtils.list(entity1, entity2));
+    assertEquals(2, records.size());
+    assertEquals(entity1.getId(), records.get(0).getId());
+    assertEquals(entity1.getValue(), records.get(0).getValue());
+    assertEquals(entity2.getId(), records.get(1).getId());
+    assertEquals(entity2.getValue(), records.get(1).getValue());
+  }
+
+  @Test
+  public void testFromEntitiesWithAclAndComments() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID());
+    mockFetchRelatedEntitiesAsync();
+    when(factManager.fetchFactAclAsync(entity.getId()))
+            .thenReturn(CompletableFuture.completedFuture(ListUtils.list(new FactAclEntity(), new FactAclEntity())));
+    when(factManager.fetchFactCommentsAsync(entity.getId()))
+            .thenReturn(CompletableFuture.completedFuture(ListUtils.list(new FactCommentEntity(), new FactCommentEntity(), new FactCommentEntity())));
+    when(factAclEntryRecordConverter.fromEntity(notNull())).thenReturn(new FactAclEntryRecord());
+    when(factCommentRecordConverter.fromEntity(notNull())).thenReturn(new FactCommentRecord());
+
+    FactRecord record = converter.fromEntities(ListUtils.list(entity)).get(0);
+    assertEquals(2, record.getAcl().size());
+    assertEquals(3, record.getComments().size());
+
+    verify(factManager).fetchFactAclAsync(entity.getId());
+    verify(factManager).fetchFactCommentsAsync(entity.getId());
+    verify(factManager, never()).fetchFactAcl(any());
+    verify(factManager, never()).fetchFactComments(any());
+  }
+
+  @Test
+  public void testFromEntitiesFetchesSharedObjectOnlyOnce() {
+    UUID sharedObjectID = UUID.randomUUID();
+    FactEntity entity1 = new FactEntity()
+            .setId(UUID.randomUUID())
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(sharedObjectID).setDirection(Direction.FactIsDestination));
+    FactEntity entity2 = new FactEntity()
+            .setId(UUID.randomUUID())
+            .addBinding(new FactEntity.FactObjectBinding().setObjectID(sharedObjectID).setDirection(Direction.FactIsSource));
+    mockFetchRelatedEntitiesAsync();
+
+    List<FactRecord> records = converter.fromEntities(ListUtils.list(entity1, entity2));
+    assertNotNull(records.get(0).getSourceObject());
+    assertNotNull(records.get(1).getDestinationObject());
+
+    verify(objectManager).getObjectAsync(sharedObjectID);
+    verify(objectManager, never()).getObject(any(UUID.class));
+    verify(objectRecordConverter).fromEntity(notNull());
+  }
+
+  @Test
+  public void testFromEntitiesPropagatesFailure() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID());
+    mockFetchRelatedEntitiesAsync();
+    CompletableFuture<List<FactAclEntity>> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("test"));
+    when(factManager.fetchFactAclAsync(entity.getId())).thenReturn(failure);
+
+    assertThrows(IllegalStateException.class, () -> converter.fromEntities(ListUtils.list(entity)));
+  }
+
+  @Test
+  public void testFromDocumentWithNullDocument() {
+    assertNull(converter.fromDocument(null));
+  }
+
+  @Test
+  public void testFromDocumentWithDirectFields() {
+    FactDocument document = new FactDocument()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("value")
+            .setInReferenceTo(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setOriginID(UUID.randomUUID())
+            .setAddedByID(UUID.randomUUID())
+            .setAccessMode(FactDocument.AccessMode.Explicit)
+            .setConfidence(0.1f)
+            .setTrust(0.2f)
+            .setTimestamp(123456789L)
+            .setLastSeenTimestamp(987654321L)
+            .addFlag(FactDocument.Flag.RetractedHint);
+
+    FactRecord record = converter.fromDocument(document);
+    assertEquals(document.getId(), record.getId());
+    assertEquals(document.getTypeID(), record.getTypeID());
+    assertEquals(document.getValue(), record.getValue());
+    assertEquals(document.getInReferenceTo(), record.getInReferenceToID());
+    assertEquals(document.getOrganizationID(), record.getOrganizationID());
+    assertEquals(document.getOriginID(), record.getOriginID());
+    assertEquals(document.getAddedByID(), record.getAddedByID());
+    assertEquals(FactRecord.AccessMode.Explicit, record.getAccessMode());
+    assertEquals(document.getConfidence(), record.getConfidence(), 0.0);
+    assertEquals(document.getTrust(), record.getTrust(), 0.0);
+    assertEquals(document.getTimestamp(), record.getTimestamp());
+    assertEquals(document.getLastSeenTimestamp(), record.getLastSeenTimestamp());
+    assertEquals(SetUtils.set(FactRecord.Flag.RetractedHint), record.getFlags());
+    verifyNoInteractions(factManager, objectManager);
+  }
+
+  @Test
+  public void testFromDocumentWithObjectsAndAcl() {
+    ObjectRecord source = createObjectRecord();
+    ObjectRecord destination = createObjectRecord();
+    UUID subjectID = UUID.randomUUID();
+    FactDocument document = new FactDocument()
+            .setAcl(SetUtils.set(subjectID))
+            .addObject(new ObjectDocument().setId(source.getId()).setTypeID(source.getTypeID()).setValue(source.getValue())
+                    .setDirection(ObjectDocument.Direction.FactIsDestination))
+            .addObject(new ObjectDocument().setId(destination.getId()).setTypeID(destination.getTypeID()).setValue(destination.getValue())
+                    .setDirection(ObjectDocument.Direction.FactIsSource));
+
+    FactRecord record = converter.fromDocument(document);
+    assertObjectRecord(source, record.getSourceObject());
+    assertObjectRecord(destination, record.getDestinationObject());
+    assertFalse(record.isBidirectionalBinding());
+    assertEquals(1, record.getAcl().size());
+    assertEquals(subjectID, record.getAcl().get(0).getSubjectID());
+    assertNull(record.getComments());
+    verifyNoInteractions(factManager, objectManager);
+  }
+
+  @Test
+  public void testFromDocumentWithBidirectionalBinding() {
+    ObjectRecord object = createObjectRecord();
+    FactDocument document = new FactDocument()
+            .addObject(new ObjectDocument().setId(object.getId()).setTypeID(object.getTypeID()).setValue(object.getValue())
+                    .setDirection(ObjectDocument.Direction.BiDirectional));
+
+    FactRecord record = converter.fromDocument(document);
+    assertObjectRecord(object, record.getSourceObject());
+    assertObjectRecord(object, record.getDestinationObject());
+    assertTrue(record.isBidirectionalBinding());
+    verifyNoInteractions(factManager, objectManager);
+  }
+
   @Test
   public void testToEntityWithNullRecord() {
     assertNull(converter.toEntity(null));
@@ -358,7 +508,8 @@ public class FactRecordConverterTest {
             .setConfidence(0.1f)
             .setTrust(0.2f)
             .setTimestamp(123456789L)
-            .setLastSeenTimestamp(987654321L);
+            .setLastSeenTimestamp(987654321L)
+            .addFlag(FactRecord.Flag.RetractedHint);
 
     FactDocument document = converter.toDocument(record);
     assertEquals(record.getId(), document.getId());
@@ -373,6 +524,7 @@ public class FactRecordConverterTest {
     assertEquals(record.getTrust(), document.getTrust(), 0.0f);
     assertEquals(record.getTimestamp(), document.getTimestamp());
     assertEquals(record.getLastSeenTimestamp(), document.getLastSeenTimestamp());
+    assertEquals(SetUtils.set(FactDocument.Flag.RetractedHint), document.getFlags());
   }
 
   @Test
@@ -496,6 +648,12 @@ public class FactRecordConverterTest {
             .setValue("value");
   }
 
+  private void assertObjectRecord(ObjectRecord expected, ObjectRecord actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+  }
+
   private void assertObjectDocument(ObjectRecord expected, ObjectDocument actual, ObjectDocument.Direction direction) {
     assertEquals(expected.getId(), actual.getId());
     assertEquals(expected.getTypeID(), actual.getTypeID());
@@ -508,4 +666,10 @@ public class FactRecordConverterTest {
     assertEquals(expected.getId(), actual.getObjectID());
     assertEquals(direction, actual.getDirection());
   }
+
+  private void mockFetchRelatedEntitiesAsync() {
+    when(factManager.fetchFactAclAsync(any())).thenReturn(CompletableFuture.completedFuture(ListUtils.list()));
+    when(factManager.fetchFactCommentsAsync(any())).thenReturn(CompletableFuture.completedFuture(ListUtils.list()));
+    when(objectManager.getObjectAsync(any())).thenReturn(CompletableFuture.completedFuture(new ObjectEntity()));
+  }
 }
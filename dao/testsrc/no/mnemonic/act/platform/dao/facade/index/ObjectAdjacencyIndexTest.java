@@ -0,0 +1,239 @@
+package no.mnemonic.act.platform.dao.facade.index;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.metrics.MetricsData;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ObjectAdjacencyIndexTest {
+
+  private final ObjectAdjacencyIndex index = new ObjectAdjacencyIndex(10, 0, Runnable::run);
+
+  @Test
+  public void testDisabledIndex() {
+    ObjectAdjacencyIndex disabled = new ObjectAdjacencyIndex(0, 0, Runnable::run);
+    UUID objectID = UUID.randomUUID();
+
+    assertFalse(disabled.isEnabled());
+    assertFalse(disabled.isLoadable(objectID));
+    assertFalse(disabled.load(objectID, list(createFact(UUID.randomUUID(), 1, objectID)), disabled.getSequence()));
+    assertNull(disabled.get(objectID, set(), null, null));
+  }
+
+  @Test
+  public void testGetWithoutLoad() {
+    assertNull(index.get(UUID.randomUUID(), set(), null, null));
+    assertNull(index.get(null, set(), null, null));
+  }
+
+  @Test
+  public void testLoadAndGet() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact1 = createFact(UUID.randomUUID(), 1, objectID);
+    FactEntity fact2 = createFact(UUID.randomUUID(), 2, objectID);
+
+    assertTrue(index.load(objectID, list(fact1, fact2), index.getSequence()));
+    assertEquals(list(fact1.getId(), fact2.getId()), index.get(objectID, set(), null, null));
+  }
+
+  @Test
+  public void testGetFiltersByFactTypeAndTimestamp() {
+    UUID objectID = UUID.randomUUID();
+    UUID factTypeID = UUID.randomUUID();
+    FactEntity fact1 = createFact(factTypeID, 1, objectID);
+    FactEntity fact2 = createFact(UUID.randomUUID(), 2, objectID);
+    FactEntity fact3 = createFact(factTypeID, 3, objectID);
+    index.load(objectID, list(fact1, fact2, fact3), index.getSequence());
+
+    assertEquals(list(fact1.getId(), fact3.getId()), index.get(objectID, set(factTypeID), null, null));
+    assertEquals(list(fact2.getId(), fact3.getId()), index.get(objectID, set(), 2L, null));
+    assertEquals(list(fact1.getId(), fact2.getId()), index.get(objectID, set(), 0L, 2L));
+    assertEquals(list(), index.get(objectID, set(UUID.randomUUID()), null, null));
+  }
+
+  @Test
+  public void testAddAppendsFactToIndexedObjects() {
+    UUID indexedObjectID = UUID.randomUUID();
+    UUID otherObjectID = UUID.randomUUID();
+    UUID neighbourObjectID = UUID.randomUUID();
+    FactEntity fact1 = createFact(UUID.randomUUID(), 1, indexedObjectID);
+    FactEntity fact2 = createFact(UUID.randomUUID(), 2, otherObjectID);
+    FactEntity fact3 = createFact(UUID.randomUUID(), 3, indexedObjectID, neighbourObjectID);
+    index.load(indexedObjectID, list(fact1), index.getSequence());
+    index.load(otherObjectID, list(fact2), index.getSequence());
+
+    index.add(fact3);
+    index.add(fact3);
+    assertEquals(list(fact1.getId(), fact3.getId()), index.get(indexedObjectID, set(), null, null));
+    assertEquals(list(fact2.getId()), index.get(otherObjectID, set(), null, null));
+    assertNull(index.get(neighbourObjectID, set(), null, null));
+  }
+
+  @Test
+  public void testLoadRejectedAfterConcurrentWrite() {
+    UUID objectID = UUID.randomUUID();
+    long sequence = index.getSequence();
+
+    index.add(createFact(UUID.randomUUID(), 1, objectID));
+    assertFalse(index.load(objectID, list(), sequence));
+    assertNull(index.get(objectID, set(), null, null));
+    assertTrue(index.load(objectID, list(), index.getSequence()));
+  }
+
+  @Test
+  public void testExpiredAdjacencyIsReloaded() {
+    Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(1000L);
+    ObjectAdjacencyIndex expiringIndex = new ObjectAdjacencyIndex(10, 100, Runnable::run).withClock(clock);
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact1 = createFact(UUID.randomUUID(), 1, objectID);
+    FactEntity fact2 = createFact(UUID.randomUUID(), 2, objectID);
+    assertTrue(expiringIndex.load(objectID, list(fact1), expiringIndex.getSequence()));
+    when(clock.millis()).thenReturn(1100L);
+    assertTrue(expiringIndex.isIndexed(objectID));
+
+    when(clock.millis()).thenReturn(1101L);
+    assertFalse(expiringIndex.isIndexed(objectID));
+    assertNull(expiringIndex.get(objectID, set(), null, null));
+
+    assertTrue(expiringIndex.load(objectID, list(fact1, fact2), expiringIndex.getSequence()));
+    assertEquals(list(fact1.getId(), fact2.getId()), expiringIndex.get(objectID, set(), null, null));
+  }
+
+  @Test
+  public void testLoadAsync() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact = createFact(UUID.randomUUID(), 1, objectID);
+
+    index.loadAsync(objectID, id -> index.load(id, list(fact), index.getSequence()));
+    assertTrue(index.isIndexed(objectID));
+    // Indexed Objects aren't loaded again.
+    index.loadAsync(objectID, id -> {
+      throw new AssertionError("Indexed Object must not be loaded again.");
+    });
+    assertEquals(list(fact.getId()), index.get(objectID, set(), null, null));
+  }
+
+  @Test
+  public void testLoadAsyncSkipsPendingLoad() {
+    List<Runnable> pending = new ArrayList<>();
+    ObjectAdjacencyIndex queuedIndex = new ObjectAdjacencyIndex(10, 0, pending::add);
+    UUID objectID = UUID.randomUUID();
+
+    queuedIndex.loadAsync(objectID, id -> queuedIndex.load(id, list(), queuedIndex.getSequence()));
+    queuedIndex.loadAsync(objectID, id -> queuedIndex.load(id, list(), queuedIndex.getSequence()));
+    assertEquals(1, pending.size());
+
+    pending.get(0).run();
+    assertTrue(queuedIndex.isIndexed(objectID));
+  }
+
+  @Test
+  public void testLoadAsyncRejectedByExecutor() {
+    ObjectAdjacencyIndex rejectingIndex = new ObjectAdjacencyIndex(10, 0, runnable -> {
+      throw new RejectedExecutionException();
+    });
+    UUID objectID = UUID.randomUUID();
+
+    rejectingIndex.loadAsync(objectID, id -> rejectingIndex.load(id, list(), rejectingIndex.getSequence()));
+    assertFalse(rejectingIndex.isIndexed(objectID));
+  }
+
+  @Test
+  public void testLoadRejectedForLargeAdjacency() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity[] facts = new FactEntity[11];
+    for (int i = 0; i < facts.length; i++) {
+      facts[i] = createFact(UUID.randomUUID(), i, objectID);
+    }
+
+    assertFalse(index.load(objectID, list(facts), index.getSequence()));
+    index.markOversized(objectID);
+    assertFalse(index.isLoadable(objectID));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedObjectsWhenFull() {
+    UUID objectID1 = UUID.randomUUID();
+    UUID objectID2 = UUID.randomUUID();
+    UUID objectID3 = UUID.randomUUID();
+    index.load(objectID1, list(createFact(UUID.randomUUID(), 1, objectID1), createFact(UUID.randomUUID(), 2, objectID1)), index.getSequence());
+    index.load(objectID2, list(createFact(UUID.randomUUID(), 3, objectID2), createFact(UUID.randomUUID(), 4, objectID2)), index.getSequence());
+
+    // Grow the adjacency of the first Object such that its row is moved repeatedly.
+    for (int i = 0; i < 5; i++) {
+      index.add(createFact(UUID.randomUUID(), 10 + i, objectID1));
+    }
+    assertEquals(7, index.get(objectID1, set(), null, null).size());
+    assertEquals(2, index.get(objectID2, set(), null, null).size());
+
+    // Loading another Object exceeds the capacity and evicts one of the existing Objects.
+    assertTrue(index.load(objectID3, list(createFact(UUID.randomUUID(), 5, objectID3), createFact(UUID.randomUUID(), 6, objectID3)), index.getSequence()));
+    assertEquals(2, index.get(objectID3, set(), null, null).size());
+    assertTrue(index.get(objectID1, set(), null, null) == null || index.get(objectID2, set(), null, null) == null);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyAccessedObject() {
+    Clock clock = mock(Clock.class);
+    ObjectAdjacencyIndex lruIndex = new ObjectAdjacencyIndex(10, 0, Runnable::run).withClock(clock);
+    UUID objectID1 = UUID.randomUUID();
+    UUID objectID2 = UUID.randomUUID();
+    UUID objectID3 = UUID.randomUUID();
+
+    when(clock.millis()).thenReturn(1L);
+    lruIndex.load(objectID1, list(createFact(UUID.randomUUID(), 1, objectID1), createFact(UUID.randomUUID(), 2, objectID1)), lruIndex.getSequence());
+    when(clock.millis()).thenReturn(2L);
+    lruIndex.load(objectID2, list(createFact(UUID.randomUUID(), 3, objectID2), createFact(UUID.randomUUID(), 4, objectID2)), lruIndex.getSequence());
+    // Accessing the first Object makes the second Object the least recently used one.
+    when(clock.millis()).thenReturn(3L);
+    assertNotNull(lruIndex.get(objectID1, set(), null, null));
+
+    List<FactEntity> facts = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      facts.add(createFact(UUID.randomUUID(), 10 + i, objectID3));
+    }
+    when(clock.millis()).thenReturn(4L);
+    assertTrue(lruIndex.load(objectID3, facts, lruIndex.getSequence()));
+    assertTrue(lruIndex.isIndexed(objectID1));
+    assertFalse(lruIndex.isIndexed(objectID2));
+    assertTrue(lruIndex.isIndexed(objectID3));
+  }
+
+  @Test
+  public void testGetMetrics() throws Exception {
+    UUID objectID = UUID.randomUUID();
+    index.get(objectID, set(), null, null);
+    index.load(objectID, list(createFact(UUID.randomUUID(), 1, objectID)), index.getSequence());
+    index.get(objectID, set(), null, null);
+
+    MetricsData metrics = (MetricsData) index.getMetrics();
+    assertEquals(1L, metrics.getData().get("hits"));
+    assertEquals(1L, metrics.getData().get("misses"));
+    assertEquals(1L, metrics.getData().get("loads"));
+    assertEquals(1, metrics.getData().get("objects"));
+    assertEquals(1, metrics.getData().get("edges"));
+  }
+
+  private FactEntity createFact(UUID factTypeID, long timestamp, UUID... objectID) {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(factTypeID)
+            .setTimestamp(timestamp);
+    for (UUID id : objectID) {
+      fact.addBinding(new FactEntity.FactObjectBinding().setObjectID(id));
+    }
+    return fact;
+  }
+}
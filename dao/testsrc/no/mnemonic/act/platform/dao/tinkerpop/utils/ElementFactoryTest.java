@@ -11,6 +11,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -150,6 +152,29 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testCreateEdgesAfterEviction() {
+    ObjectFactBindingEntity inBinding = createInBinding(Direction.BiDirectional);
+    FactEntity.FactObjectBinding outBinding = createOutBinding(Direction.BiDirectional);
+    Edge first = mockAndRunCreateEdges(inBinding, outBinding);
+
+    // Create more edges than can be cached which evicts the first edge.
+    ObjectFactBindingEntity floodBinding = createInBinding(Direction.BiDirectional);
+    List<FactEntity.FactObjectBinding> floodBindings = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      floodBindings.add(createOutBinding(Direction.BiDirectional));
+    }
+    mockFact(floodBinding.getFactID(), floodBindings);
+    assertEquals(20000, elementFactory.createEdges(floodBinding).size());
+    assertNull(elementFactory.getEdge((UUID) first.id()));
+
+    // Creating the evicted edge again caches a new edge.
+    Edge second = elementFactory.createEdges(inBinding).iterator().next();
+    assertNotSame(first, second);
+    assertSame(second, elementFactory.getEdge((UUID) second.id()));
+    assertSame(second, elementFactory.createEdges(inBinding).iterator().next());
+  }
+
   @Test
   public void testGetVertexWithNullId() {
     assertNull(elementFactory.getVertex(null));
@@ -207,13 +232,17 @@ public class ElementFactoryTest {
   }
 
   private void mockFact(UUID factID, FactEntity.FactObjectBinding outBinding) {
+    mockFact(factID, ListUtils.list(outBinding));
+  }
+
+  private void mockFact(UUID factID, List<FactEntity.FactObjectBinding> outBindings) {
     UUID typeID = UUID.randomUUID();
 
     when(factManager.getFact(factID)).thenReturn(new FactEntity()
             .setId(factID)
             .setTypeID(typeID)
             .setValue("value")
-            .setBindings(ListUtils.list(outBinding))
+            .setBindings(outBindings)
     );
 
     when(factManager.getFactType(typeID)).thenReturn(new FactTypeEntity()
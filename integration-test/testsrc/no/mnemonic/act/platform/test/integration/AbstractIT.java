@@ -347,16 +347,23 @@ public abstract class AbstractIT {
       bind(String.class).annotatedWith(Names.named("act.access.controller.properties.configuration.file")).toInstance(ACL_FILE);
       bind(String.class).annotatedWith(Names.named("act.access.controller.properties.reload.interval")).toInstance("60000");
       bind(String.class).annotatedWith(Names.named("act.action.triggers.enabled")).toInstance("true");
+      bind(String.class).annotatedWith(Names.named("act.adjacency.index.capacity")).toInstance("0");
+      bind(String.class).annotatedWith(Names.named("act.adjacency.index.ttl")).toInstance("60000");
       bind(String.class).annotatedWith(Names.named("trigger.administration.service.configuration.directory")).toInstance(RESOURCES_FOLDER);
       bind(String.class).annotatedWith(Names.named("act.cassandra.data.center")).toInstance("datacenter1");
       bind(String.class).annotatedWith(Names.named("act.cassandra.contact.points")).toInstance(DockerTestUtils.getDockerHost());
+      bind(String.class).annotatedWith(Names.named("act.cassandra.multi.fetch.mode")).toInstance("InClause");
+      bind(String.class).annotatedWith(Names.named("act.cassandra.multi.fetch.prefetch")).toInstance("2");
       bind(String.class).annotatedWith(Names.named("act.cassandra.port")).toInstance(String.valueOf(cassandra.getExposedHostPort(9042)));
       bind(String.class).annotatedWith(Names.named("act.elasticsearch.contact.points")).toInstance(DockerTestUtils.getDockerHost());
+      bind(String.class).annotatedWith(Names.named("act.elasticsearch.search.after.enabled")).toInstance("false");
       bind(String.class).annotatedWith(Names.named("act.elasticsearch.port")).toInstance(String.valueOf(elastic.getExposedHostPort(9200)));
+      bind(String.class).annotatedWith(Names.named("act.search.facts.index.served")).toInstance("false");
       bind(String.class).annotatedWith(Names.named("act.smb.queue.name")).toInstance("Service.ACT");
       bind(String.class).annotatedWith(Names.named("act.smb.server.url")).toInstance(smbServerUrl);
       bind(String.class).annotatedWith(Names.named("act.smb.server.username")).toInstance("admin");
       bind(String.class).annotatedWith(Names.named("act.smb.server.password")).toInstance("admin");
+      bind(String.class).annotatedWith(Names.named("act.traverse.executor.threads")).toInstance("4");
     }
   }
 
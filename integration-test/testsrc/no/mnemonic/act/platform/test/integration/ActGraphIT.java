@@ -13,12 +13,16 @@ import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.caches.FactAdjacencyCache;
 import no.mnemonic.act.platform.dao.facade.ObjectFactDaoFacade;
+import no.mnemonic.act.platform.dao.facade.caches.LocalFactSignatureCache;
 import no.mnemonic.act.platform.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.act.platform.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.act.platform.dao.facade.index.ObjectAdjacencyIndex;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.caches.LocalFactRetractionCache;
 import no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler;
 import no.mnemonic.act.platform.service.ti.resolvers.OriginResolver;
 import no.mnemonic.act.platform.service.ti.resolvers.request.FactTypeRequestResolver;
@@ -113,7 +117,8 @@ public class ActGraphIT {
 
     objectManager = new ObjectManager(clusterManager);
     factManager = new FactManager(clusterManager);
-    factSearchManager = new FactSearchManager(clientFactory)
+    FactAdjacencyCache factAdjacencyCache = new FactAdjacencyCache();
+    factSearchManager = new FactSearchManager(clientFactory, factAdjacencyCache)
             .setTestEnvironment(true)
             .setSearchScrollExpiration("5s")
             .setSearchScrollSize(1);
@@ -128,11 +133,14 @@ public class ActGraphIT {
                     new ObjectRecordConverter(),
                     new FactAclEntryRecordConverter(), new FactCommentRecordConverter()),
             new FactAclEntryRecordConverter(),
-            new FactCommentRecordConverter());
+            new FactCommentRecordConverter(),
+            new LocalFactSignatureCache(),
+            factAdjacencyCache,
+            new ObjectAdjacencyIndex(0, 0, Runnable::run));
     objectFactTypeResolver = new ObjectFactTypeResolver(factManager, objectManager);
 
     factTypeRequestResolver = new FactTypeRequestResolver(factManager);
-    factRetractionHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, mockSecurityContext);
+    factRetractionHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, mockSecurityContext, new LocalFactRetractionCache());
     SubjectResolver subjectResolver = mock(SubjectResolver.class);
     OrganizationResolver organizationResolver = mock(OrganizationResolver.class);
     propertyHelper = new PropertyHelper(factRetractionHandler, objectFactDao, objectFactTypeResolver, mockSecurityContext,
@@ -227,7 +235,7 @@ public class ActGraphIT {
     when(securityContextNoAccess.getAvailableOrganizationID()).thenReturn(SetUtils.set(new UUID(0, 1)));
     when(securityContextNoAccess.hasReadPermission(any(FactRecord.class))).thenReturn(false);
 
-    FactRetractionHandler factRetractionHandler = new FactRetractionHandler(new FactTypeRequestResolver(factManager), factSearchManager, mockSecurityContext);
+    FactRetractionHandler factRetractionHandler = new FactRetractionHandler(new FactTypeRequestResolver(factManager), factSearchManager, mockSecurityContext, new LocalFactRetractionCache());
     GraphTraversalSource g = ActGraph.builder()
             .setObjectFactDao(objectFactDao)
             .setObjectTypeFactResolver(objectFactTypeResolver)
@@ -353,7 +361,8 @@ public class ActGraphIT {
     FactRetractionHandler factRetractionHandler = new FactRetractionHandler(
             new FactTypeRequestResolver(factManager),
             factSearchManager,
-            mockSecurityContext);
+            mockSecurityContext,
+            new LocalFactRetractionCache());
 
     return ActGraph.builder()
             .setObjectFactDao(objectFactDao)
@@ -6,6 +6,7 @@ import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.ObjectNotFoundException;
 import no.mnemonic.act.platform.api.model.v1.AclEntry;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.FactComment;
 import no.mnemonic.act.platform.api.request.v1.*;
@@ -147,6 +148,36 @@ public class FactEndpoint {
             .buildResponse();
   }
 
+  @POST
+  @Path("/bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Create multiple new Facts at once.",
+          notes = "This operation creates multiple new Facts with one request. Every Fact in the request is handled in " +
+                  "the same way as when creating a single Fact, i.e. the same validation rules apply and existing Facts " +
+                  "will be refreshed instead of creating new Facts. See the operation for creating a single Fact for details.\n\n" +
+                  "A failure to create one Fact does not abort the whole request. Instead, the response contains one " +
+                  "result per requested Fact which holds either the created Fact or messages explaining why the Fact " +
+                  "could not be created. The results can be matched to the requested Facts by their 'index'. The request " +
+                  "will only be rejected as a whole if the request body itself has an invalid format.\n\n" +
+                  "This operation should be preferred over creating Facts one-by-one when a large number of Facts " +
+                  "needs to be created, e.g. when importing data from external feeds.",
+          response = CreateFactResult.class,
+          responseContainer = "list"
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  @RolesAllowed("addThreatIntelFact")
+  public Response createFacts(
+          @ApiParam(value = "Request to create multiple Facts.") @NotNull @Valid CreateFactsRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return buildResponse(service.createFacts(credentialsResolver.getRequestHeader(), request));
+  }
+
   @GET
   @Path("/uuid/{fact}/meta")
   @Produces(MediaType.APPLICATION_JSON)
@@ -5,6 +5,8 @@ import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.model.v1.ObjectFactPath;
+import no.mnemonic.act.platform.api.request.v1.FindShortestPathRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseGraphRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseGraphByObjectSearchRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseGraphByObjectsRequest;
@@ -154,7 +156,10 @@ public class TraverseEndpoint {
                   "For example, setting a search limit is independent of the traversal limit. " +
                   "The Object search accepts the same parameters as '/v1/object/search'. " +
                   "The traversal accepts the same parameters as '/v1/traverse/object/{id}'. " +
-                  "See those endpoints for further details.\n\n",
+                  "See those endpoints for further details.\n\n" +
+                  "If 'parallel' is set and the traversal starts at many Objects, the traversal is split across " +
+                  "multiple threads. In this case the result doesn't contain duplicates and is returned in no particular " +
+                  "order. Traversals which depend on all traversers at once (e.g. count() or order()) are never split.",
           response = ResultStash.class
   )
   @ApiResponses({
@@ -169,4 +174,38 @@ public class TraverseEndpoint {
   ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
     return buildResponse(service.traverse(credentialsResolver.getRequestHeader(), request));
   }
+
+  @POST
+  @Path("/path")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Find the shortest paths connecting two sets of Objects.",
+          notes = "This operation finds the shortest paths through the graph of Objects and Facts which connect any of " +
+                  "the source Objects with any of the destination Objects. The Objects may be identified by either " +
+                  "object id or object type and value, e.g 'threatActor/Sofacy'. Facts are followed regardless of " +
+                  "their direction. Each returned path starts at a source Object and ends at a destination Object, " +
+                  "and contains the Objects along the path together with the Facts connecting them.\n\n" +
+                  "The 'maxDepth' parameter limits the number of Facts along a path. The default is 5. " +
+                  "The 'limit' controls the maximum number of returned paths. The default is 25. " +
+                  "The 'includeRetracted' parameter controls wether retracted Facts are followed. " +
+                  "The 'before' and 'after' parameters filter Facts by timestamp.\n\n" +
+                  "Permissions are checked during the search, which means that only Facts the user has access to will " +
+                  "be followed. The search is performed natively and is much faster than a comparable Gremlin query " +
+                  "executed with '/v1/traverse/objects'.",
+          response = ObjectFactPath.class,
+          responseContainer = "list"
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 408, message = "Execution of this operation timed out."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  @RolesAllowed("traverseThreatIntelFact")
+  public Response findShortestPath(
+          @ApiParam(value = "Request to find shortest paths.") @NotNull @Valid FindShortestPathRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return buildResponse(service.findShortestPath(credentialsResolver.getRequestHeader(), request));
+  }
 }
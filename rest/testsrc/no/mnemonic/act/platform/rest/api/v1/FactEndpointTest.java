@@ -2,11 +2,13 @@ package no.mnemonic.act.platform.rest.api.v1;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import no.mnemonic.act.platform.api.model.v1.AclEntry;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.FactComment;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.rest.AbstractEndpointTest;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
 
 import javax.ws.rs.client.Entity;
@@ -63,6 +65,33 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getTiService(), times(1)).createFact(notNull(), isA(CreateFactRequest.class));
   }
 
+  @Test
+  public void testCreateFacts() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(getTiService().createFacts(any(), isA(CreateFactsRequest.class))).then(i -> {
+      assertEquals(2, i.<CreateFactsRequest>getArgument(1).getFacts().size());
+      return StreamingResultSet.<CreateFactResult>builder().setValues(createCreateFactResults(id)).build();
+    });
+
+    Response response = target("/v1/fact/bulk").request().post(Entity.json(new CreateFactsRequest()
+            .addFact(createCreateFactRequest())
+            .addFact(createCreateFactRequest())));
+    assertEquals(200, response.getStatus());
+    JsonNode payload = getPayload(response);
+    assertTrue(payload.isArray());
+    assertEquals(2, payload.size());
+    assertEquals(id.toString(), payload.get(0).get("fact").get("id").textValue());
+    assertEquals("message", payload.get(1).get("messages").get(0).get("message").textValue());
+
+    verify(getTiService(), times(1)).createFacts(notNull(), isA(CreateFactsRequest.class));
+  }
+
+  @Test
+  public void testCreateFactsWithoutFacts() throws Exception {
+    Response response = target("/v1/fact/bulk").request().post(Entity.json(new CreateFactsRequest()));
+    assertEquals(412, response.getStatus());
+  }
+
   @Test
   public void testGetMetaFacts() throws Exception {
     UUID fact = UUID.randomUUID();
@@ -223,6 +252,13 @@ public class FactEndpointTest extends AbstractEndpointTest {
     return comments;
   }
 
+  private Collection<CreateFactResult> createCreateFactResults(UUID id) {
+    return ListUtils.list(
+            CreateFactResult.builder().setIndex(0).setFact(Fact.builder().setId(id).build()).build(),
+            CreateFactResult.builder().setIndex(1).addMessage(new CreateFactResult.Message("message", "template")).build()
+    );
+  }
+
   private CreateFactRequest createCreateFactRequest() {
     return new CreateFactRequest()
             .setType("type")
@@ -1,6 +1,8 @@
 package no.mnemonic.act.platform.rest.api.v1;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import no.mnemonic.act.platform.api.model.v1.ObjectFactPath;
+import no.mnemonic.act.platform.api.request.v1.FindShortestPathRequest;
 import no.mnemonic.act.platform.api.request.v1.SearchObjectRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseGraphRequest;
 import no.mnemonic.act.platform.api.request.v1.TraverseGraphByObjectSearchRequest;
@@ -125,4 +127,30 @@ public class TraverseEndpointTest extends AbstractEndpointTest {
 
     verify(getTiService(), times(1)).traverse(notNull(), isA(TraverseGraphByObjectSearchRequest.class));
   }
+
+  @Test
+  public void testFindShortestPath() throws Exception {
+    Set<String> source = set(UUID.randomUUID().toString());
+    Set<String> destination = set("ThreatActor/Sofacy");
+
+    when(getTiService().findShortestPath(any(), isA(FindShortestPathRequest.class))).then(i -> {
+      FindShortestPathRequest request = i.getArgument(1);
+      assertEquals(source, request.getSource());
+      assertEquals(destination, request.getDestination());
+      assertEquals(Integer.valueOf(3), request.getMaxDepth());
+      return StreamingResultSet.<ObjectFactPath>builder().setValues(ListUtils.list(ObjectFactPath.builder().build())).build();
+    });
+
+    FindShortestPathRequest request = new FindShortestPathRequest()
+            .setSource(source)
+            .setDestination(destination)
+            .setMaxDepth(3);
+    Response response = target("/v1/traverse/path").request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(200, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(1, payload.size());
+
+    verify(getTiService(), times(1)).findShortestPath(notNull(), isA(FindShortestPathRequest.class));
+  }
 }
@@ -143,6 +143,12 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return delegateProvider.get(FactCreateDelegate.class).handle(request);
   }
 
+  @Override
+  public ResultSet<CreateFactResult> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return delegateProvider.get(FactCreateBulkDelegate.class).handle(request);
+  }
+
   @Override
   public ResultSet<Fact> searchMetaFacts(RequestHeader rh, SearchMetaFactsRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
@@ -218,6 +224,12 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return delegateProvider.get(TraverseByObjectSearchDelegate.class).handle(request);
   }
 
+  @Override
+  public ResultSet<ObjectFactPath> findShortestPath(RequestHeader rh, FindShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    return delegateProvider.get(TraverseShortestPathDelegate.class).handle(request);
+  }
+
   @Override
   public Origin getOrigin(RequestHeader rh, GetOriginByIdRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
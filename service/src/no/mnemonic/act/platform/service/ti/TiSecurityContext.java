@@ -6,6 +6,7 @@ import no.mnemonic.act.platform.api.model.v1.Organization;
 import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
 import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
@@ -15,13 +16,11 @@ import no.mnemonic.act.platform.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.act.platform.service.contexts.SecurityContext;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Function;
 
 /**
@@ -32,6 +31,8 @@ public class TiSecurityContext extends SecurityContext {
   private final ObjectFactDao objectFactDao;
   private final Function<UUID, List<FactAclEntity>> aclResolver;
 
+  private volatile FactAccessEvaluator factAccessEvaluator;
+
   private TiSecurityContext(AccessController accessController,
                             IdentityResolver identityResolver,
                             Credentials credentials,
@@ -130,13 +131,27 @@ public class TiSecurityContext extends SecurityContext {
       throw new AccessDeniedException("No access to Object.");
     }
 
-    // Iterate through all bound Facts and return the first accessible Fact.
     // The user needs access to at least one bound Fact to have access to the Object.
     FactSearchCriteria boundFactsCriteria = FactSearchCriteria.builder()
             .addObjectID(object.getId())
             .setCurrentUserID(getCurrentUserID())
             .setAvailableOrganizationID(getAvailableOrganizationID())
+            // Usually the first returned Fact is accessible, thus, only fetch a small first batch.
+            .setPageSizeHint(1)
             .build();
+
+    if (getFactAccessEvaluator().isEnforcedBySearch()) {
+      // The access control applied by ElasticSearch is equivalent to the user's permissions, thus, it's sufficient
+      // to check that any accessible Fact exists without fetching and evaluating the Facts themselves.
+      if (!objectFactDao.existsFact(boundFactsCriteria)) {
+        // User does not have access to any Facts bound to this Object.
+        throw new AccessDeniedException("No access to Object.");
+      }
+
+      return;
+    }
+
+    // Otherwise, iterate through all bound Facts and return the first accessible Fact.
     Optional<FactRecord> accessibleFact = objectFactDao.searchFacts(boundFactsCriteria)
             .stream()
             .filter(this::hasReadPermission)
@@ -147,6 +162,43 @@ public class TiSecurityContext extends SecurityContext {
     }
   }
 
+  /**
+   * Check if a user is allowed to view multiple Objects at once. The user needs access to at least one Fact bound to
+   * each of the Objects. In contrast to checking the Objects one-by-one only one search is performed for all Objects.
+   *
+   * @param objects Objects to verify access to.
+   * @throws AccessDeniedException         If the user is not allowed to view any of the Objects.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   */
+  public void checkReadPermission(Collection<ObjectRecord> objects) throws AccessDeniedException, AuthenticationFailedException {
+    if (CollectionUtils.isEmpty(objects)) return;
+    if (objects.contains(null)) {
+      // User should not get a different response if an Object is not in the system or if user does not have access to it.
+      throw new AccessDeniedException("No access to Object.");
+    }
+
+    if (!getFactAccessEvaluator().isEnforcedBySearch()) {
+      // The access control applied by ElasticSearch isn't sufficient, thus, evaluate the bound Facts of each Object.
+      for (ObjectRecord object : objects) {
+        checkReadPermission(object);
+      }
+
+      return;
+    }
+
+    // Determine all Objects which are bound to at least one accessible Fact with a single search.
+    Set<UUID> objectID = SetUtils.set(objects, ObjectRecord::getId);
+    Set<UUID> accessibleObjectID = objectFactDao.retrieveObjectsWithFacts(FactSearchCriteria.builder()
+            .setObjectID(objectID)
+            .setCurrentUserID(getCurrentUserID())
+            .setAvailableOrganizationID(getAvailableOrganizationID())
+            .build());
+    if (!accessibleObjectID.containsAll(objectID)) {
+      // User does not have access to any Facts bound to at least one of the Objects.
+      throw new AccessDeniedException("No access to Object.");
+    }
+  }
+
   /**
    * Check if a user is allowed to view a specific Origin.
    *
@@ -201,17 +253,15 @@ public class TiSecurityContext extends SecurityContext {
 
   /**
    * Check if a user is allowed to view a specific Fact based on the Fact's AccessMode.
+   * <p>
+   * This method is called for every Fact streamed to the user, thus, the user's permissions are only resolved once per
+   * SecurityContext. Afterwards, access is evaluated in memory without consulting the AccessController.
    *
    * @param fact Fact to verify access to.
    * @return True if user has access to the Fact.
    */
   public boolean hasReadPermission(FactRecord fact) {
-    try {
-      checkReadPermission(fact);
-      return true;
-    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
-      return false;
-    }
+    return getFactAccessEvaluator().hasReadPermission(fact);
   }
 
   /**
@@ -259,11 +309,116 @@ public class TiSecurityContext extends SecurityContext {
     }
   }
 
+  /**
+   * Check if a user has the general permission to view Facts, i.e. independent of any Organization.
+   *
+   * @return True if user has the general permission to view Facts.
+   */
+  public boolean hasGeneralViewPermission() {
+    return getFactAccessEvaluator().hasGeneralViewPermission();
+  }
+
+  private FactAccessEvaluator getFactAccessEvaluator() {
+    FactAccessEvaluator evaluator = factAccessEvaluator;
+    if (evaluator == null) {
+      // Building the evaluator multiple times concurrently is harmless because the user's permissions don't change.
+      evaluator = factAccessEvaluator = createFactAccessEvaluator();
+    }
+
+    return evaluator;
+  }
+
+  private FactAccessEvaluator createFactAccessEvaluator() {
+    boolean generalViewPermission;
+    try {
+      checkPermission(TiFunctionConstants.viewThreatIntelFact);
+      generalViewPermission = true;
+    } catch (AccessDeniedException ignored) {
+      generalViewPermission = false;
+    } catch (AuthenticationFailedException ignored) {
+      // An unauthenticated user doesn't have access to any Facts.
+      return new FactAccessEvaluator(null, false, Collections.emptySet(), false);
+    }
+
+    // A user can only have permissions for the Organizations available to the user.
+    Set<UUID> availableOrganizations = SetUtils.set(getAvailableOrganizationID());
+    Set<UUID> viewOrganizations = new HashSet<>();
+    for (UUID organizationID : availableOrganizations) {
+      try {
+        checkPermission(TiFunctionConstants.viewThreatIntelFact, organizationID);
+        viewOrganizations.add(organizationID);
+      } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+        // No permission to view Facts of this Organization.
+      }
+    }
+
+    // ElasticSearch grants access to public Facts and to Facts of all available Organizations. This only matches the
+    // user's permissions if the user has the general permission and the permission for every available Organization.
+    boolean enforcedBySearch = generalViewPermission && viewOrganizations.size() == availableOrganizations.size();
+
+    return new FactAccessEvaluator(getCurrentUserID(), generalViewPermission, viewOrganizations, enforcedBySearch);
+  }
+
   private boolean isInAcl(FactEntity fact) {
     List<FactAclEntity> acl = aclResolver.apply(fact.getId());
     return !CollectionUtils.isEmpty(acl) && acl.stream().anyMatch(entry -> getCurrentUserID().equals(entry.getSubjectID()));
   }
 
+  /**
+   * Evaluates read access to Facts from the user's permissions resolved in advance. Mirrors
+   * {@link #checkReadPermission(FactRecord)} without throwing exceptions.
+   */
+  private static class FactAccessEvaluator {
+    private final UUID currentUserID;
+    private final boolean generalViewPermission;
+    private final Set<UUID> viewOrganizations;
+    private final boolean enforcedBySearch;
+
+    private FactAccessEvaluator(UUID currentUserID, boolean generalViewPermission, Set<UUID> viewOrganizations, boolean enforcedBySearch) {
+      this.currentUserID = currentUserID;
+      this.generalViewPermission = generalViewPermission;
+      this.viewOrganizations = viewOrganizations;
+      this.enforcedBySearch = enforcedBySearch;
+    }
+
+    /**
+     * Returns true if every Fact returned by a search with access control applied is accessible to the user.
+     */
+    private boolean isEnforcedBySearch() {
+      return enforcedBySearch;
+    }
+
+    private boolean hasGeneralViewPermission() {
+      return generalViewPermission;
+    }
+
+    private boolean hasReadPermission(FactRecord fact) {
+      if (fact == null) return false;
+
+      // Access to public Facts only requires the general permission to view Facts.
+      if (fact.getAccessMode() == FactRecord.AccessMode.Public) return generalViewPermission;
+
+      if (isInAcl(fact)) return true;
+
+      // User is not in ACL of the Fact but explicit access is required.
+      if (fact.getAccessMode() == FactRecord.AccessMode.Explicit) return false;
+
+      // Fallback to role-based access control.
+      return fact.getOrganizationID() != null && viewOrganizations.contains(fact.getOrganizationID());
+    }
+
+    private boolean isInAcl(FactRecord fact) {
+      List<FactAclEntryRecord> acl = fact.getAcl();
+      if (currentUserID == null || acl == null) return false;
+
+      for (int i = 0; i < acl.size(); i++) {
+        if (currentUserID.equals(acl.get(i).getSubjectID())) return true;
+      }
+
+      return false;
+    }
+  }
+
   public static class Builder {
     private AccessController accessController;
     private IdentityResolver identityResolver;
@@ -0,0 +1,115 @@
+package no.mnemonic.act.platform.service.ti.caches;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global cache for the structure of retraction chains on one local node. For every Fact the cache holds all Retraction
+ * Facts referencing it together with their access metadata (access mode, Organization and ACL), i.e. it does not hold
+ * whether a Fact is retracted. Which retractions are visible to a user, and from that whether a Fact is retracted from
+ * the user's point of view, is computed per request in memory from the cached structure
+ * (see {@link no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler}).
+ * <p>
+ * Whenever a new Retraction Fact is stored the entry of the retracted Fact must be invalidated using {@link #invalidate(UUID)}.
+ * Because a new Retraction Fact only becomes searchable after the next refresh of the index, the retractions of a Fact
+ * are additionally not cached again if the search was started before or shortly after the last invalidation of the Fact.
+ * <p>
+ * NB! Invalidation only affects the local node. Retractions stored on other nodes, as well as changes to the ACL of
+ * Retraction Facts, are not visible until the cached entry expires one minute after it has been written.
+ */
+@Singleton
+public class LocalFactRetractionCache {
+
+  // Don't cache search results of Facts which have been retracted shortly before the search.
+  private static final long INVALIDATION_GRACE_PERIOD = TimeUnit.SECONDS.toMillis(10);
+  // Limits how long changes which are not invalidated on the local node are missed.
+  private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(1);
+
+  private final Cache<UUID, List<Retraction>> cache = CacheBuilder.newBuilder()
+          .maximumSize(100_000)
+          .expireAfterWrite(EXPIRATION, TimeUnit.MILLISECONDS)
+          .build();
+  private final Cache<UUID, Long> invalidations = CacheBuilder.newBuilder()
+          .maximumSize(100_000)
+          .expireAfterWrite(EXPIRATION, TimeUnit.MILLISECONDS)
+          .build();
+
+  /**
+   * Fetch the cached retractions of a Fact.
+   *
+   * @param factID ID of the retracted Fact
+   * @return All Retraction Facts referencing the Fact, or NULL if the retractions are not cached
+   */
+  public List<Retraction> getRetractions(UUID factID) {
+    return cache.getIfPresent(factID);
+  }
+
+  /**
+   * Cache the retractions of a Fact. An empty list denotes that the Fact has no retractions. The retractions must not
+   * be filtered by the access of the calling user. They are not cached if the Fact has been invalidated after (or
+   * shortly before) the search was started.
+   *
+   * @param factID          ID of the retracted Fact
+   * @param retractions     All Retraction Facts referencing the Fact
+   * @param searchTimestamp When the search for the Retraction Facts was started
+   */
+  public void putRetractions(UUID factID, List<Retraction> retractions, long searchTimestamp) {
+    Long lastInvalidation = invalidations.getIfPresent(factID);
+    if (lastInvalidation != null && lastInvalidation + INVALIDATION_GRACE_PERIOD > searchTimestamp) return;
+
+    cache.put(factID, Collections.unmodifiableList(retractions));
+  }
+
+  /**
+   * Invalidate the cached retractions of a Fact.
+   *
+   * @param factID ID of the retracted Fact
+   */
+  public void invalidate(UUID factID) {
+    if (factID == null) return;
+    invalidations.put(factID, System.currentTimeMillis());
+    cache.invalidate(factID);
+  }
+
+  /**
+   * Cached Retraction Fact including the access metadata required to decide whether a user can see it.
+   */
+  public static class Retraction {
+    private final UUID id;
+    private final FactDocument.AccessMode accessMode;
+    private final UUID organizationID;
+    private final Set<UUID> acl;
+
+    public Retraction(UUID id, FactDocument.AccessMode accessMode, UUID organizationID, Set<UUID> acl) {
+      this.id = id;
+      this.accessMode = accessMode;
+      this.organizationID = organizationID;
+      this.acl = Collections.unmodifiableSet(SetUtils.set(acl));
+    }
+
+    public UUID getId() {
+      return id;
+    }
+
+    public FactDocument.AccessMode getAccessMode() {
+      return accessMode;
+    }
+
+    public UUID getOrganizationID() {
+      return organizationID;
+    }
+
+    public Set<UUID> getAcl() {
+      return acl;
+    }
+  }
+}
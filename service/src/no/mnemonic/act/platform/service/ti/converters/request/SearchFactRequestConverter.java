@@ -8,6 +8,7 @@ import no.mnemonic.act.platform.service.ti.resolvers.request.SearchByNameRequest
 import no.mnemonic.commons.utilities.ObjectUtils;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 
 public class SearchFactRequestConverter {
 
@@ -15,12 +16,15 @@ public class SearchFactRequestConverter {
 
   private final SearchByNameRequestResolver byNameResolver;
   private final SecurityContext securityContext;
+  private final boolean indexServed;
 
   @Inject
   public SearchFactRequestConverter(SearchByNameRequestResolver byNameResolver,
-                                    SecurityContext securityContext) {
+                                    SecurityContext securityContext,
+                                    @Named("act.search.facts.index.served") boolean indexServed) {
     this.byNameResolver = byNameResolver;
     this.securityContext = securityContext;
+    this.indexServed = indexServed;
   }
 
   public FactSearchCriteria apply(SearchFactRequest request) throws InvalidArgumentException {
@@ -44,6 +48,7 @@ public class SearchFactRequestConverter {
             .setEndTimestamp(request.getBefore())
             .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
             .setLimit(ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT))
+            .setIndexServed(indexServed)
             .setCurrentUserID(securityContext.getCurrentUserID())
             .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
             .build();
@@ -0,0 +1,93 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
+import no.mnemonic.act.platform.api.model.v1.Subject;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
+import no.mnemonic.act.platform.api.request.v1.CreateFactsRequest;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.service.ti.helpers.FactHelper.withAcl;
+import static no.mnemonic.act.platform.service.ti.helpers.FactHelper.withComment;
+
+public class FactCreateBulkDelegate implements Delegate {
+
+  private final TiSecurityContext securityContext;
+  private final FactCreateDelegate factCreateDelegate;
+  private final FactCreateHandler factCreateHandler;
+
+  @Inject
+  public FactCreateBulkDelegate(TiSecurityContext securityContext,
+                                FactCreateDelegate factCreateDelegate,
+                                FactCreateHandler factCreateHandler) {
+    this.securityContext = securityContext;
+    this.factCreateDelegate = factCreateDelegate;
+    this.factCreateHandler = factCreateHandler;
+  }
+
+  public ResultSet<CreateFactResult> handle(CreateFactsRequest request) throws AuthenticationFailedException {
+    List<CreateFactResult> results = new ArrayList<>();
+    // Keep the position of every requested Fact. Facts which fail validation are replaced by NULL.
+    List<FactRecord> newFacts = new ArrayList<>();
+
+    for (int i = 0; i < request.getFacts().size(); i++) {
+      CreateFactRequest factRequest = request.getFacts().get(i);
+
+      try {
+        // Validate each Fact exactly the same way as when a single Fact is created.
+        FactRecord newFact = factCreateDelegate.resolveNewFact(factRequest);
+        List<UUID> subjectIds = ListUtils.list(factCreateHandler.resolveSubjects(factRequest.getAcl()), Subject::getId);
+        newFact = withAcl(newFact, securityContext.getCurrentUserID(), subjectIds);
+        newFacts.add(withComment(newFact, factRequest.getComment()));
+      } catch (AccessDeniedException ex) {
+        newFacts.add(null);
+        results.add(CreateFactResult.builder()
+                .setIndex(i)
+                .addMessage(new CreateFactResult.Message(ex.getMessage(), "access.denied"))
+                .build());
+      } catch (InvalidArgumentException ex) {
+        newFacts.add(null);
+        results.add(createInvalidResult(i, ex));
+      } catch (RuntimeException ex) {
+        // An unexpected failure for one Fact must not abort the whole request.
+        newFacts.add(null);
+        results.add(CreateFactResult.builder()
+                .setIndex(i)
+                .addMessage(new CreateFactResult.Message(String.format("Could not create Fact: %s", ex.getMessage()), "fact.not.created"))
+                .build());
+      }
+    }
+
+    // Store all valid Facts together.
+    results.addAll(factCreateHandler.saveFacts(newFacts));
+    results.sort(Comparator.comparingInt(CreateFactResult::getIndex));
+
+    return StreamingResultSet.<CreateFactResult>builder()
+            .setCount(results.size())
+            .setLimit(0)
+            .setValues(results)
+            .build();
+  }
+
+  private CreateFactResult createInvalidResult(int index, InvalidArgumentException ex) {
+    CreateFactResult.Builder builder = CreateFactResult.builder().setIndex(index);
+    for (InvalidArgumentException.ValidationError error : ex.getValidationErrors()) {
+      builder.addMessage(new CreateFactResult.Message(error.getMessage(), error.getMessageTemplate(), error.getProperty(), error.getValue()));
+    }
+
+    return builder.build();
+  }
+}
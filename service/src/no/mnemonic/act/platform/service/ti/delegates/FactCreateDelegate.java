@@ -48,6 +48,21 @@ public class FactCreateDelegate implements Delegate {
 
   public Fact handle(CreateFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    FactRecord newFact = resolveNewFact(request);
+    return factCreateHandler.saveFact(newFact, request.getComment(), ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
+  }
+
+  /**
+   * Validate a request and convert it into a new Fact. The returned Fact is not stored yet.
+   *
+   * @param request Request containing new Fact
+   * @return New Fact
+   * @throws AccessDeniedException         Thrown if the current user is not allowed to create the Fact
+   * @throws AuthenticationFailedException Thrown if the current user could not be authenticated
+   * @throws InvalidArgumentException      Thrown if the request contains invalid parameters
+   */
+  FactRecord resolveNewFact(CreateFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     // First resolve some objects which are required later on. This will also validate those request parameters.
     requestedOrigin = factCreateHandler.resolveOrigin(request.getOrigin());
     requestedOrganization = factCreateHandler.resolveOrganization(request.getOrganization(), requestedOrigin);
@@ -60,8 +75,7 @@ public class FactCreateDelegate implements Delegate {
     factCreateHandler.assertValidFactValue(requestedFactType, request.getValue());
     assertValidFactObjectBindings(request);
 
-    FactRecord newFact = toFactRecord(request);
-    return factCreateHandler.saveFact(newFact, request.getComment(), ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
+    return toFactRecord(request);
   }
 
   private void assertValidFactObjectBindings(CreateFactRequest request) throws InvalidArgumentException {
@@ -16,6 +16,7 @@ import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
+import no.mnemonic.act.platform.service.ti.caches.LocalFactRetractionCache;
 import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
 import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
 import no.mnemonic.act.platform.service.ti.resolvers.request.FactRequestResolver;
@@ -38,6 +39,7 @@ public class FactRetractDelegate implements Delegate {
   private final FactRequestResolver factRequestResolver;
   private final FactCreateHandler factCreateHandler;
   private final FactResponseConverter factResponseConverter;
+  private final LocalFactRetractionCache factRetractionCache;
 
   private FactTypeEntity retractionFactType;
   private OriginEntity requestedOrigin;
@@ -50,7 +52,8 @@ public class FactRetractDelegate implements Delegate {
                              FactTypeRequestResolver factTypeRequestResolver,
                              FactRequestResolver factRequestResolver,
                              FactCreateHandler factCreateHandler,
-                             FactResponseConverter factResponseConverter) {
+                             FactResponseConverter factResponseConverter,
+                             LocalFactRetractionCache factRetractionCache) {
     this.securityContext = securityContext;
     this.triggerContext = triggerContext;
     this.objectFactDao = objectFactDao;
@@ -58,6 +61,7 @@ public class FactRetractDelegate implements Delegate {
     this.factRequestResolver = factRequestResolver;
     this.factCreateHandler = factCreateHandler;
     this.factResponseConverter = factResponseConverter;
+    this.factRetractionCache = factRetractionCache;
   }
 
   public Fact handle(RetractFactRequest request)
@@ -78,6 +82,9 @@ public class FactRetractDelegate implements Delegate {
     // Save everything in database.
     FactRecord retractionFact = saveRetractionFact(request, factToRetract);
     factToRetract = objectFactDao.retractFact(factToRetract);
+    // Cached retraction chains of the retracted Fact are outdated now. They are not cached again until the new
+    // Retraction Fact has become searchable, see LocalFactRetractionCache.
+    factRetractionCache.invalidate(factToRetract.getId());
 
     // Register TriggerEvent before returning Retraction Fact.
     Fact retractionFactParameter = factResponseConverter.apply(retractionFact);
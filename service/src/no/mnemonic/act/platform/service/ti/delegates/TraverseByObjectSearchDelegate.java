@@ -65,6 +65,8 @@ public class TraverseByObjectSearchDelegate implements Delegate {
                     .setAfterTimestamp(request.getTraverse().getAfter())
                     .setBeforeTimestamp(request.getTraverse().getBefore())
                     .setLimit(request.getTraverse().getLimit())
+                    // Traversals from large Object searches are only split across multiple threads on request.
+                    .setParallel(request.getParallel())
                     .build());
   }
 }
@@ -0,0 +1,135 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
+import no.mnemonic.act.platform.api.model.v1.ObjectFactPath;
+import no.mnemonic.act.platform.api.request.v1.FindShortestPathRequest;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
+import no.mnemonic.act.platform.service.ti.converters.response.ObjectResponseConverter;
+import no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler;
+import no.mnemonic.act.platform.service.ti.resolvers.ObjectResolver;
+import no.mnemonic.act.platform.service.ti.tinkerpop.ActGraph;
+import no.mnemonic.act.platform.service.ti.tinkerpop.FactEdge;
+import no.mnemonic.act.platform.service.ti.tinkerpop.ObjectVertex;
+import no.mnemonic.act.platform.service.ti.tinkerpop.ShortestPathFinder;
+import no.mnemonic.act.platform.service.ti.tinkerpop.TraverseParams;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.PropertyHelper;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.common.api.ResultSet;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+public class TraverseShortestPathDelegate implements Delegate {
+
+  private static final long SEARCH_TIMEOUT = 120_000;
+  private static final int DEFAULT_MAX_DEPTH = 5;
+  private static final int DEFAULT_LIMIT = 25;
+
+  private final TiSecurityContext securityContext;
+  private final ObjectFactDao objectFactDao;
+  private final ObjectResolver objectResolver;
+  private final ObjectFactTypeResolver objectFactTypeResolver;
+  private final FactRetractionHandler factRetractionHandler;
+  private final PropertyHelper propertyHelper;
+  private final ObjectResponseConverter objectResponseConverter;
+  private final FactResponseConverter factResponseConverter;
+
+  @Inject
+  public TraverseShortestPathDelegate(TiSecurityContext securityContext,
+                                      ObjectFactDao objectFactDao,
+                                      ObjectResolver objectResolver,
+                                      ObjectFactTypeResolver objectFactTypeResolver,
+                                      FactRetractionHandler factRetractionHandler,
+                                      PropertyHelper propertyHelper,
+                                      ObjectResponseConverter objectResponseConverter,
+                                      FactResponseConverter factResponseConverter) {
+    this.securityContext = securityContext;
+    this.objectFactDao = objectFactDao;
+    this.objectResolver = objectResolver;
+    this.objectFactTypeResolver = objectFactTypeResolver;
+    this.factRetractionHandler = factRetractionHandler;
+    this.propertyHelper = propertyHelper;
+    this.objectResponseConverter = objectResponseConverter;
+    this.factResponseConverter = factResponseConverter;
+  }
+
+  public ResultSet<ObjectFactPath> handle(FindShortestPathRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+    securityContext.checkPermission(TiFunctionConstants.traverseThreatIntelFact);
+
+    Set<UUID> sources = resolveObjects(request.getSource());
+    Set<UUID> destinations = resolveObjects(request.getDestination());
+    int limit = ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT);
+
+    ActGraph graph = ActGraph.builder()
+            .setObjectFactDao(objectFactDao)
+            .setObjectTypeFactResolver(objectFactTypeResolver)
+            .setFactRetractionHandler(factRetractionHandler)
+            .setSecurityContext(securityContext)
+            .setPropertyHelper(propertyHelper)
+            .setTraverseParams(TraverseParams.builder()
+                    .setIncludeRetracted(request.getIncludeRetracted())
+                    .setAfterTimestamp(request.getAfter())
+                    .setBeforeTimestamp(request.getBefore())
+                    .build())
+            .build();
+
+    List<List<Element>> paths;
+    try {
+      paths = ShortestPathFinder.find(graph, sources, destinations,
+              ObjectUtils.ifNull(request.getMaxDepth(), DEFAULT_MAX_DEPTH), limit, System.currentTimeMillis() + SEARCH_TIMEOUT);
+    } catch (TimeoutException ex) {
+      throw new OperationTimeoutException("The shortest path search timed out.", "shortest.path.timeout");
+    }
+
+    List<ObjectFactPath> result = new ArrayList<>();
+    for (List<Element> path : paths) {
+      result.add(toPath(path));
+    }
+
+    return StreamingResultSet.<ObjectFactPath>builder()
+            .setCount(result.size())
+            .setLimit(limit)
+            .setValues(result)
+            .build();
+  }
+
+  private Set<UUID> resolveObjects(Set<String> objectIdentifiers)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    List<ObjectRecord> objects = new ArrayList<>();
+    for (String objectIdentifier : objectIdentifiers) {
+      objects.add(objectResolver.resolveObject(objectIdentifier));
+    }
+    // Check access to all Objects at once instead of one search per Object.
+    securityContext.checkReadPermission(objects);
+
+    return SetUtils.set(objects, ObjectRecord::getId);
+  }
+
+  private ObjectFactPath toPath(List<Element> elements) {
+    // Access to the Facts has already been checked while expanding the graph. As with graph traversals, access to
+    // the Objects isn't checked explicitly because it's implied by the Facts connecting them.
+    ObjectFactPath.Builder builder = ObjectFactPath.builder();
+    for (Element element : elements) {
+      if (element instanceof ObjectVertex) {
+        builder.addObject(objectResponseConverter.apply(((ObjectVertex) element).getObjectRecord()));
+      } else if (element instanceof FactEdge) {
+        builder.addFact(factResponseConverter.apply(((FactEdge) element).getFactRecord()));
+      }
+    }
+
+    return builder.build();
+  }
+}
@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.service.ti.handlers;
 import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Organization;
 import no.mnemonic.act.platform.api.model.v1.Subject;
@@ -10,7 +11,10 @@ import no.mnemonic.act.platform.api.request.v1.AccessMode;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
 import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.api.result.StoreFactsContainer;
 import no.mnemonic.act.platform.dao.cassandra.OriginManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.OriginEntity;
@@ -18,17 +22,20 @@ import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
 import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
+import no.mnemonic.act.platform.service.ti.helpers.FactHelper;
 import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.InvalidCredentialsException;
 
 import javax.inject.Inject;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static no.mnemonic.act.platform.service.ti.ThreatIntelligenceServiceImpl.GLOBAL_NAMESPACE;
 import static no.mnemonic.act.platform.service.ti.helpers.FactHelper.withAcl;
@@ -230,10 +237,76 @@ public class FactCreateHandler {
       effectiveFact = objectFactDao.storeFact(effectiveFact);
     }
 
-    // Register TriggerEvent before returning added Fact.
-    Fact addedFact = factResponseConverter.apply(effectiveFact);
-    registerTriggerEvent(addedFact);
-    return addedFact;
+    return toAddedFact(effectiveFact);
+  }
+
+  /**
+   * Saves multiple facts into permanent storage. Works like {@link #saveFact(FactRecord, String, List)} for every fact,
+   * but all new facts are stored together instead of one-by-one. A failure to save one fact does not abort the whole
+   * operation, instead the failure is reported in the result of that fact.
+   * <p>
+   * The ACL entries and comments of the new facts must already be set (see {@link FactHelper}). If a fact exists already,
+   * its new ACL entries and comments will be added to the existing fact. NULL elements are skipped.
+   *
+   * @param facts The facts to save
+   * @return One result per non-NULL fact, identified by the position of the fact in the supplied list
+   */
+  public List<CreateFactResult> saveFacts(List<FactRecord> facts) {
+    List<CreateFactResult> results = new ArrayList<>();
+    Map<Integer, FactRecord> newFacts = new LinkedHashMap<>();
+
+    List<Integer> positions = new ArrayList<>();
+    List<FactRecord> nonNullFacts = new ArrayList<>();
+    for (int i = 0; i < facts.size(); i++) {
+      if (facts.get(i) == null) continue;
+      positions.add(i);
+      nonNullFacts.add(facts.get(i));
+    }
+
+    // Check for existing facts for all facts at once instead of one-by-one.
+    List<FactRecord> existingFacts;
+    try {
+      existingFacts = resolveExistingFacts(nonNullFacts);
+    } catch (RuntimeException ex) {
+      positions.forEach(i -> results.add(createFailedResult(i, ex.getMessage())));
+      return results;
+    }
+
+    // Identical new facts inside the same request are only stored once, keyed by their signature.
+    Map<List<Object>, FactRecord> newFactsBySignature = new LinkedHashMap<>();
+    for (int j = 0; j < nonNullFacts.size(); j++) {
+      int i = positions.get(j);
+      FactRecord fact = nonNullFacts.get(j);
+      FactRecord existingFact = existingFacts.get(j);
+      if (existingFact == null) {
+        // Collect new facts in order to store them together. Duplicates refer to the first identical fact.
+        FactRecord identicalFact = newFactsBySignature.putIfAbsent(createSignature(fact), fact);
+        newFacts.put(i, identicalFact != null ? withAclAndComments(identicalFact, fact) : fact);
+        continue;
+      }
+
+      try {
+        // Transfer the new ACL entries and comments to the existing fact before refreshing it.
+        results.add(createSavedResult(i, objectFactDao.refreshFact(withAclAndComments(existingFact, fact))));
+      } catch (RuntimeException ex) {
+        results.add(createFailedResult(i, ex.getMessage()));
+      }
+    }
+
+    StoreFactsContainer container = objectFactDao.storeFacts(ListUtils.list(newFactsBySignature.values()));
+    for (Map.Entry<Integer, FactRecord> entry : newFacts.entrySet()) {
+      UUID id = entry.getValue().getId();
+      if (container.getStoreFailure(id) != null) {
+        results.add(createFailedResult(entry.getKey(), container.getStoreFailure(id)));
+      } else if (container.getIndexFailure(id) != null) {
+        results.add(createNotIndexedResult(entry.getKey(), container.getIndexFailure(id)));
+      } else {
+        results.add(createSavedResult(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    results.sort(Comparator.comparingInt(CreateFactResult::getIndex));
+    return results;
   }
 
   /**
@@ -252,6 +325,49 @@ public class FactCreateHandler {
     }
   }
 
+  private CreateFactResult createSavedResult(int index, FactRecord fact) {
+    return CreateFactResult.builder()
+            .setIndex(index)
+            .setFact(toAddedFact(fact))
+            .build();
+  }
+
+  private CreateFactResult createFailedResult(int index, String reason) {
+    return CreateFactResult.builder()
+            .setIndex(index)
+            .addMessage(new CreateFactResult.Message(String.format("Could not store Fact: %s", reason), "fact.not.stored"))
+            .build();
+  }
+
+  private CreateFactResult createNotIndexedResult(int index, String reason) {
+    return CreateFactResult.builder()
+            .setIndex(index)
+            .addMessage(new CreateFactResult.Message(String.format("Fact was stored but could not be indexed: %s", reason), "fact.not.indexed"))
+            .build();
+  }
+
+  private FactRecord withAclAndComments(FactRecord target, FactRecord source) {
+    FactRecord fact = withAcl(target, securityContext.getCurrentUserID(), ListUtils.list(source.getAcl(), FactAclEntryRecord::getSubjectID));
+    ListUtils.list(source.getComments()).forEach(fact::addComment);
+    return fact;
+  }
+
+  private List<Object> createSignature(FactRecord fact) {
+    // Same fields as used when searching for logically identical Facts which already exist.
+    return Arrays.asList(fact.getTypeID(), fact.getValue(), fact.getInReferenceToID(), fact.getOrganizationID(),
+            fact.getOriginID(), fact.getAccessMode(), fact.getConfidence(),
+            ObjectUtils.ifNotNull(fact.getSourceObject(), ObjectRecord::getId),
+            ObjectUtils.ifNotNull(fact.getDestinationObject(), ObjectRecord::getId),
+            fact.isBidirectionalBinding());
+  }
+
+  private Fact toAddedFact(FactRecord fact) {
+    // Register TriggerEvent before returning added Fact.
+    Fact addedFact = factResponseConverter.apply(fact);
+    registerTriggerEvent(addedFact);
+    return addedFact;
+  }
+
   private FactRecord resolveExistingFact(FactRecord newFact) {
     // Fetch any Facts which are logically the same as the Fact to create, apply permission check and return existing Fact if accessible.
     return objectFactDao.retrieveExistingFacts(newFact)
@@ -261,6 +377,17 @@ public class FactCreateHandler {
             .orElse(null);
   }
 
+  private List<FactRecord> resolveExistingFacts(List<FactRecord> newFacts) {
+    // Same as resolveExistingFact() but for a batch of facts. Returns NULL for every fact which doesn't exist yet.
+    return objectFactDao.retrieveExistingFacts(newFacts)
+            .stream()
+            .map(existing -> existing.stream()
+                    .filter(securityContext::hasReadPermission)
+                    .findFirst()
+                    .orElse(null))
+            .collect(Collectors.toList());
+  }
+
   private void registerTriggerEvent(Fact addedFact) {
     TiServiceEvent event = TiServiceEvent.forEvent(TiServiceEvent.EventName.FactAdded)
             .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
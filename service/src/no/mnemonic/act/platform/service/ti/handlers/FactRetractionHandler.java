@@ -1,21 +1,20 @@
 package no.mnemonic.act.platform.service.ti.handlers;
 
-import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.service.scopes.ServiceRequestScope;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.caches.LocalFactRetractionCache;
 import no.mnemonic.act.platform.service.ti.resolvers.request.FactTypeRequestResolver;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Handler class computing whether a Fact has been retracted. See {@link #isRetracted(FactRecord)} for the details.
@@ -23,19 +22,25 @@ import java.util.concurrent.ConcurrentHashMap;
 @ServiceRequestScope
 public class FactRetractionHandler {
 
+  // Maximum number of Facts whose retractions are fetched with one search.
+  private static final int MAXIMUM_BATCH_SIZE = 1000;
+
   private final Map<UUID, Boolean> retractionCache = new ConcurrentHashMap<>();
 
   private final FactTypeRequestResolver factTypeRequestResolver;
   private final FactSearchManager factSearchManager;
   private final TiSecurityContext securityContext;
+  private final LocalFactRetractionCache factRetractionCache;
 
   @Inject
   public FactRetractionHandler(FactTypeRequestResolver factTypeRequestResolver,
                                FactSearchManager factSearchManager,
-                               TiSecurityContext securityContext) {
+                               TiSecurityContext securityContext,
+                               LocalFactRetractionCache factRetractionCache) {
     this.factTypeRequestResolver = factTypeRequestResolver;
     this.factSearchManager = factSearchManager;
     this.securityContext = securityContext;
+    this.factRetractionCache = factRetractionCache;
   }
 
   /**
@@ -47,7 +52,10 @@ public class FactRetractionHandler {
    * <p>
    * The result of the above computation is cached per class instance in order to speed up multiple checks for the same
    * Fact. Note that one class instance should not been used across multiple requests from different users because the
-   * computation result depends on whether the user has access to retractions.
+   * computation result depends on whether the user has access to retractions. The retractions referencing a Fact are
+   * additionally cached across requests in {@link LocalFactRetractionCache} together with their access metadata. Which
+   * retractions the user has access to is decided in memory, thus, the computation only requires calls to ElasticSearch
+   * if the retraction chain is not cached yet.
    *
    * @param fact        FactRecord to check
    * @return True if Fact has been retracted
@@ -55,41 +63,132 @@ public class FactRetractionHandler {
   public boolean isRetracted(FactRecord fact) {
     if (fact == null) return false;
 
-    boolean retractedHint = SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint);
+    return resolveRetractions(ListUtils.list(fact)).get(fact.getId());
+  }
+
+  /**
+   * Check for multiple Facts at once whether they have been retracted (from the current user's point of view). See
+   * {@link #isRetracted(FactRecord)} for the details.
+   * <p>
+   * Instead of fetching the retractions of every Fact one-by-one, the retractions of all Facts are fetched with one
+   * search, and the retractions of those retractions with one search per level of recursion. The results are cached,
+   * thus, calling this method for a batch of Facts before calling {@link #isRetracted(FactRecord)} for the individual
+   * Facts avoids one search per Fact.
+   *
+   * @param facts FactRecords to check
+   * @return Retraction status keyed by Fact ID
+   */
+  public Map<UUID, Boolean> resolveRetractions(Collection<FactRecord> facts) {
+    Set<UUID> unresolved = new HashSet<>();
+    for (FactRecord fact : ListUtils.list(facts)) {
+      if (fact == null) continue;
+
+      // If it's known that the Fact has never been retracted store this information immediately.
+      // This will save a lot of calls to ElasticSearch!
+      if (!SetUtils.set(fact.getFlags()).contains(FactRecord.Flag.RetractedHint)) {
+        retractionCache.put(fact.getId(), false);
+      }
 
-    // If it's known that the Fact has never been retracted store this information immediately.
-    // This will save a lot of calls to ElasticSearch!
-    if (!retractedHint) {
-      retractionCache.put(fact.getId(), false);
+      // If the Fact has been retracted by some user compute if the Fact is retracted from the current user's point of view.
+      if (!retractionCache.containsKey(fact.getId())) {
+        unresolved.add(fact.getId());
+      }
     }
 
-    // If no hint is provided or the Fact has been retracted by some user
-    // compute if the Fact is retracted from the current user's point of view.
-    return retractionCache.computeIfAbsent(fact.getId(), this::computeRetraction);
+    computeRetractions(unresolved);
+
+    Map<UUID, Boolean> result = new HashMap<>();
+    for (FactRecord fact : ListUtils.list(facts)) {
+      if (fact == null) continue;
+      result.put(fact.getId(), retractionCache.get(fact.getId()));
+    }
+
+    return result;
   }
 
-  private boolean computeRetraction(UUID factID) {
-    List<FactDocument> retractions = fetchRetractions(factID);
-    if (CollectionUtils.isEmpty(retractions)) {
-      // No accessible retractions, thus, the Fact isn't retracted.
-      return false;
+  private void computeRetractions(Set<UUID> factIDs) {
+    // Facts might have been resolved previously, e.g. as part of a retraction tree already computed.
+    Set<UUID> unresolved = SetUtils.set(factIDs.stream().filter(id -> !retractionCache.containsKey(id)).iterator());
+    if (CollectionUtils.isEmpty(unresolved)) return;
+
+    Map<UUID, List<UUID>> retractions = fetchRetractions(unresolved);
+    // Resolve the next level of retractions for all Facts at once.
+    computeRetractions(SetUtils.set(retractions.values().stream().flatMap(List::stream).iterator()));
+
+    for (UUID factID : unresolved) {
+      List<UUID> factRetractions = retractions.getOrDefault(factID, Collections.emptyList());
+      // No accessible retractions means that the Fact isn't retracted. Otherwise, the Fact is only retracted if not
+      // all of the retractions themselves are retracted.
+      retractionCache.put(factID, !factRetractions.isEmpty() && !factRetractions.stream().allMatch(retractionCache::get));
     }
+  }
+
+  private Map<UUID, List<UUID>> fetchRetractions(Set<UUID> factIDs) {
+    Map<UUID, List<UUID>> retractions = new HashMap<>();
+    List<UUID> uncached = new ArrayList<>();
 
-    // The Fact is only retracted if not all of the retractions themselves are retracted.
-    return !retractions.stream().allMatch(fact -> computeRetraction(fact.getId()));
+    // The structure of retraction chains is shared between requests of all users.
+    for (UUID factID : factIDs) {
+      List<LocalFactRetractionCache.Retraction> cached = factRetractionCache.getRetractions(factID);
+      if (cached != null) {
+        retractions.put(factID, filterAccessible(cached));
+      } else {
+        uncached.add(factID);
+      }
+    }
+
+    for (int from = 0; from < uncached.size(); from += MAXIMUM_BATCH_SIZE) {
+      List<UUID> batch = uncached.subList(from, Math.min(from + MAXIMUM_BATCH_SIZE, uncached.size()));
+      long searchTimestamp = System.currentTimeMillis();
+      Map<UUID, List<LocalFactRetractionCache.Retraction>> fetched = searchRetractions(batch);
+
+      for (UUID factID : batch) {
+        List<LocalFactRetractionCache.Retraction> factRetractions = fetched.getOrDefault(factID, Collections.emptyList());
+        // Also cache that a Fact doesn't have any retractions.
+        factRetractionCache.putRetractions(factID, factRetractions, searchTimestamp);
+        retractions.put(factID, filterAccessible(factRetractions));
+      }
+    }
+
+    return retractions;
+  }
+
+  private Map<UUID, List<LocalFactRetractionCache.Retraction>> searchRetractions(List<UUID> factIDs) {
+    // Fetch all Retraction Facts for a batch of Facts independent of the current user such that they can be shared
+    // between users. Access control is applied afterwards based on the access metadata of the Retraction Facts.
+    UUID retractionFactTypeID = factTypeRequestResolver.resolveRetractionFactType().getId();
+
+    Map<UUID, List<LocalFactRetractionCache.Retraction>> retractions = new HashMap<>();
+    // The number of retractions will be very small (typically one per Fact), thus, it's no problem to consume all results at once.
+    for (FactDocument retraction : ListUtils.list(factSearchManager.searchRetractions(SetUtils.set(factIDs), retractionFactTypeID))) {
+      if (retraction.getInReferenceTo() == null) continue;
+      retractions.computeIfAbsent(retraction.getInReferenceTo(), ignored -> new ArrayList<>())
+              .add(new LocalFactRetractionCache.Retraction(retraction.getId(), retraction.getAccessMode(),
+                      retraction.getOrganizationID(), retraction.getAcl()));
+    }
+
+    return retractions;
   }
 
-  private List<FactDocument> fetchRetractions(UUID factID) {
-    // Create criteria to fetch all Retraction Facts for a given Fact. Only return retractions which a user has access
-    // to. No access to retractions means that from the user's perspective the referenced Fact isn't retracted.
-    FactSearchCriteria retractionsCriteria = FactSearchCriteria.builder()
-            .addInReferenceTo(factID)
-            .addFactTypeID(factTypeRequestResolver.resolveRetractionFactType().getId())
-            .setCurrentUserID(securityContext.getCurrentUserID())
-            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
-            .build();
-
-    // The number of retractions will be very small (typically one), thus, it's no problem to consume all results at once.
-    return ListUtils.list(factSearchManager.searchFacts(retractionsCriteria));
+  private List<UUID> filterAccessible(List<LocalFactRetractionCache.Retraction> retractions) {
+    // No access to retractions means that from the user's perspective the referenced Fact isn't retracted.
+    return retractions.stream()
+            .filter(this::hasAccess)
+            .map(LocalFactRetractionCache.Retraction::getId)
+            .collect(Collectors.toList());
+  }
+
+  private boolean hasAccess(LocalFactRetractionCache.Retraction retraction) {
+    // Same rules as applied by ElasticSearch when searching for Facts.
+    FactDocument.AccessMode accessMode = retraction.getAccessMode();
+    if (accessMode == FactDocument.AccessMode.Public) return true;
+    if (accessMode == FactDocument.AccessMode.RoleBased &&
+            SetUtils.set(securityContext.getAvailableOrganizationID()).contains(retraction.getOrganizationID())) {
+      return true;
+    }
+
+    // Facts with RoleBased or Explicit access mode are also accessible if the user is in the ACL.
+    return (accessMode == FactDocument.AccessMode.RoleBased || accessMode == FactDocument.AccessMode.Explicit) &&
+            retraction.getAcl().contains(securityContext.getCurrentUserID());
   }
 }
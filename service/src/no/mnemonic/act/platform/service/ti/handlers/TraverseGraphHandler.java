@@ -8,19 +8,23 @@ import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
 import no.mnemonic.act.platform.service.ti.converters.response.ObjectResponseConverter;
-import no.mnemonic.act.platform.service.ti.helpers.GremlinSandboxExtension;
+import no.mnemonic.act.platform.service.ti.helpers.GremlinExecutorProvider;
+import no.mnemonic.act.platform.service.ti.helpers.ParallelTraversalExecutor;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalResultStream;
 import no.mnemonic.act.platform.service.ti.tinkerpop.utils.PropertyHelper;
 import no.mnemonic.act.platform.service.ti.tinkerpop.ActGraph;
 import no.mnemonic.act.platform.service.ti.tinkerpop.FactEdge;
+import no.mnemonic.act.platform.service.ti.tinkerpop.LimitStrategy;
 import no.mnemonic.act.platform.service.ti.tinkerpop.ObjectVertex;
+import no.mnemonic.act.platform.service.ti.tinkerpop.TraversalSplitter;
 import no.mnemonic.act.platform.service.ti.tinkerpop.TraverseParams;
 import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
 import no.mnemonic.services.common.api.ResultSet;
-import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
-import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -28,17 +32,22 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import javax.inject.Inject;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 
 public class TraverseGraphHandler {
 
-  private static final String SCRIPT_ENGINE = "gremlin-groovy";
   private static final long SCRIPT_EXECUTION_TIMEOUT = 120_000;
+  // Maximum number of results held in memory between an unlimited traversal and the consumer of the results.
+  private static final int RESULT_BUFFER_SIZE = 1000;
+  // Traversals executed in parallel are not split into shards with fewer starting Objects.
+  private static final int MINIMUM_SHARD_SIZE = 50;
 
   private final TiSecurityContext securityContext;
   private final ObjectFactDao objectFactDao;
@@ -47,8 +56,11 @@ public class TraverseGraphHandler {
   private final ObjectResponseConverter objectResponseConverter;
   private final FactResponseConverter factResponseConverter;
   private final PropertyHelper propertyHelper;
+  private final GremlinExecutorProvider gremlinExecutorProvider;
+  private final ParallelTraversalExecutor parallelTraversalExecutor;
 
   private long scriptExecutionTimeout = SCRIPT_EXECUTION_TIMEOUT;
+  private int resultBufferSize = RESULT_BUFFER_SIZE;
 
   @Inject
   public TraverseGraphHandler(TiSecurityContext securityContext,
@@ -57,7 +69,9 @@ public class TraverseGraphHandler {
                               ObjectResponseConverter objectResponseConverter,
                               FactResponseConverter factResponseConverter,
                               FactRetractionHandler factRetractionHandler,
-                              PropertyHelper propertyHelper) {
+                              PropertyHelper propertyHelper,
+                              GremlinExecutorProvider gremlinExecutorProvider,
+                              ParallelTraversalExecutor parallelTraversalExecutor) {
     this.securityContext = securityContext;
     this.objectFactDao = objectFactDao;
     this.objectFactTypeResolver = objectFactTypeResolver;
@@ -65,11 +79,28 @@ public class TraverseGraphHandler {
     this.factResponseConverter = factResponseConverter;
     this.factRetractionHandler = factRetractionHandler;
     this.propertyHelper = propertyHelper;
+    this.gremlinExecutorProvider = gremlinExecutorProvider;
+    this.parallelTraversalExecutor = parallelTraversalExecutor;
   }
 
   /**
    * Traverse a graph by running the query starting at the provided startingObjects.
    * <p>
+   * If a limit is specified in the traverseParams the result buffer holds the whole limited result. This method then
+   * blocks until the traversal has finished, thus, the returned {@link ResultSet} contains the exact count and all
+   * errors are thrown from this method.
+   * <p>
+   * Results of unlimited traversals are streamed to the caller once the result buffer is full. The traversal blocks
+   * until the caller has consumed buffered results and is aborted after the script execution timeout if the caller
+   * stops consuming them. In this case the total number of results isn't known when this method returns, thus, the
+   * count is set to the number of results produced so far. An error occurring after this method has returned aborts
+   * the iteration of the results with an {@link IllegalStateException} which is caused by the same
+   * {@link OperationTimeoutException} or {@link InvalidArgumentException} this method would have thrown.
+   * <p>
+   * If parallel execution is enabled in the traverseParams and the query returns a traversal starting at many Objects
+   * which can be split (see {@link TraversalSplitter}), the traversal is split into shards which are executed
+   * concurrently. In this case the results don't contain duplicates and are returned in no particular order.
+   * <p>
    * NB! This methods assumes that the caller has verified the following:
    * - that the objects exist
    * - that the user has access to all objects.
@@ -90,7 +121,7 @@ public class TraverseGraphHandler {
     }
 
     // Execute traversal and process results.
-    Collection<Object> result = executeTraversal(startingObjects, query, traverseParams);
+    TraversalResultStream<Object> result = executeTraversal(startingObjects, query, traverseParams);
 
     return StreamingResultSet.builder()
             .setCount(result.size())
@@ -103,35 +134,53 @@ public class TraverseGraphHandler {
     return this;
   }
 
-  private Collection<Object> executeTraversal(Collection<UUID> startingObjects,
-                                              String query,
-                                              TraverseParams traverseParams)
+  TraverseGraphHandler setResultBufferSize(int resultBufferSize) {
+    this.resultBufferSize = resultBufferSize;
+    return this;
+  }
+
+  private TraversalResultStream<Object> executeTraversal(Collection<UUID> startingObjects,
+                                                         String query,
+                                                         TraverseParams traverseParams)
           throws InvalidArgumentException, OperationTimeoutException {
 
-    // The result will be written into this collection.
-    Collection<Object> traversalResult = new ArrayList<>();
+    // The result will be handed over to the caller through this stream. Make room for the whole result of a limited
+    // traversal such that it always finishes before the result is returned.
+    int bufferSize = traverseParams.getLimit() > 0 ? traverseParams.getLimit() + 1 : resultBufferSize;
+    TraversalResultStream<Object> traversalResult = new TraversalResultStream<>(bufferSize, scriptExecutionTimeout);
 
-    try (Graph graph = createGraph(traverseParams); GremlinExecutor executor = createExecutor()) {
+    try {
+      Graph graph = createGraph(traverseParams);
       // Create the first step of the graph traversal, i.e. starting the traversal at the Object(s) specified in the request.
       // This is injected into the script execution as variable 'g'. Every query has to start from 'g'.
       GraphTraversal<Vertex, Vertex> startingPoint = graph.traversal().V(startingObjects.toArray());
       Map<String, Object> bindings = MapUtils.map(T("g", startingPoint));
-      // Start script execution and wait until result arrived or execution is aborted.
+      // Start script execution and wait until either the execution has finished or the first results can be streamed.
       // Use 'withResult' callback here because the graph will then be iterated inside the 'eval' thread, thus, every
       // exception caused by the traversal will be handled inside that thread as well which will result in an ExecutionException.
-      executor.eval(query, SCRIPT_ENGINE, bindings, createResultConsumer(traversalResult, traverseParams)).get();
+      // The executor is shared between traversals, thus, repeated queries will be served from its compiled script cache.
+      CompletableFuture<Object> execution = gremlinExecutorProvider.get(scriptExecutionTimeout)
+              .eval(query, GremlinExecutorProvider.SCRIPT_ENGINE, bindings, createResultConsumer(traversalResult, startingObjects.size(), traverseParams));
+      execution.whenComplete((ignored, ex) -> {
+        LambdaUtils.tryTo(graph::close);
+        if (ex != null) {
+          // Report a failure after streaming has started in the same way as if it had been thrown from traverse().
+          traversalResult.fail(toServiceException(ex instanceof CompletionException ? ObjectUtils.ifNull(ex.getCause(), ex) : ex, query));
+        } else {
+          traversalResult.complete();
+        }
+      });
+
+      traversalResult.ready().get();
+      if (execution.isDone()) {
+        // The traversal has already finished, thus, report any failure directly.
+        execution.get();
+      }
     } catch (ExecutionException ex) {
       // Exceptions causing the script execution to fail are wrapped inside an ExecutionException. Need to unwrap them.
-      Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
-      // A TimeoutException will be thrown when either the GremlinExecutor or the Groovy sandbox abort the script execution.
-      // In both cases throw an own OperationTimeoutException in order to signal the timeout to the user.
-      if (cause instanceof TimeoutException) {
-        throw new OperationTimeoutException("The performed graph traversal query timed out.", "graph.traversal.timeout");
-      }
-      // In all other cases throw an InvalidArgumentException because the failure is most likely caused by a wrong query,
-      // e.g. invalid syntax, an unsupported operation such as 'addE()', or an operation not allowed by the sandbox.
-      throw new InvalidArgumentException()
-              .addValidationError(cause.getMessage(), "graph.traversal.failure", "query", query);
+      Exception cause = toServiceException(ObjectUtils.ifNull(ex.getCause(), ex), query);
+      if (cause instanceof OperationTimeoutException) throw (OperationTimeoutException) cause;
+      throw (InvalidArgumentException) cause;
     } catch (Exception ex) {
       // Something bad happened, abort method.
       throw new IllegalStateException("Could not perform graph traversal.", ex);
@@ -141,28 +190,113 @@ public class TraverseGraphHandler {
   }
 
   /**
-   * Create a function to process the graph traversal result. The result will be written into the
-   * traversalResult collection provided as a parameter
+   * Map a failure of the script execution to the exception reported to the user.
    *
-   * @param traversalResult Write the result set into the traversalResult collection
+   * @return Either an {@link OperationTimeoutException} or an {@link InvalidArgumentException}
+   */
+  private Exception toServiceException(Throwable cause, String query) {
+    // A TimeoutException will be thrown when either the GremlinExecutor or the Groovy sandbox abort the script execution.
+    // In both cases throw an own OperationTimeoutException in order to signal the timeout to the user.
+    if (cause instanceof TimeoutException) {
+      return new OperationTimeoutException("The performed graph traversal query timed out.", "graph.traversal.timeout");
+    }
+    // In all other cases throw an InvalidArgumentException because the failure is most likely caused by a wrong query,
+    // e.g. invalid syntax, an unsupported operation such as 'addE()', or an operation not allowed by the sandbox.
+    return new InvalidArgumentException()
+            .addValidationError(cause.getMessage(), "graph.traversal.failure", "query", query);
+  }
+
+  /**
+   * Create a function to process the graph traversal result. The result will be handed over to the
+   * traversalResult stream provided as a parameter
+   *
+   * @param traversalResult Write the result set into the traversalResult stream
+   * @param startingObjects Number of Objects the traversal starts at
    * @return A function that will process the result from the graph traversal.
    */
-  private Consumer<Object> createResultConsumer(Collection<Object> traversalResult, TraverseParams traverseParams) {
+  private Consumer<Object> createResultConsumer(TraversalResultStream<Object> traversalResult, int startingObjects, TraverseParams traverseParams) {
     return (Object result) -> {
+      if (result instanceof Traversal) {
+        Traversal.Admin<?, ?> traversal = ((Traversal<?, ?>) result).asAdmin();
+        if (traverseParams.isParallel() && traverseParams.getLimit() > 0 &&
+                traverseInParallel(traversal, traversalResult, startingObjects, traverseParams)) {
+          return;
+        }
+
+        // The query returned the traversal itself, thus, push the limit down into the traversal. This way the
+        // traversal won't expand more of the graph than required to produce the limited result.
+        LimitStrategy.applyTo(traversal, traverseParams.getLimit());
+      }
+
       // Iterate result and convert values if necessary. This will perform the actual graph traversal.
       Iterator<?> iterator = IteratorUtils.asIterator(result);
 
-      Stream<Object> objectStream = IteratorUtils.stream(iterator)
-              .map(this::tinkerpopToApi)
-              .filter(Objects::nonNull);
-
-      if (traverseParams.getLimit() > 0) {
-        objectStream = objectStream.limit(traverseParams.getLimit());
+      int count = 0;
+      // Stop pulling from the traversal as soon as the limit has been reached.
+      while ((traverseParams.getLimit() <= 0 || count < traverseParams.getLimit()) && iterator.hasNext()) {
+        if (handOver(traversalResult, iterator.next())) count++;
       }
-      objectStream.forEach(traversalResult::add);
     };
   }
 
+  /**
+   * Try to split the traversal into shards and execute them in parallel. The graph of each shard is closed afterwards.
+   *
+   * @return True if the traversal has been executed in parallel, false if it cannot be split
+   */
+  private boolean traverseInParallel(Traversal.Admin<?, ?> traversal,
+                                     TraversalResultStream<Object> traversalResult,
+                                     int startingObjects,
+                                     TraverseParams traverseParams) {
+    // Use all threads, but don't create shards which are too small to be worth the overhead.
+    int shardSize = Math.max(MINIMUM_SHARD_SIZE, (startingObjects + parallelTraversalExecutor.getParallelism() - 1) / parallelTraversalExecutor.getParallelism());
+    List<Graph> graphs = new ArrayList<>();
+    try {
+      List<Traversal.Admin<?, ?>> shards = TraversalSplitter.split(traversal, shardSize, () -> {
+        Graph graph = createGraph(traverseParams);
+        graphs.add(graph);
+        return graph;
+      });
+      if (shards.isEmpty()) return false;
+
+      // The shards aren't limited themselves, otherwise duplicates would count towards the limit of each shard.
+      // Instead, the executor stops all shards once the merged results have reached the limit.
+      int limit = TraversalSplitter.resolveLimit(traversal, traverseParams.getLimit());
+      parallelTraversalExecutor.execute(shards, limit, value -> handOver(traversalResult, value));
+      return true;
+    } catch (InterruptedException ex) {
+      // Happens when the traversal times out, the GremlinExecutor will report the timeout.
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for graph traversal results.", ex);
+    } finally {
+      graphs.forEach(graph -> LambdaUtils.tryTo(graph::close));
+    }
+  }
+
+  /**
+   * Convert one result of the graph traversal and hand it over to the traversalResult stream.
+   *
+   * @return True if the result has been handed over, false if it has been skipped
+   */
+  private boolean handOver(TraversalResultStream<Object> traversalResult, Object result) {
+    // Stop the traversal early if the consumer has abandoned the results.
+    if (traversalResult.isCancelled()) {
+      throw new CancellationException("Consumer has abandoned the graph traversal results.");
+    }
+
+    Object value = tinkerpopToApi(result);
+    if (value == null) return false;
+
+    try {
+      // Blocks until the consumer has caught up, but gives up if the consumer doesn't read within the script execution timeout.
+      traversalResult.put(value);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while handing over graph traversal results.", ex);
+    }
+  }
+
   /**
    * Maps from Tinkerpop objects to the API model
    *
@@ -202,20 +336,4 @@ public class TraverseGraphHandler {
             .setPropertyHelper(propertyHelper)
             .build();
   }
-
-  private GremlinExecutor createExecutor() {
-    Map<String, Object> groovyCompilerConfig = MapUtils.map(
-            // Protect against scripts going haywire (endless loops, etc.).
-            T("timedInterrupt", scriptExecutionTimeout),
-            // Statically compile scripts before execution (needed for sandbox).
-            T("compilation", GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC),
-            // Execute scripts inside a sandbox (i.e. only allow whitelisted methods).
-            T("extensions", GremlinSandboxExtension.class.getName())
-    );
-
-    return GremlinExecutor.build()
-            .evaluationTimeout(scriptExecutionTimeout)
-            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
-            .create();
-  }
 }
@@ -0,0 +1,107 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+
+/**
+ * Provides {@link GremlinExecutor}s which are shared across all graph traversals on one local node. Creating an executor
+ * is expensive because it sets up a new Groovy script engine which needs to statically compile every script again.
+ * A shared executor keeps compiled scripts in an LRU cache keyed by the script text, thus, repeated queries don't need
+ * to be compiled again. Bindings are passed to the executor per evaluation and are not shared between traversals.
+ * <p>
+ * One executor is created per script execution timeout, because the timeout is applied when a script is compiled.
+ * All executors evaluate scripts on one shared thread pool whose size is configurable, i.e. the number of graph
+ * traversals which can run concurrently on one node is bounded by the number of threads.
+ */
+@Singleton
+public class GremlinExecutorProvider implements LifecycleAspect {
+
+  public static final String SCRIPT_ENGINE = "gremlin-groovy";
+
+  private static final Logger LOGGER = Logging.getLogger(GremlinExecutorProvider.class);
+  private static final int COMPILED_SCRIPT_CACHE_SIZE = 1000;
+
+  private final Map<Long, GremlinExecutor> executors = new ConcurrentHashMap<>();
+  private final int threads;
+  private ScheduledExecutorService executorService;
+
+  @Inject
+  public GremlinExecutorProvider(@Named("act.traverse.executor.threads") int threads) {
+    if (threads <= 0) throw new IllegalArgumentException("Number of threads for graph traversals must be positive.");
+    this.threads = threads;
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP, executors are created lazily.
+  }
+
+  @Override
+  public void stopComponent() {
+    for (GremlinExecutor executor : executors.values()) {
+      LambdaUtils.tryTo(executor::close, ex -> LOGGER.warning(ex, "Error while closing GremlinExecutor."));
+    }
+    executors.clear();
+    shutdownExecutorService();
+  }
+
+  /**
+   * Return the shared {@link GremlinExecutor} for the given script execution timeout. The executor is created on first use.
+   *
+   * @param scriptExecutionTimeout Timeout (in milliseconds) after which a script execution is aborted
+   * @return Shared executor
+   */
+  public GremlinExecutor get(long scriptExecutionTimeout) {
+    return executors.computeIfAbsent(scriptExecutionTimeout, this::createExecutor);
+  }
+
+  private GremlinExecutor createExecutor(long scriptExecutionTimeout) {
+    Map<String, Object> groovyCompilerConfig = MapUtils.map(
+            // Protect against scripts going haywire (endless loops, etc.).
+            T("timedInterrupt", scriptExecutionTimeout),
+            // Statically compile scripts before execution (needed for sandbox).
+            T("compilation", GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC),
+            // Execute scripts inside a sandbox (i.e. only allow whitelisted methods).
+            T("extensions", GremlinSandboxExtension.class.getName()),
+            // Keep the most recently used compiled scripts in order to avoid compiling repeated queries again.
+            T("classMapCacheSpecification", String.format("maximumSize=%d", COMPILED_SCRIPT_CACHE_SIZE))
+    );
+
+    // The executors don't shut down a supplied thread pool when closed, this is done in stopComponent().
+    ScheduledExecutorService pool = getExecutorService();
+    return GremlinExecutor.build()
+            .evaluationTimeout(scriptExecutionTimeout)
+            .executorService(pool)
+            .scheduledExecutorService(pool)
+            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
+            .create();
+  }
+
+  private synchronized ScheduledExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = Executors.newScheduledThreadPool(threads);
+    }
+    return executorService;
+  }
+
+  private synchronized void shutdownExecutorService() {
+    if (executorService == null) return;
+    executorService.shutdown();
+    executorService = null;
+  }
+}
@@ -0,0 +1,144 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.commons.component.LifecycleAspect;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Iterates the shards of a graph traversal concurrently and merges their results. The shards are executed on a thread
+ * pool which is shared between all graph traversals on one local node and which is bounded by the number of available
+ * processors. Shards which cannot be started immediately are queued until a thread becomes available.
+ * <p>
+ * The shards are not limited individually because duplicated or skipped results must not count towards the limit.
+ * Instead, the shards hand over their results through a bounded queue and block until the merged results have been
+ * consumed. As soon as the limit has been reached all remaining shards are cancelled.
+ */
+@Singleton
+public class ParallelTraversalExecutor implements LifecycleAspect {
+
+  private static final Object END_OF_SHARD = new Object();
+  // Maximum number of results held in memory between the shards and the merging thread.
+  private static final int QUEUE_SIZE = 1000;
+
+  private final int parallelism = Runtime.getRuntime().availableProcessors();
+  private final ExecutorService executor = createExecutor(parallelism);
+
+  @Override
+  public void startComponent() {
+    // NOOP, threads are started lazily.
+  }
+
+  @Override
+  public void stopComponent() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Returns the maximum number of shards which are iterated concurrently.
+   *
+   * @return Number of threads
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Iterate the shards of a traversal concurrently and hand over the merged results to a handler. Results which have
+   * already been handed over are skipped, i.e. the merged results don't contain duplicates. This method blocks until
+   * either all shards are exhausted or the handler has accepted the limited number of results.
+   * <p>
+   * A failure of any shard is re-thrown from this method. If the calling thread is interrupted, e.g. because the
+   * traversal timed out, all shards are cancelled and an {@link InterruptedException} is thrown.
+   *
+   * @param shards  Shards of the traversal (each shard must be bound to its own graph)
+   * @param limit   Maximum number of accepted results (must be positive)
+   * @param handler Receives the merged results in the calling thread, returns true if the result has been accepted
+   * @throws InterruptedException If interrupted while waiting for results
+   */
+  public void execute(List<Traversal.Admin<?, ?>> shards, int limit, Predicate<Object> handler) throws InterruptedException {
+    if (limit <= 0) throw new IllegalArgumentException("Parallel traversal requires a positive limit.");
+
+    BlockingQueue<Object> results = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    AtomicBoolean stopped = new AtomicBoolean();
+    List<Future<?>> executions = new ArrayList<>();
+    for (Traversal.Admin<?, ?> shard : shards) {
+      executions.add(executor.submit(() -> iterate(shard, results, stopped)));
+    }
+
+    Set<Object> seen = new HashSet<>();
+    int finished = 0;
+    int accepted = 0;
+    try {
+      while (finished < shards.size() && accepted < limit) {
+        Object result = results.take();
+        if (result == END_OF_SHARD) {
+          finished++;
+        } else if (result instanceof ShardFailure) {
+          throw ((ShardFailure) result).unwrap();
+        } else if (seen.add(result) && handler.test(result)) {
+          accepted++;
+        }
+      }
+    } finally {
+      // Either everything has been consumed or the remaining results aren't needed any longer.
+      stopped.set(true);
+      executions.forEach(execution -> execution.cancel(true));
+    }
+  }
+
+  private void iterate(Traversal.Admin<?, ?> shard, BlockingQueue<Object> results, AtomicBoolean stopped) {
+    try {
+      while (!stopped.get() && shard.hasNext()) {
+        results.put(shard.next());
+      }
+    } catch (InterruptedException ex) {
+      // The shard has been cancelled, nothing to report.
+      Thread.currentThread().interrupt();
+    } catch (Throwable ex) {
+      // Don't report failures caused by cancelling the shard.
+      if (!stopped.get()) handOver(results, new ShardFailure(ex));
+    } finally {
+      handOver(results, END_OF_SHARD);
+    }
+  }
+
+  private static void handOver(BlockingQueue<Object> results, Object result) {
+    try {
+      results.put(result);
+    } catch (InterruptedException ex) {
+      // Only happens when the shard has been cancelled, i.e. the merging thread doesn't wait for the result any longer.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ExecutorService createExecutor(int threads) {
+    AtomicInteger counter = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable, "traversal-shard-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Release idle threads when no traversals are executed.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static class ShardFailure {
+    private final Throwable cause;
+
+    private ShardFailure(Throwable cause) {
+      this.cause = cause;
+    }
+
+    private RuntimeException unwrap() {
+      if (cause instanceof Error) throw (Error) cause;
+      return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off of graph traversal results between the thread executing the traversal (producer) and the thread
+ * consuming the results (consumer), e.g. while serializing a response in the REST layer. The producer blocks when the
+ * buffer is full, thus, at most a fixed number of results are held in memory at once and results are consumed as they
+ * are produced. The consumer reads the results by iterating this stream.
+ * <p>
+ * If the consumer abandons the stream, either explicitly by calling {@link #cancel()} or implicitly by not reading
+ * any results within the hand-over timeout, the stream is cancelled and the producer is released with a
+ * {@link CancellationException} instead of blocking forever.
+ *
+ * @param <T> Type of results
+ */
+public class TraversalResultStream<T> implements Iterator<T> {
+
+  private static final Object END_OF_STREAM = new Object();
+  private static final long POLL_INTERVAL = 100;
+
+  private final BlockingQueue<Object> buffer;
+  private final long handOverTimeout;
+  private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+  private volatile boolean finished;
+  private volatile boolean cancelled;
+  private volatile Throwable failure;
+  private Object next;
+
+  /**
+   * Construct a new instance.
+   *
+   * @param capacity        Maximum number of buffered results
+   * @param handOverTimeout Maximum time (in ms) the producer waits for the consumer to make room in the buffer
+   */
+  public TraversalResultStream(int capacity, long handOverTimeout) {
+    // Don't allocate the whole capacity upfront, a limited traversal often produces fewer results.
+    this.buffer = new LinkedBlockingQueue<>(capacity);
+    this.handOverTimeout = handOverTimeout;
+  }
+
+  /**
+   * Hand over one result to the consumer. Blocks while the buffer is full, but at most for the hand-over timeout.
+   *
+   * @param result Produced result
+   * @throws InterruptedException  If interrupted while waiting for the consumer
+   * @throws CancellationException If the stream has been cancelled or the consumer did not catch up in time
+   */
+  public void put(T result) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + handOverTimeout;
+    while (cancelled || !buffer.offer(result, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+      if (cancelled) {
+        throw new CancellationException("Consumer has abandoned the graph traversal results.");
+      }
+      if (System.currentTimeMillis() >= deadline) {
+        // Assume that the consumer has gone away and release the producer.
+        cancel();
+        throw new CancellationException("Consumer did not read graph traversal results within the hand-over timeout.");
+      }
+    }
+    if (buffer.remainingCapacity() == 0) {
+      // Signal that the consumer should start reading, otherwise the producer can't continue.
+      ready.complete(null);
+    }
+  }
+
+  /**
+   * Signal that the producer has successfully handed over all results.
+   */
+  public void complete() {
+    finish(null);
+  }
+
+  /**
+   * Signal that the producer has failed. The failure is re-thrown to the consumer after all buffered results have been read.
+   *
+   * @param cause Cause of the failure
+   */
+  public void fail(Throwable cause) {
+    finish(cause);
+  }
+
+  /**
+   * Signal that the consumer has abandoned the stream. A producer waiting to hand over results is released.
+   */
+  public void cancel() {
+    cancelled = true;
+    ready.complete(null);
+  }
+
+  /**
+   * Returns true if the stream has been cancelled, i.e. the producer should stop producing results.
+   *
+   * @return True if the stream has been cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Returns a future which completes as soon as either the buffer is full or the producer has finished. After that,
+   * waiting for more results requires that the consumer reads from the stream.
+   *
+   * @return Future signalling that the stream is ready to be consumed
+   */
+  public CompletableFuture<Void> ready() {
+    return ready;
+  }
+
+  /**
+   * Returns true if the producer has finished, i.e. no more results will be added to the stream.
+   *
+   * @return True if the producer has finished
+   */
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Returns the number of results currently buffered. Once the producer has finished and before any result has been
+   * consumed, this is the total number of results.
+   *
+   * @return Number of buffered results
+   */
+  public int size() {
+    return buffer.contains(END_OF_STREAM) ? buffer.size() - 1 : buffer.size();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (cancelled) return false;
+
+    while (next == null) {
+      Object value = poll();
+      if (value == END_OF_STREAM || (value == null && finished && buffer.isEmpty())) {
+        // Put the marker back in order to make hasNext() idempotent after the end of the stream has been reached.
+        buffer.offer(END_OF_STREAM);
+        if (failure != null) throw new IllegalStateException("Graph traversal failed while streaming results.", failure);
+        return false;
+      }
+      next = value;
+    }
+
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) throw new NoSuchElementException();
+
+    //noinspection unchecked
+    T result = (T) next;
+    next = null;
+    return result;
+  }
+
+  private void finish(Throwable cause) {
+    failure = cause;
+    finished = true;
+    // Try to wake up the consumer. If the buffer is full the consumer will detect the end of the stream while polling.
+    buffer.offer(END_OF_STREAM);
+    ready.complete(null);
+  }
+
+  private Object poll() {
+    try {
+      return buffer.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for graph traversal results.", ex);
+    }
+  }
+}
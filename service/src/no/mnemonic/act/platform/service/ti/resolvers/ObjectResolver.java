@@ -0,0 +1,63 @@
+package no.mnemonic.act.platform.service.ti.resolvers;
+
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.service.ti.handlers.ObjectTypeHandler;
+import no.mnemonic.commons.utilities.StringUtils;
+
+import javax.inject.Inject;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolver fetching an Object from the database based on an identifier provided by the user. The identifier is
+ * either the Object's UUID or its type and value in the form 'type/value'.
+ */
+public class ObjectResolver {
+
+  private static final Pattern TYPE_VALUE_PATTERN = Pattern.compile("([^/]+)/(.+)");
+
+  private final ObjectFactDao objectFactDao;
+  private final ObjectTypeHandler objectTypeHandler;
+
+  @Inject
+  public ObjectResolver(ObjectFactDao objectFactDao, ObjectTypeHandler objectTypeHandler) {
+    this.objectFactDao = objectFactDao;
+    this.objectTypeHandler = objectTypeHandler;
+  }
+
+  /**
+   * Resolve an Object by either its UUID or its type and value ('type/value').
+   *
+   * @param object Identifier of Object
+   * @return Resolved Object or NULL if the Object doesn't exist or the identifier is malformed
+   * @throws InvalidArgumentException Thrown if the type given in 'type/value' doesn't exist
+   */
+  public ObjectRecord resolveObject(String object) throws InvalidArgumentException {
+    if (StringUtils.isBlank(object)) return null;
+
+    // If input is a UUID just try to fetch Object by ID.
+    if (StringUtils.isUUID(object)) {
+      return objectFactDao.getObject(UUID.fromString(object));
+    }
+
+    // Otherwise try to fetch Object by type and value.
+    Matcher matcher = TYPE_VALUE_PATTERN.matcher(object);
+    if (!matcher.matches()) {
+      // Input doesn't conform to 'type/value' pattern. Can't fetch Object by type and value.
+      return null;
+    }
+
+    // Extract type and value from input.
+    String type = matcher.group(1);
+    String value = matcher.group(2);
+
+    // Validate that object type exists (otherwise getObject(type, value) will thrown an IllegalArgumentException).
+    objectTypeHandler.assertObjectTypeExists(type, "type");
+
+    // Try to fetch Object by type and value.
+    return objectFactDao.getObject(type, value);
+  }
+}
@@ -11,6 +11,7 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -29,6 +30,13 @@ public class ActGraph implements Graph {
 
   private static final Features SUPPORTED_FEATURES = new ActGraphFeatures();
 
+  static {
+    // Expand vertices in batches instead of performing one search per vertex.
+    TraversalStrategies.GlobalCache.registerStrategies(ActGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class)
+            .clone()
+            .addStrategies(BatchVertexStrategy.instance()));
+  }
+
   private final ElementFactory elementFactory;
   private final ObjectFactDao objectFactDao;
   private final ObjectFactTypeResolver objectFactTypeResolver;
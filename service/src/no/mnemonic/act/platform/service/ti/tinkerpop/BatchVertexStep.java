@@ -0,0 +1,140 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Replacement for {@link VertexStep} on an {@link ActGraph}. Instead of expanding every vertex one-by-one (which
+ * results in one search for Facts per vertex) the step collects the current frontier of vertices and fetches the
+ * adjacent edges of all those vertices with one search. The results are distributed back to the traversers of the
+ * individual vertices while they are fetched, thus, the results of the frontier are not ordered by vertex.
+ * <p>
+ * If the traversal is limited the first frontier is sized according to the limit and grows with every following frontier.
+ * This avoids expanding many more vertices than required to produce the limited result.
+ *
+ * @param <E> Either {@link Vertex} or {@link Edge}
+ */
+public class BatchVertexStep<E extends Element> extends AbstractStep<Vertex, E> {
+
+  private static final int FRONTIER_BATCH_SIZE = 500;
+
+  private final Class<E> returnClass;
+  private final Direction direction;
+  private final String[] edgeLabels;
+  private final int initialBatchSize;
+
+  private int batchSize;
+  private Iterator<Traverser.Admin<E>> results = Collections.emptyIterator();
+
+  public BatchVertexStep(VertexStep<E> originalStep) {
+    this(originalStep, FRONTIER_BATCH_SIZE);
+  }
+
+  public BatchVertexStep(VertexStep<E> originalStep, int initialBatchSize) {
+    super(originalStep.getTraversal());
+    this.returnClass = originalStep.getReturnClass();
+    this.direction = originalStep.getDirection();
+    this.edgeLabels = originalStep.getEdgeLabels();
+    this.initialBatchSize = Math.max(1, Math.min(initialBatchSize, FRONTIER_BATCH_SIZE));
+    this.batchSize = this.initialBatchSize;
+  }
+
+  @Override
+  protected Traverser.Admin<E> processNextStart() {
+    while (!results.hasNext()) {
+      if (!starts.hasNext()) throw FastNoSuchElementException.instance();
+      results = expandFrontier();
+    }
+
+    return results.next();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    results = Collections.emptyIterator();
+    batchSize = initialBatchSize;
+  }
+
+  @Override
+  public BatchVertexStep<E> clone() {
+    BatchVertexStep<E> clone = (BatchVertexStep<E>) super.clone();
+    clone.results = Collections.emptyIterator();
+    clone.batchSize = initialBatchSize;
+    return clone;
+  }
+
+  @Override
+  public Set<TraverserRequirement> getRequirements() {
+    return Collections.singleton(TraverserRequirement.OBJECT);
+  }
+
+  @Override
+  public String toString() {
+    return StringFactory.stepString(this, direction, Arrays.asList(edgeLabels), returnClass.getSimpleName().toLowerCase());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), returnClass, direction, Arrays.hashCode(edgeLabels));
+  }
+
+  private Iterator<Traverser.Admin<E>> expandFrontier() {
+    // Collect the current frontier, i.e. all traversers which are available from the previous step right now.
+    Map<UUID, List<Traverser.Admin<Vertex>>> traversers = new HashMap<>();
+    List<ObjectVertex> vertices = new ArrayList<>();
+    List<Traverser.Admin<E>> expanded = new ArrayList<>();
+    int frontierSize = 0;
+    while (starts.hasNext() && frontierSize++ < batchSize) {
+      Traverser.Admin<Vertex> traverser = starts.next();
+      if (traverser.get() instanceof ObjectVertex) {
+        ObjectVertex vertex = (ObjectVertex) traverser.get();
+        if (!traversers.containsKey(vertex.getObjectRecord().getId())) vertices.add(vertex);
+        traversers.computeIfAbsent(vertex.getObjectRecord().getId(), ignored -> new ArrayList<>()).add(traverser);
+      } else {
+        // Not an ObjectVertex, fall back to the default expansion.
+        Iterator<? extends Element> elements = Vertex.class.isAssignableFrom(returnClass) ?
+                traverser.get().vertices(direction, edgeLabels) : traverser.get().edges(direction, edgeLabels);
+        //noinspection unchecked
+        elements.forEachRemaining(element -> expanded.add(traverser.split((E) element, this)));
+      }
+    }
+    batchSize = Math.min(batchSize * 2, FRONTIER_BATCH_SIZE);
+    if (vertices.isEmpty()) return expanded.iterator();
+
+    // Fetch the adjacent edges of the whole frontier with one search. The edges are distributed to the traversers as
+    // they are fetched, thus, the search isn't continued if the following steps don't require more results.
+    Iterator<ObjectVertex.AdjacentEdge> edges = ObjectVertex.streamEdges((ActGraph) vertices.get(0).graph(), vertices, direction, edgeLabels);
+    // Return each adjacent vertex only once per expanded vertex.
+    Map<UUID, Set<Vertex>> visited = new HashMap<>();
+    return IteratorUtils.concat(expanded.iterator(), IteratorUtils.flatMap(edges, adjacent -> {
+      List<? extends Element> elements = Collections.singletonList(adjacent.getEdge());
+      if (Vertex.class.isAssignableFrom(returnClass)) {
+        Set<Vertex> seen = visited.computeIfAbsent(adjacent.getVertexID(), ignored -> new HashSet<>());
+        elements = ListUtils.list(adjacent.getEdge().vertices(direction)).stream()
+                .filter(seen::add)
+                .collect(Collectors.toList());
+      }
+
+      List<Traverser.Admin<E>> split = new ArrayList<>();
+      for (Traverser.Admin<Vertex> traverser : traversers.get(adjacent.getVertexID())) {
+        //noinspection unchecked
+        elements.forEach(element -> split.add(traverser.split((E) element, this)));
+      }
+      return split.iterator();
+    }));
+  }
+}
@@ -0,0 +1,52 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+/**
+ * Traversal strategy which replaces every {@link VertexStep} (e.g. out(), inE(), both()) with a {@link BatchVertexStep}.
+ * This turns graph expansion from one search per vertex into one search per frontier of vertices. If the results of
+ * a {@link VertexStep} are limited further down the traversal the frontier is initially sized according to the limit.
+ */
+public class BatchVertexStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy {
+
+  private static final BatchVertexStrategy INSTANCE = new BatchVertexStrategy();
+
+  private BatchVertexStrategy() {
+  }
+
+  @Override
+  public void apply(Traversal.Admin<?, ?> traversal) {
+    for (VertexStep<?> originalStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+      replaceStep(originalStep, traversal);
+    }
+  }
+
+  public static BatchVertexStrategy instance() {
+    return INSTANCE;
+  }
+
+  private static <E extends Element> void replaceStep(VertexStep<E> originalStep, Traversal.Admin<?, ?> traversal) {
+    BatchVertexStep<E> batchStep = new BatchVertexStep<>(originalStep, resolveLimit(originalStep));
+    TraversalHelper.replaceStep(originalStep, batchStep, traversal);
+    TraversalHelper.copyLabels(originalStep, batchStep, false);
+  }
+
+  private static int resolveLimit(Step<?, ?> step) {
+    for (Step<?, ?> next = step.getNextStep(); !(next instanceof EmptyStep); next = next.getNextStep()) {
+      if (next instanceof RangeGlobalStep && ((RangeGlobalStep<?>) next).getHighRange() > 0) {
+        return (int) Math.min(((RangeGlobalStep<?>) next).getHighRange(), Integer.MAX_VALUE);
+      }
+    }
+
+    return Integer.MAX_VALUE;
+  }
+}
@@ -11,6 +11,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
@@ -27,20 +28,22 @@ public class FactEdge implements Edge {
   private final FactTypeStruct type;
   private final Vertex inVertex;
   private final Vertex outVertex;
-  private final Set<Property<?>> properties;
+  private final Supplier<List<PropertyEntry<?>>> propertySupplier;
+  // Properties are only fetched on first access.
+  private Set<Property<?>> properties;
 
   private FactEdge(ActGraph graph,
                    FactRecord fact,
                    FactTypeStruct type,
                    Vertex inVertex,
                    Vertex outVertex,
-                   List<PropertyEntry<?>> properties) {
+                   Supplier<List<PropertyEntry<?>>> propertySupplier) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
     this.fact = ObjectUtils.notNull(fact, "'fact' is null!");
     this.type = ObjectUtils.notNull(type, "'type' is null!");
     this.inVertex = ObjectUtils.notNull(inVertex, "'inVertex' is null!");
     this.outVertex = ObjectUtils.notNull(outVertex, "'outVertex' is null!");
-    this.properties = Collections.unmodifiableSet(getAllProperties(ObjectUtils.notNull(properties, "'properties is null!'")));
+    this.propertySupplier = ObjectUtils.notNull(propertySupplier, "'propertySupplier' is null!");
   }
 
   @Override
@@ -75,7 +78,7 @@ public class FactEdge implements Edge {
   @Override
   public <V> Iterator<Property<V>> properties(String... propertyKeys) {
     //noinspection unchecked
-    return properties.stream()
+    return getAllProperties().stream()
             .filter(property -> set(propertyKeys).isEmpty() || SetUtils.in(property.key(), propertyKeys))
             .map(property -> (Property<V>) property)
             .iterator();
@@ -113,8 +116,16 @@ public class FactEdge implements Edge {
     return Objects.hash(id());
   }
 
-  private Set<Property<?>> getAllProperties(List<PropertyEntry<?>> properties) {
-    return properties.stream().map(p -> new FactProperty<>(this, p.getName(), p.getValue())).collect(Collectors.toSet());
+  private synchronized Set<Property<?>> getAllProperties() {
+    if (properties == null) {
+      // Generate properties set only once.
+      properties = Collections.unmodifiableSet(ObjectUtils.notNull(propertySupplier.get(), "'properties' is null!")
+              .stream()
+              .map(p -> new FactProperty<>(this, p.getName(), p.getValue()))
+              .collect(Collectors.toSet()));
+    }
+
+    return properties;
   }
 
   public static Builder builder() {
@@ -129,12 +140,14 @@ public class FactEdge implements Edge {
     private Vertex inVertex;
     private Vertex outVertex;
     private List<PropertyEntry<?>> properties;
+    private Supplier<List<PropertyEntry<?>>> propertySupplier;
 
     private Builder() {
     }
 
     public FactEdge build() {
-      return new FactEdge(graph, fact, type, inVertex, outVertex, ObjectUtils.ifNull(properties, list()));
+      List<PropertyEntry<?>> staticProperties = ObjectUtils.ifNull(properties, list());
+      return new FactEdge(graph, fact, type, inVertex, outVertex, propertySupplier != null ? propertySupplier : () -> staticProperties);
     }
 
     public Builder setGraph(ActGraph graph) {
@@ -171,5 +184,10 @@ public class FactEdge implements Edge {
       this.properties = ListUtils.addToList(this.properties, property);
       return this;
     }
+
+    public Builder setPropertySupplier(Supplier<List<PropertyEntry<?>>> propertySupplier) {
+      this.propertySupplier = propertySupplier;
+      return this;
+    }
   }
 }
@@ -0,0 +1,71 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
+
+import java.util.Set;
+
+/**
+ * Traversal strategy which limits the number of results of a traversal by adding a {@link RangeGlobalStep} to the end
+ * of the root traversal. Afterwards, {@link EarlyLimitStrategy} moves the range as far towards the start of the traversal
+ * as possible, and the limit is taken into account when sizing the frontier of a {@link BatchVertexStep}.
+ * <p>
+ * This strategy must only be added to a traversal whose results are consumed as-is and which is cut off after the limit
+ * anyway, i.e. a traversal returned from a graph traversal query. Use {@link #applyTo(Traversal.Admin, int)} for that.
+ */
+public class LimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy>
+        implements TraversalStrategy.OptimizationStrategy {
+
+  private static final Set<Class<? extends OptimizationStrategy>> POSTS = SetUtils.set(EarlyLimitStrategy.class);
+
+  private final int limit;
+
+  private LimitStrategy(int limit) {
+    this.limit = limit;
+  }
+
+  @Override
+  public void apply(Traversal.Admin<?, ?> traversal) {
+    // Only limit the results of the root traversal, nested traversals are unaffected.
+    if (!(traversal.getParent() instanceof EmptyStep)) return;
+
+    Step<?, ?> endStep = traversal.getEndStep();
+    if (endStep instanceof RangeGlobalStep && ((RangeGlobalStep<?>) endStep).getLowRange() == 0 &&
+            ((RangeGlobalStep<?>) endStep).getHighRange() >= 0 && ((RangeGlobalStep<?>) endStep).getHighRange() <= limit) {
+      // The traversal is already limited sufficiently.
+      return;
+    }
+
+    traversal.addStep(new RangeGlobalStep<>(traversal, 0, limit));
+  }
+
+  @Override
+  public Set<Class<? extends OptimizationStrategy>> applyPost() {
+    return POSTS;
+  }
+
+  /**
+   * Limit the results of a traversal which hasn't been iterated yet. Additionally, {@link LazyBarrierStrategy} is removed
+   * from the traversal because its barriers would gather many more traversers than required to produce the limited result.
+   *
+   * @param traversal Traversal to limit
+   * @param limit     Maximum number of results (no limit if not positive)
+   * @return True if the limit has been added to the traversal
+   */
+  public static boolean applyTo(Traversal.Admin<?, ?> traversal, int limit) {
+    if (limit <= 0 || traversal.isLocked()) return false;
+
+    traversal.setStrategies(traversal.getStrategies()
+            .clone()
+            .removeStrategies(LazyBarrierStrategy.class)
+            .addStrategies(new LimitStrategy(limit)));
+    return true;
+  }
+}
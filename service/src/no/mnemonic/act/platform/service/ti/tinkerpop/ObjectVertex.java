@@ -14,6 +14,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
@@ -35,17 +36,18 @@ public class ObjectVertex implements Vertex {
   private final ActGraph graph;
   private final ObjectRecord object;
   private final ObjectFactTypeResolver.ObjectTypeStruct type;
-  private final Set<VertexProperty<?>> allProperties;
+  private final Supplier<List<PropertyEntry<?>>> propertySupplier;
+  // Properties are only fetched on first access.
+  private Set<VertexProperty<?>> allProperties;
 
   private ObjectVertex(ActGraph graph,
                        ObjectRecord object,
                        ObjectFactTypeResolver.ObjectTypeStruct type,
-                       List<PropertyEntry<?>> properties) {
+                       Supplier<List<PropertyEntry<?>>> propertySupplier) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
     this.object = ObjectUtils.notNull(object, "'object' is null!");
     this.type = ObjectUtils.notNull(type, "'type' is null!");
-    // Generate properties set only once.
-    this.allProperties = Collections.unmodifiableSet(getAllProperties(ObjectUtils.notNull(properties, "'properties' is null!")));
+    this.propertySupplier = ObjectUtils.notNull(propertySupplier, "'propertySupplier' is null!");
   }
 
   @Override
@@ -55,25 +57,12 @@ public class ObjectVertex implements Vertex {
 
   @Override
   public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
-    Set<UUID> factTypeIds = graph.getObjectFactTypeResolver().factTypeNamesToIds(set(edgeLabels));
-
-    ResultContainer<FactRecord> factRecords = graph.getObjectFactDao().searchFacts(
-            FactSearchCriteria.builder()
-                    .addObjectID(object.getId())
-                    .setFactTypeID(factTypeIds)
-                    .setStartTimestamp(graph.getTraverseParams().getAfterTimestamp())
-                    .setEndTimestamp(graph.getTraverseParams().getBeforeTimestamp())
-                    .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
-                    .setCurrentUserID(graph.getSecurityContext().getCurrentUserID())
-                    .setAvailableOrganizationID(graph.getSecurityContext().getAvailableOrganizationID())
-                    .build());
+    ResultContainer<FactRecord> factRecords = graph.getObjectFactDao().searchFacts(createFactSearchCriteria(graph, set(object.getId()), edgeLabels));
 
     return factRecords
             .stream()
             .filter(record -> matchesDirection(record, object, direction))
-            .filter(graph.getSecurityContext()::hasReadPermission)
-            .filter(record -> graph.getTraverseParams().isIncludeRetracted() ||
-                    !graph.getFactRetractionHandler().isRetracted(record))
+            .filter(record -> isTraversable(graph, record))
             .map(graph.getElementFactory()::createEdge)
             .filter(Objects::nonNull)
             .iterator();
@@ -81,16 +70,13 @@ public class ObjectVertex implements Vertex {
 
   @Override
   public Iterator<Vertex> vertices(Direction direction, String... edgeLabels) {
-    return IteratorUtils.stream(edges(direction, edgeLabels))
-            .map(e -> set(e.vertices(direction)))
-            .reduce(new HashSet<>(), (result, next) -> union(result, next))
-            .iterator();
+    return toVertices(edges(direction, edgeLabels), direction);
   }
 
   @Override
   public <V> Iterator<VertexProperty<V>> properties(String... propertyKeys) {
     //noinspection unchecked
-    return allProperties.stream()
+    return getAllProperties().stream()
             .filter(property -> set(propertyKeys).isEmpty() || SetUtils.in(property.key(), propertyKeys))
             .map(property -> (VertexProperty<V>) property)
             .iterator();
@@ -147,10 +133,145 @@ public class ObjectVertex implements Vertex {
     return Objects.hash(id());
   }
 
-  private Set<VertexProperty<?>> getAllProperties(List<PropertyEntry<?>> properties) {
-    return properties.stream()
-            .map(p -> new ObjectProperty<>(this, p.getName(), p.getValue()))
-            .collect(Collectors.toSet());
+  private synchronized Set<VertexProperty<?>> getAllProperties() {
+    if (allProperties == null) {
+      // Generate properties set only once.
+      allProperties = Collections.unmodifiableSet(ObjectUtils.notNull(propertySupplier.get(), "'properties' is null!")
+              .stream()
+              .map(p -> new ObjectProperty<>(this, p.getName(), p.getValue()))
+              .collect(Collectors.toSet()));
+    }
+
+    return allProperties;
+  }
+
+  /**
+   * Fetch the adjacent edges of multiple vertices at once. Instead of performing one search per vertex all Facts bound
+   * to any of the vertices are fetched with one search and afterwards distributed to the vertices they belong to.
+   * <p>
+   * All edges are collected before returning, use {@link #streamEdges(ActGraph, Collection, Direction, String...)} in
+   * order to process the edges as they are fetched.
+   *
+   * @param graph      Graph the vertices belong to
+   * @param vertices   Vertices to expand
+   * @param direction  Direction of the edges
+   * @param edgeLabels Only return edges with one of these labels (all edges if empty)
+   * @return Adjacent edges per vertex (keyed by {@link Vertex#id()})
+   */
+  static Map<UUID, List<Edge>> edges(ActGraph graph, Collection<ObjectVertex> vertices, Direction direction, String... edgeLabels) {
+    Map<UUID, List<Edge>> edges = new HashMap<>();
+    for (ObjectVertex vertex : vertices) {
+      edges.put(vertex.getObjectRecord().getId(), new ArrayList<>());
+    }
+
+    streamEdges(graph, vertices, direction, edgeLabels)
+            .forEachRemaining(adjacent -> edges.get(adjacent.getVertexID()).add(adjacent.getEdge()));
+    return edges;
+  }
+
+  /**
+   * Same as {@link #edges(ActGraph, Collection, Direction, String...)} but the edges are returned lazily as the Facts
+   * are fetched. The search result is processed in chunks of Facts, thus, at most one chunk of Facts is held in memory
+   * and the search isn't continued if the caller stops consuming the edges. An edge adjacent to two of the vertices is
+   * returned once per vertex.
+   *
+   * @param graph      Graph the vertices belong to
+   * @param vertices   Vertices to expand
+   * @param direction  Direction of the edges
+   * @param edgeLabels Only return edges with one of these labels (all edges if empty)
+   * @return Adjacent edges together with the vertex they are adjacent to
+   */
+  static Iterator<AdjacentEdge> streamEdges(ActGraph graph, Collection<ObjectVertex> vertices, Direction direction, String... edgeLabels) {
+    Set<UUID> vertexID = set(vertices, vertex -> vertex.getObjectRecord().getId());
+    if (vertexID.isEmpty()) return Collections.emptyIterator();
+
+    Iterator<FactRecord> factRecords = graph.getObjectFactDao().searchFacts(createFactSearchCriteria(graph, vertexID, edgeLabels));
+    return IteratorUtils.flatMap(new FactChunkIterator(factRecords),
+            chunk -> createAdjacentEdges(graph, vertexID, direction, chunk).iterator());
+  }
+
+  private static List<AdjacentEdge> createAdjacentEdges(ActGraph graph, Set<UUID> vertexID, Direction direction, List<FactRecord> chunk) {
+    // Find the vertices each Fact is adjacent to and check access before resolving any retractions.
+    Map<FactRecord, List<UUID>> accessible = new LinkedHashMap<>();
+    for (FactRecord record : chunk) {
+      List<UUID> adjacent = findAdjacentVertices(record, vertexID, direction);
+      // Only check access once per Fact, even if it's adjacent to multiple vertices.
+      if (adjacent.isEmpty() || !graph.getSecurityContext().hasReadPermission(record)) continue;
+      accessible.put(record, adjacent);
+    }
+
+    if (!graph.getTraverseParams().isIncludeRetracted() && !accessible.isEmpty()) {
+      // Resolve the retractions of all Facts of the chunk at once instead of one search per Fact.
+      graph.getFactRetractionHandler().resolveRetractions(list(accessible.keySet()));
+    }
+
+    List<AdjacentEdge> edges = new ArrayList<>();
+    for (Map.Entry<FactRecord, List<UUID>> entry : accessible.entrySet()) {
+      if (!graph.getTraverseParams().isIncludeRetracted() && graph.getFactRetractionHandler().isRetracted(entry.getKey())) continue;
+
+      Edge edge = graph.getElementFactory().createEdge(entry.getKey());
+      if (edge == null) continue;
+      entry.getValue().forEach(id -> edges.add(new AdjacentEdge(id, edge)));
+    }
+
+    return edges;
+  }
+
+  private static List<UUID> findAdjacentVertices(FactRecord record, Set<UUID> vertexID, Direction direction) {
+    List<ObjectRecord> boundObjects = isSameObject(record.getSourceObject(), record.getDestinationObject()) ?
+            // Don't add the same edge twice to one vertex if the Fact is a self-loop, i.e. source and destination are the same.
+            Collections.singletonList(record.getSourceObject()) :
+            Arrays.asList(record.getSourceObject(), record.getDestinationObject());
+
+    // A Fact might be adjacent to two of the vertices.
+    List<UUID> adjacent = new ArrayList<>();
+    for (ObjectRecord bound : boundObjects) {
+      if (bound != null && vertexID.contains(bound.getId()) && matchesDirection(record, bound, direction)) {
+        adjacent.add(bound.getId());
+      }
+    }
+
+    return adjacent;
+  }
+
+  /**
+   * Map adjacent edges of a vertex to the vertices in the given direction. Each vertex is only returned once.
+   *
+   * @param edges     Adjacent edges of a vertex
+   * @param direction Direction of the edges
+   * @return Vertices adjacent to the edges
+   */
+  static Iterator<Vertex> toVertices(Iterator<Edge> edges, Direction direction) {
+    return IteratorUtils.stream(edges)
+            .map(e -> set(e.vertices(direction)))
+            .reduce(new HashSet<>(), (result, next) -> union(result, next))
+            .iterator();
+  }
+
+  private static FactSearchCriteria createFactSearchCriteria(ActGraph graph, Set<UUID> objectID, String... edgeLabels) {
+    Set<UUID> factTypeIds = graph.getObjectFactTypeResolver().factTypeNamesToIds(set(edgeLabels));
+
+    return FactSearchCriteria.builder()
+            .setObjectID(objectID)
+            .setFactTypeID(factTypeIds)
+            .setStartTimestamp(graph.getTraverseParams().getAfterTimestamp())
+            .setEndTimestamp(graph.getTraverseParams().getBeforeTimestamp())
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
+            .setCurrentUserID(graph.getSecurityContext().getCurrentUserID())
+            .setAvailableOrganizationID(graph.getSecurityContext().getAvailableOrganizationID())
+            // Re-use the adjacency of Objects fetched by previous traversals of the same user. The adjacency might
+            // include Facts the user has no access to, but access to every Fact is checked before an edge is created.
+            .setAdjacencyCached(true)
+            .build();
+  }
+
+  private static boolean isTraversable(ActGraph graph, FactRecord record) {
+    return graph.getSecurityContext().hasReadPermission(record) &&
+            (graph.getTraverseParams().isIncludeRetracted() || !graph.getFactRetractionHandler().isRetracted(record));
+  }
+
+  private static boolean isSameObject(ObjectRecord first, ObjectRecord second) {
+    return first != null && second != null && Objects.equals(first.getId(), second.getId());
   }
 
   static boolean matchesDirection(FactRecord fact, ObjectRecord object, Direction direction) {
@@ -174,16 +295,70 @@ public class ObjectVertex implements Vertex {
             (Objects.equals(object.getId(), destinationObject.getId()) && direction == IN);
   }
 
+  /**
+   * Edge returned by {@link #streamEdges(ActGraph, Collection, Direction, String...)} together with the vertex it's adjacent to.
+   */
+  static class AdjacentEdge {
+    private final UUID vertexID;
+    private final Edge edge;
+
+    private AdjacentEdge(UUID vertexID, Edge edge) {
+      this.vertexID = vertexID;
+      this.edge = edge;
+    }
+
+    UUID getVertexID() {
+      return vertexID;
+    }
+
+    Edge getEdge() {
+      return edge;
+    }
+  }
+
+  /**
+   * Splits the Facts returned from a search into chunks which are fetched one after another.
+   */
+  private static class FactChunkIterator implements Iterator<List<FactRecord>> {
+    // Maximum number of Facts held in memory at once when expanding multiple vertices.
+    private static final int FACT_CHUNK_SIZE = 1000;
+
+    private final Iterator<FactRecord> factRecords;
+
+    private FactChunkIterator(Iterator<FactRecord> factRecords) {
+      this.factRecords = factRecords;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return factRecords.hasNext();
+    }
+
+    @Override
+    public List<FactRecord> next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      List<FactRecord> chunk = new ArrayList<>();
+      while (chunk.size() < FACT_CHUNK_SIZE && factRecords.hasNext()) {
+        chunk.add(factRecords.next());
+      }
+
+      return chunk;
+    }
+  }
+
   public static class Builder {
     private ActGraph graph;
     private ObjectRecord objectRecord;
     private ObjectFactTypeResolver.ObjectTypeStruct objectType;
     private List<PropertyEntry<?>> properties;
+    private Supplier<List<PropertyEntry<?>>> propertySupplier;
 
     private Builder() {}
 
     public ObjectVertex build() {
-      return new ObjectVertex(graph, objectRecord, objectType, ObjectUtils.ifNull(properties, list()));
+      List<PropertyEntry<?>> staticProperties = ObjectUtils.ifNull(properties, list());
+      return new ObjectVertex(graph, objectRecord, objectType, propertySupplier != null ? propertySupplier : () -> staticProperties);
     }
 
     public Builder setGraph(ActGraph graph) {
@@ -210,5 +385,10 @@ public class ObjectVertex implements Vertex {
       this.properties = ListUtils.addToList(this.properties, property);
       return this;
     }
+
+    public Builder setPropertySupplier(Supplier<List<PropertyEntry<?>>> propertySupplier) {
+      this.propertySupplier = propertySupplier;
+      return this;
+    }
   }
 }
@@ -0,0 +1,202 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Finds the shortest paths between two sets of vertices of an {@link ActGraph} using a bidirectional breadth-first search.
+ * <p>
+ * The search alternately grows a frontier from the source vertices and a frontier from the destination vertices, always
+ * expanding the smaller of both frontiers by one level. The adjacent edges of a frontier are fetched in batches with one
+ * search for Facts per batch (see {@link ObjectVertex#edges(ActGraph, Collection, Direction, String...)}), thus, access
+ * control and the time and retraction filters of the graph apply to every expanded edge. The search stops as soon as both
+ * frontiers meet, or when the combined depth of both frontiers reaches the maximum depth.
+ * <p>
+ * Edges are followed regardless of their direction, and every returned path is a shortest path, i.e. no path with
+ * fewer edges exists between any source and destination vertex.
+ */
+public class ShortestPathFinder {
+
+  private static final int FRONTIER_BATCH_SIZE = 500;
+
+  private ShortestPathFinder() {
+  }
+
+  /**
+   * Find the shortest paths between the source and destination vertices. Each path starts at a source vertex and ends
+   * at a destination vertex, and alternates between {@link ObjectVertex} and {@link FactEdge}. If a vertex is both a
+   * source and a destination the path consists of this vertex only.
+   *
+   * @param graph        Graph to search
+   * @param sources      IDs of the source vertices
+   * @param destinations IDs of the destination vertices
+   * @param maxDepth     Maximum number of edges along a path
+   * @param limit        Maximum number of returned paths (no limit if not positive)
+   * @param deadline     Abort the search at this point in time (in milliseconds since epoch)
+   * @return Shortest paths, or an empty list if the vertices aren't connected within the maximum depth
+   * @throws TimeoutException If the search did not finish before the deadline
+   */
+  public static List<List<Element>> find(ActGraph graph,
+                                         Collection<UUID> sources,
+                                         Collection<UUID> destinations,
+                                         int maxDepth,
+                                         int limit,
+                                         long deadline) throws TimeoutException {
+    if (sources.isEmpty() || destinations.isEmpty()) return new ArrayList<>();
+
+    Search forward = new Search(graph, sources);
+    Search backward = new Search(graph, destinations);
+
+    backward.start();
+    List<UUID> meeting = meet(forward.start(), backward);
+    while (meeting.isEmpty() && forward.depth + backward.depth < maxDepth) {
+      // Expanding the smaller frontier requires fewer Facts to be fetched.
+      Search expanded = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+      Search other = expanded == forward ? backward : forward;
+      // If any frontier is exhausted no further connections can be found.
+      if (expanded.frontier.isEmpty()) break;
+
+      expanded.expand(deadline);
+      meeting = meet(expanded.frontier, other);
+    }
+
+    return combine(forward, backward, meeting, limit > 0 ? limit : Integer.MAX_VALUE);
+  }
+
+  /**
+   * Find the vertices of a newly expanded frontier which have also been reached from the other side. Only the vertices
+   * closest to the other side are returned because only they lie on the shortest paths.
+   */
+  private static List<UUID> meet(Collection<ObjectVertex> frontier, Search other) {
+    List<UUID> meeting = new ArrayList<>();
+    int minimum = Integer.MAX_VALUE;
+    for (ObjectVertex vertex : frontier) {
+      Integer depth = other.depths.get(vertex.getObjectRecord().getId());
+      if (depth == null || depth > minimum) continue;
+      if (depth < minimum) meeting.clear();
+      minimum = depth;
+      meeting.add(vertex.getObjectRecord().getId());
+    }
+
+    return meeting;
+  }
+
+  private static List<List<Element>> combine(Search forward, Search backward, List<UUID> meeting, int limit) {
+    List<List<Element>> paths = new ArrayList<>();
+    for (UUID id : meeting) {
+      List<List<Element>> tails = backward.pathsTo(backward.vertices.get(id), limit);
+      for (List<Element> head : forward.pathsTo(forward.vertices.get(id), limit)) {
+        for (List<Element> tail : tails) {
+          List<Element> path = new ArrayList<>(head);
+          // The tail runs from a destination to the meeting vertex, reverse it and skip the meeting vertex.
+          for (int i = tail.size() - 2; i >= 0; i--) {
+            path.add(tail.get(i));
+          }
+          paths.add(path);
+          if (paths.size() >= limit) return paths;
+        }
+      }
+    }
+
+    return paths;
+  }
+
+  private static Vertex opposite(Edge edge, Vertex vertex) {
+    Vertex outVertex = edge.outVertex();
+    return Objects.equals(outVertex.id(), vertex.id()) ? edge.inVertex() : outVertex;
+  }
+
+  /**
+   * One direction of the bidirectional search.
+   */
+  private static class Search {
+    private final ActGraph graph;
+    // Distance of every reached vertex from the start of this search.
+    private final Map<UUID, Integer> depths = new HashMap<>();
+    // Edges leading one level closer to the start of this search, for every reached vertex except the start vertices.
+    private final Map<UUID, List<Edge>> parents = new HashMap<>();
+    private final Map<UUID, ObjectVertex> vertices = new HashMap<>();
+    private final Collection<UUID> startIds;
+
+    private List<ObjectVertex> frontier = new ArrayList<>();
+    private int depth;
+
+    private Search(ActGraph graph, Collection<UUID> startIds) {
+      this.graph = graph;
+      this.startIds = startIds;
+    }
+
+    private List<ObjectVertex> start() {
+      Iterator<Vertex> starts = graph.vertices(startIds.toArray());
+      while (starts.hasNext()) {
+        reach((ObjectVertex) starts.next());
+      }
+
+      return frontier;
+    }
+
+    private void expand(long deadline) throws TimeoutException {
+      List<ObjectVertex> current = frontier;
+      frontier = new ArrayList<>();
+      depth++;
+
+      for (int from = 0; from < current.size(); from += FRONTIER_BATCH_SIZE) {
+        if (System.currentTimeMillis() > deadline) throw new TimeoutException("Shortest path search timed out.");
+
+        List<ObjectVertex> batch = current.subList(from, Math.min(from + FRONTIER_BATCH_SIZE, current.size()));
+        Map<UUID, List<Edge>> edges = ObjectVertex.edges(graph, batch, Direction.BOTH);
+        for (ObjectVertex vertex : batch) {
+          for (Edge edge : edges.get(vertex.getObjectRecord().getId())) {
+            Vertex neighbour = opposite(edge, vertex);
+            if (!(neighbour instanceof ObjectVertex)) continue;
+
+            UUID id = (UUID) neighbour.id();
+            Integer known = depths.get(id);
+            // Vertices reached on an earlier level already have a shorter path.
+            if (known != null && known != depth) continue;
+            if (known == null) reach((ObjectVertex) neighbour);
+            parents.computeIfAbsent(id, ignored -> new ArrayList<>()).add(edge);
+          }
+        }
+      }
+    }
+
+    private void reach(ObjectVertex vertex) {
+      UUID id = vertex.getObjectRecord().getId();
+      if (depths.containsKey(id)) return;
+
+      depths.put(id, depth);
+      vertices.put(id, vertex);
+      frontier.add(vertex);
+    }
+
+    /**
+     * Enumerate the paths from the start vertices to a reached vertex, at most 'limit' paths are returned.
+     */
+    private List<List<Element>> pathsTo(Vertex vertex, int limit) {
+      List<List<Element>> paths = new ArrayList<>();
+      List<Edge> edges = parents.get((UUID) vertex.id());
+      if (edges == null) {
+        // This is a start vertex.
+        paths.add(new ArrayList<>(Collections.singletonList(vertex)));
+        return paths;
+      }
+
+      for (Edge edge : edges) {
+        for (List<Element> prefix : pathsTo(opposite(edge, vertex), limit - paths.size())) {
+          prefix.add(edge);
+          prefix.add(vertex);
+          paths.add(prefix);
+          if (paths.size() >= limit) return paths;
+        }
+      }
+
+      return paths;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectCapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Splits a traversal starting at many vertices into multiple traversals (shards) which each start at a subset of the
+ * vertices. The shards can be iterated independently of each other, e.g. concurrently, and their merged results are
+ * the same as the results of the original traversal except for duplicates and the order of the results.
+ * <p>
+ * This only holds if every traverser is processed independently of all other traversers. Therefore, traversals
+ * containing barriers (e.g. count(), order(), group()), side effects (e.g. aggregate()), or global ranges are not
+ * split. The only exceptions are dedup() and limit() at the end of the traversal because the merged results are
+ * de-duplicated and limited anyway. A limit() at the end is removed from the shards, otherwise a shard producing
+ * duplicates would be cut off before it has produced enough distinct results.
+ */
+public class TraversalSplitter {
+
+  private TraversalSplitter() {
+  }
+
+  /**
+   * Split a traversal which hasn't been iterated yet into shards. Every shard is bound to its own graph because graphs
+   * are not safe to be used by multiple threads concurrently.
+   *
+   * @param traversal    Traversal to split
+   * @param shardSize    Maximum number of starting vertices per shard
+   * @param graphFactory Creates the graph of each shard
+   * @return Shards of the traversal, or an empty list if the traversal cannot be split
+   */
+  public static List<Traversal.Admin<?, ?>> split(Traversal.Admin<?, ?> traversal, int shardSize, Supplier<Graph> graphFactory) {
+    List<Traversal.Admin<?, ?>> shards = new ArrayList<>();
+    if (shardSize <= 0 || !isSplittable(traversal)) return shards;
+
+    List<Object> ids = Arrays.asList(((GraphStep<?, ?>) traversal.getStartStep()).getIds());
+    if (ids.size() <= shardSize) return shards;
+
+    for (int from = 0; from < ids.size(); from += shardSize) {
+      Object[] shardIds = ids.subList(from, Math.min(from + shardSize, ids.size())).toArray();
+      Graph graph = graphFactory.get();
+
+      Traversal.Admin<?, ?> shard = traversal.clone();
+      removeTrailingLimits(shard);
+      shard.setGraph(graph);
+      restart((GraphStep<?, ?>) shard.getStartStep(), graph, shardIds);
+      shards.add(shard);
+    }
+
+    return shards;
+  }
+
+  /**
+   * Resolve the maximum number of merged results from the limit of the traversal and the limit at the end of the traversal.
+   *
+   * @param traversal Traversal which has been split
+   * @param limit     Limit of the traversal (no limit if not positive)
+   * @return Maximum number of merged results (no limit if not positive)
+   */
+  public static int resolveLimit(Traversal.Admin<?, ?> traversal, int limit) {
+    int resolved = limit;
+    for (Step<?, ?> step : traversal.getSteps()) {
+      if (!(step instanceof RangeGlobalStep)) continue;
+      long high = ((RangeGlobalStep<?>) step).getHighRange();
+      if (high >= 0 && (resolved <= 0 || high < resolved)) resolved = (int) high;
+    }
+
+    return resolved;
+  }
+
+  static boolean isSplittable(Traversal.Admin<?, ?> traversal) {
+    if (traversal.isLocked() || !(traversal.getParent() instanceof EmptyStep)) {
+      return false;
+    }
+    if (!(traversal.getStartStep() instanceof GraphStep) || !((GraphStep<?, ?>) traversal.getStartStep()).returnsVertex()) {
+      return false;
+    }
+
+    List<Step> steps = traversal.getSteps();
+    // Skip dedup() and limit() at the end of the traversal.
+    int end = steps.size();
+    while (end > 1 && isTrailing(steps.get(end - 1))) end--;
+
+    for (int i = 1; i < end; i++) {
+      Step<?, ?> step = steps.get(i);
+      if (!isIndependent(step)) return false;
+      if (step instanceof TraversalParent && !hasIndependentChildren((TraversalParent) step)) return false;
+    }
+
+    return true;
+  }
+
+  private static boolean hasIndependentChildren(TraversalParent parent) {
+    List<Traversal.Admin<?, ?>> children = new ArrayList<>();
+    children.addAll(parent.getGlobalChildren());
+    children.addAll(parent.getLocalChildren());
+
+    for (Traversal.Admin<?, ?> child : children) {
+      for (Step<?, ?> step : TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, child)) {
+        if (!isIndependent(step)) return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isIndependent(Step<?, ?> step) {
+    if (step instanceof NoOpBarrierStep) return true;
+    return !(step instanceof Barrier) &&
+            !(step instanceof SideEffectCapable) &&
+            !(step instanceof SideEffectCapStep) &&
+            !(step instanceof RangeGlobalStep) &&
+            !(step instanceof TailGlobalStep) &&
+            !(step instanceof GraphStep);
+  }
+
+  private static boolean isTrailing(Step<?, ?> step) {
+    if (step instanceof RangeGlobalStep) return ((RangeGlobalStep<?>) step).getLowRange() == 0;
+    if (step instanceof DedupGlobalStep) {
+      DedupGlobalStep<?> dedup = (DedupGlobalStep<?>) step;
+      return dedup.getLocalChildren().isEmpty() && dedup.getScopeKeys().isEmpty();
+    }
+    return false;
+  }
+
+  private static void removeTrailingLimits(Traversal.Admin<?, ?> traversal) {
+    List<Step> steps = new ArrayList<>(traversal.getSteps());
+    for (int i = steps.size() - 1; i > 0 && isTrailing(steps.get(i)); i--) {
+      if (steps.get(i) instanceof RangeGlobalStep) traversal.removeStep(steps.get(i));
+    }
+  }
+
+  private static <E extends Element> void restart(GraphStep<?, E> step, Graph graph, Object[] ids) {
+    step.clearIds();
+    step.addIds(ids);
+    // The iterator supplier of a cloned start step still refers to the original step, thus, replace it.
+    //noinspection unchecked
+    step.setIteratorSupplier(() -> (Iterator<E>) graph.vertices(ids));
+  }
+}
@@ -12,12 +12,14 @@ public class TraverseParams {
   private final Long beforeTimestamp;
   private final Long afterTimestamp;
   private final int limit;
+  private final boolean parallel;
 
-  private TraverseParams(Boolean includeRetracted, Long beforeTimestamp, Long afterTimestamp, Integer limit) {
+  private TraverseParams(Boolean includeRetracted, Long beforeTimestamp, Long afterTimestamp, Integer limit, Boolean parallel) {
     this.includeRetracted = ObjectUtils.ifNull(includeRetracted, false);
     this.beforeTimestamp = beforeTimestamp;
     this.afterTimestamp = afterTimestamp;
     this.limit = ObjectUtils.ifNull(limit, 25);
+    this.parallel = ObjectUtils.ifNull(parallel, false);
   }
 
   public Boolean isIncludeRetracted() {
@@ -36,6 +38,16 @@ public class TraverseParams {
     return limit;
   }
 
+  /**
+   * Returns true if a traversal starting at many Objects may be split into shards which are traversed concurrently.
+   * The results of the shards are merged without duplicates and in no particular order.
+   *
+   * @return True if the traversal may be executed in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
   public static Builder builder() { return new Builder(); }
 
   public static class Builder {
@@ -44,11 +56,12 @@ public class TraverseParams {
     private Long beforeTimestamp;
     private Long afterTimestamp;
     private Integer limit;
+    private Boolean parallel;
 
     private Builder() {}
 
     public TraverseParams build() {
-      return new TraverseParams(includeRetracted, beforeTimestamp, afterTimestamp, limit);
+      return new TraverseParams(includeRetracted, beforeTimestamp, afterTimestamp, limit, parallel);
     }
 
     public Builder setIncludeRetracted(Boolean includeRetracted) {
@@ -70,5 +83,10 @@ public class TraverseParams {
       this.limit = limit;
       return this;
     }
+
+    public Builder setParallel(Boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
   }
 }
@@ -17,8 +17,8 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Helper class for creation and retrieval of edges and vertices which implements simple caching.
@@ -26,6 +26,7 @@ import java.util.UUID;
 public class ElementFactory {
 
   private static final int CACHE_MAXIMUM_SIZE = 10000;
+  private static final int PROPERTIES_BATCH_SIZE = 500;
   private static final Logger LOGGER = Logging.getLogger(ElementFactory.class);
 
   private final ActGraph owner;
@@ -33,6 +34,12 @@ public class ElementFactory {
   private final Cache<UUID, Edge> edgeCache;
   // Cache for created vertices. This cache is automatically populated.
   private final LoadingCache<UUID, Vertex> vertexCache;
+  // Elements which have been created but whose properties haven't been fetched yet.
+  private final Map<UUID, ObjectRecord> pendingObjects = createPendingMap();
+  private final Map<UUID, FactRecord> pendingFacts = createPendingMap();
+  // Properties fetched for pending elements which haven't been accessed by the elements yet.
+  private final Cache<UUID, List<PropertyEntry<?>>> fetchedObjectProperties = createPropertiesCache();
+  private final Cache<UUID, List<PropertyEntry<?>>> fetchedFactProperties = createPropertiesCache();
 
   private ElementFactory(ActGraph owner) {
     this.owner = ObjectUtils.notNull(owner, "'owner is null!'");
@@ -100,7 +107,7 @@ public class ElementFactory {
     Vertex inVertex = getVertex(factRecord.getSourceObject().getId());
     Vertex outVertex = getVertex(factRecord.getDestinationObject().getId());
 
-    List<PropertyEntry<?>> props = owner.getPropertyHelper().getFactProperties(factRecord, owner.getTraverseParams());
+    addPending(pendingFacts, factRecord.getId(), factRecord);
 
     return FactEdge.builder()
             .setGraph(owner)
@@ -108,7 +115,61 @@ public class ElementFactory {
             .setFactType(factTypeStruct)
             .setInVertex(inVertex)
             .setOutVertex(outVertex)
-            .setProperties(props)
+            .setPropertySupplier(() -> fetchProperties(factRecord.getId(), factRecord, pendingFacts, fetchedFactProperties,
+                    facts -> owner.getPropertyHelper().getFactPropertiesBatch(facts, owner.getTraverseParams())))
+            .build();
+  }
+
+  /**
+   * Fetch the properties of an element when they are accessed the first time. Instead of fetching the properties of
+   * the requested element only, the properties of all pending elements of the same kind are fetched at once. Thus,
+   * traversals which never access properties don't fetch any properties at all.
+   */
+  private <T> List<PropertyEntry<?>> fetchProperties(UUID id, T record, Map<UUID, T> pending,
+                                                     Cache<UUID, List<PropertyEntry<?>>> fetched,
+                                                     Function<Collection<T>, Map<UUID, List<PropertyEntry<?>>>> fetcher) {
+    synchronized (pending) {
+      List<PropertyEntry<?>> properties = fetched.getIfPresent(id);
+      if (properties == null) {
+        // Fetch properties for the requested element together with the next batch of pending elements.
+        List<T> batch = new ArrayList<>();
+        batch.add(record);
+        pending.remove(id);
+        Iterator<T> iterator = pending.values().iterator();
+        while (iterator.hasNext() && batch.size() < PROPERTIES_BATCH_SIZE) {
+          batch.add(iterator.next());
+          iterator.remove();
+        }
+
+        fetched.putAll(fetcher.apply(batch));
+        properties = ObjectUtils.ifNull(fetched.getIfPresent(id), Collections.emptyList());
+      }
+
+      // The element keeps its properties, there's no need to hold onto them any longer.
+      fetched.invalidate(id);
+      return properties;
+    }
+  }
+
+  private <T> void addPending(Map<UUID, T> pending, UUID id, T record) {
+    synchronized (pending) {
+      pending.put(id, record);
+    }
+  }
+
+  private <T> Map<UUID, T> createPendingMap() {
+    return new LinkedHashMap<UUID, T>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, T> eldest) {
+        // Don't keep track of more elements than can be cached.
+        return size() > CACHE_MAXIMUM_SIZE;
+      }
+    };
+  }
+
+  private Cache<UUID, List<PropertyEntry<?>>> createPropertiesCache() {
+    return CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAXIMUM_SIZE)
             .build();
   }
 
@@ -135,15 +196,14 @@ public class ElementFactory {
                         owner.getObjectFactTypeResolver().toObjectTypeStruct(objectRecord.getTypeID()),
                         String.format("ObjectType with id = %s does not exist.", objectRecord.getTypeID()));
 
-                List<PropertyEntry<?>> props = owner.getPropertyHelper().getObjectProperties(
-                        objectRecord,
-                        owner.getTraverseParams());
+                addPending(pendingObjects, objectRecord.getId(), objectRecord);
 
                 return ObjectVertex.builder()
                         .setGraph(owner)
                         .setObjectRecord(objectRecord)
                         .setObjectType(objectTypeStruct)
-                        .setProperties(props)
+                        .setPropertySupplier(() -> fetchProperties(objectRecord.getId(), objectRecord, pendingObjects, fetchedObjectProperties,
+                                objects -> owner.getPropertyHelper().getObjectPropertiesBatch(objects, owner.getTraverseParams())))
                         .build();
               }
             });
@@ -11,18 +11,21 @@ import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler;
 import no.mnemonic.act.platform.service.ti.resolvers.OriginResolver;
 import no.mnemonic.act.platform.service.ti.tinkerpop.TraverseParams;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 
 import javax.inject.Inject;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static no.mnemonic.commons.utilities.ObjectUtils.ifNotNull;
 import static no.mnemonic.commons.utilities.ObjectUtils.ifNotNullDo;
 import static no.mnemonic.commons.utilities.collections.ListUtils.addToList;
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 
 public class PropertyHelper {
 
@@ -74,6 +77,39 @@ public class PropertyHelper {
     return props;
   }
 
+  /**
+   * Get all object properties of multiple objects at once. In contrast to
+   * {@link #getObjectProperties(ObjectRecord, TraverseParams)} the one legged facts of all objects are fetched with
+   * one search.
+   *
+   * @param objectRecords  The object records
+   * @param traverseParams How the traversal is configured
+   * @return The properties of each object, keyed by object ID
+   */
+  public Map<UUID, List<PropertyEntry<?>>> getObjectPropertiesBatch(Collection<ObjectRecord> objectRecords, TraverseParams traverseParams) {
+    if (objectRecords == null) throw new IllegalArgumentException("Missing required argument objectRecords!");
+    if (traverseParams == null) throw new IllegalArgumentException("Missing required argument traverseParams!");
+
+    Map<UUID, ObjectRecord> objects = new HashMap<>();
+    objectRecords.forEach(objectRecord -> objects.put(objectRecord.getId(), objectRecord));
+
+    Map<UUID, List<PropertyEntry<?>>> props = new HashMap<>();
+    if (objects.isEmpty()) return props;
+
+    searchOneLeggedFacts(objects.keySet(), traverseParams).forEach(fact -> {
+      // A one legged fact is either bound as source or as destination.
+      ObjectRecord bound = ObjectUtils.ifNull(fact.getSourceObject(), fact.getDestinationObject());
+      if (bound == null || !objects.containsKey(bound.getId())) return;
+      props.computeIfAbsent(bound.getId(), id -> new ArrayList<>()).add(toOneLeggedFactProperty(fact));
+    });
+
+    for (ObjectRecord objectRecord : objects.values()) {
+      props.computeIfAbsent(objectRecord.getId(), id -> new ArrayList<>()).add(new PropertyEntry<>("value", objectRecord.getValue()));
+    }
+
+    return props;
+  }
+
   /**
    * Get the object's one-legged facts to be used as part of the object's properties.
    * Note that the properties is a list, not a set. An object may have more than one property with the same name,
@@ -90,20 +126,8 @@ public class PropertyHelper {
    * @return A list of the object's one legged facts in the form of fact type name to fact value
    */
   List<PropertyEntry<?>> getOneLeggedFactsAsProperties(ObjectRecord objectRecord, TraverseParams traverseParams) {
-
-    ResultContainer<FactRecord> facts = objectFactDao.searchFacts(FactSearchCriteria.builder()
-            .addObjectID(objectRecord.getId())
-            .setFactBinding(FactSearchCriteria.FactBinding.oneLegged)
-            .setStartTimestamp(traverseParams.getAfterTimestamp())
-            .setEndTimestamp(traverseParams.getBeforeTimestamp())
-            .setCurrentUserID(securityContext.getCurrentUserID())
-            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
-            .build());
-
-    return facts.stream()
-            .filter(securityContext::hasReadPermission)
-            .filter(record -> traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record))
-            .map(fact -> new PropertyEntry<>(objectFactTypeResolver.toFactTypeStruct(fact.getTypeID()).getName(), fact.getValue()))
+    return searchOneLeggedFacts(set(objectRecord.getId()), traverseParams)
+            .map(this::toOneLeggedFactProperty)
             .collect(Collectors.toList());
   }
 
@@ -127,6 +151,36 @@ public class PropertyHelper {
             getStaticFactProperties(factRecord));
   }
 
+  /**
+   * Get all fact properties of multiple facts at once. In contrast to
+   * {@link #getFactProperties(FactRecord, TraverseParams)} the meta facts of all facts are fetched with one search.
+   *
+   * @param factRecords    Fact records
+   * @param traverseParams How the traversal is configured
+   * @return The properties of each fact, keyed by fact ID
+   */
+  public Map<UUID, List<PropertyEntry<?>>> getFactPropertiesBatch(Collection<FactRecord> factRecords, TraverseParams traverseParams) {
+    if (factRecords == null) throw new IllegalArgumentException("Missing required argument factRecords!");
+    if (traverseParams == null) throw new IllegalArgumentException("Missing required argument traverseParams!");
+
+    Map<UUID, FactRecord> facts = new HashMap<>();
+    factRecords.forEach(factRecord -> facts.put(factRecord.getId(), factRecord));
+
+    Map<UUID, List<PropertyEntry<?>>> props = new HashMap<>();
+    if (facts.isEmpty()) return props;
+
+    searchMetaFacts(facts.keySet(), traverseParams).forEach(metaFact -> {
+      if (!facts.containsKey(metaFact.getInReferenceToID())) return;
+      props.computeIfAbsent(metaFact.getInReferenceToID(), id -> new ArrayList<>()).add(toMetaFactProperty(metaFact));
+    });
+
+    for (FactRecord factRecord : facts.values()) {
+      props.computeIfAbsent(factRecord.getId(), id -> new ArrayList<>()).addAll(getStaticFactProperties(factRecord));
+    }
+
+    return props;
+  }
+
   /**
    * Get the meta facts to be used as part of a fact's properties.
    * <p>
@@ -141,20 +195,8 @@ public class PropertyHelper {
    * @return A list of the fact's meta facts in the form of fact type name to fact value
    */
   List<PropertyEntry<?>> getMetaFactsAsProperties(FactRecord factRecord, TraverseParams traverseParams) {
-    ResultContainer<FactRecord> facts = objectFactDao.searchFacts(FactSearchCriteria.builder()
-            .addInReferenceTo(factRecord.getId())
-            .setFactBinding(FactSearchCriteria.FactBinding.meta)
-            .setStartTimestamp(traverseParams.getAfterTimestamp())
-            .setEndTimestamp(traverseParams.getBeforeTimestamp())
-            .setCurrentUserID(securityContext.getCurrentUserID())
-            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
-            .build());
-
-    return facts.stream()
-            .filter(securityContext::hasReadPermission)
-            .filter(record -> traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record))
-            .map(record -> new PropertyEntry<>("meta/" +
-                    objectFactTypeResolver.toFactTypeStruct(record.getTypeID()).getName(), record.getValue()))
+    return searchMetaFacts(set(factRecord.getId()), traverseParams)
+            .map(this::toMetaFactProperty)
             .collect(Collectors.toList());
   }
 
@@ -190,4 +232,44 @@ public class PropertyHelper {
 
     return props;
   }
+
+  private Stream<FactRecord> searchOneLeggedFacts(Set<UUID> objectID, TraverseParams traverseParams) {
+    ResultContainer<FactRecord> facts = objectFactDao.searchFacts(FactSearchCriteria.builder()
+            .setObjectID(objectID)
+            .setFactBinding(FactSearchCriteria.FactBinding.oneLegged)
+            .setStartTimestamp(traverseParams.getAfterTimestamp())
+            .setEndTimestamp(traverseParams.getBeforeTimestamp())
+            .setCurrentUserID(securityContext.getCurrentUserID())
+            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
+            .build());
+
+    return filterFacts(facts, traverseParams);
+  }
+
+  private Stream<FactRecord> searchMetaFacts(Set<UUID> inReferenceTo, TraverseParams traverseParams) {
+    ResultContainer<FactRecord> facts = objectFactDao.searchFacts(FactSearchCriteria.builder()
+            .setInReferenceTo(inReferenceTo)
+            .setFactBinding(FactSearchCriteria.FactBinding.meta)
+            .setStartTimestamp(traverseParams.getAfterTimestamp())
+            .setEndTimestamp(traverseParams.getBeforeTimestamp())
+            .setCurrentUserID(securityContext.getCurrentUserID())
+            .setAvailableOrganizationID(securityContext.getAvailableOrganizationID())
+            .build());
+
+    return filterFacts(facts, traverseParams);
+  }
+
+  private Stream<FactRecord> filterFacts(ResultContainer<FactRecord> facts, TraverseParams traverseParams) {
+    return facts.stream()
+            .filter(securityContext::hasReadPermission)
+            .filter(record -> traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record));
+  }
+
+  private PropertyEntry<?> toOneLeggedFactProperty(FactRecord fact) {
+    return new PropertyEntry<>(objectFactTypeResolver.toFactTypeStruct(fact.getTypeID()).getName(), fact.getValue());
+  }
+
+  private PropertyEntry<?> toMetaFactProperty(FactRecord metaFact) {
+    return new PropertyEntry<>("meta/" + objectFactTypeResolver.toFactTypeStruct(metaFact.getTypeID()).getName(), metaFact.getValue());
+  }
 }
@@ -320,6 +320,16 @@ public class ThreatIntelligenceServiceImplTest {
     verify(delegate).handle(request);
   }
 
+  @Test
+  public void testFindShortestPathCallsDelegate() throws Exception {
+    TraverseShortestPathDelegate delegate = mock(TraverseShortestPathDelegate.class);
+    when(delegateProvider.get(TraverseShortestPathDelegate.class)).thenReturn(delegate);
+
+    FindShortestPathRequest request = new FindShortestPathRequest();
+    service.findShortestPath(RequestHeader.builder().build(), request);
+    verify(delegate).handle(request);
+  }
+
   @Test
   public void testGetOriginCallsDelegate() throws Exception {
     OriginGetByIdDelegate delegate = mock(OriginGetByIdDelegate.class);
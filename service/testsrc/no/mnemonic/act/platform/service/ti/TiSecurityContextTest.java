@@ -13,7 +13,9 @@ import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.OriginEntity;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
+import no.mnemonic.services.common.auth.InvalidCredentialsException;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.common.auth.model.OrganizationIdentity;
 import no.mnemonic.services.common.auth.model.SessionDescriptor;
@@ -21,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -281,6 +284,82 @@ public class TiSecurityContextTest {
     assertFalse(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)));
   }
 
+  @Test
+  public void testHasReadPermissionForFactRecordWithoutFact() {
+    assertFalse(context.hasReadPermission((FactRecord) null));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeRoleBased() throws Exception {
+    Organization org = mockAvailableOrganization();
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(true);
+
+    assertTrue(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(org.getId())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)));
+    // Organizations not available to the user never grant access.
+    assertFalse(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeRoleBasedNoAccess() throws Exception {
+    Organization org = mockAvailableOrganization();
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(false);
+
+    assertFalse(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(org.getId())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeRoleBasedUserInAcl() throws Exception {
+    assertTrue(context.hasReadPermission(new FactRecord()
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(mockCurrentUser()))));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithAccessModeExplicit() throws Exception {
+    UUID currentUser = mockCurrentUser();
+
+    assertTrue(context.hasReadPermission(new FactRecord()
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()))
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(currentUser))));
+    assertFalse(context.hasReadPermission(new FactRecord()
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()))));
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordResolvesPermissionsOnce() throws Exception {
+    Organization org = mockAvailableOrganization();
+    when(accessController.hasPermission(credentials, viewThreatIntelFact)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(true);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)));
+      assertTrue(context.hasReadPermission(new FactRecord().setOrganizationID(org.getId()).setAccessMode(FactRecord.AccessMode.RoleBased)));
+    }
+
+    verify(accessController).hasPermission(credentials, viewThreatIntelFact);
+    verify(accessController).hasPermission(credentials, viewThreatIntelFact, organization);
+    verify(accessController).getAvailableOrganizations(credentials);
+  }
+
+  @Test
+  public void testHasReadPermissionForFactRecordWithoutAuthentication() throws Exception {
+    when(accessController.hasPermission(credentials, viewThreatIntelFact)).thenThrow(InvalidCredentialsException.class);
+
+    assertFalse(context.hasReadPermission(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)));
+    assertFalse(context.hasReadPermission(new FactRecord()
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(mockCurrentUser()))));
+  }
+
   @Test(expected = AccessDeniedException.class)
   public void testCheckReadPermissionForObjectRecordWithoutObject() throws Exception {
     context.checkReadPermission((ObjectRecord) null);
@@ -310,16 +389,91 @@ public class TiSecurityContextTest {
 
   @Test
   public void testCheckReadPermissionForObjectRecordWithAccessToSecondFact() throws Exception {
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    FactRecord explicitFact = new FactRecord().setId(UUID.randomUUID()).setAccessMode(FactRecord.AccessMode.Explicit);
+    FactRecord publicFact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
 
     mockCurrentUser();
     mockAvailableOrganization();
     when(objectFactDao.searchFacts(notNull()))
-            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(fact, fact, fact).iterator()).build());
-    when(accessController.hasPermission(credentials, viewThreatIntelFact)).thenReturn(false, true, false);
+            .thenReturn(ResultContainer.<FactRecord>builder().setValues(ListUtils.list(explicitFact, publicFact, publicFact).iterator()).build());
+    when(accessController.hasPermission(credentials, viewThreatIntelFact)).thenReturn(true);
 
     context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
-    verify(accessController, times(2)).hasPermission(credentials, viewThreatIntelFact);
+    verify(accessController).hasPermission(credentials, viewThreatIntelFact);
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordChecksExistenceOfAccessibleFact() throws Exception {
+    ObjectRecord object = mockCheckExistenceForObjectRecord(true);
+
+    context.checkReadPermission(object);
+    verify(objectFactDao).existsFact(argThat(criteria -> criteria.getObjectID().contains(object.getId()) &&
+            criteria.getCurrentUserID() != null && !criteria.getAvailableOrganizationID().isEmpty()));
+    verify(objectFactDao, never()).searchFacts(any());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCheckReadPermissionForObjectRecordWithoutExistingAccessibleFact() throws Exception {
+    ObjectRecord object = mockCheckExistenceForObjectRecord(false);
+    context.checkReadPermission(object);
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordWithoutPermissionForAllOrganizationsStreamsFacts() throws Exception {
+    ObjectRecord object = mockCheckPermissionForObjectRecord(true);
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(false);
+
+    context.checkReadPermission(object);
+    verify(objectFactDao).searchFacts(notNull());
+    verify(objectFactDao, never()).existsFact(any());
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordsWithoutObjects() throws Exception {
+    context.checkReadPermission(ListUtils.<ObjectRecord>list());
+    verifyZeroInteractions(objectFactDao);
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCheckReadPermissionForObjectRecordsWithNullObject() throws Exception {
+    context.checkReadPermission(Arrays.asList(new ObjectRecord().setId(UUID.randomUUID()), null));
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordsChecksAllObjectsAtOnce() throws Exception {
+    ObjectRecord object1 = mockCheckExistenceForObjectRecord(true);
+    ObjectRecord object2 = new ObjectRecord().setId(UUID.randomUUID());
+    when(objectFactDao.retrieveObjectsWithFacts(notNull())).thenReturn(SetUtils.set(object1.getId(), object2.getId()));
+
+    context.checkReadPermission(ListUtils.list(object1, object2));
+    verify(objectFactDao).retrieveObjectsWithFacts(argThat(criteria -> criteria.getObjectID().equals(SetUtils.set(object1.getId(), object2.getId())) &&
+            criteria.getCurrentUserID() != null && !criteria.getAvailableOrganizationID().isEmpty()));
+    verify(objectFactDao, never()).existsFact(any());
+    verify(objectFactDao, never()).searchFacts(any());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCheckReadPermissionForObjectRecordsWithoutAccessToOneObject() throws Exception {
+    ObjectRecord object1 = mockCheckExistenceForObjectRecord(true);
+    ObjectRecord object2 = new ObjectRecord().setId(UUID.randomUUID());
+    when(objectFactDao.retrieveObjectsWithFacts(notNull())).thenReturn(SetUtils.set(object1.getId()));
+
+    context.checkReadPermission(ListUtils.list(object1, object2));
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectRecordsWithoutPermissionForAllOrganizationsStreamsFacts() throws Exception {
+    ObjectRecord object1 = mockCheckPermissionForObjectRecord(true);
+    ObjectRecord object2 = new ObjectRecord().setId(UUID.randomUUID());
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(false);
+    // Return the bound Facts for each searched Object.
+    when(objectFactDao.searchFacts(notNull())).thenAnswer(i -> ResultContainer.<FactRecord>builder()
+            .setValues(ListUtils.list(new FactRecord().setAccessMode(FactRecord.AccessMode.Public)).iterator())
+            .build());
+
+    context.checkReadPermission(ListUtils.list(object1, object2));
+    verify(objectFactDao, times(2)).searchFacts(notNull());
+    verify(objectFactDao, never()).retrieveObjectsWithFacts(any());
   }
 
   @Test
@@ -422,6 +576,20 @@ public class TiSecurityContextTest {
     return object;
   }
 
+  private ObjectRecord mockCheckExistenceForObjectRecord(boolean result) throws Exception {
+    ObjectRecord object = new ObjectRecord().setId(UUID.randomUUID());
+
+    // Mock permissions matching the access control applied by the search.
+    mockCurrentUser();
+    mockAvailableOrganization();
+    when(accessController.hasPermission(credentials, viewThreatIntelFact)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewThreatIntelFact, organization)).thenReturn(true);
+    // Mock existence of bound Facts.
+    when(objectFactDao.existsFact(notNull())).thenReturn(result);
+
+    return object;
+  }
+
   private UUID mockCurrentUser() throws Exception {
     UUID currentUserID = UUID.fromString("00000000-0000-0000-0000-000000000001");
     when(accessController.validate(credentials)).thenReturn(sessionDescriptor);
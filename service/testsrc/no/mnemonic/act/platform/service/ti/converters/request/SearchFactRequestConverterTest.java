@@ -34,7 +34,7 @@ public class SearchFactRequestConverterTest {
     when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
     when(securityContext.getAvailableOrganizationID()).thenReturn(SetUtils.set(UUID.randomUUID()));
 
-    converter = new SearchFactRequestConverter(byNameResolver, securityContext);
+    converter = new SearchFactRequestConverter(byNameResolver, securityContext, false);
   }
 
   @Test
@@ -51,6 +51,13 @@ public class SearchFactRequestConverterTest {
     assertNotNull(criteria.getAvailableOrganizationID());
   }
 
+  @Test
+  public void testConvertRequestIndexServed() throws Exception {
+    assertFalse(converter.apply(new SearchFactRequest()).isIndexServed());
+    converter = new SearchFactRequestConverter(byNameResolver, securityContext, true);
+    assertTrue(converter.apply(new SearchFactRequest()).isIndexServed());
+  }
+
   @Test
   public void testConvertRequestFilterByKeywords() throws Exception {
     FactSearchCriteria criteria = converter.apply(new SearchFactRequest().setKeywords("keyword"));
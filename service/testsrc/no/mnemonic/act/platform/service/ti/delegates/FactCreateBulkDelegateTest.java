@@ -0,0 +1,118 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
+import no.mnemonic.act.platform.api.request.v1.CreateFactsRequest;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
+import no.mnemonic.services.common.api.ResultSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FactCreateBulkDelegateTest {
+
+  @Mock
+  private TiSecurityContext securityContext;
+  @Mock
+  private FactCreateDelegate factCreateDelegate;
+  @Mock
+  private FactCreateHandler factCreateHandler;
+
+  private FactCreateBulkDelegate delegate;
+
+  @Before
+  public void setup() {
+    initMocks(this);
+    when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
+    delegate = new FactCreateBulkDelegate(securityContext, factCreateDelegate, factCreateHandler);
+  }
+
+  @Test
+  public void testCreateFactsSavesValidFactsTogether() throws Exception {
+    CreateFactRequest request1 = new CreateFactRequest().setComment("comment");
+    CreateFactRequest request2 = new CreateFactRequest();
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID()).setAccessMode(FactRecord.AccessMode.Public);
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID()).setAccessMode(FactRecord.AccessMode.Public);
+    when(factCreateDelegate.resolveNewFact(request1)).thenReturn(fact1);
+    when(factCreateDelegate.resolveNewFact(request2)).thenReturn(fact2);
+    when(factCreateHandler.saveFacts(any())).thenReturn(list(createSavedResult(0), createSavedResult(1)));
+
+    List<CreateFactResult> results = list(delegate.handle(new CreateFactsRequest().addFact(request1).addFact(request2)).iterator());
+
+    assertEquals(list(0, 1), list(results, CreateFactResult::getIndex));
+    verify(factCreateHandler).saveFacts(argThat(facts -> {
+      assertEquals(list(fact1, fact2), facts);
+      assertEquals(set("comment"), set(facts.get(0).getComments(), c -> c.getComment()));
+      return true;
+    }));
+  }
+
+  @Test
+  public void testCreateFactsReportsInvalidFacts() throws Exception {
+    CreateFactRequest invalidRequest = new CreateFactRequest();
+    CreateFactRequest deniedRequest = new CreateFactRequest();
+    CreateFactRequest validRequest = new CreateFactRequest();
+    FactRecord validFact = new FactRecord().setId(UUID.randomUUID()).setAccessMode(FactRecord.AccessMode.Public);
+    when(factCreateDelegate.resolveNewFact(invalidRequest)).thenThrow(new InvalidArgumentException()
+            .addValidationError("message", "template", "property", "value"));
+    when(factCreateDelegate.resolveNewFact(deniedRequest)).thenThrow(new AccessDeniedException("denied"));
+    when(factCreateDelegate.resolveNewFact(validRequest)).thenReturn(validFact);
+    when(factCreateHandler.saveFacts(any())).thenReturn(list(createSavedResult(2)));
+
+    ResultSet<CreateFactResult> resultSet = delegate.handle(new CreateFactsRequest()
+            .addFact(invalidRequest)
+            .addFact(deniedRequest)
+            .addFact(validRequest));
+    List<CreateFactResult> results = list(resultSet.iterator());
+
+    assertEquals(3, resultSet.getCount());
+    assertEquals(list(0, 1, 2), list(results, CreateFactResult::getIndex));
+    assertEquals("template", results.get(0).getMessages().get(0).getMessageTemplate());
+    assertEquals("property", results.get(0).getMessages().get(0).getField());
+    assertEquals("access.denied", results.get(1).getMessages().get(0).getMessageTemplate());
+    assertNotNull(results.get(2).getFact());
+    verify(factCreateHandler).saveFacts(Arrays.asList(null, null, validFact));
+  }
+
+  @Test
+  public void testCreateFactsReportsUnexpectedFailure() throws Exception {
+    CreateFactRequest failedRequest = new CreateFactRequest();
+    CreateFactRequest validRequest = new CreateFactRequest();
+    FactRecord validFact = new FactRecord().setId(UUID.randomUUID()).setAccessMode(FactRecord.AccessMode.Public);
+    when(factCreateDelegate.resolveNewFact(failedRequest)).thenThrow(new IllegalStateException("test"));
+    when(factCreateDelegate.resolveNewFact(validRequest)).thenReturn(validFact);
+    when(factCreateHandler.saveFacts(any())).thenReturn(list(createSavedResult(1)));
+
+    List<CreateFactResult> results = list(delegate.handle(new CreateFactsRequest()
+            .addFact(failedRequest)
+            .addFact(validRequest)).iterator());
+
+    assertEquals(list(0, 1), list(results, CreateFactResult::getIndex));
+    assertEquals("fact.not.created", results.get(0).getMessages().get(0).getMessageTemplate());
+    assertNotNull(results.get(1).getFact());
+    verify(factCreateHandler).saveFacts(Arrays.asList(null, validFact));
+  }
+
+  private CreateFactResult createSavedResult(int index) {
+    return CreateFactResult.builder()
+            .setIndex(index)
+            .setFact(Fact.builder().setId(UUID.randomUUID()).build())
+            .build();
+  }
+}
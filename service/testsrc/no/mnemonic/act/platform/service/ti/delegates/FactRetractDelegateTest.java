@@ -16,6 +16,7 @@ import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
+import no.mnemonic.act.platform.service.ti.caches.LocalFactRetractionCache;
 import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
 import no.mnemonic.act.platform.service.ti.handlers.FactCreateHandler;
 import no.mnemonic.act.platform.service.ti.resolvers.request.FactRequestResolver;
@@ -50,6 +51,8 @@ public class FactRetractDelegateTest {
   private TiSecurityContext securityContext;
   @Mock
   private TriggerContext triggerContext;
+  @Mock
+  private LocalFactRetractionCache factRetractionCache;
 
   private final OriginEntity origin = new OriginEntity()
           .setId(UUID.randomUUID())
@@ -76,7 +79,8 @@ public class FactRetractDelegateTest {
             factTypeRequestResolver,
             factRequestResolver,
             factCreateHandler,
-            factResponseConverter
+            factResponseConverter,
+            factRetractionCache
     );
   }
 
@@ -107,6 +111,25 @@ public class FactRetractDelegateTest {
     verify(factResponseConverter, times(2)).apply(matchFactRecord(request));
   }
 
+  @Test
+  public void testRetractFactInvalidatesRetractionCache() throws Exception {
+    RetractFactRequest request = mockRetractingFact();
+
+    delegate.handle(request);
+
+    verify(factRetractionCache).invalidate(request.getFact());
+  }
+
+  @Test
+  public void testRetractFactWithoutAccessKeepsRetractionCache() throws Exception {
+    RetractFactRequest request = mockRetractingFact();
+    doThrow(AccessDeniedException.class).when(securityContext).checkReadPermission(isA(FactRecord.class));
+
+    assertThrows(AccessDeniedException.class, () -> delegate.handle(request));
+
+    verifyZeroInteractions(factRetractionCache);
+  }
+
   @Test
   public void testRetractFactSetMissingOrganization() throws Exception {
     RetractFactRequest request = mockRetractingFact().setOrganization(null);
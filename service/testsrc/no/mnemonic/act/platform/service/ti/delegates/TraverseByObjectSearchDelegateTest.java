@@ -12,6 +12,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.request.SearchObjectRequestConverter;
 import no.mnemonic.act.platform.service.ti.handlers.TraverseGraphHandler;
+import no.mnemonic.act.platform.service.ti.tinkerpop.TraverseParams;
 import no.mnemonic.services.common.api.ResultSet;
 import org.junit.Before;
 import org.junit.Test;
@@ -108,7 +109,24 @@ public class TraverseByObjectSearchDelegateTest {
               assertEquals(after, traverseParams.getAfterTimestamp());
               assertEquals(before, traverseParams.getBeforeTimestamp());
               assertEquals(10, traverseParams.getLimit());
+              assertFalse(traverseParams.isParallel());
               return true;
             }));
   }
+
+  @Test
+  public void testTraverseWithParallelExecution() throws Exception {
+    UUID objectId = UUID.randomUUID();
+    TraverseGraphByObjectSearchRequest request = new TraverseGraphByObjectSearchRequest()
+            .setSearch(new SearchObjectRequest())
+            .setTraverse(new TraverseGraphRequest().setQuery("g.out()"))
+            .setParallel(true);
+
+    Iterator<ObjectRecord> searchResult = set(new ObjectRecord().setId(objectId)).iterator();
+    when(objectFactDao.searchObjects(any())).thenReturn(ResultContainer.<ObjectRecord>builder().setValues(searchResult).build());
+
+    delegate.handle(request);
+
+    verify(traverseGraphHandler).traverse(eq(set(objectId)), eq("g.out()"), argThat(TraverseParams::isParallel));
+  }
 }
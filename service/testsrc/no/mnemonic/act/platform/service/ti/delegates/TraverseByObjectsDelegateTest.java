@@ -9,10 +9,12 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.handlers.ObjectTypeHandler;
 import no.mnemonic.act.platform.service.ti.handlers.TraverseGraphHandler;
+import no.mnemonic.act.platform.service.ti.resolvers.ObjectResolver;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Collection;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
@@ -41,8 +43,7 @@ public class TraverseByObjectsDelegateTest {
     delegate = new TraverseByObjectsDelegate(
             securityContext,
             traverseGraphHandler,
-            objectFactDao,
-            objectTypeHandler
+            new ObjectResolver(objectFactDao, objectTypeHandler)
     );
   }
 
@@ -55,7 +56,7 @@ public class TraverseByObjectsDelegateTest {
   @Test
   public void testTraverseWithoutObject() throws Exception {
 
-    doThrow(AccessDeniedException.class).when(securityContext).checkReadPermission((ObjectRecord) isNull());
+    doThrow(AccessDeniedException.class).when(securityContext).checkReadPermission(argThat((Collection<ObjectRecord> objects) -> objects.contains(null)));
 
     assertThrows(AccessDeniedException.class, () -> {
       delegate.handle(new TraverseGraphByObjectsRequest().setObjects(set("ThreatActor/Sofacy")));
@@ -0,0 +1,187 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.api.model.v1.ObjectFactPath;
+import no.mnemonic.act.platform.api.request.v1.FindShortestPathRequest;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
+import no.mnemonic.act.platform.service.ti.converters.response.ObjectResponseConverter;
+import no.mnemonic.act.platform.service.ti.handlers.FactRetractionHandler;
+import no.mnemonic.act.platform.service.ti.handlers.ObjectTypeHandler;
+import no.mnemonic.act.platform.service.ti.resolvers.ObjectResolver;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.PropertyHelper;
+import no.mnemonic.services.common.api.ResultSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TraverseShortestPathDelegateTest {
+
+  @Mock
+  private TiSecurityContext securityContext;
+  @Mock
+  private ObjectFactDao objectFactDao;
+  @Mock
+  private ObjectTypeHandler objectTypeHandler;
+  @Mock
+  private ObjectFactTypeResolver objectFactTypeResolver;
+  @Mock
+  private FactRetractionHandler factRetractionHandler;
+  @Mock
+  private PropertyHelper propertyHelper;
+  @Mock
+  private ObjectResponseConverter objectResponseConverter;
+  @Mock
+  private FactResponseConverter factResponseConverter;
+
+  private final UUID objectTypeID = UUID.randomUUID();
+  private final UUID factTypeID = UUID.randomUUID();
+
+  private TraverseShortestPathDelegate delegate;
+
+  @Before
+  public void setup() {
+    initMocks(this);
+
+    when(objectFactTypeResolver.toObjectTypeStruct(objectTypeID))
+            .thenReturn(ObjectFactTypeResolver.ObjectTypeStruct.builder().setId(objectTypeID).setName("threatActor").build());
+    when(objectFactTypeResolver.toFactTypeStruct(factTypeID))
+            .thenReturn(ObjectFactTypeResolver.FactTypeStruct.builder().setId(factTypeID).setName("attributedTo").build());
+    when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
+    when(securityContext.getAvailableOrganizationID()).thenReturn(set(UUID.randomUUID()));
+    when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
+    when(objectResponseConverter.apply(any())).then(i -> Object.builder().setId(i.<ObjectRecord>getArgument(0).getId()).build());
+    when(factResponseConverter.apply(any())).then(i -> Fact.builder().setId(i.<FactRecord>getArgument(0).getId()).build());
+
+    delegate = new TraverseShortestPathDelegate(
+            securityContext,
+            objectFactDao,
+            new ObjectResolver(objectFactDao, objectTypeHandler),
+            objectFactTypeResolver,
+            factRetractionHandler,
+            propertyHelper,
+            objectResponseConverter,
+            factResponseConverter
+    );
+  }
+
+  @Test
+  public void testFindShortestPathWithoutPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(securityContext).checkPermission(TiFunctionConstants.traverseThreatIntelFact);
+    assertThrows(AccessDeniedException.class, () -> delegate.handle(new FindShortestPathRequest()));
+  }
+
+  @Test
+  public void testFindShortestPathWithoutObject() throws Exception {
+    doThrow(AccessDeniedException.class).when(securityContext).checkReadPermission(argThat((Collection<ObjectRecord> objects) -> objects.contains(null)));
+
+    assertThrows(AccessDeniedException.class, () -> delegate.handle(new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .setDestination(set("ThreatActor/Panda"))));
+
+    verify(objectFactDao).getObject("ThreatActor", "Sofacy");
+  }
+
+  @Test
+  public void testFindShortestPathWithoutObjectType() throws Exception {
+    doThrow(InvalidArgumentException.class).when(objectTypeHandler).assertObjectTypeExists("ThreatActor", "type");
+
+    assertThrows(InvalidArgumentException.class, () -> delegate.handle(new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .setDestination(set("ThreatActor/Panda"))));
+  }
+
+  @Test
+  public void testFindShortestPathChecksAccessToDestination() throws Exception {
+    ObjectRecord source = mockObject("Sofacy");
+    ObjectRecord destination = mockObject("Panda");
+    doThrow(AccessDeniedException.class).when(securityContext).checkReadPermission(argThat((Collection<ObjectRecord> objects) -> objects.contains(destination)));
+
+    assertThrows(AccessDeniedException.class, () -> delegate.handle(new FindShortestPathRequest()
+            .setSource(set(source.getId().toString()))
+            .setDestination(set(destination.getId().toString()))));
+
+    verify(objectFactDao, never()).searchFacts(any());
+  }
+
+  @Test
+  public void testFindShortestPath() throws Exception {
+    ObjectRecord source = mockObject("Sofacy");
+    ObjectRecord destination = mockObject("Panda");
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(factTypeID)
+            .setSourceObject(source)
+            .setDestinationObject(destination);
+    when(objectFactDao.searchFacts(any())).thenReturn(ResultContainer.<FactRecord>builder().setValues(list(fact).iterator()).build());
+
+    ResultSet<ObjectFactPath> result = delegate.handle(new FindShortestPathRequest()
+            .setSource(set("ThreatActor/Sofacy"))
+            .setDestination(set(destination.getId().toString()))
+            .setIncludeRetracted(true)
+            .setBefore(2L)
+            .setAfter(1L));
+
+    List<ObjectFactPath> paths = list(result.iterator());
+    assertEquals(1, result.getCount());
+    assertEquals(25, result.getLimit());
+    assertEquals(1, paths.size());
+    assertEquals(list(source.getId(), destination.getId()), list(paths.get(0).getObjects(), Object::getId));
+    assertEquals(list(fact.getId()), list(paths.get(0).getFacts(), Fact::getId));
+
+    verify(objectFactDao).searchFacts(argThat(criteria -> {
+      assertEquals(1L, (long) criteria.getStartTimestamp());
+      assertEquals(2L, (long) criteria.getEndTimestamp());
+      assertEquals(set(FactSearchCriteria.TimeFieldStrategy.timestamp), criteria.getTimeFieldStrategy());
+      return true;
+    }));
+    verifyZeroInteractions(factRetractionHandler);
+  }
+
+  @Test
+  public void testFindShortestPathNotConnected() throws Exception {
+    ObjectRecord source = mockObject("Sofacy");
+    ObjectRecord destination = mockObject("Panda");
+    when(objectFactDao.searchFacts(any())).then(i -> ResultContainer.<FactRecord>builder().build());
+
+    ResultSet<ObjectFactPath> result = delegate.handle(new FindShortestPathRequest()
+            .setSource(set(source.getId().toString()))
+            .setDestination(set(destination.getId().toString()))
+            .setLimit(10));
+
+    assertEquals(0, result.getCount());
+    assertEquals(10, result.getLimit());
+    assertFalse(result.iterator().hasNext());
+  }
+
+  private ObjectRecord mockObject(String value) {
+    ObjectRecord object = new ObjectRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(objectTypeID)
+            .setValue(value);
+    when(objectFactDao.getObject(object.getId())).thenReturn(object);
+    when(objectFactDao.getObject("ThreatActor", value)).thenReturn(object);
+    return object;
+  }
+}
@@ -2,6 +2,7 @@ package no.mnemonic.act.platform.service.ti.handlers;
 
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.CreateFactResult;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Organization;
 import no.mnemonic.act.platform.api.model.v1.Subject;
@@ -13,6 +14,7 @@ import no.mnemonic.act.platform.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.act.platform.dao.api.record.FactCommentRecord;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.dao.api.result.StoreFactsContainer;
 import no.mnemonic.act.platform.dao.cassandra.OriginManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.OriginEntity;
@@ -30,6 +32,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -408,11 +412,155 @@ public class FactCreateHandlerTest {
     }));
   }
 
+  @Test
+  public void testSaveFactsStoresNewFactsTogether() {
+    FactRecord fact1 = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    FactRecord fact2 = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    mockSaveFact();
+    when(objectFactDao.storeFacts(any())).thenReturn(StoreFactsContainer.builder().build());
+
+    List<CreateFactResult> results = handler.saveFacts(list(fact1, null, fact2));
+
+    assertEquals(list(0, 2), list(results, CreateFactResult::getIndex));
+    assertEquals(fact1.getId(), results.get(0).getFact().getId());
+    assertEquals(fact2.getId(), results.get(1).getFact().getId());
+    verify(objectFactDao).retrieveExistingFacts(list(fact1, fact2));
+    verify(objectFactDao, never()).retrieveExistingFacts(any(FactRecord.class));
+    verify(objectFactDao).storeFacts(list(fact1, fact2));
+    verify(objectFactDao, never()).storeFact(any());
+    verify(triggerContext, times(2)).registerTriggerEvent(notNull());
+  }
+
+  @Test
+  public void testSaveFactsRefreshesExistingFact() {
+    FactRecord factToSave = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()))
+            .addComment(new FactCommentRecord().setComment("some comment"));
+    FactRecord existingFact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setOrganizationID(UUID.randomUUID());
+    mockFactConverter();
+    when(objectFactDao.retrieveExistingFacts(list(factToSave)))
+            .thenReturn(Collections.singletonList(ResultContainer.<FactRecord>builder().setValues(list(existingFact).iterator()).build()));
+    when(securityContext.hasReadPermission(existingFact)).thenReturn(true);
+    when(objectFactDao.refreshFact(existingFact)).thenReturn(existingFact);
+    when(objectFactDao.storeFacts(any())).thenReturn(StoreFactsContainer.builder().build());
+
+    List<CreateFactResult> results = handler.saveFacts(list(factToSave));
+
+    assertEquals(1, results.size());
+    assertEquals(existingFact.getId(), results.get(0).getFact().getId());
+    verify(objectFactDao).refreshFact(argThat(fact -> {
+      assertEquals(set("some comment"), set(fact.getComments(), FactCommentRecord::getComment));
+      assertEquals(set(factToSave.getAcl(), FactAclEntryRecord::getSubjectID), set(fact.getAcl(), FactAclEntryRecord::getSubjectID));
+      return true;
+    }));
+    verify(objectFactDao).storeFacts(list());
+  }
+
+  @Test
+  public void testSaveFactsReportsFailedFact() {
+    FactRecord failedFact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    FactRecord storedFact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    mockSaveFact();
+    when(objectFactDao.storeFacts(any())).thenReturn(StoreFactsContainer.builder().addStoreFailure(failedFact.getId(), "test").build());
+
+    List<CreateFactResult> results = handler.saveFacts(list(failedFact, storedFact));
+
+    assertEquals(2, results.size());
+    assertNull(results.get(0).getFact());
+    assertEquals(set("fact.not.stored"), set(results.get(0).getMessages(), CreateFactResult.Message::getMessageTemplate));
+    assertEquals(storedFact.getId(), results.get(1).getFact().getId());
+    verify(triggerContext).registerTriggerEvent(notNull());
+  }
+
+  @Test
+  public void testSaveFactsReportsNotIndexedFact() {
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    mockSaveFact();
+    when(objectFactDao.storeFacts(any())).thenReturn(StoreFactsContainer.builder().addIndexFailure(fact.getId(), "test").build());
+
+    List<CreateFactResult> results = handler.saveFacts(list(fact));
+
+    assertEquals(1, results.size());
+    assertNull(results.get(0).getFact());
+    assertEquals(set("fact.not.indexed"), set(results.get(0).getMessages(), CreateFactResult.Message::getMessageTemplate));
+  }
+
+  @Test
+  public void testSaveFactsStoresIdenticalFactsOnlyOnce() {
+    UUID organizationID = UUID.randomUUID();
+    FactRecord fact1 = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setOrganizationID(organizationID)
+            .setValue("value");
+    FactRecord fact2 = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setOrganizationID(organizationID)
+            .setValue("value")
+            .addAclEntry(new FactAclEntryRecord().setSubjectID(UUID.randomUUID()))
+            .addComment(new FactCommentRecord().setComment("some comment"));
+    mockSaveFact();
+    when(objectFactDao.storeFacts(any())).thenReturn(StoreFactsContainer.builder().build());
+
+    List<CreateFactResult> results = handler.saveFacts(list(fact1, fact2));
+
+    assertEquals(2, results.size());
+    assertEquals(fact1.getId(), results.get(0).getFact().getId());
+    assertEquals(fact1.getId(), results.get(1).getFact().getId());
+    verify(objectFactDao).storeFacts(argThat(facts -> {
+      assertEquals(list(fact1), facts);
+      assertEquals(set("some comment"), set(facts.get(0).getComments(), FactCommentRecord::getComment));
+      assertEquals(set(fact2.getAcl(), FactAclEntryRecord::getSubjectID), set(facts.get(0).getAcl(), FactAclEntryRecord::getSubjectID));
+      return true;
+    }));
+  }
+
+  @Test
+  public void testSaveFactsReportsFailedExistenceCheck() {
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Public)
+            .setOrganizationID(UUID.randomUUID());
+    when(objectFactDao.retrieveExistingFacts(anyList())).thenThrow(new IllegalStateException("test"));
+
+    List<CreateFactResult> results = handler.saveFacts(Arrays.asList(null, fact));
+
+    assertEquals(1, results.size());
+    assertEquals(1, results.get(0).getIndex());
+    assertEquals(set("fact.not.stored"), set(results.get(0).getMessages(), CreateFactResult.Message::getMessageTemplate));
+    verify(objectFactDao, never()).storeFacts(any());
+  }
+
   private void mockSaveFact() {
     // Mocking
     mockFactConverter();
     // Mock fetching of existing Fact.
-    when(objectFactDao.retrieveExistingFacts(any())).thenReturn(ResultContainer.<FactRecord>builder().build());
+    when(objectFactDao.retrieveExistingFacts(any(FactRecord.class))).thenReturn(ResultContainer.<FactRecord>builder().build());
+    when(objectFactDao.retrieveExistingFacts(anyList())).thenAnswer(i -> {
+      List<FactRecord> facts = i.getArgument(0);
+      return list(facts, fact -> ResultContainer.<FactRecord>builder().build());
+    });
     // Mock stuff needed for saving Fact.
     when(objectFactDao.storeFact(any())).thenAnswer(i -> i.getArgument(0));
   }
@@ -1,18 +1,20 @@
 package no.mnemonic.act.platform.service.ti.handlers;
 
-import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.api.record.FactRecord;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.caches.LocalFactRetractionCache;
 import no.mnemonic.act.platform.service.ti.resolvers.request.FactTypeRequestResolver;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
@@ -30,6 +32,8 @@ public class FactRetractionHandlerTest {
   @Mock
   private TiSecurityContext securityContext;
 
+  private final FactTypeEntity retractionFactType = new FactTypeEntity().setId(UUID.randomUUID());
+  private LocalFactRetractionCache factRetractionCache;
   private FactRetractionHandler handler;
 
   @Before
@@ -37,11 +41,12 @@ public class FactRetractionHandlerTest {
     initMocks(this);
 
     // Common mocks used by most tests.
-    when(factTypeRequestResolver.resolveRetractionFactType()).thenReturn(new FactTypeEntity().setId(UUID.randomUUID()));
+    when(factTypeRequestResolver.resolveRetractionFactType()).thenReturn(retractionFactType);
     when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
     when(securityContext.getAvailableOrganizationID()).thenReturn(Collections.singleton(UUID.randomUUID()));
 
-    handler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext);
+    factRetractionCache = new LocalFactRetractionCache();
+    handler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
   }
 
   @Test
@@ -59,43 +64,37 @@ public class FactRetractionHandlerTest {
   }
 
   @Test
-  public void testIsRetractedPopulatesSearchCriteria() {
+  public void testIsRetractedSearchesRetractionsOfFact() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
 
     assertFalse(handler.isRetracted(fact));
 
-    verify(factSearchManager).searchFacts(argThat(criteria -> {
-      assertEquals(set(fact.getId()), criteria.getInReferenceTo());
-      assertFalse(criteria.getFactTypeID().isEmpty());
-      assertFalse(criteria.getAvailableOrganizationID().isEmpty());
-      assertNotNull(criteria.getCurrentUserID());
-      return true;
-    }));
+    verify(factSearchManager).searchRetractions(set(fact.getId()), retractionFactType.getId());
   }
 
   @Test
   public void testIsRetractedWithRetractedHintTrue() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
-    FactDocument retraction = new FactDocument().setId(UUID.randomUUID());
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction));
+    FactDocument retraction = retraction(fact.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction));
 
     assertTrue(handler.isRetracted(fact));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verify(factSearchManager).searchFacts(inReferenceTo(retraction.getId()));
+    verify(factSearchManager).searchRetractions(inReferenceTo(fact.getId()), any());
+    verify(factSearchManager).searchRetractions(inReferenceTo(retraction.getId()), any());
     verifyNoMoreInteractions(factSearchManager);
   }
 
   @Test
   public void testIsRetractedWithRetractedRetraction() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
+    FactDocument retraction1 = retraction(fact.getId());
+    FactDocument retraction2 = retraction(retraction1.getId());
 
     // fact ---> retraction1 ---> retraction2
     // retraction2 cancels out retraction1, thus, fact in not retracted.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction1));
+    when(factSearchManager.searchRetractions(inReferenceTo(retraction1.getId()), any())).thenReturn(createSearchResult(retraction2));
 
     assertFalse(handler.isRetracted(fact));
   }
@@ -103,15 +102,15 @@ public class FactRetractionHandlerTest {
   @Test
   public void testIsRetractedWithRetractedRetractionTwoLevels() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction3 = new FactDocument().setId(UUID.randomUUID());
+    FactDocument retraction1 = retraction(fact.getId());
+    FactDocument retraction2 = retraction(retraction1.getId());
+    FactDocument retraction3 = retraction(retraction2.getId());
 
     // fact ---> retraction1 ---> retraction2 ---> retraction3
     // retraction3 cancels out retraction2, thus, fact is retracted because retraction1 holds.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction2.getId()))).thenReturn(createSearchResult(retraction3));
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction1));
+    when(factSearchManager.searchRetractions(inReferenceTo(retraction1.getId()), any())).thenReturn(createSearchResult(retraction2));
+    when(factSearchManager.searchRetractions(inReferenceTo(retraction2.getId()), any())).thenReturn(createSearchResult(retraction3));
 
     assertTrue(handler.isRetracted(fact));
   }
@@ -119,17 +118,17 @@ public class FactRetractionHandlerTest {
   @Test
   public void testIsRetractedWithRetractedRetractionComplexTree() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
-    FactDocument retraction1 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction2 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction3 = new FactDocument().setId(UUID.randomUUID());
-    FactDocument retraction4 = new FactDocument().setId(UUID.randomUUID());
+    FactDocument retraction1 = retraction(fact.getId());
+    FactDocument retraction2 = retraction(retraction1.getId());
+    FactDocument retraction3 = retraction(fact.getId());
+    FactDocument retraction4 = retraction(fact.getId());
 
     // fact -----------> retraction1 ---> retraction2
     //     |-----------> retraction3
     //     |-----------> retraction4
     // retraction2 cancels out retraction1, thus, factDocument is retracted because of retraction3/retraction4.
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction1, retraction3, retraction4));
-    when(factSearchManager.searchFacts(inReferenceTo(retraction1.getId()))).thenReturn(createSearchResult(retraction2));
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction1, retraction3, retraction4));
+    when(factSearchManager.searchRetractions(inReferenceTo(retraction1.getId()), any())).thenReturn(createSearchResult(retraction2));
 
     assertTrue(handler.isRetracted(fact));
   }
@@ -137,19 +136,203 @@ public class FactRetractionHandlerTest {
   @Test
   public void testIsRetractedCachesResult() {
     FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
-    FactDocument retraction = new FactDocument().setId(UUID.randomUUID());
-    when(factSearchManager.searchFacts(inReferenceTo(fact.getId()))).thenReturn(createSearchResult(retraction));
+    FactDocument retraction = retraction(fact.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction));
 
     assertTrue(handler.isRetracted(fact));
 
-    verify(factSearchManager).searchFacts(inReferenceTo(fact.getId()));
-    verify(factSearchManager).searchFacts(inReferenceTo(retraction.getId()));
+    verify(factSearchManager).searchRetractions(inReferenceTo(fact.getId()), any());
+    verify(factSearchManager).searchRetractions(inReferenceTo(retraction.getId()), any());
     verifyNoMoreInteractions(factSearchManager);
 
     assertTrue(handler.isRetracted(fact));
     verifyNoMoreInteractions(factSearchManager);
   }
 
+  @Test
+  public void testResolveRetractionsWithEmptyInput() {
+    assertTrue(handler.resolveRetractions(list()).isEmpty());
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testResolveRetractionsWithoutRetractedHint() {
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID());
+
+    Map<UUID, Boolean> result = handler.resolveRetractions(list(fact1, fact2));
+    assertEquals(2, result.size());
+    assertFalse(result.get(fact1.getId()));
+    assertFalse(result.get(fact2.getId()));
+
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testResolveRetractionsSearchesRetractionsOfAllFacts() {
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+
+    handler.resolveRetractions(list(fact1, fact2));
+
+    verify(factSearchManager).searchRetractions(set(fact1.getId(), fact2.getId()), retractionFactType.getId());
+  }
+
+  @Test
+  public void testResolveRetractionsSearchesOncePerLevel() {
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact3 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction1 = retraction(fact1.getId());
+    FactDocument retraction2 = retraction(fact2.getId());
+    FactDocument retraction3 = retraction(retraction2.getId());
+
+    // fact1 ---> retraction1
+    // fact2 ---> retraction2 ---> retraction3
+    // fact3 (no accessible retractions)
+    when(factSearchManager.searchRetractions(inReferenceTo(fact1.getId()), any())).thenReturn(createSearchResult(retraction1, retraction2));
+    when(factSearchManager.searchRetractions(inReferenceTo(retraction1.getId()), any())).thenReturn(createSearchResult(retraction3));
+
+    Map<UUID, Boolean> result = handler.resolveRetractions(list(fact1, fact2, fact3));
+    assertTrue(result.get(fact1.getId()));
+    assertFalse(result.get(fact2.getId()));
+    assertFalse(result.get(fact3.getId()));
+
+    // One search for the Facts, one for their retractions and one for the retractions of the retractions.
+    verify(factSearchManager, times(3)).searchRetractions(any(), any());
+  }
+
+  @Test
+  public void testResolveRetractionsPopulatesCache() {
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction = retraction(fact1.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact1.getId()), any())).thenReturn(createSearchResult(retraction));
+
+    handler.resolveRetractions(list(fact1, fact2));
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+
+    assertTrue(handler.isRetracted(fact1));
+    assertFalse(handler.isRetracted(fact2));
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testIsRetractedSharesRetractionsBetweenRequests() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction = retraction(fact.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction));
+
+    assertTrue(handler.isRetracted(fact));
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+
+    // A new request from a user with the same access computes the verdict from the cached retractions.
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertTrue(otherHandler.isRetracted(fact));
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testIsRetractedSharesRetractionsBetweenUsersWithDifferentAccess() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction = retraction(fact.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).then(i -> createSearchResult(retraction));
+
+    assertTrue(handler.isRetracted(fact));
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+
+    // The cached retractions don't depend on the user, access is checked in memory.
+    when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
+    when(securityContext.getAvailableOrganizationID()).thenReturn(Collections.singleton(UUID.randomUUID()));
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertTrue(otherHandler.isRetracted(fact));
+    verifyNoMoreInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testIsRetractedWithRoleBasedRetractionAccessibleViaOrganization() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction = retraction(fact.getId())
+            .setAccessMode(FactDocument.AccessMode.RoleBased)
+            .setOrganizationID(UUID.randomUUID());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).then(i -> createSearchResult(retraction));
+
+    // The retraction isn't accessible, thus, the Fact isn't retracted.
+    assertFalse(handler.isRetracted(fact));
+
+    when(securityContext.getAvailableOrganizationID()).thenReturn(Collections.singleton(retraction.getOrganizationID()));
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertTrue(otherHandler.isRetracted(fact));
+    // The retractions of the Fact are shared, only the retractions of the now accessible retraction are searched.
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+  }
+
+  @Test
+  public void testIsRetractedWithExplicitRetractionAccessibleViaAcl() {
+    UUID aclUser = UUID.randomUUID();
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactDocument retraction = retraction(fact.getId())
+            .setAccessMode(FactDocument.AccessMode.Explicit)
+            .setAcl(set(aclUser));
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).then(i -> createSearchResult(retraction));
+
+    // The retraction isn't accessible, thus, the Fact isn't retracted.
+    assertFalse(handler.isRetracted(fact));
+
+    when(securityContext.getCurrentUserID()).thenReturn(aclUser);
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertTrue(otherHandler.isRetracted(fact));
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+  }
+
+  @Test
+  public void testIsRetractedSharesRetractionsOfExplicitFact() {
+    FactRecord fact = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.Explicit)
+            .setFlags(set(FactRecord.Flag.RetractedHint));
+
+    assertFalse(handler.isRetracted(fact));
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertFalse(otherHandler.isRetracted(fact));
+    verify(factSearchManager, times(1)).searchRetractions(any(), any());
+  }
+
+  @Test
+  public void testIsRetractedDoesNotCacheShortlyAfterInvalidation() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    factRetractionCache.invalidate(fact.getId());
+
+    // The new retraction might not be searchable yet, thus, the result must not be cached.
+    assertFalse(handler.isRetracted(fact));
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertFalse(otherHandler.isRetracted(fact));
+    verify(factSearchManager, times(2)).searchRetractions(any(), any());
+  }
+
+  @Test
+  public void testIsRetractedAfterInvalidation() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+
+    assertFalse(handler.isRetracted(fact));
+    verify(factSearchManager, times(1)).searchRetractions(any(), any());
+
+    // A new retraction has been stored in the meantime.
+    FactDocument retraction = retraction(fact.getId());
+    when(factSearchManager.searchRetractions(inReferenceTo(fact.getId()), any())).thenReturn(createSearchResult(retraction));
+    factRetractionCache.invalidate(fact.getId());
+
+    FactRetractionHandler otherHandler = new FactRetractionHandler(factTypeRequestResolver, factSearchManager, securityContext, factRetractionCache);
+    assertTrue(otherHandler.isRetracted(fact));
+  }
+
+  private FactDocument retraction(UUID inReferenceTo) {
+    return new FactDocument()
+            .setId(UUID.randomUUID())
+            .setInReferenceTo(inReferenceTo)
+            .setAccessMode(FactDocument.AccessMode.Public);
+  }
+
   private ScrollingSearchResult<FactDocument> createSearchResult(FactDocument... fact) {
     return ScrollingSearchResult.<FactDocument>builder()
             .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", list(fact).iterator(), true))
@@ -157,7 +340,7 @@ public class FactRetractionHandlerTest {
             .build();
   }
 
-  private FactSearchCriteria inReferenceTo(UUID id) {
-    return argThat(criteria -> criteria != null && criteria.getInReferenceTo() != null && criteria.getInReferenceTo().contains(id));
+  private Set<UUID> inReferenceTo(UUID id) {
+    return argThat(factIDs -> factIDs != null && factIDs.contains(id));
   }
 }
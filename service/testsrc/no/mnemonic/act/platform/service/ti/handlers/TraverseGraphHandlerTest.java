@@ -11,6 +11,8 @@ import no.mnemonic.act.platform.dao.api.result.ResultContainer;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.response.FactResponseConverter;
 import no.mnemonic.act.platform.service.ti.converters.response.ObjectResponseConverter;
+import no.mnemonic.act.platform.service.ti.helpers.GremlinExecutorProvider;
+import no.mnemonic.act.platform.service.ti.helpers.ParallelTraversalExecutor;
 import no.mnemonic.act.platform.service.ti.tinkerpop.utils.PropertyHelper;
 import no.mnemonic.act.platform.service.ti.tinkerpop.TraverseParams;
 import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver;
@@ -28,6 +30,8 @@ import java.util.Set;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -60,7 +64,6 @@ public class TraverseGraphHandlerTest {
     when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
     when(securityContext.getCurrentUserID()).thenReturn(new UUID(0, 1));
     when(securityContext.getAvailableOrganizationID()).thenReturn(set(new UUID(0, 1)));
-    when(propertyHelper.getObjectProperties(any(), any())).thenReturn(list());
 
     handler = new TraverseGraphHandler(
             securityContext,
@@ -69,7 +72,9 @@ public class TraverseGraphHandlerTest {
             objectResponseConverter,
             factResponseConverter,
             factRetractionHandler,
-            propertyHelper).setScriptExecutionTimeout(5000);
+            propertyHelper,
+            new GremlinExecutorProvider(1),
+            new ParallelTraversalExecutor()).setScriptExecutionTimeout(5000);
   }
 
   @Test
@@ -106,8 +111,8 @@ public class TraverseGraphHandlerTest {
     ObjectRecord destination = mockObjectRecord(mockObjectType(), "someOther");
     mockFact(source, destination);
 
-    when(propertyHelper.getObjectProperties(eq(source), any()))
-            .thenReturn(ListUtils.list(new PropertyEntry<>("value", "someValue")));
+    when(propertyHelper.getObjectPropertiesBatch(any(), any()))
+            .thenReturn(map(T(source.getId(), ListUtils.list(new PropertyEntry<>("value", "someValue")))));
 
     ResultSet<?> resultSet = handler.traverse(set(source.getId()), "g.values('value')", TraverseParams.builder().build());
 
@@ -116,15 +121,60 @@ public class TraverseGraphHandlerTest {
     assertEquals("someValue", result.get(0));
   }
 
+  @Test
+  public void testTraverseGraphKeepsDuplicatesWithoutParallelExecution() throws Exception {
+    ObjectRecord first = mockObjectRecord(mockObjectType(), "sameValue");
+    ObjectRecord second = mockObjectRecord(mockObjectType(), "sameValue");
+
+    when(propertyHelper.getObjectPropertiesBatch(any(), any())).thenReturn(map(
+            T(first.getId(), ListUtils.list(new PropertyEntry<>("value", "sameValue"))),
+            T(second.getId(), ListUtils.list(new PropertyEntry<>("value", "sameValue")))));
+
+    ResultSet<?> resultSet = handler.traverse(set(first.getId(), second.getId()), "g.values('value')",
+            TraverseParams.builder().setParallel(false).build());
+
+    // Without parallel execution the results are returned as produced by the traversal, including duplicates.
+    assertEquals(list("sameValue", "sameValue"), list(resultSet.iterator()));
+  }
+
+  @Test
+  public void testTraverseGraphStreamsResultExceedingBuffer() throws Exception {
+    ObjectRecord first = mockObjectRecord(mockObjectType(), "first");
+    ObjectRecord second = mockObjectRecord(mockObjectType(), "second");
+    ObjectRecord third = mockObjectRecord(mockObjectType(), "third");
+
+    // With a buffer of one result the traversal can't finish before the results are consumed.
+    ResultSet<?> resultSet = handler.setResultBufferSize(1)
+            .traverse(set(first.getId(), second.getId(), third.getId()), "g.id()", TraverseParams.builder().setLimit(0).build());
+
+    // Only the results produced so far are counted while the traversal is still running.
+    assertEquals(1, resultSet.getCount());
+    assertEquals(set(first.getId().toString(), second.getId().toString(), third.getId().toString()), set(resultSet.iterator()));
+  }
+
+  @Test
+  public void testTraverseGraphWithLimitReportsExactCount() throws Exception {
+    ObjectRecord first = mockObjectRecord(mockObjectType(), "first");
+    ObjectRecord second = mockObjectRecord(mockObjectType(), "second");
+    ObjectRecord third = mockObjectRecord(mockObjectType(), "third");
+
+    // A limited traversal always finishes before returning, independent of the buffer size for unlimited traversals.
+    ResultSet<?> resultSet = handler.setResultBufferSize(1)
+            .traverse(set(first.getId(), second.getId(), third.getId()), "g.id()", TraverseParams.builder().setLimit(3).build());
+
+    assertEquals(3, resultSet.getCount());
+    assertEquals(set(first.getId().toString(), second.getId().toString(), third.getId().toString()), set(resultSet.iterator()));
+  }
+
   @Test
   public void testTraverseGraphReturnProperties() throws Exception {
     ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
     ObjectRecord destination = mockObjectRecord(mockObjectType(), "someOther");
     mockFact(source, destination);
-    when(propertyHelper.getObjectProperties(eq(source), any()))
-            .thenReturn(ListUtils.list(
+    when(propertyHelper.getObjectPropertiesBatch(any(), any()))
+            .thenReturn(map(T(source.getId(), ListUtils.list(
                     new PropertyEntry<>("name", "test"),
-                    new PropertyEntry<>("value", "someValue")));
+                    new PropertyEntry<>("value", "someValue")))));
 
     ResultSet<?> resultSet = handler.traverse(set(source.getId()), "g.properties()", TraverseParams.builder().build());
 
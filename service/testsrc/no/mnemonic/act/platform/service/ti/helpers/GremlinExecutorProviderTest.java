@@ -0,0 +1,51 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.*;
+
+public class GremlinExecutorProviderTest {
+
+  private final GremlinExecutorProvider provider = new GremlinExecutorProvider(2);
+
+  @After
+  public void cleanUp() {
+    provider.stopComponent();
+  }
+
+  @Test
+  public void testGetReturnsSharedExecutor() {
+    GremlinExecutor executor = provider.get(1000);
+    assertSame(executor, provider.get(1000));
+  }
+
+  @Test
+  public void testGetReturnsExecutorPerTimeout() {
+    assertNotSame(provider.get(1000), provider.get(2000));
+  }
+
+  @Test
+  public void testStopComponentClosesExecutors() {
+    GremlinExecutor executor = provider.get(1000);
+    provider.stopComponent();
+    assertNotSame(executor, provider.get(1000));
+  }
+
+  @Test
+  public void testExecutorsShareBoundedThreadPool() {
+    ExecutorService first = provider.get(1000).getExecutorService();
+    ExecutorService second = provider.get(2000).getExecutorService();
+    assertSame(first, second);
+    provider.stopComponent();
+    assertTrue(first.isShutdown());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateProviderWithoutThreads() {
+    new GremlinExecutorProvider(0);
+  }
+}
@@ -0,0 +1,96 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class ParallelTraversalExecutorTest {
+
+  private final ParallelTraversalExecutor executor = new ParallelTraversalExecutor();
+
+  @After
+  public void tearDown() {
+    executor.stopComponent();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExecuteWithoutLimit() throws Exception {
+    executor.execute(list(), 0, result -> true);
+  }
+
+  @Test
+  public void testExecuteMergesResultsWithoutDuplicates() throws Exception {
+    List<Object> results = new ArrayList<>();
+    executor.execute(shards(createShard(1, 2), createShard(2, 3)), 10, results::add);
+
+    assertEquals(3, results.size());
+    assertEquals(set(1, 2, 3), set(results));
+  }
+
+  @Test
+  public void testExecuteStopsAtLimit() throws Exception {
+    List<Object> results = new ArrayList<>();
+    executor.execute(shards(createShard(IntStream.range(0, 100).boxed().toArray()),
+            createShard(IntStream.range(100, 200).boxed().toArray())), 5, results::add);
+
+    assertEquals(5, results.size());
+  }
+
+  @Test
+  public void testExecuteLimitsDistinctResults() throws Exception {
+    List<Object> results = new ArrayList<>();
+    executor.execute(shards(createShard(1, 1, 1, 2), createShard(2, 2, 2, 3)), 3, results::add);
+
+    assertEquals(3, results.size());
+    assertEquals(set(1, 2, 3), set(results));
+  }
+
+  @Test
+  public void testExecuteWithMoreResultsThanQueueSize() throws Exception {
+    List<Object> results = new ArrayList<>();
+    executor.execute(shards(createShard(IntStream.range(0, 5000).boxed().toArray()),
+            createShard(IntStream.range(5000, 10000).boxed().toArray())), 10000, results::add);
+
+    assertEquals(10000, results.size());
+  }
+
+  @Test
+  public void testExecuteOnlyCountsAcceptedResults() throws Exception {
+    List<Object> results = new ArrayList<>();
+    executor.execute(shards(createShard(1, 2), createShard(3, 4)), 2, result -> (Integer) result % 2 == 0 && results.add(result));
+
+    assertEquals(set(2, 4), set(results));
+  }
+
+  @Test
+  public void testExecuteRethrowsShardFailure() throws Exception {
+    Traversal.Admin<?, ?> failingShard = __.inject(1).map(traverser -> {
+      throw new IllegalArgumentException("test");
+    }).asAdmin();
+
+    try {
+      executor.execute(shards(createShard(1), failingShard), 10, result -> true);
+      fail();
+    } catch (IllegalArgumentException ex) {
+      assertEquals("test", ex.getMessage());
+    }
+  }
+
+  private List<Traversal.Admin<?, ?>> shards(Traversal.Admin<?, ?>... shards) {
+    return Arrays.asList(shards);
+  }
+
+  private Traversal.Admin<?, ?> createShard(Object... values) {
+    return __.inject(values).asAdmin();
+  }
+}
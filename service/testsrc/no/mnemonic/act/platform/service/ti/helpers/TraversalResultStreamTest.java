@@ -0,0 +1,124 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static org.junit.Assert.*;
+
+public class TraversalResultStreamTest {
+
+  private final TraversalResultStream<String> stream = new TraversalResultStream<>(2, 1000);
+
+  @Test
+  public void testIterateCompletedStream() throws Exception {
+    stream.put("first");
+    stream.complete();
+
+    assertTrue(stream.isFinished());
+    assertEquals(1, stream.size());
+    assertEquals(list("first"), list(stream));
+    assertFalse(stream.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testNextAfterEndOfStream() {
+    stream.complete();
+    stream.next();
+  }
+
+  @Test
+  public void testReadyAfterBufferIsFull() throws Exception {
+    stream.put("first");
+    assertFalse(stream.ready().isDone());
+
+    stream.put("second");
+    assertTrue(stream.ready().isDone());
+    assertFalse(stream.isFinished());
+  }
+
+  @Test
+  public void testReadyAfterCompletion() {
+    stream.complete();
+    assertTrue(stream.ready().isDone());
+  }
+
+  @Test
+  public void testProducerBlocksUntilConsumerCatchesUp() throws Exception {
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < 10; i++) {
+          stream.put("value" + i);
+        }
+        stream.complete();
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+
+    stream.ready().get(1, TimeUnit.SECONDS);
+    try {
+      producer.get(100, TimeUnit.MILLISECONDS);
+      fail();
+    } catch (TimeoutException ignored) {
+      // Producer is blocked because the buffer is full.
+    }
+
+    assertEquals(10, list(stream).size());
+    producer.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testFailureIsThrownAfterBufferedResults() throws Exception {
+    IllegalArgumentException cause = new IllegalArgumentException("test");
+    stream.put("first");
+    stream.fail(cause);
+
+    assertEquals("first", stream.next());
+    try {
+      stream.hasNext();
+      fail();
+    } catch (IllegalStateException ex) {
+      assertSame(cause, ex.getCause());
+    }
+  }
+
+  @Test
+  public void testProducerIsReleasedWhenConsumerCancels() throws Exception {
+    stream.put("first");
+    stream.put("second");
+
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        stream.put("third");
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+
+    stream.cancel();
+    try {
+      producer.get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof CancellationException);
+    }
+    assertTrue(stream.isCancelled());
+    assertFalse(stream.hasNext());
+  }
+
+  @Test
+  public void testProducerIsReleasedWhenConsumerDoesNotCatchUp() throws Exception {
+    TraversalResultStream<String> stream = new TraversalResultStream<>(1, 200);
+    stream.put("first");
+
+    assertThrows(CancellationException.class, () -> stream.put("second"));
+    assertTrue(stream.isCancelled());
+  }
+}
@@ -0,0 +1,68 @@
+package no.mnemonic.act.platform.service.ti.resolvers;
+
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.dao.api.ObjectFactDao;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.service.ti.handlers.ObjectTypeHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ObjectResolverTest {
+
+  @Mock
+  private ObjectFactDao objectFactDao;
+  @Mock
+  private ObjectTypeHandler objectTypeHandler;
+
+  private ObjectResolver resolver;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    resolver = new ObjectResolver(objectFactDao, objectTypeHandler);
+  }
+
+  @Test
+  public void testResolveObjectWithBlankInput() throws Exception {
+    assertNull(resolver.resolveObject(null));
+    assertNull(resolver.resolveObject(" "));
+    verifyNoInteractions(objectFactDao, objectTypeHandler);
+  }
+
+  @Test
+  public void testResolveObjectById() throws Exception {
+    ObjectRecord object = new ObjectRecord().setId(UUID.randomUUID());
+    when(objectFactDao.getObject(object.getId())).thenReturn(object);
+
+    assertSame(object, resolver.resolveObject(object.getId().toString()));
+    verifyNoInteractions(objectTypeHandler);
+  }
+
+  @Test
+  public void testResolveObjectByTypeAndValue() throws Exception {
+    ObjectRecord object = new ObjectRecord().setId(UUID.randomUUID());
+    when(objectFactDao.getObject("ThreatActor", "Sofacy")).thenReturn(object);
+
+    assertSame(object, resolver.resolveObject("ThreatActor/Sofacy"));
+    verify(objectTypeHandler).assertObjectTypeExists("ThreatActor", "type");
+  }
+
+  @Test
+  public void testResolveObjectWithMalformedInput() throws Exception {
+    assertNull(resolver.resolveObject("malformed"));
+    verifyNoInteractions(objectFactDao, objectTypeHandler);
+  }
+
+  @Test(expected = InvalidArgumentException.class)
+  public void testResolveObjectWithUnknownType() throws Exception {
+    doThrow(InvalidArgumentException.class).when(objectTypeHandler).assertObjectTypeExists("ThreatActor", "type");
+    resolver.resolveObject("ThreatActor/Sofacy");
+  }
+}
@@ -15,7 +15,6 @@ import org.mockito.Mock;
 
 import java.util.UUID;
 
-import static no.mnemonic.commons.utilities.collections.ListUtils.list;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -43,8 +42,6 @@ abstract class AbstractGraphTest {
     when(securityContext.getAvailableOrganizationID()).thenReturn(SetUtils.set(UUID.randomUUID()));
     when(securityContext.hasReadPermission(any(FactRecord.class))).thenReturn(true);
 
-    when(propertyHelper.getObjectProperties(any(), any())).thenReturn(list());
-
     actGraph = createActGraph(TraverseParams.builder().build());
   }
 
@@ -25,6 +25,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class ActGraphTest extends AbstractGraphTest {
@@ -243,6 +244,20 @@ public class ActGraphTest extends AbstractGraphTest {
     assertEquals(2, IteratorUtils.count(getActGraph().edges(edge1.id().toString(), edge2.id().toString())));
   }
 
+  @Test
+  public void testStructuralTraversalDoesNotFetchProperties() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord source = mockObjectRecord(objectType, "source");
+    ObjectRecord destination = mockObjectRecord(objectType, "destination");
+    FactRecord fact = mockFact(source, destination);
+    when(getObjectFactDao().searchFacts(any())).thenAnswer(x -> ResultContainer.<FactRecord>builder()
+            .setValues(SetUtils.set(fact).iterator())
+            .build());
+
+    assertEquals(1, getActGraph().traversal().V(source.getId()).out().path().toList().size());
+    verifyNoInteractions(getPropertyHelper());
+  }
+
   private Vertex createVertex() {
     ObjectTypeStruct objectType = ObjectTypeStruct.builder()
             .setId(UUID.randomUUID())
@@ -0,0 +1,166 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver.ObjectTypeStruct;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+
+public class BatchVertexStrategyTest extends AbstractGraphTest {
+
+  @Test
+  public void testStrategyReplacesVertexStep() {
+    GraphTraversal<Vertex, Vertex> traversal = getActGraph().traversal().V(mockObjectRecord(mockObjectType(), "value").getId()).out();
+    traversal.asAdmin().applyStrategies();
+    assertTrue(traversal.asAdmin().getSteps().stream().anyMatch(BatchVertexStep.class::isInstance));
+  }
+
+  @Test
+  public void testExpandFrontierWithOneSearch() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    ObjectRecord third = mockObjectRecord(objectType, "third");
+    FactRecord firstFact = mockFact(first, third);
+    FactRecord secondFact = mockFact(second, third);
+    FactRecord thirdFact = mockFact(third, first);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(firstFact, secondFact, thirdFact).iterator()).build()
+    );
+
+    List<Vertex> result = getActGraph().traversal().V(first.getId(), second.getId()).out().toList();
+    assertEquals(2, result.size());
+    assertTrue(result.stream().allMatch(v -> third.getId().equals(v.id())));
+    verify(getObjectFactDao()).searchFacts(argThat(criteria -> set(first.getId(), second.getId()).equals(criteria.getObjectID())));
+  }
+
+  @Test
+  public void testExpandFrontierDistributesEdges() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    FactRecord fact = mockFact(first, second);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(fact).iterator()).build()
+    );
+
+    // The Fact is adjacent to both vertices, thus, it's returned for each of them.
+    List<Edge> result = getActGraph().traversal().V(first.getId(), second.getId()).bothE().toList();
+    assertEquals(2, result.size());
+    assertTrue(result.stream().allMatch(e -> fact.getId().equals(e.id())));
+    verify(getObjectFactDao(), times(1)).searchFacts(notNull());
+    verify(getSecurityContext(), times(1)).hasReadPermission(fact);
+  }
+
+  @Test
+  public void testExpandFrontierWithSelfLoop() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    FactRecord loop = mockFact(first, first).setBidirectionalBinding(true);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(loop).iterator()).build()
+    );
+
+    // The self-loop is neither added twice to the vertex nor traversed at all.
+    List<Edge> result = getActGraph().traversal().V(first.getId()).bothE().toList();
+    assertTrue(result.isEmpty());
+    verify(getSecurityContext(), never()).hasReadPermission(loop);
+  }
+
+  @Test
+  public void testExpandFrontierPerDepth() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    ObjectRecord third = mockObjectRecord(objectType, "third");
+    FactRecord firstFact = mockFact(first, third);
+    FactRecord secondFact = mockFact(second, third);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(firstFact, secondFact).iterator()).build()
+    );
+
+    // out() expands 'first' and 'second' with one search, in() expands 'third' twice with one search.
+    List<Vertex> result = getActGraph().traversal().V(first.getId(), second.getId()).out().in().toList();
+    assertEquals(4, result.size());
+    verify(getObjectFactDao(), times(2)).searchFacts(notNull());
+  }
+
+  @Test
+  public void testExpandFrontierResolvesRetractionsOnce() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    ObjectRecord third = mockObjectRecord(objectType, "third");
+    FactRecord firstFact = mockFact(first, third);
+    FactRecord secondFact = mockFact(second, third);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(firstFact, secondFact).iterator()).build()
+    );
+    when(getFactRetractionHandler().isRetracted(secondFact)).thenReturn(true);
+
+    List<Edge> result = createActGraph(TraverseParams.builder().setIncludeRetracted(false).build())
+            .traversal().V(first.getId(), second.getId()).outE().toList();
+    assertEquals(1, result.size());
+    assertEquals(firstFact.getId(), result.get(0).id());
+    // The retractions of all Facts of the frontier are resolved at once.
+    verify(getFactRetractionHandler()).resolveRetractions(list(firstFact, secondFact));
+  }
+
+  @Test
+  public void testExpandFrontierChecksAccessBeforeResolvingRetractions() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    FactRecord accessibleFact = mockFact(first, second);
+    FactRecord inaccessibleFact = mockFact(first, second);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(accessibleFact, inaccessibleFact).iterator()).build()
+    );
+    when(getSecurityContext().hasReadPermission(inaccessibleFact)).thenReturn(false);
+
+    List<Edge> result = createActGraph(TraverseParams.builder().setIncludeRetracted(false).build())
+            .traversal().V(first.getId()).outE().toList();
+    assertEquals(1, result.size());
+    verify(getFactRetractionHandler()).resolveRetractions(list(accessibleFact));
+  }
+
+  @Test
+  public void testExpandFrontierStopsFetchingFactsWhenLimitReached() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    FactRecord fact = mockFact(first, second);
+    AtomicInteger consumed = new AtomicInteger();
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder()
+                    .setValues(IntStream.range(0, 5000).mapToObj(i -> fact).peek(ignored -> consumed.incrementAndGet()).iterator())
+                    .build()
+    );
+
+    List<Edge> result = getActGraph().traversal().V(first.getId()).outE().limit(1).toList();
+    assertEquals(1, result.size());
+    // Only the first chunk of Facts has been consumed from the search result.
+    assertTrue(consumed.get() < 5000);
+  }
+}
@@ -0,0 +1,85 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver.ObjectTypeStruct;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+
+public class LimitStrategyTest extends AbstractGraphTest {
+
+  @Test
+  public void testApplyToAddsRangeStep() {
+    Traversal.Admin<Vertex, Vertex> traversal = createTraversal().out().asAdmin();
+    assertTrue(LimitStrategy.applyTo(traversal, 10));
+    traversal.applyStrategies();
+
+    assertTrue(traversal.getEndStep() instanceof RangeGlobalStep);
+    assertEquals(10, ((RangeGlobalStep<?>) (Object) traversal.getEndStep()).getHighRange());
+    assertFalse(TraversalHelper.hasStepOfClass(NoOpBarrierStep.class, traversal));
+  }
+
+  @Test
+  public void testApplyToKeepsSmallerLimit() {
+    Traversal.Admin<Vertex, Vertex> traversal = createTraversal().out().limit(5).asAdmin();
+    LimitStrategy.applyTo(traversal, 10);
+    traversal.applyStrategies();
+
+    assertEquals(1, TraversalHelper.getStepsOfClass(RangeGlobalStep.class, traversal).size());
+    assertEquals(5, ((RangeGlobalStep<?>) (Object) traversal.getEndStep()).getHighRange());
+  }
+
+  @Test
+  public void testApplyToWithoutLimit() {
+    Traversal.Admin<Vertex, Vertex> traversal = createTraversal().out().asAdmin();
+    assertFalse(LimitStrategy.applyTo(traversal, 0));
+    traversal.applyStrategies();
+
+    assertFalse(TraversalHelper.hasStepOfClass(RangeGlobalStep.class, traversal));
+  }
+
+  @Test
+  public void testApplyToLockedTraversal() {
+    Traversal.Admin<Vertex, Vertex> traversal = createTraversal().out().asAdmin();
+    traversal.applyStrategies();
+
+    assertFalse(LimitStrategy.applyTo(traversal, 10));
+  }
+
+  @Test
+  public void testLimitedTraversalExpandsSmallFrontier() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord first = mockObjectRecord(objectType, "first");
+    ObjectRecord second = mockObjectRecord(objectType, "second");
+    ObjectRecord third = mockObjectRecord(objectType, "third");
+    FactRecord firstFact = mockFact(first, third);
+    FactRecord secondFact = mockFact(second, third);
+
+    when(getObjectFactDao().searchFacts(notNull())).thenAnswer(
+            x -> ResultContainer.<FactRecord>builder().setValues(list(firstFact, secondFact).iterator()).build()
+    );
+
+    GraphTraversal<Vertex, Vertex> traversal = getActGraph().traversal().V(first.getId(), second.getId()).out();
+    LimitStrategy.applyTo(traversal.asAdmin(), 1);
+
+    // Pull exactly one result, as done when the results of a graph traversal query are consumed.
+    assertEquals(third.getId(), traversal.next().id());
+    // Only the first vertex needs to be expanded in order to produce one result.
+    verify(getObjectFactDao()).searchFacts(argThat(criteria -> criteria.getObjectID().size() == 1));
+  }
+
+  private GraphTraversal<Vertex, Vertex> createTraversal() {
+    return getActGraph().traversal().V(mockObjectRecord(mockObjectType(), "value").getId());
+  }
+}
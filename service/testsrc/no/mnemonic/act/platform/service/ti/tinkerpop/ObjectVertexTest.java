@@ -533,6 +533,21 @@ public class ObjectVertexTest extends AbstractGraphTest {
     }));
   }
 
+  @Test
+  public void testSearchUsesAdjacencyCache() {
+    Vertex vertex = ObjectVertex.builder()
+            .setGraph(getActGraph())
+            .setObjectRecord(new ObjectRecord().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID()))
+            .setObjectType(ObjectTypeStruct.builder().setName("someObjectType").setId(UUID.randomUUID()).build())
+            .build();
+
+    when(getObjectFactDao().searchFacts(any())).thenAnswer(invocation -> ResultContainer.<FactRecord>builder().build());
+
+    vertex.edges(BOTH);
+
+    verify(getObjectFactDao()).searchFacts(argThat(FactSearchCriteria::isAdjacencyCached));
+  }
+
   @Test
   public void testEdgesAndRetractions() {
     ActGraph actGraphNoRetractions = createActGraph(TraverseParams.builder().setIncludeRetracted(false).build());
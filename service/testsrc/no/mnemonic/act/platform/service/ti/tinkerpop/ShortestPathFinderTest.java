@@ -0,0 +1,184 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.act.platform.dao.api.criteria.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.record.FactRecord;
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.dao.api.result.ResultContainer;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver.ObjectTypeStruct;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class ShortestPathFinderTest extends AbstractGraphTest {
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  private final List<FactRecord> facts = new ArrayList<>();
+  private ObjectTypeStruct objectType;
+
+  @Before
+  public void setUp() {
+    objectType = mockObjectType();
+    // Return all Facts bound to any of the requested Objects.
+    when(getObjectFactDao().searchFacts(any())).thenAnswer(i -> {
+      FactSearchCriteria criteria = i.getArgument(0);
+      List<FactRecord> bound = facts.stream()
+              .filter(fact -> criteria.getObjectID().contains(fact.getSourceObject().getId()) ||
+                      criteria.getObjectID().contains(fact.getDestinationObject().getId()))
+              .collect(Collectors.toList());
+      return ResultContainer.<FactRecord>builder().setValues(bound.iterator()).build();
+    });
+  }
+
+  @Test
+  public void testFindWithoutSourcesOrDestinations() throws Exception {
+    ObjectRecord object = mockObjectRecord(objectType, "a");
+
+    assertTrue(find(set(), set(object.getId()), 5, 0).isEmpty());
+    assertTrue(find(set(object.getId()), set(), 5, 0).isEmpty());
+  }
+
+  @Test
+  public void testFindSourceIsDestination() throws Exception {
+    ObjectRecord object = mockObjectRecord(objectType, "a");
+
+    List<List<Element>> paths = find(set(object.getId()), set(object.getId()), 5, 0);
+    assertEquals(1, paths.size());
+    assertEquals(list(object.getId()), ids(paths.get(0)));
+    verify(getObjectFactDao(), never()).searchFacts(any());
+  }
+
+  @Test
+  public void testFindShortestPath() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    ObjectRecord c = mockObjectRecord(objectType, "c");
+    ObjectRecord d = mockObjectRecord(objectType, "d");
+    FactRecord ab = addFact(a, b);
+    FactRecord cb = addFact(c, b);
+    FactRecord cd = addFact(c, d);
+    // Longer path a - e - f - g - d is ignored.
+    ObjectRecord e = mockObjectRecord(objectType, "e");
+    ObjectRecord f = mockObjectRecord(objectType, "f");
+    ObjectRecord g = mockObjectRecord(objectType, "g");
+    addFact(a, e);
+    addFact(e, f);
+    addFact(f, g);
+    addFact(g, d);
+
+    List<List<Element>> paths = find(set(a.getId()), set(d.getId()), 5, 0);
+    assertEquals(1, paths.size());
+    assertEquals(list(a.getId(), ab.getId(), b.getId(), cb.getId(), c.getId(), cd.getId(), d.getId()), ids(paths.get(0)));
+  }
+
+  @Test
+  public void testFindAllShortestPaths() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    ObjectRecord c = mockObjectRecord(objectType, "c");
+    ObjectRecord d = mockObjectRecord(objectType, "d");
+    FactRecord ab = addFact(a, b);
+    FactRecord ac = addFact(a, c);
+    FactRecord bd = addFact(b, d);
+    FactRecord cd = addFact(c, d);
+
+    Set<List<Object>> paths = find(set(a.getId()), set(d.getId()), 5, 0).stream()
+            .map(this::ids)
+            .collect(Collectors.toSet());
+    assertEquals(set(
+            list(a.getId(), ab.getId(), b.getId(), bd.getId(), d.getId()),
+            list(a.getId(), ac.getId(), c.getId(), cd.getId(), d.getId())
+    ), paths);
+    assertEquals(1, find(set(a.getId()), set(d.getId()), 5, 1).size());
+  }
+
+  @Test
+  public void testFindBetweenObjectSets() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    ObjectRecord c = mockObjectRecord(objectType, "c");
+    ObjectRecord d = mockObjectRecord(objectType, "d");
+    addFact(a, c);
+    FactRecord bd = addFact(b, d);
+    addFact(c, d);
+
+    List<List<Element>> paths = find(set(a.getId(), b.getId()), set(d.getId()), 5, 0);
+    assertEquals(1, paths.size());
+    assertEquals(list(b.getId(), bd.getId(), d.getId()), ids(paths.get(0)));
+  }
+
+  @Test
+  public void testFindRespectsMaxDepth() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    ObjectRecord c = mockObjectRecord(objectType, "c");
+    ObjectRecord d = mockObjectRecord(objectType, "d");
+    addFact(a, b);
+    addFact(b, c);
+    addFact(c, d);
+
+    assertTrue(find(set(a.getId()), set(d.getId()), 2, 0).isEmpty());
+    assertEquals(1, find(set(a.getId()), set(d.getId()), 3, 0).size());
+  }
+
+  @Test
+  public void testFindSkipsInaccessibleFacts() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    FactRecord ab = addFact(a, b);
+    when(getSecurityContext().hasReadPermission(ab)).thenReturn(false);
+
+    assertTrue(find(set(a.getId()), set(b.getId()), 5, 0).isEmpty());
+  }
+
+  @Test
+  public void testFindExpandsFrontierWithOneSearch() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+    ObjectRecord c = mockObjectRecord(objectType, "c");
+    ObjectRecord d = mockObjectRecord(objectType, "d");
+    ObjectRecord e = mockObjectRecord(objectType, "e");
+    addFact(a, b);
+    addFact(d, b);
+    addFact(d, e);
+
+    assertEquals(1, find(set(a.getId(), c.getId()), set(d.getId()), 5, 0).size());
+    // The backward search from 'd' is expanded first because its frontier is smaller, afterwards 'a' and 'c' at once.
+    verify(getObjectFactDao()).searchFacts(argThat(criteria -> criteria.getObjectID().equals(set(d.getId()))));
+    verify(getObjectFactDao()).searchFacts(argThat(criteria -> criteria.getObjectID().equals(set(a.getId(), c.getId()))));
+    verify(getObjectFactDao(), times(2)).searchFacts(any());
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void testFindTimesOut() throws Exception {
+    ObjectRecord a = mockObjectRecord(objectType, "a");
+    ObjectRecord b = mockObjectRecord(objectType, "b");
+
+    ShortestPathFinder.find(getActGraph(), set(a.getId()), set(b.getId()), 5, 0, 0);
+  }
+
+  private List<List<Element>> find(Set<UUID> sources, Set<UUID> destinations, int maxDepth, int limit) throws TimeoutException {
+    return ShortestPathFinder.find(getActGraph(), sources, destinations, maxDepth, limit, NO_DEADLINE);
+  }
+
+  private FactRecord addFact(ObjectRecord source, ObjectRecord destination) {
+    FactRecord fact = mockFact(source, destination);
+    facts.add(fact);
+    return fact;
+  }
+
+  private List<Object> ids(List<Element> path) {
+    return path.stream().map(Element::id).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,120 @@
+package no.mnemonic.act.platform.service.ti.tinkerpop;
+
+import no.mnemonic.act.platform.dao.api.record.ObjectRecord;
+import no.mnemonic.act.platform.service.ti.tinkerpop.utils.ObjectFactTypeResolver.ObjectTypeStruct;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class TraversalSplitterTest extends AbstractGraphTest {
+
+  @Test
+  public void testSplitTraversal() {
+    List<ObjectRecord> objects = mockObjects(5);
+    List<ActGraph> graphs = new ArrayList<>();
+
+    List<Traversal.Admin<?, ?>> shards = TraversalSplitter.split(createTraversal(objects).asAdmin(), 2, () -> {
+      ActGraph graph = createActGraph(TraverseParams.builder().build());
+      graphs.add(graph);
+      return graph;
+    });
+
+    assertEquals(3, shards.size());
+    assertEquals(3, graphs.size());
+    for (int i = 0; i < shards.size(); i++) {
+      assertSame(graphs.get(i), shards.get(i).getGraph().orElse(null));
+      assertEquals(i < 2 ? 2 : 1, ((GraphStep<?, ?>) shards.get(i).getStartStep()).getIds().length);
+    }
+  }
+
+  @Test
+  public void testIterateShards() {
+    List<ObjectRecord> objects = mockObjects(3);
+
+    List<Object> result = new ArrayList<>();
+    for (Traversal.Admin<?, ?> shard : TraversalSplitter.split(createTraversal(objects).asAdmin(), 2, this::getActGraph)) {
+      shard.forEachRemaining(vertex -> result.add(((Element) vertex).id()));
+    }
+
+    assertEquals(3, result.size());
+    assertEquals(objects.stream().map(ObjectRecord::getId).collect(Collectors.toSet()), set(result));
+  }
+
+  @Test
+  public void testSplitRemovesTrailingLimit() {
+    List<ObjectRecord> objects = mockObjects(3);
+
+    List<Traversal.Admin<?, ?>> shards = TraversalSplitter.split(createTraversal(objects).dedup().limit(1).asAdmin(), 2, this::getActGraph);
+
+    assertEquals(2, shards.size());
+    for (Traversal.Admin<?, ?> shard : shards) {
+      assertFalse(shard.getEndStep() instanceof RangeGlobalStep);
+      assertTrue(shard.getEndStep() instanceof DedupGlobalStep);
+    }
+    // Without the limit the first shard produces both of its starting Objects.
+    assertEquals(2, shards.get(0).toList().size());
+  }
+
+  @Test
+  public void testSplitWithFewStartingObjects() {
+    assertTrue(TraversalSplitter.split(createTraversal(mockObjects(2)).asAdmin(), 2, this::getActGraph).isEmpty());
+  }
+
+  @Test
+  public void testSplitAllowsIndependentTraversals() {
+    List<ObjectRecord> objects = mockObjects(3);
+
+    assertTrue(TraversalSplitter.isSplittable(createTraversal(objects).out().in().asAdmin()));
+    assertTrue(TraversalSplitter.isSplittable(createTraversal(objects).out().has("value", "test").path().asAdmin()));
+    assertTrue(TraversalSplitter.isSplittable(createTraversal(objects).repeat(__.out()).times(2).asAdmin()));
+    assertTrue(TraversalSplitter.isSplittable(createTraversal(objects).out().dedup().limit(10).asAdmin()));
+  }
+
+  @Test
+  public void testSplitRejectsDependentTraversals() {
+    List<ObjectRecord> objects = mockObjects(3);
+
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).out().count().asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).out().order().by("value").asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).out().aggregate("x").asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).limit(1).out().asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).out().range(1, 2).asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).out().dedup().by("value").asAdmin()));
+    assertFalse(TraversalSplitter.isSplittable(createTraversal(objects).repeat(__.out().dedup()).times(2).asAdmin()));
+  }
+
+  @Test
+  public void testResolveLimit() {
+    List<ObjectRecord> objects = mockObjects(3);
+
+    assertEquals(25, TraversalSplitter.resolveLimit(createTraversal(objects).out().asAdmin(), 25));
+    assertEquals(10, TraversalSplitter.resolveLimit(createTraversal(objects).out().limit(10).asAdmin(), 25));
+    assertEquals(25, TraversalSplitter.resolveLimit(createTraversal(objects).out().limit(50).asAdmin(), 25));
+  }
+
+  private GraphTraversal<Vertex, Vertex> createTraversal(List<ObjectRecord> objects) {
+    return getActGraph().traversal().V(objects.stream().map(ObjectRecord::getId).toArray());
+  }
+
+  private List<ObjectRecord> mockObjects(int count) {
+    ObjectTypeStruct objectType = mockObjectType();
+    List<ObjectRecord> objects = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      objects.add(mockObjectRecord(objectType, "value" + i));
+    }
+    return objects;
+  }
+}
@@ -18,10 +18,11 @@ import org.mockito.Mock;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class ElementFactoryTest {
@@ -123,9 +124,57 @@ public class ElementFactoryTest {
             .setBidirectionalBinding(true)
             .setDestinationObject(objectA)
             .setSourceObject(objectB);
-    elementFactory.createEdge(factRecord);
+    when(propertyHelper.getFactPropertiesBatch(any(), any()))
+            .thenReturn(map(T(factRecord.getId(), list(new PropertyEntry<>("value", "someValue")))));
 
-    verify(propertyHelper).getFactProperties(factRecord, actGraph.getTraverseParams());
+    Edge edge = elementFactory.createEdge(factRecord);
+    verify(propertyHelper, never()).getFactPropertiesBatch(any(), any());
+
+    assertEquals("someValue", edge.value("value"));
+    assertEquals("someValue", edge.value("value"));
+    verify(propertyHelper).getFactPropertiesBatch(list(factRecord), actGraph.getTraverseParams());
+  }
+
+  @Test
+  public void testCreateEdgesFetchesPropertiesInBatch() {
+    FactTypeStruct factTypeMock = mockFactType();
+    ObjectTypeStruct objectTypeMock = mockObjectType();
+    ObjectRecord objectA = mockObject(objectTypeMock);
+    ObjectRecord objectB = mockObject(objectTypeMock);
+
+    FactRecord first = new FactRecord().setId(UUID.randomUUID()).setTypeID(factTypeMock.getId()).setSourceObject(objectA).setDestinationObject(objectB);
+    FactRecord second = new FactRecord().setId(UUID.randomUUID()).setTypeID(factTypeMock.getId()).setSourceObject(objectB).setDestinationObject(objectA);
+    when(propertyHelper.getFactPropertiesBatch(any(), any())).thenReturn(map(
+            T(first.getId(), list(new PropertyEntry<>("value", "first"))),
+            T(second.getId(), list(new PropertyEntry<>("value", "second")))
+    ));
+
+    Edge firstEdge = elementFactory.createEdge(first);
+    Edge secondEdge = elementFactory.createEdge(second);
+
+    // Accessing properties of one edge fetches properties of all pending edges.
+    assertEquals("second", secondEdge.value("value"));
+    assertEquals("first", firstEdge.value("value"));
+    verify(propertyHelper).getFactPropertiesBatch(argThat(facts -> facts.size() == 2), any());
+  }
+
+  @Test
+  public void testGetVertexFetchesPropertiesLazily() {
+    ObjectTypeStruct objectTypeMock = mockObjectType();
+    ObjectRecord objectA = mockObject(objectTypeMock);
+    ObjectRecord objectB = mockObject(objectTypeMock);
+    when(propertyHelper.getObjectPropertiesBatch(any(), any())).thenReturn(map(
+            T(objectA.getId(), list(new PropertyEntry<>("value", "a"))),
+            T(objectB.getId(), list(new PropertyEntry<>("value", "b")))
+    ));
+
+    Vertex vertexA = elementFactory.getVertex(objectA.getId());
+    Vertex vertexB = elementFactory.getVertex(objectB.getId());
+    verify(propertyHelper, never()).getObjectPropertiesBatch(any(), any());
+
+    assertEquals("a", vertexA.value("value"));
+    assertEquals("b", vertexB.value("value"));
+    verify(propertyHelper).getObjectPropertiesBatch(argThat(objects -> objects.size() == 2), any());
   }
 
   @Test
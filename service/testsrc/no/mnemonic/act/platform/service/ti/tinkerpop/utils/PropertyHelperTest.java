@@ -402,6 +402,72 @@ public class PropertyHelperTest {
     verify(originResolver).apply(factRecord.getOriginID());
   }
 
+  @Test
+  public void testGetObjectPropsBatchInputValidation() {
+    assertThrows(IllegalArgumentException.class,
+            () -> helper.getObjectPropertiesBatch(null, TraverseParams.builder().build()));
+
+    assertThrows(IllegalArgumentException.class,
+            () -> helper.getObjectPropertiesBatch(ListUtils.list(new ObjectRecord()), null));
+  }
+
+  @Test
+  public void testGetObjectPropsBatch() {
+    ObjectRecord objectA = new ObjectRecord().setId(UUID.randomUUID()).setValue("a");
+    ObjectRecord objectB = new ObjectRecord().setId(UUID.randomUUID()).setValue("b");
+    FactTypeStruct factType = mockFactType("name");
+    FactRecord fact = new FactRecord().setTypeID(factType.getId()).setValue("someName").setSourceObject(objectA);
+
+    when(securityContext.hasReadPermission(any(FactRecord.class))).thenReturn(true);
+    when(objectFactDao.searchFacts(any())).thenReturn(
+            ResultContainer.<FactRecord>builder().setValues(ListUtils.list(fact).iterator()).build()
+    );
+
+    Map<UUID, List<PropertyEntry<?>>> props = helper.getObjectPropertiesBatch(ListUtils.list(objectA, objectB), TraverseParams.builder().build());
+    assertEquals(set("name->someName", "value->a"), asKeyValueStrings(props.get(objectA.getId())));
+    assertEquals(set("value->b"), asKeyValueStrings(props.get(objectB.getId())));
+
+    verify(objectFactDao).searchFacts(argThat(criteria -> {
+      assertEquals(set(objectA.getId(), objectB.getId()), criteria.getObjectID());
+      assertEquals(FactSearchCriteria.FactBinding.oneLegged, criteria.getFactBinding());
+      return true;
+    }));
+  }
+
+  @Test
+  public void testGetFactPropsBatchInputValidation() {
+    assertThrows(IllegalArgumentException.class,
+            () -> helper.getFactPropertiesBatch(null, TraverseParams.builder().build()));
+
+    assertThrows(IllegalArgumentException.class,
+            () -> helper.getFactPropertiesBatch(ListUtils.list(new FactRecord()), null));
+  }
+
+  @Test
+  public void testGetFactPropsBatch() {
+    FactRecord factA = new FactRecord().setId(UUID.randomUUID()).setValue("a");
+    FactRecord factB = new FactRecord().setId(UUID.randomUUID()).setValue("b");
+    FactTypeStruct metaFactType = mockFactType("tlp");
+    FactRecord metaFact = new FactRecord().setId(UUID.randomUUID()).setTypeID(metaFactType.getId()).setValue("green").setInReferenceToID(factB.getId());
+
+    when(securityContext.hasReadPermission(any(FactRecord.class))).thenReturn(true);
+    when(objectFactDao.searchFacts(any())).thenReturn(
+            ResultContainer.<FactRecord>builder().setValues(ListUtils.list(metaFact).iterator()).build()
+    );
+
+    Map<UUID, List<PropertyEntry<?>>> props = helper.getFactPropertiesBatch(ListUtils.list(factA, factB), TraverseParams.builder().build());
+    assertFalse(asKeyValueStrings(props.get(factA.getId())).contains("meta/tlp->green"));
+    assertTrue(asKeyValueStrings(props.get(factA.getId())).contains("value->a"));
+    assertTrue(asKeyValueStrings(props.get(factB.getId())).contains("meta/tlp->green"));
+    assertTrue(asKeyValueStrings(props.get(factB.getId())).contains("value->b"));
+
+    verify(objectFactDao).searchFacts(argThat(criteria -> {
+      assertEquals(set(factA.getId(), factB.getId()), criteria.getInReferenceTo());
+      assertEquals(FactSearchCriteria.FactBinding.meta, criteria.getFactBinding());
+      return true;
+    }));
+  }
+
   private FactTypeStruct mockFactType(String name) {
     UUID typeId = UUID.randomUUID();
     FactTypeStruct factType = FactTypeStruct.builder().setId(typeId).setName(name).build();